@@ -0,0 +1,127 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Random;
+
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+
+/**
+ * Generates the JSON documents used by the benchmarks, so that all of them measure documents of the same shapes.
+ * The documents are generated from a seeded {@link Random} so that every run measures the same documents.
+ */
+public final class DocumentGenerator {
+    private static final int ARRAY_LENGTH = 8;
+    private static final int FIELD_NAME_BYTES = 11;
+
+    /**
+     * Shape of a generated document.
+     */
+    public enum Shape {
+        /**
+         * Few levels of objects with many fields each.
+         */
+        WIDE(2, 40, false),
+        /**
+         * Many levels of objects with few fields each.
+         */
+        DEEP(6, 4, false),
+        /**
+         * Few levels of objects whose values are arrays, such as lists of readings.
+         */
+        ARRAYS(3, 8, true);
+
+        private final int depth;
+        private final int width;
+        private final boolean arrays;
+
+        Shape(int depth, int width, boolean arrays) {
+            this.depth = depth;
+            this.width = width;
+            this.arrays = arrays;
+        }
+    }
+
+    private DocumentGenerator() {
+    }
+
+    /**
+     * Generates an object of the given shape by adding fields to it, depth first, until its serialized size reaches
+     * the given size.
+     *
+     * @param random    the random generator for the values
+     * @param shape     the shape of the document
+     * @param sizeBytes the approximate serialized size of the document
+     * @return the generated object
+     */
+    static ObjectNode generate(Random random, Shape shape, int sizeBytes) {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        int[] remainingBytes = {sizeBytes};
+        for (int i = 0; remainingBytes[0] > 0; i++) {
+            root.set("field" + i, generateNode(random, shape, shape.depth - 1, remainingBytes));
+        }
+        return root;
+    }
+
+    /**
+     * Changes the values of random leaves of the object, replacing them with text values.
+     *
+     * @param random the random generator for the leaves to change
+     * @param root   the object to change
+     * @param count  the number of leaves to change
+     * @param value  the prefix of the new values
+     */
+    static void changeLeaves(Random random, ObjectNode root, int count, String value) {
+        for (int i = 0; i < count; i++) {
+            ObjectNode node = root;
+            while (true) {
+                String field = "field" + random.nextInt(node.size());
+                JsonNode child = node.get(field);
+                if (!child.isObject()) {
+                    node.put(field, value + random.nextInt());
+                    break;
+                }
+                node = (ObjectNode) child;
+            }
+        }
+    }
+
+    private static JsonNode generateNode(Random random, Shape shape, int depth, int[] remainingBytes) {
+        if (depth == 0) {
+            JsonNode value = shape.arrays ? generateArray(random) : generateValue(random);
+            // the value along with its field name, quotes, colon and comma
+            remainingBytes[0] -= value.toString().length() + FIELD_NAME_BYTES;
+            return value;
+        }
+        // the field name of the object and its braces
+        remainingBytes[0] -= FIELD_NAME_BYTES + 2;
+        ObjectNode node = OBJECT_MAPPER.createObjectNode();
+        // every object has at least one field, so that there is always a leaf to change
+        int field = 0;
+        do {
+            node.set("field" + field++, generateNode(random, shape, depth - 1, remainingBytes));
+        } while (field < shape.width && remainingBytes[0] > 0);
+        return node;
+    }
+
+    private static ArrayNode generateArray(Random random) {
+        ArrayNode array = OBJECT_MAPPER.createArrayNode();
+        for (int i = 0; i < ARRAY_LENGTH; i++) {
+            array.add(generateValue(random));
+        }
+        return array;
+    }
+
+    private static JsonNode generateValue(Random random) {
+        return random.nextBoolean()
+                ? OBJECT_MAPPER.getNodeFactory().numberNode(random.nextInt(1000))
+                : OBJECT_MAPPER.getNodeFactory().textNode("value" + random.nextInt(1000));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.ipc.IpcRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the IPC rate limiter shared by many request handler threads, both while locks are mostly rejected
+ * (a low rate) and while they are mostly given (a rate higher than the benchmark can reach).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IpcRateLimiterBenchmark {
+    @Param({"200", "1000000000"})
+    public int rate;
+
+    private IpcRateLimiter rateLimiter;
+
+    /**
+     * Creates the rate limiter shared by all benchmark threads.
+     */
+    @Setup
+    public void setup() {
+        rateLimiter = new IpcRateLimiter(rate);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean tryAcquireSingleThread() {
+        return rateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean tryAcquire8Threads() {
+        return rateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean tryAcquire32Threads() {
+        return rateLimiter.tryAcquire();
+    }
+}
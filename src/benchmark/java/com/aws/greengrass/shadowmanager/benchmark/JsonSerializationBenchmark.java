@@ -0,0 +1,107 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.util.SerializerFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+
+/**
+ * Benchmarks parsing and serializing shadow payloads with the shared reader and writer of {@link JsonUtil} compared
+ * with a mapper with the default configuration, and reading a stored shadow document into its model. Every value of
+ * the reported state has its own field name, as when many devices report their own readings. Run it with the gc
+ * profiler (-prof gc) to also compare the memory allocated for each payload.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+    /**
+     * Number of values in the reported state.
+     */
+    @Param({"10", "100", "1000"})
+    public int width;
+
+    private byte[] payload;
+    private JsonNode payloadJson;
+    private ShadowDocument document;
+
+    /**
+     * Creates the payload of an update with the reported values and the shadow document stored for it.
+     *
+     * @throws IOException if the payload cannot be serialized
+     */
+    @Setup
+    public void setup() throws IOException {
+        ObjectNode reported = JsonUtil.OBJECT_MAPPER.createObjectNode();
+        for (int i = 0; i < width; i++) {
+            reported.put("sensor" + i, i * 0.5);
+        }
+        ObjectNode update = JsonUtil.OBJECT_MAPPER.createObjectNode();
+        update.putObject(SHADOW_DOCUMENT_STATE).set(SHADOW_DOCUMENT_STATE_REPORTED, reported);
+        payload = JsonUtil.getPayloadBytes(update);
+        payloadJson = update;
+
+        document = new ShadowDocument();
+        document.update(update);
+    }
+
+    @Benchmark
+    public JsonNode parseDefault() throws IOException {
+        return DEFAULT_MAPPER.readTree(payload);
+    }
+
+    @Benchmark
+    public JsonNode parseShared() throws IOException {
+        return JsonUtil.getPayloadJson(payload).get();
+    }
+
+    @Benchmark
+    public byte[] serializeDefault() throws IOException {
+        return DEFAULT_MAPPER.writeValueAsBytes(payloadJson);
+    }
+
+    @Benchmark
+    public byte[] serializeShared() throws IOException {
+        return JsonUtil.getPayloadBytes(payloadJson);
+    }
+
+    @Benchmark
+    public ShadowDocument convertDocument() throws IOException {
+        JsonNode node = JsonUtil.getPayloadJson(document.toJsonBytes()).get();
+        return SerializerFactory.getFailSafeJsonObjectMapper().convertValue(node, ShadowDocument.class);
+    }
+
+    @Benchmark
+    public ShadowDocument readDocument() throws IOException {
+        return new ShadowDocument(document.toJsonBytes(), 1);
+    }
+}
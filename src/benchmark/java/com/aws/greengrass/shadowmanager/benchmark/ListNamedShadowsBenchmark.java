@@ -0,0 +1,149 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.ShadowManagerDAOImpl;
+import com.aws.greengrass.shadowmanager.ShadowManagerDatabase;
+import com.aws.greengrass.shadowmanager.ipc.NextTokenCipher;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks listing the named shadows of a thing with 10,000 named shadows stored in the local database, both one
+ * page at a time and by following the pages to the end, with and without the encrypted nextToken which a client
+ * passes between the pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListNamedShadowsBenchmark {
+    private static final String THING_NAME = "benchmarkThing";
+    private static final String CLIENT_ID = "benchmarkClient";
+    private static final int SHADOW_COUNT = 10_000;
+    private static final byte[] DOCUMENT = "{\"version\": 1, \"state\": {\"reported\": {\"name\": \"value\"}}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"25", "100"})
+    public int pageSize;
+
+    private Path databasePath;
+    private ShadowManagerDatabase database;
+    private ShadowManagerDAOImpl dao;
+    private String lastPageShadowName;
+    private NextTokenCipher nextTokenCipher;
+
+    /**
+     * Creates the database and stores the named shadows of the thing.
+     *
+     * @throws IOException if the database directory cannot be created
+     */
+    @Setup
+    public void setup() throws IOException {
+        databasePath = Files.createTempDirectory("list-named-shadows-benchmark");
+        database = new ShadowManagerDatabase(databasePath);
+        database.install();
+        dao = new ShadowManagerDAOImpl(database);
+        for (int i = 0; i < SHADOW_COUNT; i++) {
+            createShadow(shadowName(i));
+        }
+        createShadow("");
+        lastPageShadowName = shadowName(SHADOW_COUNT - pageSize - 1);
+        nextTokenCipher = new NextTokenCipher(1);
+    }
+
+    private void createShadow(String shadowName) {
+        dao.updateShadowThing(ShadowThingUpdate.builder()
+                .thingName(THING_NAME)
+                .shadowName(shadowName)
+                .document(DOCUMENT)
+                .version(1)
+                .build());
+    }
+
+    /**
+     * Closes and deletes the database.
+     *
+     * @throws IOException if the database files cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(databasePath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> listFirstPage() {
+        return dao.listNamedShadowsForThing(THING_NAME, "", pageSize);
+    }
+
+    @Benchmark
+    public List<String> listLastPage() {
+        return dao.listNamedShadowsForThing(THING_NAME, lastPageShadowName, pageSize);
+    }
+
+    @Benchmark
+    public int listAllPages() {
+        int count = 0;
+        String afterShadowName = "";
+        List<String> page;
+        do {
+            page = dao.listNamedShadowsForThing(THING_NAME, afterShadowName, pageSize);
+            count += page.size();
+            if (!page.isEmpty()) {
+                afterShadowName = page.get(page.size() - 1);
+            }
+        } while (page.size() == pageSize);
+        return count;
+    }
+
+    @Benchmark
+    public int listAllPagesWithNextToken() throws GeneralSecurityException {
+        int count = 0;
+        String nextToken = null;
+        List<String> page;
+        do {
+            String afterShadowName = nextToken == null ? "" : nextTokenCipher.decrypt(nextToken, CLIENT_ID, THING_NAME);
+            page = dao.listNamedShadowsForThing(THING_NAME, afterShadowName, pageSize);
+            count += page.size();
+            if (page.size() == pageSize) {
+                nextToken = nextTokenCipher.encrypt(page.get(page.size() - 1), CLIENT_ID, THING_NAME);
+            }
+        } while (page.size() == pageSize);
+        return count;
+    }
+
+    private static String shadowName(int i) {
+        return String.format("shadow-%05d", i);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.model.ResponseMessageBuilder;
+import com.aws.greengrass.shadowmanager.model.ResponseMessageWriter;
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+
+/**
+ * Benchmarks serializing the payloads published for every shadow update, comparing serializing into a new buffer with
+ * the buffer reused by each thread, and building the documents message as a tree with writing it from the serialized
+ * documents. Run it with the gc profiler (-prof gc) and look at gc.alloc.rate.norm for the memory allocated for each
+ * payload under sustained load.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadSerializationBenchmark {
+    /**
+     * Number of values in the reported state.
+     */
+    @Param({"10", "100", "1000"})
+    public int width;
+
+    private JsonNode document;
+    private ShadowDocument previousDocument;
+    private ShadowDocument currentDocument;
+
+    /**
+     * Creates a shadow document with the reported values and the next version of it.
+     *
+     * @throws IOException if the documents cannot be serialized
+     */
+    @Setup
+    public void setup() throws IOException {
+        ShadowDocument newDocument = new ShadowDocument();
+        newDocument.update(generateUpdate(0));
+        previousDocument = new ShadowDocument(newDocument.toJsonBytes(), newDocument.getVersion());
+        currentDocument = new ShadowDocument(previousDocument);
+        currentDocument.update(generateUpdate(1));
+        currentDocument.toJsonBytes();
+        document = currentDocument.toJson(true);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(document);
+    }
+
+    @Benchmark
+    public byte[] getPayloadBytes() throws JsonProcessingException {
+        return JsonUtil.getPayloadBytes(document);
+    }
+
+    @Benchmark
+    public int getPayloadSize() throws JsonProcessingException {
+        return JsonUtil.getPayloadSize(document);
+    }
+
+    @Benchmark
+    public byte[] buildDocumentsMessage() throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(ResponseMessageBuilder.builder()
+                .withPrevious(previousDocument.toJson(true))
+                .withCurrent(currentDocument.toJson(true))
+                .withClientToken(Optional.of("benchmarkClient"))
+                .withTimestamp(Instant.now())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] writeDocumentsMessage() throws IOException {
+        try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+            return writer
+                    .withPrevious(previousDocument)
+                    .withCurrent(currentDocument)
+                    .withClientToken(Optional.of("benchmarkClient"))
+                    .withTimestamp(Instant.now())
+                    .toBytes();
+        }
+    }
+
+    private JsonNode generateUpdate(int value) {
+        ObjectNode reported = OBJECT_MAPPER.createObjectNode();
+        for (int i = 0; i < width; i++) {
+            reported.put("value" + i, value + i);
+        }
+        ObjectNode request = OBJECT_MAPPER.createObjectNode();
+        request.putObject(SHADOW_DOCUMENT_STATE).set(SHADOW_DOCUMENT_STATE_REPORTED, reported);
+        return request;
+    }
+}
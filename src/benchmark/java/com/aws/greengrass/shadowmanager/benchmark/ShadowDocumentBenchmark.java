@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.ShadowState;
+import com.aws.greengrass.shadowmanager.util.JsonMerger;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DESIRED;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+
+/**
+ * Benchmarks the operations done on a shadow document for every update: merging the update into the state,
+ * calculating the delta, updating the metadata and parsing the document. The reported state has the given shape and
+ * size, the desired state differs from it in a few values and the update reports all the values again with a few of
+ * them changed. Run it with the gc profiler (-prof gc) to see the memory allocated for each operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShadowDocumentBenchmark {
+    private static final int CHANGED_LEAVES = 10;
+
+    @Param({"WIDE", "DEEP", "ARRAYS"})
+    public DocumentGenerator.Shape shape;
+
+    /**
+     * Approximate serialized size of the reported state.
+     */
+    @Param({"1024", "8192", "30720"})
+    public int sizeBytes;
+
+    private JsonNode reported;
+    private JsonNode desired;
+    private JsonNode patch;
+    private ShadowDocument document;
+    private ShadowState updatedState;
+    private byte[] documentBytes;
+
+    /**
+     * Generates the shadow document and the update reporting all of its values again.
+     *
+     * @throws IOException if the document cannot be serialized
+     */
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        ObjectNode reportedState = DocumentGenerator.generate(random, shape, sizeBytes);
+        ObjectNode desiredState = reportedState.deepCopy();
+        DocumentGenerator.changeLeaves(random, desiredState, CHANGED_LEAVES, "desired");
+        ObjectNode patchState = reportedState.deepCopy();
+        DocumentGenerator.changeLeaves(random, patchState, CHANGED_LEAVES, "reported");
+        reported = reportedState;
+        desired = desiredState;
+
+        ObjectNode request = OBJECT_MAPPER.createObjectNode();
+        ObjectNode state = request.putObject(SHADOW_DOCUMENT_STATE);
+        state.set(SHADOW_DOCUMENT_STATE_DESIRED, desiredState);
+        state.set(SHADOW_DOCUMENT_STATE_REPORTED, reportedState);
+        document = new ShadowDocument();
+        document.update(request);
+        documentBytes = JsonUtil.getPayloadBytes(document.toJson(true));
+
+        ObjectNode updateRequest = OBJECT_MAPPER.createObjectNode();
+        updateRequest.putObject(SHADOW_DOCUMENT_STATE).set(SHADOW_DOCUMENT_STATE_REPORTED, patchState);
+        patch = updateRequest.get(SHADOW_DOCUMENT_STATE);
+        ShadowDocument updatedDocument = new ShadowDocument(document);
+        updatedDocument.update(updateRequest);
+        updatedState = updatedDocument.getState();
+    }
+
+    @Benchmark
+    public JsonNode merge() {
+        JsonNode merged = reported.deepCopy();
+        JsonMerger.merge(merged, patch.get(SHADOW_DOCUMENT_STATE_REPORTED));
+        return merged;
+    }
+
+    @Benchmark
+    public JsonNode mergeCopy() {
+        return JsonMerger.mergeCopy(reported, patch.get(SHADOW_DOCUMENT_STATE_REPORTED));
+    }
+
+    @Benchmark
+    public JsonNode calculateDelta() {
+        return JsonUtil.calculateDelta(reported, desired);
+    }
+
+    /**
+     * Updates a copy of the metadata, as an update does. The copy shares the metadata nodes, so it takes constant time
+     * and what is measured is the update itself.
+     */
+    @Benchmark
+    public JsonNode updateMetadata() {
+        return document.getMetadata().copy().update(patch, updatedState);
+    }
+
+    @Benchmark
+    public ShadowDocument parseDocument() throws IOException {
+        return new ShadowDocument(documentBytes, false);
+    }
+}
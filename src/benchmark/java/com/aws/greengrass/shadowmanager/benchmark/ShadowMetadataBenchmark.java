@@ -0,0 +1,94 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.ShadowState;
+import com.aws.greengrass.shadowmanager.model.ShadowStateMetadata;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+
+/**
+ * Benchmarks updating the metadata of a shadow document for updates which report many values at once, such as a
+ * device reporting all of its sensor readings. Run it with the gc profiler (-prof gc) to see the memory allocated for
+ * each update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShadowMetadataBenchmark {
+    /**
+     * Number of values in the reported state, half of them in nested sensor objects.
+     */
+    @Param({"100", "1000"})
+    public int width;
+
+    private ShadowDocument document;
+    private JsonNode updateRequest;
+    private JsonNode patch;
+    private ShadowState updatedState;
+
+    /**
+     * Creates the shadow document with all the reported values and the update which reports all of them again.
+     */
+    @Setup
+    public void setup() {
+        document = new ShadowDocument();
+        document.update(generateUpdate(0));
+        updateRequest = generateUpdate(1);
+        patch = updateRequest.get(SHADOW_DOCUMENT_STATE);
+        ShadowDocument updatedDocument = new ShadowDocument(document);
+        updatedDocument.update(updateRequest);
+        updatedState = updatedDocument.getState();
+    }
+
+    @Benchmark
+    public JsonNode updateMetadata() {
+        return document.getMetadata().deepCopy().update(patch, updatedState);
+    }
+
+    @Benchmark
+    public ShadowStateMetadata updateDocument() {
+        ShadowDocument updatedDocument = new ShadowDocument(document);
+        updatedDocument.update(updateRequest);
+        return updatedDocument.getMetadata();
+    }
+
+    private JsonNode generateUpdate(int value) {
+        ObjectNode reported = OBJECT_MAPPER.createObjectNode();
+        for (int i = 0; i < width / 2; i++) {
+            reported.put("value" + i, value + i);
+        }
+        for (int i = 0; i < width / 4; i++) {
+            reported.putObject("sensor" + i)
+                    .put("reading", value * i)
+                    .put("unit", value == 0 ? "C" : "F");
+        }
+        ObjectNode request = OBJECT_MAPPER.createObjectNode();
+        request.putObject(SHADOW_DOCUMENT_STATE).set(SHADOW_DOCUMENT_STATE_REPORTED, reported);
+        return request;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.util.DataOwner;
+import com.aws.greengrass.shadowmanager.util.SyncNodeMerger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the three-way merge used by the full shadow sync on documents of about 30 KB of each shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyncNodeMergerBenchmark {
+    private static final int MAX_DOCUMENT_SIZE_BYTES = 30 * 1024;
+
+    /**
+     * Number of leaves changed in each of the local and cloud documents since the last sync.
+     */
+    @Param({"0", "1", "50"})
+    public int changedLeaves;
+
+    @Param({"WIDE", "DEEP", "ARRAYS"})
+    public DocumentGenerator.Shape shape;
+
+    private JsonNode local;
+    private JsonNode cloud;
+    private JsonNode base;
+
+    /**
+     * Generates the base document and the local and cloud documents derived from it.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ObjectNode document = DocumentGenerator.generate(random, shape, MAX_DOCUMENT_SIZE_BYTES);
+        base = document;
+        ObjectNode localDocument = document.deepCopy();
+        ObjectNode cloudDocument = document.deepCopy();
+        DocumentGenerator.changeLeaves(random, localDocument, changedLeaves, "local");
+        DocumentGenerator.changeLeaves(random, cloudDocument, changedLeaves, "cloud");
+        local = localDocument;
+        cloud = cloudDocument;
+    }
+
+    @Benchmark
+    public JsonNode mergeWithLocalOwner() {
+        return SyncNodeMerger.getMergedNode(local, cloud, base, DataOwner.LOCAL);
+    }
+
+    @Benchmark
+    public JsonNode mergeWithCloudOwner() {
+        return SyncNodeMerger.getMergedNode(local, cloud, base, DataOwner.CLOUD);
+    }
+}
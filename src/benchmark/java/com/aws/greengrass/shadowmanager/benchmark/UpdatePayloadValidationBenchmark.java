@@ -0,0 +1,98 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.benchmark;
+
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.shadowmanager.util.UpdatePayloadScan;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersionDetector;
+import com.networknt.schema.ValidationMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+
+/**
+ * Benchmarks the schema validation done for every shadow update, comparing the fast path for the fixed shape of the
+ * update payload schema with the schema library, and the single streaming scan of the raw payload with parsing it into
+ * a tree which is then checked for its schema and depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpdatePayloadValidationBenchmark {
+    private static final String UPDATE_PAYLOAD = "{\"version\": 1, \"clientToken\": \"benchmarkClient\", "
+            + "\"state\": {\"desired\": {\"color\": {\"r\": 255, \"g\": 0, \"b\": 0}, \"on\": true}, "
+            + "\"reported\": {\"color\": {\"r\": 0, \"g\": 0, \"b\": 255}, \"on\": false}}}";
+
+    private static final ShadowDocument NEW_DOCUMENT = new ShadowDocument();
+
+    private byte[] payloadBytes;
+    private JsonNode payload;
+    private JsonSchema schema;
+
+    /**
+     * Loads the update payload schema and parses the payload.
+     *
+     * @throws IOException if the schema or payload cannot be parsed
+     */
+    @Setup
+    public void setup() throws IOException {
+        JsonUtil.loadSchema();
+        try (InputStream stream = JsonUtil.class.getResourceAsStream("/json/schema/update_payload_schema.json")) {
+            JsonNode schemaNode = OBJECT_MAPPER.readTree(stream);
+            schema = JsonSchemaFactory.getInstance(SpecVersionDetector.detect(schemaNode)).getSchema(schemaNode);
+        }
+        payloadBytes = UPDATE_PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        payload = OBJECT_MAPPER.readTree(payloadBytes);
+    }
+
+    @Benchmark
+    public JsonNode validatePayloadSchema() {
+        JsonUtil.validatePayloadSchema(payload);
+        return payload;
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> validateWithSchemaLibrary() {
+        return schema.validate(payload);
+    }
+
+    @Benchmark
+    public UpdatePayloadScan scanPayload() throws IOException {
+        UpdatePayloadScan scan = UpdatePayloadScan.of(payloadBytes);
+        scan.validateStateDepth();
+        return scan;
+    }
+
+    @Benchmark
+    public JsonNode parseAndValidatePayload() throws IOException {
+        JsonNode node = OBJECT_MAPPER.readTree(payloadBytes);
+        JsonUtil.validatePayloadSchema(node);
+        JsonUtil.validatePayload(NEW_DOCUMENT, node);
+        return node;
+    }
+}
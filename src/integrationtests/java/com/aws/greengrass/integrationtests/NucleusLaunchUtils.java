@@ -16,6 +16,7 @@ import com.aws.greengrass.shadowmanager.ShadowManager;
 import com.aws.greengrass.shadowmanager.ShadowManagerDAOImpl;
 import com.aws.greengrass.shadowmanager.ShadowManagerDatabase;
 import com.aws.greengrass.shadowmanager.exception.RetryableException;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientFactory;
 import com.aws.greengrass.shadowmanager.sync.RequestQueue;
@@ -164,7 +165,12 @@ public class NucleusLaunchUtils extends GGServiceTestUtil {
 
         kernel.getContext().get(ShadowManagerDatabase.class).install();
         ShadowManagerDAOImpl dao = kernel.getContext().get(ShadowManagerDAOImpl.class);
-        dao.updateShadowThing(thingName, shadowName, localShadowState.getBytes(StandardCharsets.UTF_8), 0);
+        dao.updateShadowThing(ShadowThingUpdate.builder()
+                .thingName(thingName)
+                .shadowName(shadowName)
+                .document(localShadowState.getBytes(StandardCharsets.UTF_8))
+                .version(0)
+                .build());
         dao.updateSyncInformation(SyncInformation.builder()
                 .thingName(thingName)
                 .shadowName(shadowName)
@@ -9,9 +9,12 @@ import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.shadowmanager.ShadowManagerDAOImpl;
 import com.aws.greengrass.shadowmanager.ShadowManagerDatabase;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowChange;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.Pair;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,9 +27,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 import javax.inject.Inject;
@@ -35,12 +45,15 @@ import static com.aws.greengrass.shadowmanager.TestUtils.SHADOW_NAME;
 import static com.aws.greengrass.shadowmanager.TestUtils.THING_NAME;
 import static com.aws.greengrass.shadowmanager.model.Constants.CLASSIC_SHADOW_IDENTIFIER;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -53,7 +66,7 @@ class ShadowManagerDAOImplTest {
     private static final byte[] NO_SHADOW_NAME_BASE_DOCUMENT = "{\"version\": 1, \"state\": {\"reported\": {\"name\": \"The Beach Boys\"}}}".getBytes();
     private static final byte[] UPDATED_DOCUMENT = "{\"version\": 1, \"state\": {\"reported\": {\"name\": \"New Name\"}}}".getBytes();
     private static final List<String> SHADOW_NAME_LIST = Arrays.asList("alpha", "bravo", "charlie", "delta");
-    private static final int DEFAULT_OFFSET = 0;
+    private static final String FIRST_PAGE_SHADOW_NAME = "";
     private static final int DEFAULT_LIMIT = 25;
 
 
@@ -97,14 +110,24 @@ class ShadowManagerDAOImplTest {
         );
     }
 
+    private static ShadowThingUpdate shadowThingUpdate(String thingName, String shadowName, byte[] document,
+                                                       long version) {
+        return ShadowThingUpdate.builder()
+                .thingName(thingName)
+                .shadowName(shadowName)
+                .document(document)
+                .version(version)
+                .build();
+    }
+
     private void createNamedShadow() {
-        Optional<byte[]> result = dao.updateShadowThing(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1);
+        Optional<byte[]> result = dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
         assertThat("Created named shadow", result.isPresent(), is(true));
         assertThat(result.get(), is(equalTo(BASE_DOCUMENT)));
     }
 
     private void createClassicShadow() {
-        Optional<byte[]> result = dao.updateShadowThing(THING_NAME, CLASSIC_SHADOW_IDENTIFIER, NO_SHADOW_NAME_BASE_DOCUMENT, 1);
+        Optional<byte[]> result = dao.updateShadowThing(shadowThingUpdate(THING_NAME, CLASSIC_SHADOW_IDENTIFIER, NO_SHADOW_NAME_BASE_DOCUMENT, 1));
         assertThat("Created classic shadow", result.isPresent(), is(true));
         assertThat(result.get(), is(equalTo(NO_SHADOW_NAME_BASE_DOCUMENT)));
     }
@@ -125,6 +148,65 @@ class ShadowManagerDAOImplTest {
         assertThat("No shadow found", result.isPresent(), is(false));
     }
 
+    @Test
+    void GIVEN_named_classic_deleted_and_missing_shadows_WHEN_get_shadow_things_THEN_return_existing_shadows() throws Exception {
+        createNamedShadow();
+        createClassicShadow();
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, "deletedShadow", BASE_DOCUMENT, 1));
+        dao.deleteShadowThing(THING_NAME, "deletedShadow");
+
+        Map<Pair<String, String>, ShadowDocument> result = dao.getShadowThings(Arrays.asList(
+                new Pair<>(THING_NAME, SHADOW_NAME), new Pair<>(THING_NAME, CLASSIC_SHADOW_IDENTIFIER),
+                new Pair<>(THING_NAME, "deletedShadow"), new Pair<>(MISSING_THING_NAME, SHADOW_NAME)));
+
+        assertThat(result.size(), is(2));
+        assertThat(result.get(new Pair<>(THING_NAME, SHADOW_NAME)).toJson(true),
+                is(equalTo(new ShadowDocument(BASE_DOCUMENT).toJson(true))));
+        assertThat(result.get(new Pair<>(THING_NAME, CLASSIC_SHADOW_IDENTIFIER)).toJson(true),
+                is(equalTo(new ShadowDocument(NO_SHADOW_NAME_BASE_DOCUMENT).toJson(true))));
+    }
+
+    @Test
+    void GIVEN_shadow_updated_with_metadata_update_time_WHEN_get_shadow_THEN_latest_metadata_timestamp_is_stored_one() {
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1).toBuilder()
+                .metadataUpdateTime(300L)
+                .build());
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, CLASSIC_SHADOW_IDENTIFIER, NO_SHADOW_NAME_BASE_DOCUMENT, 1));
+
+        // the documents have no metadata, so the timestamp would be 0 if it was computed from the metadata
+        assertThat(dao.getShadowThing(THING_NAME, SHADOW_NAME).get().getMetadata().getLatestMetadataTimestamp(),
+                is(300L));
+        assertThat(dao.getShadowThings(Collections.singletonList(new Pair<>(THING_NAME, SHADOW_NAME)))
+                .get(new Pair<>(THING_NAME, SHADOW_NAME)).getMetadata().getLatestMetadataTimestamp(), is(300L));
+        assertThat(dao.getShadowThing(THING_NAME, CLASSIC_SHADOW_IDENTIFIER).get().getMetadata()
+                .getLatestMetadataTimestamp(), is(0L));
+    }
+
+    @Test
+    void GIVEN_shadow_updated_with_delta_WHEN_get_shadow_THEN_delta_is_stored_one() throws IOException {
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1).toBuilder()
+                .delta("{\"name\": \"Stored Delta\"}".getBytes())
+                .build());
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, CLASSIC_SHADOW_IDENTIFIER, NO_SHADOW_NAME_BASE_DOCUMENT, 1)
+                .toBuilder()
+                .delta("{}".getBytes())
+                .build());
+
+        // the documents have no desired state, so there would be no delta if it was calculated from the state
+        assertThat(dao.getShadowThing(THING_NAME, SHADOW_NAME).get().getState().getDelta(),
+                is(equalTo(JsonUtil.getPayloadJson("{\"name\": \"Stored Delta\"}".getBytes()).get())));
+        assertThat(dao.getShadowThings(Collections.singletonList(new Pair<>(THING_NAME, SHADOW_NAME)))
+                        .get(new Pair<>(THING_NAME, SHADOW_NAME)).getState().getDelta(),
+                is(equalTo(JsonUtil.getPayloadJson("{\"name\": \"Stored Delta\"}".getBytes()).get())));
+        assertThat(dao.getShadowThing(THING_NAME, CLASSIC_SHADOW_IDENTIFIER).get().getState().getDelta(),
+                is(nullValue()));
+    }
+
+    @Test
+    void GIVEN_no_shadows_requested_WHEN_get_shadow_things_THEN_return_nothing() {
+        assertThat(dao.getShadowThings(Collections.emptyList()).isEmpty(), is(true));
+    }
+
     @ParameterizedTest
     @MethodSource("classicAndNamedShadow")
     void GIVEN_named_and_classic_shadow_WHEN_delete_shadow_thing_THEN_shadow_deleted(String shadowName, byte[] expectedPayload) throws Exception {
@@ -157,7 +239,7 @@ class ShadowManagerDAOImplTest {
     void GIVEN_named_and_classic_shadow_WHEN_update_shadow_thing_THEN_correct_shadow_updated(String shadowName, String ignoredShadowName, byte[] ignoredPayload) throws Exception {
         createNamedShadow();
         createClassicShadow();
-        Optional<byte[]> result = dao.updateShadowThing(THING_NAME, shadowName, UPDATED_DOCUMENT, 1); //NOPMD
+        Optional<byte[]> result = dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1)); //NOPMD
         assertThat("Updated shadow", result.isPresent(), is(true));
         assertThat(result.get(), is(equalTo(UPDATED_DOCUMENT)));
 
@@ -174,7 +256,7 @@ class ShadowManagerDAOImplTest {
 
     @Test
     void GIVEN_no_shadow_WHEN_update_shadow_thing_THEN_shadow_created() {
-        Optional<byte[]> result = dao.updateShadowThing(THING_NAME, SHADOW_NAME, UPDATED_DOCUMENT, 1);
+        Optional<byte[]> result = dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, UPDATED_DOCUMENT, 1));
         assertThat("Shadow created", result.isPresent(), is(true));
         assertThat(result.get(), is(equalTo(UPDATED_DOCUMENT)));
     }
@@ -182,10 +264,10 @@ class ShadowManagerDAOImplTest {
     @Test
     void GIVEN_multiple_named_shadows_for_thing_WHEN_list_named_shadows_for_thing_THEN_return_named_shadow_list() {
         for (String shadowName : SHADOW_NAME_LIST) {
-            dao.updateShadowThing(THING_NAME, shadowName, UPDATED_DOCUMENT, 1);
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1));
         }
 
-        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, FIRST_PAGE_SHADOW_NAME, DEFAULT_LIMIT);
         assertThat(listShadowResults, is(notNullValue()));
         assertThat(listShadowResults, is(not(empty())));
         assertThat(listShadowResults, is(equalTo(SHADOW_NAME_LIST)));
@@ -194,11 +276,11 @@ class ShadowManagerDAOImplTest {
     @Test
     void GIVEN_classic_and_named_shadows_WHEN_list_named_shadows_for_thing_THEN_return_list_does_not_include_classic_shadow() {
         for (String shadowName : SHADOW_NAME_LIST) {
-            dao.updateShadowThing(THING_NAME, shadowName, UPDATED_DOCUMENT, 1);
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1));
         }
-        dao.updateShadowThing(THING_NAME, CLASSIC_SHADOW_IDENTIFIER, UPDATED_DOCUMENT, 1);
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, CLASSIC_SHADOW_IDENTIFIER, UPDATED_DOCUMENT, 1));
 
-        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, DEFAULT_OFFSET, SHADOW_NAME_LIST.size());
+        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, FIRST_PAGE_SHADOW_NAME, SHADOW_NAME_LIST.size());
         assertThat(listShadowResults, is(notNullValue()));
         assertThat(listShadowResults, is(not(empty())));
         assertThat(listShadowResults, is(equalTo(SHADOW_NAME_LIST)));
@@ -206,31 +288,47 @@ class ShadowManagerDAOImplTest {
     }
 
     @Test
-    void GIVEN_offset_and_limit_WHEN_list_named_shadows_for_thing_THEN_return_named_shadow_subset() {
+    void GIVEN_last_shadow_name_and_limit_WHEN_list_named_shadows_for_thing_THEN_return_named_shadow_subset() {
         for (String shadowName : SHADOW_NAME_LIST) {
-            dao.updateShadowThing(THING_NAME, shadowName, UPDATED_DOCUMENT, 1);
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1));
         }
 
-        int offset = 1;
+        String afterShadowName = "alpha";
         int limit = 2;
-        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, offset, limit);
+        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, afterShadowName, limit);
         List<String> expected_paginated_list = Arrays.asList("bravo", "charlie");
         assertThat(listShadowResults, is(notNullValue()));
         assertThat(listShadowResults, is(not(empty())));
         assertThat(listShadowResults, is(equalTo(expected_paginated_list)));
     }
 
+    @Test
+    void GIVEN_shadows_added_and_deleted_between_pages_WHEN_list_named_shadows_for_thing_THEN_next_page_does_not_shift() {
+        for (String shadowName : SHADOW_NAME_LIST) {
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1));
+        }
+
+        List<String> firstPage = dao.listNamedShadowsForThing(THING_NAME, FIRST_PAGE_SHADOW_NAME, 2);
+        assertThat(firstPage, is(equalTo(Arrays.asList("alpha", "bravo"))));
+
+        dao.deleteShadowThing(THING_NAME, "alpha");
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, "aardvark", UPDATED_DOCUMENT, 1));
+
+        List<String> secondPage = dao.listNamedShadowsForThing(THING_NAME, firstPage.get(firstPage.size() - 1), 2);
+        assertThat(secondPage, is(equalTo(Arrays.asList("charlie", "delta"))));
+    }
+
     @Test
     void GIVEN_one_deleted_shadow_WHEN_list_named_shadows_for_thing_THEN_return_non_deleted_named_shadow() throws IOException {
         for (String shadowName : SHADOW_NAME_LIST) {
-            dao.updateShadowThing(THING_NAME, shadowName, UPDATED_DOCUMENT, 1);
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1));
         }
 
         Optional<ShadowDocument> result = dao.deleteShadowThing(THING_NAME, "charlie"); //NOPMD
         assertThat("Correct payload returned", result.isPresent(), is(true));
         assertThat(result.get().toJson(true), is(equalTo(new ShadowDocument(UPDATED_DOCUMENT).toJson(true))));
 
-        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, DEFAULT_OFFSET, SHADOW_NAME_LIST.size());
+        List<String> listShadowResults = dao.listNamedShadowsForThing(THING_NAME, FIRST_PAGE_SHADOW_NAME, SHADOW_NAME_LIST.size());
         List<String> expected_list = Arrays.asList("alpha", "bravo", "delta");
         assertThat(listShadowResults, is(notNullValue()));
         assertThat(listShadowResults, is(not(empty())));
@@ -239,37 +337,37 @@ class ShadowManagerDAOImplTest {
 
     static Stream<Arguments> validListTestParameters() {
         return Stream.of(
-                arguments(THING_NAME, 0, 5),   // limit greater than number of named shadows
-                arguments(THING_NAME, 0, 2),   // limit is less than number of named shadows
-                arguments(THING_NAME, 0, -10), // limit is negative
-                arguments(THING_NAME, 4, 5),   // offset is equal to or greater than number of named shadows
-                arguments(THING_NAME, -10, 5), // offset is negative
-                arguments(MISSING_THING_NAME, 0, 5),  // list for thing that does not exist
-                arguments(CLASSIC_SHADOW_THING, 0, 5) // list for thing that does not have named shadows
+                arguments(THING_NAME, FIRST_PAGE_SHADOW_NAME, 5),   // limit greater than number of named shadows
+                arguments(THING_NAME, FIRST_PAGE_SHADOW_NAME, 2),   // limit is less than number of named shadows
+                arguments(THING_NAME, FIRST_PAGE_SHADOW_NAME, -10), // limit is negative
+                arguments(THING_NAME, "delta", 5),   // last shadow name is the last named shadow
+                arguments(THING_NAME, "zulu", 5),    // last shadow name is after every named shadow
+                arguments(MISSING_THING_NAME, FIRST_PAGE_SHADOW_NAME, 5),  // list for thing that does not exist
+                arguments(CLASSIC_SHADOW_THING, FIRST_PAGE_SHADOW_NAME, 5) // list for thing that does not have named shadows
         );
     }
 
     @ParameterizedTest
     @MethodSource("validListTestParameters")
-    void GIVEN_valid_edge_inputs_WHEN_list_named_shadows_for_thing_THEN_return_valid_results(String thingName, int offset, int pageSize) {
+    void GIVEN_valid_edge_inputs_WHEN_list_named_shadows_for_thing_THEN_return_valid_results(String thingName, String afterShadowName, int pageSize) {
         for (String shadowName : SHADOW_NAME_LIST) {
-            dao.updateShadowThing(THING_NAME, shadowName, UPDATED_DOCUMENT, 1);
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, shadowName, UPDATED_DOCUMENT, 1));
         }
 
-        dao.updateShadowThing(CLASSIC_SHADOW_THING, CLASSIC_SHADOW_IDENTIFIER, UPDATED_DOCUMENT, 1);
+        dao.updateShadowThing(shadowThingUpdate(CLASSIC_SHADOW_THING, CLASSIC_SHADOW_IDENTIFIER, UPDATED_DOCUMENT, 1));
 
-        List<String> listShadowResults = dao.listNamedShadowsForThing(thingName, offset, pageSize);
+        List<String> listShadowResults = dao.listNamedShadowsForThing(thingName, afterShadowName, pageSize);
         assertThat(listShadowResults, is(notNullValue()));
 
-        // cases where valid results are empty (missing thing, thing with no named shadows, offset greater/equal to number of named shadows)
+        // cases where valid results are empty (missing thing, thing with no named shadows, no named shadow after the last shadow name)
         if (thingName.equals(MISSING_THING_NAME)
                 || thingName.equals(CLASSIC_SHADOW_THING)
-                || offset >= SHADOW_NAME_LIST.size()) {
+                || afterShadowName.compareTo(SHADOW_NAME_LIST.get(SHADOW_NAME_LIST.size() - 1)) >= 0) {
             assertThat(listShadowResults, is(empty()));
         }
 
-        // cases where offset and limit are ignored (offset/limit are negative)
-        if (offset < 0 || pageSize < 0) {
+        // cases where limit is ignored (limit is negative)
+        if (pageSize < 0) {
             assertThat("Original results remained the same", listShadowResults, is(equalTo(SHADOW_NAME_LIST)));
         }
     }
@@ -408,4 +506,146 @@ class ShadowManagerDAOImplTest {
         assertThat(deletedShadowVersion.get(), is(2L));
     }
 
+    @Test
+    void GIVEN_unit_of_work_throws_WHEN_executeInTransaction_THEN_shadow_and_sync_information_are_rolled_back() {
+        long epochSeconds = Instant.EPOCH.getEpochSecond();
+        SyncInformation syncInformation = SyncInformation.builder()
+                .thingName(THING_NAME)
+                .shadowName(SHADOW_NAME)
+                .cloudDeleted(false)
+                .cloudVersion(1)
+                .cloudUpdateTime(epochSeconds)
+                .lastSyncedDocument(BASE_DOCUMENT)
+                .localVersion(1)
+                .lastSyncTime(epochSeconds)
+                .build();
+
+        assertThrows(IOException.class, () -> dao.executeInTransaction(() -> {
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
+            dao.updateSyncInformation(syncInformation);
+            throw new IOException();
+        }));
+
+        assertThat(dao.getShadowThing(THING_NAME, SHADOW_NAME), is(Optional.empty()));
+        assertThat(dao.getShadowSyncInformation(THING_NAME, SHADOW_NAME), is(Optional.empty()));
+
+        dao.executeInTransaction(() -> {
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
+            return dao.updateSyncInformation(syncInformation);
+        });
+
+        assertThat(dao.getShadowThing(THING_NAME, SHADOW_NAME), is(not(Optional.empty())));
+        assertThat(dao.getShadowSyncInformation(THING_NAME, SHADOW_NAME), is(Optional.of(syncInformation)));
+    }
+
+    @Test
+    void GIVEN_shadow_updates_and_deletes_WHEN_get_shadow_changes_since_THEN_returns_latest_change_of_each_shadow() {
+        createNamedShadow();
+        createClassicShadow();
+        dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, UPDATED_DOCUMENT, 2));
+        dao.deleteShadowThing(THING_NAME, SHADOW_NAME);
+
+        List<ShadowChange> changes = dao.getShadowChangesSince(0, DEFAULT_LIMIT);
+        assertThat(changes.size(), is(2));
+        assertThat(changes.get(0).getThingName(), is(THING_NAME));
+        assertThat(changes.get(0).getShadowName(), is(CLASSIC_SHADOW_IDENTIFIER));
+        assertThat(changes.get(0).getOperation(), is(ShadowChange.Operation.UPDATE));
+        assertThat(changes.get(0).getVersion(), is(1L));
+        assertThat(changes.get(1).getThingName(), is(THING_NAME));
+        assertThat(changes.get(1).getShadowName(), is(SHADOW_NAME));
+        assertThat(changes.get(1).getOperation(), is(ShadowChange.Operation.DELETE));
+        assertThat(changes.get(1).getVersion(), is(3L));
+
+        List<ShadowChange> laterChanges = dao.getShadowChangesSince(changes.get(0).getSequenceNumber(), 1);
+        assertThat(laterChanges, is(equalTo(changes.subList(1, 2))));
+        assertThat(dao.getShadowChangesSince(changes.get(1).getSequenceNumber(), DEFAULT_LIMIT), is(empty()));
+    }
+
+    @Test
+    void GIVEN_unit_of_work_throws_WHEN_executeInTransaction_THEN_shadow_change_is_rolled_back() {
+        assertThrows(IOException.class, () -> dao.executeInTransaction(() -> {
+            dao.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
+            throw new IOException();
+        }));
+
+        assertThat(dao.getShadowChangesSince(0, DEFAULT_LIMIT), is(empty()));
+    }
+
+    private void createShadowsWithSyncInformation(int thingCount, int shadowCount) throws SQLException {
+        dao.executeInTransaction(() -> {
+            for (int thing = 0; thing < thingCount; thing++) {
+                for (int shadow = 0; shadow < shadowCount; shadow++) {
+                    dao.updateShadowThing(shadowThingUpdate("thing" + thing, "shadow" + shadow, BASE_DOCUMENT, 1));
+                    dao.updateSyncInformation(SyncInformation.builder()
+                            .thingName("thing" + thing)
+                            .shadowName("shadow" + shadow)
+                            .lastSyncedDocument(BASE_DOCUMENT)
+                            .build());
+                }
+                dao.deleteShadowThing("thing" + thing, "shadow0");
+            }
+            return null;
+        });
+        try (Connection connection = database.getPool().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private String explain(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = database.getPool().getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    @Test
+    void GIVEN_many_shadows_WHEN_explain_list_named_shadows_for_thing_THEN_live_shadows_index_is_used() throws SQLException {
+        createShadowsWithSyncInformation(20, 50);
+
+        String plan = explain(ShadowManagerDAOImpl.LIST_NAMED_SHADOWS_SQL, "thing7", "shadow10", 25);
+
+        assertThat(plan, containsString("PUBLIC.DOCUMENTS_LIVE_SHADOWS"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void GIVEN_many_shadows_WHEN_explain_shadow_and_sync_lookups_THEN_primary_key_is_used() throws SQLException {
+        createShadowsWithSyncInformation(20, 50);
+
+        for (String sql : Arrays.asList(ShadowManagerDAOImpl.GET_SHADOW_THING_SQL,
+                ShadowManagerDAOImpl.GET_DELETED_SHADOW_VERSION_SQL, ShadowManagerDAOImpl.GET_SHADOW_VERSION_SQL,
+                ShadowManagerDAOImpl.GET_SHADOW_CONTENT_HASH_SQL, ShadowManagerDAOImpl.GET_SYNC_INFORMATION_SQL,
+                ShadowManagerDAOImpl.DELETE_SYNC_INFORMATION_SQL)) {
+            assertThat(sql, explain(sql, "thing7", "shadow10"), not(containsString("tableScan")));
+        }
+    }
+
+    @Test
+    void GIVEN_many_shadows_WHEN_explain_get_shadow_things_THEN_primary_key_is_used() throws SQLException {
+        createShadowsWithSyncInformation(20, 50);
+        Map<String, List<String>> shadowNamesByThing = Collections.singletonMap("thing7",
+                Arrays.asList("shadow10", "shadow11", "shadow12"));
+
+        String plan = explain(ShadowManagerDAOImpl.getShadowThingsSql(shadowNamesByThing),
+                "thing7", "shadow10", "shadow11", "shadow12");
+
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void GIVEN_many_shadow_changes_WHEN_explain_delete_shadow_changes_THEN_shadow_index_is_used() throws SQLException {
+        createShadowsWithSyncInformation(20, 50);
+
+        String plan = explain(ShadowManagerDAOImpl.DELETE_SHADOW_CHANGES_SQL, "thing7", "shadow10");
+
+        assertThat(plan, containsString("PUBLIC.CHANGES_SHADOW"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
 }
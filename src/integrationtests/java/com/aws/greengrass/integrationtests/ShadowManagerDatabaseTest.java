@@ -12,6 +12,7 @@ import com.aws.greengrass.shadowmanager.ShadowManagerDAOImpl;
 import com.aws.greengrass.shadowmanager.ShadowManagerDatabase;
 import com.aws.greengrass.shadowmanager.exception.ShadowManagerDataException;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import org.apache.commons.io.FileUtils;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
@@ -98,7 +99,8 @@ class ShadowManagerDatabaseTest extends NucleusLaunchUtils {
 
             // GIVEN
             byte[] doc = "{\"version\": 1, \"state\": {\"reported\": {\"name\": \"The Beatles\"}}}".getBytes(StandardCharsets.UTF_8);
-            dao.updateShadowThing("foo", "bar", doc, 1);
+            dao.updateShadowThing(ShadowThingUpdate.builder().thingName("foo").shadowName("bar").document(doc).version(1)
+                    .build());
             Optional<ShadowDocument> data = dao.getShadowThing("foo", "bar");
 
             assertThat(data.isPresent(), is(true));
@@ -137,7 +139,7 @@ class ShadowManagerDatabaseTest extends NucleusLaunchUtils {
 
         // expected tables
         assertThat(tables, hasItems(equalToIgnoringCase("documents"),
-                equalToIgnoringCase("sync")));
+                equalToIgnoringCase("sync"), equalToIgnoringCase("changes")));
 
         // tables loaded by migrations provided as test resources
         assertThat(tables, hasItems(equalToIgnoringCase("foo"),
@@ -168,7 +170,7 @@ class ShadowManagerDatabaseTest extends NucleusLaunchUtils {
 
         // expected tables
         assertThat(tables, hasItems(equalToIgnoringCase("documents"),
-                equalToIgnoringCase("sync")));
+                equalToIgnoringCase("sync"), equalToIgnoringCase("changes")));
 
         // tables loaded by migrations provided as test resources
         assertThat(tables, hasItems(equalToIgnoringCase("foo"),
@@ -252,10 +254,12 @@ class ShadowManagerDatabaseTest extends NucleusLaunchUtils {
                         int shadowIndex = r.nextInt(numShadows);
 
                         byte[] docBytes = getDocBytes(things[thingIndex], shadowIndex, bytes);
-                        dao.updateShadowThing(things[thingIndex],
-                                shadows[shadowIndex],
-                                docBytes,
-                                updateCount);
+                        dao.updateShadowThing(ShadowThingUpdate.builder()
+                                .thingName(things[thingIndex])
+                                .shadowName(shadows[shadowIndex])
+                                .document(docBytes)
+                                .version(updateCount)
+                                .build());
                         limit.acquire();
 
                         if (updateCount % checkCount == 0) {
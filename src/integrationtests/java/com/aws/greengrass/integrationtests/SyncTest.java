@@ -18,6 +18,7 @@ import com.aws.greengrass.shadowmanager.ipc.UpdateThingShadowRequestHandler;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.UpdateThingShadowHandlerResponse;
 import com.aws.greengrass.shadowmanager.model.configuration.ThingShadowSyncConfiguration;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.RequestQueue;
 import com.aws.greengrass.shadowmanager.sync.RequestMerger;
@@ -89,7 +90,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.after;
@@ -416,7 +416,7 @@ class SyncTest extends NucleusLaunchUtils {
         assertThat(cloudUpdateThingShadowRequestCaptor.getValue().thingName(), is(MOCK_THING_NAME_1));
         assertThat(cloudUpdateThingShadowRequestCaptor.getValue().shadowName(), is(CLASSIC_SHADOW));
 
-        verify(dao, never()).updateShadowThing(anyString(), anyString(), any(byte[].class), anyLong());
+        verify(dao, never()).updateShadowThing(any());
         // Checking that the cloud shadow is updated at least once since there is a possibility that the older
         // sync strategy (specifically real time syncing) can start executing a request before we have had a chance to
         // replace it.
@@ -849,7 +849,12 @@ class SyncTest extends NucleusLaunchUtils {
 
         ShadowManagerDAO dao = kernel.getContext().get(ShadowManagerDAOImpl.class);
 
-        dao.updateShadowThing(MOCK_THING_NAME_1, RANDOM_SHADOW, localShadowContentV1.getBytes(UTF_8), 1L);
+        dao.updateShadowThing(ShadowThingUpdate.builder()
+                .thingName(MOCK_THING_NAME_1)
+                .shadowName(RANDOM_SHADOW)
+                .document(localShadowContentV1.getBytes(UTF_8))
+                .version(1L)
+                .build());
 
         DeleteThingShadowRequestHandler deleteHandler = shadowManager.getDeleteThingShadowRequestHandler();
 
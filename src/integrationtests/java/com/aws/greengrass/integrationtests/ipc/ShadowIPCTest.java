@@ -681,7 +681,7 @@ class ShadowIPCTest {
             assertThat(shadowNameResults.toArray(), arrayContaining(SHADOW_NAME_1));
             assertThat(shadowNameResults.size(), is(equalTo(1)));
             assertThat(response.getNextToken(), is(notNullValue()));
-            assertThat(response.getNextToken(), is("hh5oROXTiAG1Zw1yPAV+gg=="));
+            assertThat(response.getNextToken(), is("ezARmlcXjqTUsKxqVelIqw=="));
         }
     }
 
@@ -694,7 +694,7 @@ class ShadowIPCTest {
 
             ListNamedShadowsForThingRequest request = new ListNamedShadowsForThingRequest();
             request.setThingName(MOCK_THING_NAME);
-            request.setNextToken("hh5oROXTiAG1Zw1yPAV+gg==");
+            request.setNextToken("ezARmlcXjqTUsKxqVelIqw==");
 
             ListNamedShadowsForThingResponse response =
                     ipcClient.listNamedShadowsForThing(request, Optional.empty()).getResponse()
@@ -0,0 +1,102 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.loadtest;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of a load test run, parsed from the {@code key=value} arguments of {@link ShadowLoadTest}. Every key
+ * is optional.
+ */
+@Getter
+public class LoadTestConfiguration {
+    /**
+     * Number of threads sending requests.
+     */
+    private final int threads;
+    /**
+     * Number of things, each of them with the same number of shadows.
+     */
+    private final int things;
+    private final int shadowsPerThing;
+    /**
+     * Approximate size in bytes of the reported state sent in each update.
+     */
+    private final int documentSize;
+    /**
+     * Percentages of the requests which get a shadow and which delete a shadow. The other requests update a shadow.
+     */
+    private final int readPercent;
+    private final int deletePercent;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+
+    /**
+     * Parses the configuration from {@code key=value} arguments.
+     *
+     * @param args the arguments of the load test
+     * @throws IllegalArgumentException if an argument is not a known key with a valid value
+     */
+    public LoadTestConfiguration(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.trim().isEmpty()) {
+                continue;
+            }
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            values.put(keyValue[0].trim(), keyValue[1].trim());
+        }
+
+        threads = getPositive(values, "threads", 4);
+        things = getPositive(values, "things", 10);
+        shadowsPerThing = getPositive(values, "shadowsPerThing", 10);
+        documentSize = getPositive(values, "documentSize", 1024);
+        readPercent = getPercent(values, "readPercent", 80);
+        deletePercent = getPercent(values, "deletePercent", 0);
+        warmupSeconds = getPositive(values, "warmupSeconds", 10);
+        durationSeconds = getPositive(values, "durationSeconds", 60);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown arguments " + values.keySet());
+        }
+        if (readPercent + deletePercent > 100) {
+            throw new IllegalArgumentException("readPercent and deletePercent add up to more than 100");
+        }
+    }
+
+    private static int getPositive(Map<String, String> values, String key, int defaultValue) {
+        int value = get(values, key, defaultValue);
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive");
+        }
+        return value;
+    }
+
+    private static int getPercent(Map<String, String> values, String key, int defaultValue) {
+        int value = get(values, key, defaultValue);
+        if (value < 0 || value > 100) {
+            throw new IllegalArgumentException(key + " must be between 0 and 100");
+        }
+        return value;
+    }
+
+    private static int get(Map<String, String> values, String key, int defaultValue) {
+        String value = values.remove(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("threads=%d things=%d shadowsPerThing=%d documentSize=%d readPercent=%d deletePercent=%d "
+                        + "warmupSeconds=%d durationSeconds=%d", threads, things, shadowsPerThing, documentSize,
+                readPercent, deletePercent, warmupSeconds, durationSeconds);
+    }
+}
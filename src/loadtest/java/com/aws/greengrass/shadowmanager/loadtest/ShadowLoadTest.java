@@ -0,0 +1,286 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.loadtest;
+
+import com.aws.greengrass.builtin.services.pubsub.PubSubIPCEventStreamAgent;
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.mqttclient.MqttClient;
+import com.aws.greengrass.shadowmanager.AuthorizationHandlerWrapper;
+import com.aws.greengrass.shadowmanager.ShadowManager;
+import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientFactory;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.commons.io.FileUtils;
+import software.amazon.awssdk.aws.greengrass.model.DeleteThingShadowRequest;
+import software.amazon.awssdk.aws.greengrass.model.GetThingShadowRequest;
+import software.amazon.awssdk.aws.greengrass.model.UpdateThingShadowRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Load test of the local shadow operations. It launches the nucleus with the shadow manager and its real database,
+ * and sends get, update and delete requests to the shadow manager's request handlers from several threads for random
+ * shadows, then reports the throughput and the latency percentiles of each operation.
+ *
+ * <p>It runs without any network: there is no connection to AWS IoT Core so shadows are not synced, every request is
+ * authorized, and the messages published for the requests are dropped. Run it with:
+ * <pre>
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.args="threads=8 readPercent=50 documentSize=4096"
+ * </pre>
+ * See {@link LoadTestConfiguration} for the arguments.
+ */
+public final class ShadowLoadTest {
+    private static final String SERVICE_NAME = "LoadTest";
+    private static final int UPDATE_PAYLOADS = 16;
+    private static final long STARTUP_TIMEOUT_SECONDS = 60L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestConfiguration configuration;
+    private final ShadowManager shadowManager;
+    private final List<byte[]> updatePayloads;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    private volatile boolean measuring;
+
+    enum Operation {
+        GET, UPDATE, DELETE
+    }
+
+    private ShadowLoadTest(LoadTestConfiguration configuration, ShadowManager shadowManager)
+            throws JsonProcessingException {
+        this.configuration = configuration;
+        this.shadowManager = shadowManager;
+        this.updatePayloads = generateUpdatePayloads(configuration.getDocumentSize());
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+        }
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the {@code key=value} arguments of the load test
+     * @throws IOException          if the root directory of the nucleus cannot be created or deleted
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestConfiguration configuration = new LoadTestConfiguration(args);
+        System.out.println("Running shadow load test with " + configuration);
+
+        Path rootDir = Files.createTempDirectory("shadow-load-test");
+        Kernel kernel = new Kernel();
+        try {
+            new ShadowLoadTest(configuration, launch(kernel, rootDir)).run();
+        } finally {
+            kernel.shutdown();
+            FileUtils.deleteDirectory(rootDir.toFile());
+        }
+    }
+
+    private static ShadowManager launch(Kernel kernel, Path rootDir) throws InterruptedException {
+        CountDownLatch shadowManagerRunning = new CountDownLatch(1);
+        AtomicReference<ShadowManager> shadowManager = new AtomicReference<>();
+        kernel.parseArgs("-r", rootDir.toAbsolutePath().toString(), "-i",
+                ShadowLoadTest.class.getResource("config.yaml").toString());
+        kernel.getContext().addGlobalStateChangeListener((service, was, newState) -> {
+            if (service.getName().equals(ShadowManager.SERVICE_NAME) && newState.equals(State.RUNNING)) {
+                shadowManager.set((ShadowManager) service);
+                shadowManagerRunning.countDown();
+            }
+        });
+        // the stubs do not record their invocations, which would otherwise keep every request in memory
+        kernel.getContext().put(MqttClient.class, mock(MqttClient.class, withSettings().stubOnly()));
+        kernel.getContext().put(IotDataPlaneClientFactory.class, mock(IotDataPlaneClientFactory.class,
+                withSettings().stubOnly().defaultAnswer(RETURNS_DEEP_STUBS)));
+        kernel.getContext().put(AuthorizationHandlerWrapper.class,
+                mock(AuthorizationHandlerWrapper.class, withSettings().stubOnly()));
+        kernel.getContext().put(PubSubIPCEventStreamAgent.class,
+                mock(PubSubIPCEventStreamAgent.class, withSettings().stubOnly()));
+        kernel.launch();
+
+        if (!shadowManagerRunning.await(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Shadow manager did not start");
+        }
+        return shadowManager.get();
+    }
+
+    private void run() throws InterruptedException {
+        createShadows();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(configuration.getThreads());
+        for (int i = 0; i < configuration.getThreads(); i++) {
+            executorService.execute(this::sendRequests);
+        }
+        try {
+            TimeUnit.SECONDS.sleep(configuration.getWarmupSeconds());
+            recorders.values().forEach(Recorder::reset);
+            measuring = true;
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(configuration.getDurationSeconds());
+            measuring = false;
+
+            Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+            recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+            report(histograms, System.nanoTime() - start);
+        } finally {
+            running = false;
+            executorService.shutdown();
+            executorService.awaitTermination(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void createShadows() {
+        for (int thing = 0; thing < configuration.getThings(); thing++) {
+            for (int shadow = 0; shadow < configuration.getShadowsPerThing(); shadow++) {
+                update(thingName(thing), shadowName(shadow), updatePayloads.get(0));
+            }
+        }
+    }
+
+    private void sendRequests() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String thingName = thingName(random.nextInt(configuration.getThings()));
+            String shadowName = shadowName(random.nextInt(configuration.getShadowsPerThing()));
+            int percent = random.nextInt(100);
+            Operation operation;
+            if (percent < configuration.getReadPercent()) {
+                operation = Operation.GET;
+            } else if (percent < configuration.getReadPercent() + configuration.getDeletePercent()) {
+                operation = Operation.DELETE;
+            } else {
+                operation = Operation.UPDATE;
+            }
+
+            long start = System.nanoTime();
+            try {
+                switch (operation) {
+                    case GET:
+                        get(thingName, shadowName);
+                        break;
+                    case DELETE:
+                        delete(thingName, shadowName);
+                        break;
+                    default:
+                        update(thingName, shadowName, updatePayloads.get(random.nextInt(UPDATE_PAYLOADS)));
+                        break;
+                }
+                recorders.get(operation).recordValue(System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                // gets and deletes of deleted shadows fail as not found
+                if (measuring) {
+                    errors.computeIfAbsent(operation + " " + e.getClass().getSimpleName(), k -> new LongAdder())
+                            .increment();
+                }
+            }
+        }
+    }
+
+    private void get(String thingName, String shadowName) {
+        GetThingShadowRequest request = new GetThingShadowRequest();
+        request.setThingName(thingName);
+        request.setShadowName(shadowName);
+        shadowManager.getGetThingShadowRequestHandler().handleRequest(request, SERVICE_NAME);
+    }
+
+    private void update(String thingName, String shadowName, byte[] payload) {
+        UpdateThingShadowRequest request = new UpdateThingShadowRequest();
+        request.setThingName(thingName);
+        request.setShadowName(shadowName);
+        request.setPayload(payload);
+        shadowManager.getUpdateThingShadowRequestHandler().handleRequest(request, SERVICE_NAME);
+    }
+
+    private void delete(String thingName, String shadowName) {
+        DeleteThingShadowRequest request = new DeleteThingShadowRequest();
+        request.setThingName(thingName);
+        request.setShadowName(shadowName);
+        shadowManager.getDeleteThingShadowRequestHandler().handleRequest(request, SERVICE_NAME);
+    }
+
+    private void report(Map<Operation, Histogram> histograms, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        System.out.printf("%n%-8s %10s %10s %10s %10s %10s %10s %10s%n", "", "requests", "req/s", "p50 us",
+                "p90 us", "p99 us", "p99.9 us", "max us");
+        long totalCount = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            totalCount += histogram.getTotalCount();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            List<String> columns = new ArrayList<>();
+            for (double percentile : PERCENTILES) {
+                columns.add(micros(histogram.getValueAtPercentile(percentile)));
+            }
+            columns.add(micros(histogram.getMaxValue()));
+            System.out.printf("%-8s %10d %10.0f %10s %10s %10s %10s %10s%n", entry.getKey(),
+                    histogram.getTotalCount(), histogram.getTotalCount() / elapsedSeconds, columns.get(0),
+                    columns.get(1), columns.get(2), columns.get(3), columns.get(4));
+        }
+        System.out.printf("%-8s %10d %10.0f%n", "TOTAL", totalCount, totalCount / elapsedSeconds);
+        errors.forEach((error, count) -> System.out.printf("failed: %s %d%n", error, count.sum()));
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1000.0);
+    }
+
+    private static String thingName(int thing) {
+        return "thing" + thing;
+    }
+
+    private static String shadowName(int shadow) {
+        return "shadow" + shadow;
+    }
+
+    /**
+     * Generates update payloads reporting values which differ between the payloads, so that every update changes the
+     * shadow.
+     */
+    private static List<byte[]> generateUpdatePayloads(int documentSize) throws JsonProcessingException {
+        Random random = new Random(42);
+        List<byte[]> payloads = new ArrayList<>();
+        for (int i = 0; i < UPDATE_PAYLOADS; i++) {
+            ObjectNode reported = JsonUtil.OBJECT_MAPPER.createObjectNode();
+            // each field is about 20 bytes
+            for (int field = 0; field < Math.max(1, documentSize / 20); field++) {
+                reported.put("value" + field, random.nextInt(1_000_000));
+            }
+            ObjectNode payload = JsonUtil.OBJECT_MAPPER.createObjectNode();
+            payload.putObject(SHADOW_DOCUMENT_STATE).set(SHADOW_DOCUMENT_STATE_REPORTED, reported);
+            payloads.add(JsonUtil.getPayloadBytes(payload));
+        }
+        return payloads;
+    }
+}
@@ -8,27 +8,77 @@ package com.aws.greengrass.shadowmanager;
 import com.aws.greengrass.authorization.AuthorizationHandler;
 import com.aws.greengrass.authorization.Permission;
 import com.aws.greengrass.authorization.exceptions.AuthorizationException;
+import com.aws.greengrass.config.Node;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.config.WhatHappened;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
+import lombok.Value;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
 
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.ACCESS_CONTROL_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_CACHED_AUTHORIZATION_DECISIONS;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_MANAGER_NAME;
 
 /**
  * Class to check if ipc requests are authorized.
+ *
+ * <p>The decision for each service, operation and resource is cached, since the same component keeps checking the
+ * same shadow topics. The cache is cleared whenever the access control configuration of a component changes.
  */
 public class AuthorizationHandlerWrapper {
+    private static final Logger logger = LogManager.getLogger(AuthorizationHandlerWrapper.class);
+    private static final Optional<String> AUTHORIZED = Optional.empty();
+
     private final AuthorizationHandler authorizationHandler;
+    private final Context context;
+
+    /**
+     * Cached decisions, with the message of the authorization error for the denied ones.
+     */
+    private final Map<DecisionKey, Optional<String>> decisions = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented each time the cache is cleared, so that a decision made with the previous access control
+     * configuration is not cached after the cache was cleared.
+     */
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
     /**
      * Constructor.
      *
      * @param authorizationHandler PubSub event stream agent
+     * @param kernel               kernel whose service configuration contains the access control policies
      */
     @Inject
-    public AuthorizationHandlerWrapper(AuthorizationHandler authorizationHandler) {
+    public AuthorizationHandlerWrapper(AuthorizationHandler authorizationHandler, Kernel kernel) {
+        this(authorizationHandler, kernel.getConfig().lookupTopics(SERVICES_NAMESPACE_TOPIC));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param authorizationHandler PubSub event stream agent
+     * @param servicesTopics       the configuration of all services, watched for access control changes
+     */
+    public AuthorizationHandlerWrapper(AuthorizationHandler authorizationHandler, Topics servicesTopics) {
         this.authorizationHandler = authorizationHandler;
+        this.context = servicesTopics.getContext();
+        servicesTopics.subscribe(this::handleServicesConfigurationChange);
     }
 
     /**
@@ -70,12 +120,95 @@ public class AuthorizationHandlerWrapper {
         if (serviceName.equals(SHADOW_MANAGER_NAME)) {
             return;
         }
-        authorizationHandler.isAuthorized(
-                SHADOW_MANAGER_NAME,
-                Permission.builder()
-                        .principal(serviceName)
-                        .operation(opCode)
-                        .resource(resource)
-                        .build());
+        DecisionKey key = new DecisionKey(serviceName, opCode, resource);
+        Optional<String> decision = decisions.get(key);
+        if (decision != null) {
+            cacheHits.increment();
+            if (decision.isPresent()) {
+                throw new AuthorizationException(decision.get());
+            }
+            return;
+        }
+        cacheMisses.increment();
+
+        long generation = cacheGeneration.get();
+        try {
+            authorizationHandler.isAuthorized(
+                    SHADOW_MANAGER_NAME,
+                    Permission.builder()
+                            .principal(serviceName)
+                            .operation(opCode)
+                            .resource(resource)
+                            .build());
+        } catch (AuthorizationException e) {
+            cacheDecision(key, Optional.of(Objects.toString(e.getMessage(), "")), generation);
+            throw e;
+        }
+        cacheDecision(key, AUTHORIZED, generation);
+    }
+
+    /**
+     * Gets the number of authorization checks answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Gets the number of authorization checks which had to go to the authorization handler.
+     *
+     * @return the number of cache misses
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Clears the cached authorization decisions.
+     */
+    public void clearCache() {
+        cacheGeneration.incrementAndGet();
+        decisions.clear();
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        logger.atDebug()
+                .kv("cacheHits", hits)
+                .kv("cacheMisses", misses)
+                .kv("cacheHitRate", hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .log("Cleared cached authorization decisions");
+    }
+
+    private void cacheDecision(DecisionKey key, Optional<String> decision, long generation) {
+        // the decisions are for a handful of components and shadows, so simply start over if there are too many
+        if (decisions.size() >= MAX_CACHED_AUTHORIZATION_DECISIONS) {
+            decisions.clear();
+        }
+        decisions.put(key, decision);
+        if (cacheGeneration.get() != generation) {
+            // the access control configuration changed while the decision was made
+            decisions.remove(key, decision);
+        }
+    }
+
+    private void handleServicesConfigurationChange(WhatHappened what, Node changedNode) {
+        if (what.equals(WhatHappened.timestampUpdated) || what.equals(WhatHappened.interiorAdded)) {
+            return;
+        }
+        // a component whose configuration is removed also loses its access control policies
+        if (changedNode == null || changedNode.childOf(ACCESS_CONTROL_NAMESPACE_TOPIC)
+                || what.equals(WhatHappened.removed) || what.equals(WhatHappened.childRemoved)) {
+            // cleared once every watcher of this change has run, so that the authorization handler has already
+            // picked up the new policies
+            context.runOnPublishQueue(this::clearCache);
+        }
+    }
+
+    @Value
+    private static class DecisionKey {
+        String principal;
+        String operation;
+        String resource;
     }
 }
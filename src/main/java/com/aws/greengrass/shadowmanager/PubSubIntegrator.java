@@ -44,6 +44,10 @@ public class PubSubIntegrator {
             + "\\/(update|delete|get)$");
     private final Pattern shadowResponsePattern = Pattern.compile("\\$aws\\/things\\/(.*)\\/shadow(\\/name\\/(.*))"
             + "?\\/(update|delete|get)\\/(accepted|rejected|delta|documents)$");
+    private final Pattern batchPattern = Pattern.compile("\\$aws\\/things\\/([^\\/]+)\\/shadow\\/batch"
+            + "\\/(update|get)$");
+    private final Pattern batchResponsePattern = Pattern.compile("\\$aws\\/things\\/([^\\/]+)\\/shadow\\/batch"
+            + "\\/(update|get)\\/(accepted|rejected)$");
     private final AtomicBoolean subscribed = new AtomicBoolean(false);
 
     /**
@@ -99,6 +103,12 @@ public class PubSubIntegrator {
             return;
         }
 
+        Matcher batchMatcher = batchPattern.matcher(topic);
+        if (batchMatcher.matches()) {
+            handleBatchMessage(batchMatcher.group(1), batchMatcher.group(2), publishEvent);
+            return;
+        }
+
         logger.atDebug().kv(LOG_TOPIC, topic).log("Processing new shadow operation message over local PubSub");
         ShadowRequest shadowRequest;
         try {
@@ -156,6 +166,34 @@ public class PubSubIntegrator {
         }
     }
 
+    /**
+     * Handle a batch request that is published over local PubSub on the batch topic of a thing. The combined response
+     * or the error is published by the handler on the batch response topics of that thing.
+     *
+     * @param thingName    The thing name of the batch topic.
+     * @param operation    The batch shadow operation.
+     * @param publishEvent The message that is published over local PubSub.
+     */
+    private void handleBatchMessage(String thingName, String operation, PublishEvent publishEvent) {
+        String topic = publishEvent.getTopic();
+        logger.atDebug().kv(LOG_TOPIC, topic).log("Processing batch shadow operation message over local PubSub");
+        try {
+            if ("update".equals(operation)) {
+                this.updateThingShadowRequestHandler.handleBatchRequest(thingName, publishEvent.getPayload(),
+                        SHADOW_MANAGER_NAME);
+            } else if ("get".equals(operation)) {
+                this.getThingShadowRequestHandler.handleBatchRequest(thingName, publishEvent.getPayload(),
+                        SHADOW_MANAGER_NAME);
+            } else {
+                logger.atWarn().kv(LOG_TOPIC, topic)
+                        .log("Unable to perform batch shadow operation due to unknown operation value");
+            }
+        } catch (InvalidRequestParametersException | GreengrassCoreIPCError e) {
+            // Not setting the cause here since it would already be logged in the handler.
+            logger.atWarn().kv(LOG_TOPIC, topic).log("Unable to perform batch shadow operation");
+        }
+    }
+
     /**
      * Helper function to extract the thingName, shadowName and shadow operation from mqtt topic.
      *
@@ -184,7 +222,6 @@ public class PubSubIntegrator {
      * @return true if the message is a response message to a shadow operation; Else false.
      */
     boolean isResponseMessage(String topic) {
-        final Matcher matcher = shadowResponsePattern.matcher(topic);
-        return matcher.matches();
+        return shadowResponsePattern.matcher(topic).matches() || batchResponsePattern.matcher(topic).matches();
     }
 }
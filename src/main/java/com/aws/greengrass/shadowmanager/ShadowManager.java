@@ -29,6 +29,7 @@ import com.aws.greengrass.shadowmanager.ipc.GetThingShadowRequestHandler;
 import com.aws.greengrass.shadowmanager.ipc.InboundRateLimiter;
 import com.aws.greengrass.shadowmanager.ipc.ListNamedShadowsForThingIPCHandler;
 import com.aws.greengrass.shadowmanager.ipc.PubSubClientWrapper;
+import com.aws.greengrass.shadowmanager.ipc.ShadowResponseCache;
 import com.aws.greengrass.shadowmanager.ipc.UpdateThingShadowIPCHandler;
 import com.aws.greengrass.shadowmanager.ipc.UpdateThingShadowRequestHandler;
 import com.aws.greengrass.shadowmanager.model.LogEvents;
@@ -71,6 +72,7 @@ import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURA
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_STRATEGY_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_SYNCHRONIZATION_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_SYNC_DIRECTION_TOPIC;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_CACHED_SHADOW_RESPONSES;
 import static com.aws.greengrass.shadowmanager.sync.strategy.model.Strategy.DEFAULT_STRATEGY;
 import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.DELETE_THING_SHADOW;
 import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.GET_THING_SHADOW;
@@ -94,6 +96,7 @@ public class ShadowManager extends PluginService {
     private final DeleteThingShadowRequestHandler deleteThingShadowRequestHandler;
     @Getter
     private final UpdateThingShadowRequestHandler updateThingShadowRequestHandler;
+    @Getter
     private final GetThingShadowRequestHandler getThingShadowRequestHandler;
     private final IotDataPlaneClientWrapper iotDataPlaneClientWrapper;
     @Getter(AccessLevel.PACKAGE)
@@ -101,6 +104,7 @@ public class ShadowManager extends PluginService {
     private final CloudDataClient cloudDataClient;
     private final MqttClient mqttClient;
     private final PubSubIntegrator pubSubIntegrator;
+    private final ShadowWriteSynchronizeHelper synchronizeHelper;
     private final AtomicReference<Strategy> currentStrategy = new AtomicReference<>(DEFAULT_STRATEGY);
     public final MqttClientConnectionEvents callbacks = new MqttClientConnectionEvents() {
         @Override
@@ -175,12 +179,14 @@ public class ShadowManager extends PluginService {
         this.syncHandler = syncHandler;
         this.cloudDataClient = cloudDataClient;
         this.mqttClient = mqttClient;
+        this.synchronizeHelper = synchronizeHelper;
+        ShadowResponseCache shadowResponseCache = new ShadowResponseCache(MAX_CACHED_SHADOW_RESPONSES);
         this.deleteThingShadowRequestHandler = new DeleteThingShadowRequestHandler(dao, authorizationHandlerWrapper,
-                pubSubClientWrapper, synchronizeHelper, this.syncHandler);
+                pubSubClientWrapper, synchronizeHelper, this.syncHandler, shadowResponseCache);
         this.updateThingShadowRequestHandler = new UpdateThingShadowRequestHandler(dao, authorizationHandlerWrapper,
-                pubSubClientWrapper, synchronizeHelper, this.syncHandler);
+                pubSubClientWrapper, synchronizeHelper, this.syncHandler, shadowResponseCache);
         this.getThingShadowRequestHandler = new GetThingShadowRequestHandler(dao, authorizationHandlerWrapper,
-                pubSubClientWrapper);
+                pubSubClientWrapper, shadowResponseCache);
         this.deviceThingNameWatcher = this::handleDeviceThingNameChange;
         this.pubSubIntegrator = new PubSubIntegrator(pubSubClientWrapper, deleteThingShadowRequestHandler,
                 updateThingShadowRequestHandler, getThingShadowRequestHandler);
@@ -272,7 +278,8 @@ public class ShadowManager extends PluginService {
 
     private void configureRateLimits(RateLimitsConfiguration rateLimitsConfig) {
         inboundRateLimiter.updateRateLimits(rateLimitsConfig.getMaxTotalLocalRequestRate(),
-                rateLimitsConfig.getMaxLocalRequestRatePerThing());
+                rateLimitsConfig.getMaxTotalLocalRequestBurst(), rateLimitsConfig.getMaxLocalRequestRatePerThing(),
+                rateLimitsConfig.getMaxLocalRequestBurstPerThing());
         iotDataPlaneClientWrapper.updateRateLimits(rateLimitsConfig.getMaxOutboundUpdatesPerSecond());
     }
 
@@ -543,7 +550,8 @@ public class ShadowManager extends PluginService {
                         dao,
                         getUpdateThingShadowRequestHandler(),
                         getDeleteThingShadowRequestHandler(),
-                        iotDataPlaneClientWrapper
+                        iotDataPlaneClientWrapper,
+                        synchronizeHelper
                 );
                 syncHandler.start(syncContext, SyncHandler.DEFAULT_PARALLELISM);
             }
@@ -6,10 +6,14 @@
 package com.aws.greengrass.shadowmanager;
 
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowChange;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.util.Pair;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ShadowManagerDAO {
@@ -22,6 +26,14 @@ public interface ShadowManagerDAO {
      */
     Optional<ShadowDocument> getShadowThing(String thingName, String shadowName);
 
+    /**
+     * Attempts to obtain several shadow documents from the local shadow storage in a single query.
+     *
+     * @param shadows Pairs of thing name and shadow name of the shadows to get.
+     * @return The queried shadows keyed by thing name and shadow name; shadows which do not exist are not included
+     */
+    Map<Pair<String, String>, ShadowDocument> getShadowThings(Collection<Pair<String, String>> shadows);
+
     /**
      * Attempts to delete a shadow document from the local shadow storage.
      *
@@ -32,25 +44,32 @@ public interface ShadowManagerDAO {
     Optional<ShadowDocument> deleteShadowThing(String thingName, String shadowName);
 
     /**
-     * Attempts to update a shadow document from the local shadow storage.
+     * Attempts to update a shadow document from the local shadow storage. Will create document if shadow did not exist.
      *
-     * @param thingName   Name of the Thing for the shadow topic prefix.
-     * @param shadowName  Name of shadow topic prefix for thing.
-     * @param newDocument The new shadow document.
-     * @param version     The new version of the shadow document.
+     * @param update The new shadow document along with its thing name, shadow name and version.
      * @return Optional containing the new shadow document if update is successful; Else an empty optional
      */
-    Optional<byte[]> updateShadowThing(String thingName, String shadowName, byte[] newDocument, long version);
+    Optional<byte[]> updateShadowThing(ShadowThingUpdate update);
+
+    /**
+     * Attempts to obtain the hash of the desired and reported state of a shadow document without reading the
+     * document itself.
+     *
+     * @param thingName  Name of the Thing for the shadow topic prefix.
+     * @param shadowName Name of shadow topic prefix for thing.
+     * @return The content hash of the shadow; or empty if the shadow does not exist or has no stored hash.
+     */
+    Optional<String> getShadowContentHash(String thingName, String shadowName);
 
     /**
      * Attempts to retrieve list of named shadows for a specified thing from the local shadow storage.
      *
-     * @param thingName Name of the Thing to check Named Shadows.
-     * @param offset    Number of Named Shadows to bypass.
-     * @param limit     Maximum number of Named Shadows to retrieve.
-     * @return A limited list of named shadows matching the specified thingName
+     * @param thingName       Name of the Thing to check Named Shadows.
+     * @param afterShadowName Name of the last Named Shadow of the previous page; or empty for the first page.
+     * @param limit           Maximum number of Named Shadows to retrieve.
+     * @return A limited list of named shadows matching the specified thingName, ordered by name
      */
-    List<String> listNamedShadowsForThing(String thingName, int offset, int limit);
+    List<String> listNamedShadowsForThing(String thingName, String afterShadowName, int limit);
 
     /**
      * Attempts to update the sync information for a particular thing's shadow.
@@ -110,4 +129,47 @@ public interface ShadowManagerDAO {
      * @return true if the insert is successful; Else false.
      */
     boolean insertSyncInfoIfNotExists(SyncInformation request);
-}
\ No newline at end of file
+
+    /**
+     * Attempts to obtain the changes made to the local shadows after a sequence number, in the order they were made.
+     * The change log is compacted to the latest change of each shadow, so a shadow changed several times is listed
+     * once.
+     *
+     * @param sequenceNumber Sequence number of the last change already read; 0 to read from the first change.
+     * @param limit          Maximum number of changes to retrieve.
+     * @return A limited list of the changes with a sequence number greater than the given sequence number.
+     */
+    List<ShadowChange> getShadowChangesSince(long sequenceNumber, int limit);
+
+    /**
+     * Executes a unit of work in a single database transaction. All DAO calls made by the current thread while the
+     * unit of work is running are committed together, or rolled back if the unit of work throws.
+     *
+     * @param work the unit of work to execute.
+     * @param <T>  the result type of the unit of work.
+     * @param <E>  the checked exception type thrown by the unit of work.
+     * @return the result of the unit of work.
+     * @throws E if the unit of work throws.
+     */
+    <T, E extends Exception> T executeInTransaction(UnitOfWork<T, E> work) throws E;
+
+    /**
+     * Runs an action once the transaction running on the current thread is committed, or right away if no transaction
+     * is running. The actions of a transaction which is rolled back are discarded, so that nothing is published or
+     * synced about changes which were never committed.
+     *
+     * @param action the action to run.
+     */
+    void afterCommit(Runnable action);
+
+    /**
+     * A unit of work executed within a single database transaction.
+     *
+     * @param <T> the result type of the unit of work.
+     * @param <E> the checked exception type thrown by the unit of work.
+     */
+    @FunctionalInterface
+    interface UnitOfWork<T, E extends Exception> {
+        T execute() throws E;
+    }
+}
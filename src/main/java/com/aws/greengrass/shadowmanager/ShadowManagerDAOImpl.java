@@ -10,7 +10,10 @@ import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.shadowmanager.exception.ShadowManagerDataException;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowChange;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.util.Pair;
 import org.h2.jdbcx.JdbcConnectionPool;
 
@@ -19,9 +22,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.inject.Inject;
 
@@ -32,7 +41,30 @@ import static com.aws.greengrass.shadowmanager.model.Constants.LOG_THING_NAME_KE
 
 public class ShadowManagerDAOImpl implements ShadowManagerDAO {
     private static final Logger logger = LogManager.getLogger(ShadowManagerDAOImpl.class);
+
+    // The lookups done on every request, public so that the integration tests check the query plans of the very
+    // statements executed here.
+    public static final String GET_SHADOW_THING_SQL = "SELECT document, version, updateTime, metadataUpdateTime, "
+            + "delta FROM documents WHERE deleted = 0 AND thingName = ? AND shadowName = ?";
+    public static final String LIST_NAMED_SHADOWS_SQL = "SELECT shadowName from documents WHERE deleted = 0 "
+            + "AND thingName = ? AND shadowName > ? ORDER BY shadowName LIMIT ?";
+    public static final String GET_DELETED_SHADOW_VERSION_SQL = "SELECT version FROM documents WHERE deleted = 1 "
+            + "AND thingName = ? AND shadowName = ?";
+    public static final String GET_SHADOW_VERSION_SQL = "SELECT version FROM documents WHERE thingName = ? "
+            + "AND shadowName = ?";
+    public static final String GET_SHADOW_CONTENT_HASH_SQL = "SELECT contentHash FROM documents WHERE deleted = 0 "
+            + "AND thingName = ? AND shadowName = ?";
+    public static final String GET_SYNC_INFORMATION_SQL = "SELECT lastSyncedDocument, cloudVersion, cloudUpdateTime, "
+            + "lastSyncTime, cloudDeleted, localVersion, lastSyncedDocumentHash FROM sync WHERE thingName = ? "
+            + "AND shadowName = ?";
+    public static final String DELETE_SYNC_INFORMATION_SQL = "DELETE FROM sync WHERE thingName = ? AND shadowName = ?";
+    public static final String DELETE_SHADOW_CHANGES_SQL = "DELETE FROM changes WHERE thingName = ? AND shadowName = ?";
     private final ShadowManagerDatabase database;
+    /**
+     * Connection of the transaction currently running on a thread, if any.
+     */
+    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+    private final ThreadLocal<List<Runnable>> afterCommitActions = new ThreadLocal<>();
 
     @FunctionalInterface
     private interface SQLExecution<T> {
@@ -53,23 +85,108 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
      */
     @Override
     public synchronized Optional<ShadowDocument> getShadowThing(String thingName, String shadowName) {
-        String sql = "SELECT document, version, updateTime FROM documents  WHERE deleted = 0 AND "
-                + "thingName = ? AND shadowName = ?";
-
-        try (Connection c = getPool().getConnection();
-             PreparedStatement preparedStatement = c.prepareStatement(sql)) {
-            preparedStatement.setString(1, thingName);
-            preparedStatement.setString(2, shadowName);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    ShadowDocument document = new ShadowDocument(resultSet.getBytes(1),
-                            resultSet.getLong(2));
-                    return Optional.of(document);
-                }
-                return Optional.empty();
+        return execute(GET_SHADOW_THING_SQL,
+                preparedStatement -> {
+                    preparedStatement.setString(1, thingName);
+                    preparedStatement.setString(2, shadowName);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            ShadowDocument document = new ShadowDocument(resultSet.getBytes(1),
+                                    resultSet.getLong(2));
+                            setLatestMetadataTimestamp(document, resultSet, 4);
+                            setDelta(document, resultSet, 5);
+                            return Optional.of(document);
+                        }
+                        return Optional.empty();
+                    } catch (IOException e) {
+                        throw new ShadowManagerDataException(e);
+                    }
+                });
+    }
+
+    /**
+     * Attempts to obtain several shadow documents from the local shadow storage in a single query.
+     *
+     * @param shadows Pairs of thing name and shadow name of the shadows to get.
+     * @return The queried shadows keyed by thing name and shadow name; shadows which do not exist are not included
+     */
+    @Override
+    public synchronized Map<Pair<String, String>, ShadowDocument> getShadowThings(
+            Collection<Pair<String, String>> shadows) {
+        if (shadows.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> shadowNamesByThing = new LinkedHashMap<>();
+        for (Pair<String, String> shadow : shadows) {
+            shadowNamesByThing.computeIfAbsent(shadow.getLeft(), thingName -> new ArrayList<>()).add(shadow.getRight());
+        }
+        return execute(getShadowThingsSql(shadowNamesByThing),
+                preparedStatement -> {
+                    int i = 1;
+                    for (Map.Entry<String, List<String>> thingShadows : shadowNamesByThing.entrySet()) {
+                        preparedStatement.setString(i++, thingShadows.getKey());
+                        for (String shadowName : thingShadows.getValue()) {
+                            preparedStatement.setString(i++, shadowName);
+                        }
+                    }
+                    Map<Pair<String, String>, ShadowDocument> documents = new HashMap<>();
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            ShadowDocument document = new ShadowDocument(resultSet.getBytes(3), resultSet.getLong(4));
+                            setLatestMetadataTimestamp(document, resultSet, 5);
+                            setDelta(document, resultSet, 6);
+                            documents.put(new Pair<>(resultSet.getString(1), resultSet.getString(2)), document);
+                        }
+                        return documents;
+                    } catch (IOException e) {
+                        throw new ShadowManagerDataException(e);
+                    }
+                });
+    }
+
+    /**
+     * Builds the query of {@link #getShadowThings}. The shadows of a thing are matched by the thing name and a list of
+     * shadow names, which H2 looks up in the primary key; a condition on each pair of names would scan the table.
+     *
+     * @param shadowNamesByThing Names of the shadows to get, by thing name.
+     * @return The query, with a thing name parameter followed by its shadow name parameters for each thing.
+     */
+    public static String getShadowThingsSql(Map<String, List<String>> shadowNamesByThing) {
+        StringBuilder sql = new StringBuilder("SELECT thingName, shadowName, document, version, metadataUpdateTime, "
+                + "delta FROM documents WHERE deleted = 0 AND (");
+        String thingSeparator = "";
+        for (List<String> shadowNames : shadowNamesByThing.values()) {
+            sql.append(thingSeparator).append("(thingName = ? AND shadowName IN (?");
+            for (int i = 1; i < shadowNames.size(); i++) {
+                sql.append(", ?");
             }
-        } catch (SQLException | IOException | IllegalStateException e) {
-            throw new ShadowManagerDataException(e);
+            sql.append("))");
+            thingSeparator = " OR ";
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * Seeds the document with the latest timestamp in its metadata if it was stored, so that it is not recomputed from
+     * the metadata.
+     */
+    private static void setLatestMetadataTimestamp(ShadowDocument document, ResultSet resultSet, int columnIndex)
+            throws SQLException {
+        long metadataUpdateTime = resultSet.getLong(columnIndex);
+        if (!resultSet.wasNull()) {
+            document.getMetadata().setLatestMetadataTimestamp(metadataUpdateTime);
+        }
+    }
+
+    /**
+     * Seeds the document with its delta if it was stored, so that it is not calculated from the whole desired and
+     * reported state.
+     */
+    private static void setDelta(ShadowDocument document, ResultSet resultSet, int columnIndex)
+            throws SQLException, IOException {
+        byte[] delta = resultSet.getBytes(columnIndex);
+        if (delta != null && document.getState() != null) {
+            document.getState().setDelta(JsonUtil.getPayloadJson(delta).orElse(null));
         }
     }
 
@@ -96,73 +213,116 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                 .kv(LOG_THING_NAME_KEY, thingName)
                 .kv(LOG_SHADOW_NAME_KEY, shadowName)
                 .log("Deleting shadow");
-        String sql = "UPDATE documents SET deleted = 1, document = null, updateTime = ?, version = ?"
-                + " WHERE thingName = ? AND shadowName = ?";
-        return getShadowThing(thingName, shadowName)
+        String sql = "UPDATE documents SET deleted = 1, document = null, contentHash = null, "
+                + "metadataUpdateTime = null, delta = null, updateTime = ?, version = ? WHERE thingName = ? "
+                + "AND shadowName = ?";
+        long updateTime = Instant.now().getEpochSecond();
+        return executeInTransaction(() -> getShadowThing(thingName, shadowName)
                 .flatMap(shadowDocument ->
                         execute(sql,
                                 preparedStatement -> {
-                                    preparedStatement.setLong(1, Instant.now().getEpochSecond());
+                                    preparedStatement.setLong(1, updateTime);
                                     preparedStatement.setLong(2, shadowDocument.getVersion() + 1);
                                     preparedStatement.setString(3, thingName);
                                     preparedStatement.setString(4, shadowName);
                                     int result = preparedStatement.executeUpdate();
                                     if (result == 1) {
+                                        insertShadowChange(thingName, shadowName, ShadowChange.Operation.DELETE,
+                                                shadowDocument.getVersion() + 1, updateTime);
                                         return Optional.of(shadowDocument);
                                     }
                                     return Optional.empty();
-                                }));
+                                })));
     }
 
     /**
      * Attempts to update a shadow document from the local shadow storage. Will create document if shadow did not exist.
      *
-     * @param thingName   Name of the Thing for the shadow topic prefix.
-     * @param shadowName  Name of shadow topic prefix for thing.
-     * @param newDocument The new shadow document.
-     * @param version     The new version of the shadow document.
+     * @param update The new shadow document along with its thing name, shadow name and version.
      * @return The updated shadow document from the local shadow store
      */
     @Override
-    public Optional<byte[]> updateShadowThing(String thingName, String shadowName, byte[] newDocument, long version) {
+    public Optional<byte[]> updateShadowThing(ShadowThingUpdate update) {
+        String thingName = update.getThingName();
+        String shadowName = update.getShadowName();
         logger.atTrace()
                 .kv(LOG_THING_NAME_KEY, thingName)
                 .kv(LOG_SHADOW_NAME_KEY, shadowName)
                 .log("Updating shadow");
-        String sql = "MERGE INTO documents(thingName, shadowName, document, version, deleted, updateTime) "
-                + "KEY (thingName, shadowName) VALUES (?, ?, ?, ?, ?, ?)";
-        return execute(sql,
+        String sql = "MERGE INTO documents(thingName, shadowName, document, version, deleted, updateTime, "
+                + "contentHash, metadataUpdateTime, delta) KEY (thingName, shadowName) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long updateTime = Instant.now().getEpochSecond();
+        return executeInTransaction(() -> execute(sql,
                 preparedStatement -> {
                     preparedStatement.setString(1, thingName);
                     preparedStatement.setString(2, shadowName);
-                    preparedStatement.setBytes(3, newDocument);
-                    preparedStatement.setLong(4, version);
+                    preparedStatement.setBytes(3, update.getDocument());
+                    preparedStatement.setLong(4, update.getVersion());
                     preparedStatement.setBoolean(5, false);
-                    preparedStatement.setLong(6, Instant.now().getEpochSecond());
+                    preparedStatement.setLong(6, updateTime);
+                    preparedStatement.setString(7, update.getContentHash());
+                    if (update.getMetadataUpdateTime() == null) {
+                        preparedStatement.setNull(8, Types.BIGINT);
+                    } else {
+                        preparedStatement.setLong(8, update.getMetadataUpdateTime());
+                    }
+                    preparedStatement.setBytes(9, update.getDelta());
                     int result = preparedStatement.executeUpdate();
                     if (result == 1) {
-                        return Optional.ofNullable(newDocument);
+                        insertShadowChange(thingName, shadowName, ShadowChange.Operation.UPDATE, update.getVersion(),
+                                updateTime);
+                        return Optional.ofNullable(update.getDocument());
                     }
                     return Optional.empty();
+                }));
+    }
+
+    /**
+     * Appends a change to the shadow change log. Must be called in the same transaction as the change itself.
+     *
+     * <p>The log is compacted to the latest change of each shadow: the earlier changes of the shadow are removed
+     * along with the insert. A reader which has read up to a sequence number still finds every shadow changed since
+     * then, with its latest version, and the log never has more rows than there are shadows in the documents table.
+     */
+    private void insertShadowChange(String thingName, String shadowName, ShadowChange.Operation operation,
+                                    long version, long updateTime) {
+        execute(DELETE_SHADOW_CHANGES_SQL,
+                preparedStatement -> {
+                    preparedStatement.setString(1, thingName);
+                    preparedStatement.setString(2, shadowName);
+                    return preparedStatement.executeUpdate();
+                });
+        execute("INSERT INTO changes(thingName, shadowName, operation, version, updateTime) VALUES (?, ?, ?, ?, ?)",
+                preparedStatement -> {
+                    preparedStatement.setString(1, thingName);
+                    preparedStatement.setString(2, shadowName);
+                    preparedStatement.setString(3, operation.name());
+                    preparedStatement.setLong(4, version);
+                    preparedStatement.setLong(5, updateTime);
+                    return preparedStatement.executeUpdate();
                 });
     }
 
     /**
      * Attempts to retrieve list of named shadows for a specified thing from the local shadow storage.
      *
-     * @param thingName Name of the Thing to check Named Shadows.
-     * @param offset    Number of Named Shadows to bypass.
-     * @param limit     Maximum number of Named Shadows to retrieve.
+     * <p>Named shadows are listed in order of their name, starting after the given shadow name, so that each page is
+     * read from the primary key index without scanning the shadows of the previous pages. The classic shadow has an
+     * empty name and is never listed.
+     *
+     * @param thingName       Name of the Thing to check Named Shadows.
+     * @param afterShadowName Name of the last Named Shadow of the previous page; or empty for the first page.
+     * @param limit           Maximum number of Named Shadows to retrieve.
      * @return A limited list of named shadows matching the specified thingName
      */
     @Override
-    public List<String> listNamedShadowsForThing(String thingName, int offset, int limit) {
-        return execute("SELECT shadowName from documents WHERE deleted = 0 AND thingName = ? AND shadowName != ''"
-                        + " LIMIT ? OFFSET ? ",
+    public List<String> listNamedShadowsForThing(String thingName, String afterShadowName, int limit) {
+        return execute(LIST_NAMED_SHADOWS_SQL,
                 preparedStatement -> {
                     preparedStatement.setString(1, thingName);
-                    preparedStatement.setInt(2, limit);
-                    preparedStatement.setInt(3, offset);
+                    preparedStatement.setString(2, afterShadowName);
+                    preparedStatement.setInt(3, limit);
                     try (ResultSet resultSet = preparedStatement.executeQuery()) {
                         List<String> namedShadowList = new ArrayList<>();
                         while (resultSet.next()) {
@@ -188,8 +348,8 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                 .kv(LOG_CLOUD_VERSION_KEY, request.getCloudVersion())
                 .log("Updating sync info");
         String sql = "MERGE INTO sync(thingName, shadowName, lastSyncedDocument, cloudVersion, cloudDeleted, "
-                + "cloudUpdateTime, lastSyncTime, localVersion) KEY (thingName, shadowName) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+                + "cloudUpdateTime, lastSyncTime, localVersion, lastSyncedDocumentHash) KEY (thingName, shadowName) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         return execute(sql,
                 preparedStatement -> {
                     preparedStatement.setString(1, request.getThingName());
@@ -200,6 +360,7 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                     preparedStatement.setLong(6, request.getCloudUpdateTime());
                     preparedStatement.setLong(7, request.getLastSyncTime());
                     preparedStatement.setLong(8, request.getLocalVersion());
+                    preparedStatement.setString(9, request.getLastSyncedDocumentHash());
                     int result = preparedStatement.executeUpdate();
                     return result == 1;
                 });
@@ -214,8 +375,7 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
      */
     @Override
     public Optional<SyncInformation> getShadowSyncInformation(String thingName, String shadowName) {
-        return execute("SELECT lastSyncedDocument, cloudVersion, cloudUpdateTime, lastSyncTime, cloudDeleted, "
-                        + "localVersion FROM sync WHERE thingName = ? AND shadowName = ?",
+        return execute(GET_SYNC_INFORMATION_SQL,
                 preparedStatement -> {
                     preparedStatement.setString(1, thingName);
                     preparedStatement.setString(2, shadowName);
@@ -228,6 +388,7 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                                     .lastSyncTime(resultSet.getLong(4))
                                     .cloudDeleted(resultSet.getBoolean(5))
                                     .localVersion(resultSet.getLong(6))
+                                    .lastSyncedDocumentHash(resultSet.getString(7))
                                     .shadowName(shadowName)
                                     .thingName(thingName)
                                     .build());
@@ -266,24 +427,19 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
      */
     @Override
     public synchronized Optional<Long> getDeletedShadowVersion(String thingName, String shadowName) {
-        String sql = "SELECT version FROM documents  WHERE deleted = 1 AND thingName = ? AND shadowName = ?";
-
-        try (Connection c = getPool().getConnection();
-             PreparedStatement preparedStatement = c.prepareStatement(sql)) {
-            preparedStatement.setString(1, thingName);
-            preparedStatement.setString(2, shadowName);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    return Optional.of(resultSet.getLong(1));
-                }
-                return Optional.empty();
-            }
-        } catch (SQLException | IllegalStateException e) {
-            throw new ShadowManagerDataException(e);
-        }
+        return execute(GET_DELETED_SHADOW_VERSION_SQL,
+                preparedStatement -> {
+                    preparedStatement.setString(1, thingName);
+                    preparedStatement.setString(2, shadowName);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            return Optional.of(resultSet.getLong(1));
+                        }
+                        return Optional.empty();
+                    }
+                });
     }
 
-
     /**
      * Attempts to delete the cloud shadow document in the sync table.
      *
@@ -297,7 +453,7 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                 .kv(LOG_THING_NAME_KEY, thingName)
                 .kv(LOG_SHADOW_NAME_KEY, shadowName)
                 .log("Deleting sync info");
-        return execute("DELETE FROM sync WHERE thingName = ? AND shadowName = ?",
+        return execute(DELETE_SYNC_INFORMATION_SQL,
                 preparedStatement -> {
                     preparedStatement.setString(1, thingName);
                     preparedStatement.setString(2, shadowName);
@@ -316,7 +472,7 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
      */
     @Override
     public Optional<Long> getShadowDocumentVersion(String thingName, String shadowName) {
-        return execute("SELECT version FROM documents WHERE thingName = ? AND shadowName = ?",
+        return execute(GET_SHADOW_VERSION_SQL,
                 preparedStatement -> {
                     preparedStatement.setString(1, thingName);
                     preparedStatement.setString(2, shadowName);
@@ -329,6 +485,29 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                 });
     }
 
+    /**
+     * Attempts to obtain the hash of the desired and reported state of a shadow document without reading the
+     * document itself.
+     *
+     * @param thingName  Name of the Thing for the shadow topic prefix.
+     * @param shadowName Name of shadow topic prefix for thing.
+     * @return The content hash of the shadow; or empty if the shadow does not exist or has no stored hash.
+     */
+    @Override
+    public Optional<String> getShadowContentHash(String thingName, String shadowName) {
+        return execute(GET_SHADOW_CONTENT_HASH_SQL,
+                preparedStatement -> {
+                    preparedStatement.setString(1, thingName);
+                    preparedStatement.setString(2, shadowName);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            return Optional.ofNullable(resultSet.getString(1));
+                        }
+                    }
+                    return Optional.empty();
+                });
+    }
+
     /**
      * Attempts to insert a new sync information row for a thing's shadow if it does not exist.
      *
@@ -344,7 +523,8 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                 .kv(LOG_CLOUD_VERSION_KEY, request.getCloudVersion())
                 .log("Inserting sync info");
         String sql = "INSERT INTO sync(thingName, shadowName, lastSyncedDocument, cloudVersion, cloudDeleted, "
-                + "cloudUpdateTime, lastSyncTime, localVersion) SELECT ?, ?, ?, ?, ?, ?, ?, ? "
+                + "cloudUpdateTime, lastSyncTime, localVersion, lastSyncedDocumentHash) "
+                + "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ? "
                 + "WHERE NOT EXISTS(SELECT 1 FROM sync WHERE thingName = ? AND shadowName = ?)";
         return execute(sql,
                 preparedStatement -> {
@@ -356,22 +536,142 @@ public class ShadowManagerDAOImpl implements ShadowManagerDAO {
                     preparedStatement.setLong(6, request.getCloudUpdateTime());
                     preparedStatement.setLong(7, request.getLastSyncTime());
                     preparedStatement.setLong(8, request.getLocalVersion());
-                    preparedStatement.setString(9, request.getThingName());
-                    preparedStatement.setString(10, request.getShadowName());
+                    preparedStatement.setString(9, request.getLastSyncedDocumentHash());
+                    preparedStatement.setString(10, request.getThingName());
+                    preparedStatement.setString(11, request.getShadowName());
                     int result = preparedStatement.executeUpdate();
                     return result == 1;
                 });
 
     }
 
+    /**
+     * Attempts to obtain the changes made to the local shadows after a sequence number, in the order they were made.
+     *
+     * @param sequenceNumber Sequence number of the last change already read; 0 to read from the first change.
+     * @param limit          Maximum number of changes to retrieve.
+     * @return A limited list of the changes with a sequence number greater than the given sequence number.
+     */
+    @Override
+    public List<ShadowChange> getShadowChangesSince(long sequenceNumber, int limit) {
+        return execute("SELECT sequenceNumber, thingName, shadowName, operation, version, updateTime FROM changes "
+                        + "WHERE sequenceNumber > ? ORDER BY sequenceNumber LIMIT ?",
+                preparedStatement -> {
+                    preparedStatement.setLong(1, sequenceNumber);
+                    preparedStatement.setInt(2, limit);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        List<ShadowChange> changes = new ArrayList<>();
+                        while (resultSet.next()) {
+                            changes.add(ShadowChange.builder()
+                                    .sequenceNumber(resultSet.getLong(1))
+                                    .thingName(resultSet.getString(2))
+                                    .shadowName(resultSet.getString(3))
+                                    .operation(ShadowChange.Operation.valueOf(resultSet.getString(4)))
+                                    .version(resultSet.getLong(5))
+                                    .updateTime(resultSet.getLong(6))
+                                    .build());
+                        }
+                        return changes;
+                    }
+                });
+    }
+
+    /**
+     * Executes a unit of work in a single database transaction. All DAO calls made by the current thread while the
+     * unit of work is running share one connection and are committed together, or rolled back if the unit of work
+     * throws. Nested calls join the transaction which is already running on the thread. The actions registered with
+     * {@link #afterCommit(Runnable)} while the unit of work is running are run once it is committed.
+     *
+     * @param work the unit of work to execute.
+     * @param <T>  the result type of the unit of work.
+     * @param <E>  the checked exception type thrown by the unit of work.
+     * @return the result of the unit of work.
+     * @throws E if the unit of work throws.
+     */
+    @Override
+    public <T, E extends Exception> T executeInTransaction(UnitOfWork<T, E> work) throws E {
+        if (transactionConnection.get() != null) {
+            return work.execute();
+        }
+        List<Runnable> actions = new ArrayList<>();
+        T result;
+        try (Connection c = getPool().getConnection()) {
+            c.setAutoCommit(false);
+            transactionConnection.set(c);
+            afterCommitActions.set(actions);
+            try {
+                result = work.execute();
+                c.commit();
+            } catch (Throwable e) {
+                endTransaction();
+                rollback(c, e);
+                throw e;
+            }
+            endTransaction();
+            c.setAutoCommit(true);
+        } catch (SQLException e) {
+            throw new ShadowManagerDataException(e);
+        }
+        actions.forEach(Runnable::run);
+        return result;
+    }
+
+    /**
+     * Runs an action once the transaction running on the current thread is committed, or right away if no transaction
+     * is running. The actions of a transaction which is rolled back are discarded.
+     *
+     * @param action the action to run.
+     */
+    @Override
+    public void afterCommit(Runnable action) {
+        List<Runnable> actions = afterCommitActions.get();
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.add(action);
+        }
+    }
+
+    private void endTransaction() {
+        transactionConnection.remove();
+        afterCommitActions.remove();
+    }
+
+    /**
+     * Rolls back a failed transaction. A failure to roll back is suppressed by the failure of the transaction, so that
+     * the cause of the rollback is the one thrown.
+     */
+    private static void rollback(Connection c, Throwable cause) {
+        try {
+            c.rollback();
+        } catch (SQLException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+        try {
+            c.setAutoCommit(true);
+        } catch (SQLException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
     private synchronized <T> T execute(String sql, SQLExecution<T> thunk) {
-        try (Connection c = getPool().getConnection();
-             PreparedStatement statement = c.prepareStatement(sql)) {
-            statement.setQueryTimeout(10);
-            return thunk.apply(statement);
+        try {
+            Connection transaction = transactionConnection.get();
+            if (transaction != null) {
+                return execute(transaction, sql, thunk);
+            }
+            try (Connection c = getPool().getConnection()) {
+                return execute(c, sql, thunk);
+            }
         } catch (SQLException | IllegalStateException e) {
             throw new ShadowManagerDataException(e);
         }
     }
-}
 
+    private <T> T execute(Connection c, String sql, SQLExecution<T> thunk) throws SQLException {
+        try (PreparedStatement statement = c.prepareStatement(sql)) {
+            statement.setQueryTimeout(10);
+            return thunk.apply(statement);
+        }
+    }
+}
@@ -10,8 +10,10 @@ import com.aws.greengrass.shadowmanager.util.Validator;
 import com.aws.greengrass.util.Coerce;
 import lombok.Getter;
 
+import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_LOCAL_REQUESTS_BURST_PER_THING_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_LOCAL_REQUESTS_RATE_PER_THING_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_OUTBOUND_UPDATES_PS_TOPIC;
+import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_BURST;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_RATE;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_RATE_LIMITS_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_LOCAL_REQUESTS_RATE;
@@ -25,6 +27,10 @@ public final class RateLimitsConfiguration {
     private final int maxLocalRequestRatePerThing;
     @Getter
     private final int maxOutboundUpdatesPerSecond;
+    @Getter
+    private final int maxTotalLocalRequestBurst;
+    @Getter
+    private final int maxLocalRequestBurstPerThing;
 
     private static int getMaxTotalLocalRequestRateFromTopics(Topics rateLimitsTopics) {
         int maxTotalLocalRequestRate = Coerce.toInt(rateLimitsTopics
@@ -47,12 +53,22 @@ public final class RateLimitsConfiguration {
         return maxOutboundUpdatesPerSecond;
     }
 
+    private static int getLocalRequestBurstFromTopics(Topics rateLimitsTopics, int rate, String topic) {
+        int burst = Coerce.toInt(rateLimitsTopics.findOrDefault(rate, topic));
+        Validator.validateLocalRequestBurst(burst);
+        return burst;
+    }
+
     private RateLimitsConfiguration(int maxLocalRequestRatePerThing,
                                     int maxTotalLocalRequestRate,
-                                    int maxOutboundUpdatesPerSecond) {
+                                    int maxOutboundUpdatesPerSecond,
+                                    int maxLocalRequestBurstPerThing,
+                                    int maxTotalLocalRequestBurst) {
         this.maxLocalRequestRatePerThing = maxLocalRequestRatePerThing;
         this.maxTotalLocalRequestRate = maxTotalLocalRequestRate;
         this.maxOutboundUpdatesPerSecond = maxOutboundUpdatesPerSecond;
+        this.maxLocalRequestBurstPerThing = maxLocalRequestBurstPerThing;
+        this.maxTotalLocalRequestBurst = maxTotalLocalRequestBurst;
     }
 
     private static RateLimitsConfiguration getRateLimitsConfigurationFromTopics(Topics topics) {
@@ -60,9 +76,14 @@ public final class RateLimitsConfiguration {
         int maxTotalLocalRequestRate = getMaxTotalLocalRequestRateFromTopics(rateLimitsTopics);
         int maxLocalRequestRatePerThing = getMaxLocalRequestRatePerThingFromTopics(rateLimitsTopics);
         int maxOutboundUpdatesPerSecond = getMaxOutboundUpdatesPerSecondFromTopics(rateLimitsTopics);
+        // the bursts default to the rates, allowing a full second of requests at once
+        int maxLocalRequestBurstPerThing = getLocalRequestBurstFromTopics(rateLimitsTopics,
+                maxLocalRequestRatePerThing, CONFIGURATION_MAX_LOCAL_REQUESTS_BURST_PER_THING_TOPIC);
+        int maxTotalLocalRequestBurst = getLocalRequestBurstFromTopics(rateLimitsTopics, maxTotalLocalRequestRate,
+                CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_BURST);
 
         return new RateLimitsConfiguration(maxLocalRequestRatePerThing, maxTotalLocalRequestRate,
-                maxOutboundUpdatesPerSecond);
+                maxOutboundUpdatesPerSecond, maxLocalRequestBurstPerThing, maxTotalLocalRequestBurst);
     }
 
     /**
@@ -38,6 +38,7 @@ import java.util.Optional;
 import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptions;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_SHADOW_NAME_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_THING_NAME_KEY;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_CACHED_SHADOW_RESPONSES;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_RESOURCE_TYPE;
 import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.DELETE_THING_SHADOW;
 
@@ -48,6 +49,7 @@ public class DeleteThingShadowRequestHandler extends BaseRequestHandler {
     private final AuthorizationHandlerWrapper authorizationHandlerWrapper;
     private final ShadowWriteSynchronizeHelper synchronizeHelper;
     private final SyncHandler syncHandler;
+    private final ShadowResponseCache responseCache;
 
     /**
      * IPC Handler class for responding to DeleteThingShadow requests.
@@ -64,11 +66,33 @@ public class DeleteThingShadowRequestHandler extends BaseRequestHandler {
             PubSubClientWrapper pubSubClientWrapper,
             ShadowWriteSynchronizeHelper synchronizeHelper,
             SyncHandler syncHandler) {
+        this(dao, authorizationHandlerWrapper, pubSubClientWrapper, synchronizeHelper, syncHandler,
+                new ShadowResponseCache(MAX_CACHED_SHADOW_RESPONSES));
+    }
+
+    /**
+     * IPC Handler class for responding to DeleteThingShadow requests.
+     *
+     * @param dao                         Local shadow database management
+     * @param authorizationHandlerWrapper The authorization handler wrapper
+     * @param pubSubClientWrapper         The PubSub client wrapper
+     * @param synchronizeHelper           The shadow write operation synchronizer helper.
+     * @param syncHandler                 The handler class to perform shadow sync operations.
+     * @param responseCache               The cache of GetThingShadow responses to drop deleted shadows from.
+     */
+    public DeleteThingShadowRequestHandler(
+            ShadowManagerDAO dao,
+            AuthorizationHandlerWrapper authorizationHandlerWrapper,
+            PubSubClientWrapper pubSubClientWrapper,
+            ShadowWriteSynchronizeHelper synchronizeHelper,
+            SyncHandler syncHandler,
+            ShadowResponseCache responseCache) {
         super(pubSubClientWrapper);
         this.authorizationHandlerWrapper = authorizationHandlerWrapper;
         this.dao = dao;
         this.synchronizeHelper = synchronizeHelper;
         this.syncHandler = syncHandler;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -125,12 +149,21 @@ public class DeleteThingShadowRequestHandler extends BaseRequestHandler {
                             .withVersion(deletedShadowDocument.get().getVersion())
                             .withTimestamp(Instant.now())
                             .build();
-                    getPubSubClientWrapper().accept(PubSubRequest.builder()
+                    PubSubRequest acceptedRequest = PubSubRequest.builder()
                             .thingName(thingName)
                             .shadowName(shadowName)
                             .payload(JsonUtil.getPayloadBytes(responseNode))
                             .publishOperation(Operation.DELETE_SHADOW)
-                            .build());
+                            .build();
+                    // the delete may be part of a sync request's transaction, so nothing is published or synced until
+                    // it is committed. Until then a GetThingShadow request may still read and cache the shadow, so its
+                    // response is also dropped once the delete is committed.
+                    String deletedShadowName = shadowName;
+                    dao.afterCommit(() -> {
+                        responseCache.invalidate(thingName, deletedShadowName);
+                        getPubSubClientWrapper().accept(acceptedRequest);
+                        this.syncHandler.pushCloudDeleteSyncRequest(thingName, deletedShadowName);
+                    });
                     DeleteThingShadowResponse response = new DeleteThingShadowResponse();
                     /*
                      After a successful delete, the payload expected over the synchronous operation is an empty response
@@ -139,7 +172,6 @@ public class DeleteThingShadowRequestHandler extends BaseRequestHandler {
                      #API_DeleteThingShadow
                     */
                     response.setPayload(new byte[0]);
-                    this.syncHandler.pushCloudDeleteSyncRequest(thingName, shadowName);
                     return response;
 
                 } catch (AuthorizationException e) {
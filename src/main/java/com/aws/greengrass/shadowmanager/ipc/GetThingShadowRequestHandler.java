@@ -21,6 +21,10 @@ import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.shadowmanager.util.Validator;
+import com.aws.greengrass.util.Pair;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import software.amazon.awssdk.aws.greengrass.model.GetThingShadowRequest;
 import software.amazon.awssdk.aws.greengrass.model.GetThingShadowResponse;
@@ -31,11 +35,24 @@ import software.amazon.awssdk.aws.greengrass.model.UnauthorizedError;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptions;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_SHADOW_NAME_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_THING_NAME_KEY;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_BATCH_SHADOW_COUNT;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_CACHED_SHADOW_RESPONSES;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_SHADOWS;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_SHADOW_NAME;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_THING_NAME;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_TIMESTAMP;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_RESOURCE_TYPE;
 import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.GET_THING_SHADOW;
 
@@ -43,6 +60,7 @@ public class GetThingShadowRequestHandler extends BaseRequestHandler {
     private static final Logger logger = LogManager.getLogger(GetThingShadowRequestHandler.class);
     private final ShadowManagerDAO dao;
     private final AuthorizationHandlerWrapper authorizationHandlerWrapper;
+    private final ShadowResponseCache responseCache;
 
     /**
      * IPC Handler class for responding to GetThingShadow requests.
@@ -54,9 +72,26 @@ public class GetThingShadowRequestHandler extends BaseRequestHandler {
     public GetThingShadowRequestHandler(ShadowManagerDAO dao,
                                         AuthorizationHandlerWrapper authorizationHandlerWrapper,
                                         PubSubClientWrapper pubSubClientWrapper) {
+        this(dao, authorizationHandlerWrapper, pubSubClientWrapper,
+                new ShadowResponseCache(MAX_CACHED_SHADOW_RESPONSES));
+    }
+
+    /**
+     * IPC Handler class for responding to GetThingShadow requests.
+     *
+     * @param dao                         Local shadow database management
+     * @param authorizationHandlerWrapper The authorization handler wrapper
+     * @param pubSubClientWrapper         The PubSub client wrapper
+     * @param responseCache               The cache of serialized responses, shared with the delete and update handlers
+     */
+    public GetThingShadowRequestHandler(ShadowManagerDAO dao,
+                                        AuthorizationHandlerWrapper authorizationHandlerWrapper,
+                                        PubSubClientWrapper pubSubClientWrapper,
+                                        ShadowResponseCache responseCache) {
         super(pubSubClientWrapper);
         this.authorizationHandlerWrapper = authorizationHandlerWrapper;
         this.dao = dao;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -87,30 +122,15 @@ public class GetThingShadowRequestHandler extends BaseRequestHandler {
                 Validator.validateShadowRequest(shadowRequest);
                 authorizationHandlerWrapper.doAuthorization(GET_THING_SHADOW, serviceName, shadowRequest);
 
-                Optional<ShadowDocument> currentShadowDocument = dao.getShadowThing(thingName, shadowName);
-                if (!currentShadowDocument.isPresent()) {
-                    ResourceNotFoundError rnf = new ResourceNotFoundError("No shadow found");
-                    rnf.setResourceType(SHADOW_RESOURCE_TYPE);
-                    logger.atWarn()
-                            .setEventType(LogEvents.GET_THING_SHADOW.code())
-                            .setCause(rnf)
-                            .kv(LOG_THING_NAME_KEY, thingName)
-                            .kv(LOG_SHADOW_NAME_KEY, shadowName)
-                            .log("Shadow does not exist");
-                    publishErrorMessage(thingName, shadowName, Optional.empty(),
-                            ErrorMessage.createShadowNotFoundMessage(shadowName), Operation.GET_SHADOW);
-                    throw rnf;
+                Instant now = Instant.now();
+                Optional<byte[]> cachedResponse = getCachedResponse(thingName, shadowName, now);
+                byte[] responseNodeBytes;
+                if (cachedResponse.isPresent()) {
+                    responseNodeBytes = cachedResponse.get();
+                } else {
+                    responseNodeBytes = readResponse(thingName, shadowName, now);
                 }
 
-                ObjectNode responseNode = ResponseMessageBuilder.builder()
-                        .withState(currentShadowDocument.get().getState() == null ? JsonUtil.createEmptyObject()
-                                : currentShadowDocument.get().getState().toJsonWithDelta())
-                        .withMetadata(currentShadowDocument.get().getMetadata().toJson())
-                        .withVersion(currentShadowDocument.get().getVersion())
-                        .withTimestamp(Instant.now()).build();
-
-                byte[] responseNodeBytes = JsonUtil.getPayloadBytes(responseNode);
-
                 getPubSubClientWrapper().accept(PubSubRequest.builder().thingName(thingName).shadowName(shadowName)
                         .payload(responseNodeBytes)
                         .publishOperation(Operation.GET_SHADOW)
@@ -151,4 +171,211 @@ public class GetThingShadowRequestHandler extends BaseRequestHandler {
             }
         });
     }
+
+    /**
+     * Handles a batch of GetThingShadow requests published on the batch get topic of a thing. The shadows are read
+     * with a single query and returned together, each either with its document or with the error for that shadow.
+     *
+     * <p>Only the shadows of the thing of the batch topic are read, so that the batch is allowed by the same PubSub
+     * authorization as the topics of those shadows, and the response is only published on the topics of that thing.
+     * The shadows of any other thing are rejected as unauthorized.
+     *
+     * @param thingName   the thing name of the batch topic.
+     * @param payload     the batch request containing the shadow name of each shadow to get.
+     * @param serviceName the service name making the request.
+     * @return the combined response payload
+     * @throws InvalidArgumentsError if the batch request is not valid
+     * @throws ServiceError          if database error occurs
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    public byte[] handleBatchRequest(String thingName, byte[] payload, String serviceName) {
+        return translateExceptions(() -> {
+            Optional<String> clientToken = Optional.empty();
+            List<ShadowRequest> shadowRequests;
+            try {
+                JsonNode requestNode = JsonUtil.getPayloadJson(payload).filter(JsonNode::isObject)
+                        .orElseThrow(() -> new InvalidRequestParametersException(
+                                ErrorMessage.createInvalidPayloadJsonMessage("Payload must be an object")));
+                clientToken = JsonUtil.getClientToken(requestNode);
+                shadowRequests = getBatchShadowRequests(thingName, requestNode);
+            } catch (InvalidRequestParametersException e) {
+                logger.atWarn()
+                        .setEventType(LogEvents.GET_THING_SHADOW.code())
+                        .setCause(e)
+                        .log("Invalid batch GetThingShadow request");
+                publishBatchErrorMessage(thingName, clientToken, e.getErrorMessage());
+                throw new InvalidArgumentsError(e.getMessage());
+            } catch (IOException e) {
+                logger.atWarn()
+                        .setEventType(LogEvents.GET_THING_SHADOW.code())
+                        .setCause(e)
+                        .log("Invalid batch GetThingShadow request");
+                publishBatchErrorMessage(thingName, clientToken,
+                        ErrorMessage.createInvalidPayloadJsonMessage(e.getMessage()));
+                throw new InvalidArgumentsError(e.getMessage());
+            }
+
+            // validate and authorize each shadow first so that only the shadows which may be returned are queried
+            Map<ShadowRequest, ErrorMessage> errors = new HashMap<>();
+            Set<Pair<String, String>> shadowsToGet = new LinkedHashSet<>();
+            for (ShadowRequest shadowRequest : shadowRequests) {
+                try {
+                    Validator.validateShadowRequest(shadowRequest);
+                    if (!thingName.equals(shadowRequest.getThingName())) {
+                        throw new AuthorizationException("Shadow is not of the thing of the batch topic");
+                    }
+                    authorizationHandlerWrapper.doAuthorization(GET_THING_SHADOW, serviceName, shadowRequest);
+                    shadowsToGet.add(new Pair<>(shadowRequest.getThingName(), shadowRequest.getShadowName()));
+                } catch (InvalidRequestParametersException e) {
+                    errors.put(shadowRequest, e.getErrorMessage());
+                } catch (AuthorizationException e) {
+                    logger.atWarn()
+                            .setEventType(LogEvents.GET_THING_SHADOW.code())
+                            .setCause(e)
+                            .kv(LOG_THING_NAME_KEY, shadowRequest.getThingName())
+                            .kv(LOG_SHADOW_NAME_KEY, shadowRequest.getShadowName())
+                            .log("Not authorized to get shadow");
+                    errors.put(shadowRequest, ErrorMessage.UNAUTHORIZED_MESSAGE);
+                }
+            }
+
+            try {
+                Map<Pair<String, String>, ShadowDocument> documents = dao.getShadowThings(shadowsToGet);
+                Instant now = Instant.now();
+                ArrayNode shadowsNode = JsonUtil.OBJECT_MAPPER.createArrayNode();
+                for (ShadowRequest shadowRequest : shadowRequests) {
+                    ErrorMessage error = errors.get(shadowRequest);
+                    ShadowDocument document = error == null ? documents.get(new Pair<>(shadowRequest.getThingName(),
+                            shadowRequest.getShadowName())) : null;
+                    ObjectNode shadowNode;
+                    if (document != null) {
+                        shadowNode = buildResponseNode(document);
+                        shadowNode.put(SHADOW_DOCUMENT_TIMESTAMP, now.getEpochSecond());
+                    } else {
+                        shadowNode = ResponseMessageBuilder.builder()
+                                .withError(error == null
+                                        ? ErrorMessage.createShadowNotFoundMessage(shadowRequest.getShadowName())
+                                        : error)
+                                .build();
+                    }
+                    shadowNode.put(SHADOW_DOCUMENT_THING_NAME, shadowRequest.getThingName());
+                    shadowNode.put(SHADOW_DOCUMENT_SHADOW_NAME, shadowRequest.getShadowName());
+                    shadowsNode.add(shadowNode);
+                }
+                ObjectNode responseNode = ResponseMessageBuilder.builder()
+                        .withClientToken(clientToken)
+                        .withTimestamp(now).build();
+                responseNode.set(SHADOW_DOCUMENT_SHADOWS, shadowsNode);
+
+                byte[] responseNodeBytes = JsonUtil.getPayloadBytes(responseNode);
+                getPubSubClientWrapper().batchGetAccepted(thingName, responseNodeBytes);
+                return responseNodeBytes;
+            } catch (ShadowManagerDataException | IOException e) {
+                logger.atError()
+                        .setEventType(LogEvents.GET_THING_SHADOW.code())
+                        .setCause(e)
+                        .log("Could not process batch GetThingShadow Request due to internal service error");
+                publishBatchErrorMessage(thingName, clientToken, ErrorMessage.INTERNAL_SERVICE_FAILURE_MESSAGE);
+                throw new ServiceError(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gets the cached response of the shadow if the shadow is still at the version of the cached response. Only the
+     * version of the shadow is read, rather than the whole document.
+     */
+    private Optional<byte[]> getCachedResponse(String thingName, String shadowName, Instant timestamp) {
+        OptionalLong cachedVersion = responseCache.getVersion(thingName, shadowName);
+        if (!cachedVersion.isPresent()) {
+            return Optional.empty();
+        }
+        Optional<Long> version = dao.getShadowDocumentVersion(thingName, shadowName);
+        if (!version.isPresent() || version.get() != cachedVersion.getAsLong()) {
+            return Optional.empty();
+        }
+        return responseCache.get(thingName, shadowName, version.get(), timestamp);
+    }
+
+    /**
+     * Reads the shadow and builds its response, which is cached for the following requests.
+     */
+    private byte[] readResponse(String thingName, String shadowName, Instant timestamp)
+            throws JsonProcessingException {
+        long cacheGeneration = responseCache.getGeneration();
+        Optional<ShadowDocument> currentShadowDocument = dao.getShadowThing(thingName, shadowName);
+        if (!currentShadowDocument.isPresent()) {
+            ResourceNotFoundError rnf = new ResourceNotFoundError("No shadow found");
+            rnf.setResourceType(SHADOW_RESOURCE_TYPE);
+            logger.atWarn()
+                    .setEventType(LogEvents.GET_THING_SHADOW.code())
+                    .setCause(rnf)
+                    .kv(LOG_THING_NAME_KEY, thingName)
+                    .kv(LOG_SHADOW_NAME_KEY, shadowName)
+                    .log("Shadow does not exist");
+            publishErrorMessage(thingName, shadowName, Optional.empty(),
+                    ErrorMessage.createShadowNotFoundMessage(shadowName), Operation.GET_SHADOW);
+            throw rnf;
+        }
+        ShadowDocument shadowDocument = currentShadowDocument.get();
+        return responseCache.put(thingName, shadowName, shadowDocument.getVersion(),
+                buildResponseNode(shadowDocument), cacheGeneration, timestamp);
+    }
+
+    /**
+     * Builds the response of a shadow without its timestamp, which is the last field of the response.
+     */
+    private static ObjectNode buildResponseNode(ShadowDocument shadowDocument) {
+        return ResponseMessageBuilder.builder()
+                .withState(shadowDocument.getState() == null ? JsonUtil.createEmptyObject()
+                        : shadowDocument.getState().toJsonWithDelta())
+                .withMetadata(shadowDocument.getMetadata().toJson())
+                .withVersion(shadowDocument.getVersion()).build();
+    }
+
+    /**
+     * Gets the shadows of the batch request. The thing name of each shadow defaults to the thing of the batch topic.
+     */
+    private static List<ShadowRequest> getBatchShadowRequests(String batchThingName, JsonNode requestNode) {
+        JsonNode shadowsNode = requestNode.get(SHADOW_DOCUMENT_SHADOWS);
+        if (shadowsNode == null || !shadowsNode.isArray() || shadowsNode.size() == 0) {
+            throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                    String.format("%s must be a non-empty array", SHADOW_DOCUMENT_SHADOWS)));
+        }
+        if (shadowsNode.size() > MAX_BATCH_SHADOW_COUNT) {
+            throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                    String.format("%s must contain at most %d shadows", SHADOW_DOCUMENT_SHADOWS,
+                            MAX_BATCH_SHADOW_COUNT)));
+        }
+        List<ShadowRequest> shadowRequests = new ArrayList<>(shadowsNode.size());
+        for (JsonNode shadowNode : shadowsNode) {
+            JsonNode thingName = shadowNode.get(SHADOW_DOCUMENT_THING_NAME);
+            JsonNode shadowName = shadowNode.get(SHADOW_DOCUMENT_SHADOW_NAME);
+            if (!shadowNode.isObject() || (thingName != null && !thingName.isTextual())
+                    || (shadowName != null && !shadowName.isTextual() && !shadowName.isNull())) {
+                throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                        String.format("Each shadow may only have a textual %s and a textual %s",
+                                SHADOW_DOCUMENT_THING_NAME, SHADOW_DOCUMENT_SHADOW_NAME)));
+            }
+            shadowRequests.add(new ShadowRequest(thingName == null ? batchThingName : thingName.textValue(),
+                    shadowName == null ? null : shadowName.textValue()));
+        }
+        return shadowRequests;
+    }
+
+    private void publishBatchErrorMessage(String thingName, Optional<String> clientToken,
+                                          ErrorMessage errorMessage) {
+        JsonNode errorResponse = ResponseMessageBuilder.builder()
+                .withTimestamp(Instant.now())
+                .withClientToken(clientToken)
+                .withError(errorMessage).build();
+        try {
+            getPubSubClientWrapper().batchGetRejected(thingName, JsonUtil.getPayloadBytes(errorResponse));
+        } catch (JsonProcessingException e) {
+            logger.atError()
+                    .setEventType(LogEvents.GET_THING_SHADOW.code())
+                    .cause(e)
+                    .log("Unable to publish batch reject message");
+        }
+    }
 }
@@ -10,11 +10,16 @@ import com.aws.greengrass.shadowmanager.exception.ThrottledRequestException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.Value;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_LOCAL_REQUESTS_RATE;
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_TOTAL_LOCAL_REQUESTS_RATE;
@@ -23,20 +28,23 @@ import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_TOTAL_LOC
  * Class which handles request throttling for all inbound local shadow requests.
  */
 public class InboundRateLimiter {
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+
     private final AtomicInteger ratePerThing = new AtomicInteger(DEFAULT_LOCAL_REQUESTS_RATE);
+    private final AtomicInteger burstPerThing = new AtomicInteger(DEFAULT_LOCAL_REQUESTS_RATE);
     private final AtomicInteger totalRate = new AtomicInteger(DEFAULT_TOTAL_LOCAL_REQUESTS_RATE);
 
     @Setter(AccessLevel.PACKAGE)
     private IpcRateLimiter totalInboundRateLimiter = new IpcRateLimiter(DEFAULT_TOTAL_LOCAL_REQUESTS_RATE);
 
+    /**
+     * Rate limiters per thing, bounded to the total rate. A limiter whose bucket is full behaves like a new one, so
+     * when the bound is exceeded the limiters closest to full are evicted first as dropping them loses the least state.
+     */
     @Setter(AccessLevel.PACKAGE) @Getter(AccessLevel.PACKAGE)
-    private Map<String, IpcRateLimiter> rateLimitersPerThing = Collections.synchronizedMap(
-            new LinkedHashMap<String, IpcRateLimiter>(totalRate.get()) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry eldest) {
-            return size() > totalRate.get();
-        }
-    });
+    private Map<String, IpcRateLimiter> rateLimitersPerThing = new ConcurrentHashMap<>();
+
+    private final Lock evictionLock = new ReentrantLock();
 
     /**
      * Attempts to acquire lock for the specified thing.
@@ -55,14 +63,49 @@ public class InboundRateLimiter {
             throw new ThrottledRequestException("Max total local shadow request rate exceeded");
         }
 
-        IpcRateLimiter rateLimiter = rateLimitersPerThing.computeIfAbsent(thingName, k ->
-                new IpcRateLimiter(ratePerThing.get()));
+        IpcRateLimiter rateLimiter = rateLimitersPerThing.get(thingName);
+        if (rateLimiter == null) {
+            rateLimiter = rateLimitersPerThing.computeIfAbsent(thingName, k ->
+                    new IpcRateLimiter(ratePerThing.get(), burstPerThing.get()));
+            evictIfOverCapacity();
+        }
 
         if (!rateLimiter.tryAcquire()) {
             throw new ThrottledRequestException("Local shadow request throttled for thing");
         }
     }
 
+    /**
+     * Evicts the rate limiters closest to full once there are more limiters than the total rate. A batch of extra
+     * limiters is evicted each time so that the scan is not repeated for every new thing. Only one thread evicts at a
+     * time; other threads skip the eviction rather than wait for it.
+     */
+    private void evictIfOverCapacity() {
+        int capacity = totalRate.get();
+        if (rateLimitersPerThing.size() <= capacity || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = rateLimitersPerThing.size() - capacity;
+            if (excess <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            // snapshot the refill times since they keep changing while the candidates are sorted
+            List<EvictionCandidate> candidates = new ArrayList<>(rateLimitersPerThing.size());
+            rateLimitersPerThing.forEach((thingName, limiter) -> candidates.add(
+                    new EvictionCandidate(thingName, limiter, limiter.getFullAtNanos() - now)));
+            candidates.sort(Comparator.comparingLong(EvictionCandidate::getRefillNanos));
+            int toEvict = Math.min(candidates.size(), excess + capacity / EVICTION_BATCH_DIVISOR);
+            for (int i = 0; i < toEvict; i++) {
+                EvictionCandidate candidate = candidates.get(i);
+                rateLimitersPerThing.remove(candidate.getThingName(), candidate.getLimiter());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
     /**
      * Clears all inbound rate limiters.
      */
@@ -80,6 +123,17 @@ public class InboundRateLimiter {
         totalInboundRateLimiter.setRate(totalRate.get());
     }
 
+    /**
+     * Sets the overall inbound rate limiter rate and burst.
+     *
+     * @param rate  Max inbound requests per second for all things
+     * @param burst Max inbound requests at once for all things
+     */
+    public void setTotalRate(int rate, int burst) {
+        totalRate.set(rate);
+        totalInboundRateLimiter.setRate(rate, burst);
+    }
+
     /**
      * Sets each inbound rate limiter per thing to specified rate.
      *
@@ -87,11 +141,40 @@ public class InboundRateLimiter {
      */
     public void setRate(int rate) {
         ratePerThing.set(rate);
+        burstPerThing.set(rate);
         rateLimitersPerThing.forEach((k, v) -> v.setRate(ratePerThing.get()));
     }
 
-    public void updateRateLimits(int totalRequestRate, int totalRequestRatePerThing) {
-        setTotalRate(totalRequestRate);
-        setRate(totalRequestRatePerThing);
+    /**
+     * Sets each inbound rate limiter per thing to specified rate and burst.
+     *
+     * @param rate  Max inbound requests per second per thing
+     * @param burst Max inbound requests at once per thing
+     */
+    public void setRate(int rate, int burst) {
+        ratePerThing.set(rate);
+        burstPerThing.set(burst);
+        rateLimitersPerThing.forEach((k, v) -> v.setRate(rate, burst));
+    }
+
+    /**
+     * Updates the rates and bursts of the overall and per thing inbound rate limiters.
+     *
+     * @param totalRequestRate          Max inbound requests per second for all things
+     * @param totalRequestBurst         Max inbound requests at once for all things
+     * @param totalRequestRatePerThing  Max inbound requests per second per thing
+     * @param totalRequestBurstPerThing Max inbound requests at once per thing
+     */
+    public void updateRateLimits(int totalRequestRate, int totalRequestBurst, int totalRequestRatePerThing,
+                                 int totalRequestBurstPerThing) {
+        setTotalRate(totalRequestRate, totalRequestBurst);
+        setRate(totalRequestRatePerThing, totalRequestBurstPerThing);
+    }
+
+    @Value
+    private static class EvictionCandidate {
+        String thingName;
+        IpcRateLimiter limiter;
+        long refillNanos;
     }
 }
@@ -5,17 +5,27 @@
 
 package com.aws.greengrass.shadowmanager.ipc;
 
-import lombok.AccessLevel;
-import lombok.Getter;
-import lombok.Synchronized;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Getter(AccessLevel.PACKAGE)
+/**
+ * Token bucket rate limiter which never blocks. The bucket holds up to {@code burst} locks and is refilled
+ * continuously at {@code rate} locks per second, so at most {@code burst} locks are given at once and the long term
+ * rate never exceeds {@code rate}.
+ * <p/>
+ * The bucket is tracked as the time at which it will be full again (the theoretical arrival time of the generic cell
+ * rate algorithm). Each lock moves that time forward by one refill interval, which is done with a single compare and
+ * set so that threads acquiring locks do not serialize on a monitor.
+ */
 public class IpcRateLimiter {
-    private static final long RATE_LIMIT_WINDOW_NANOS = 1_000_000_000;
-    
-    private int count = 0;
-    private int rate;
-    private long timestamp = System.nanoTime();
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private volatile Limits limits;
+
+    /**
+     * The time, in {@link System#nanoTime()}, at which the bucket will be full again.
+     */
+    private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
 
     /**
      * Constructor.
@@ -23,38 +33,107 @@ public class IpcRateLimiter {
      * @param rate locks given per second
      */
     public IpcRateLimiter(int rate) {
-        this.rate = rate;
+        this(rate, rate);
     }
 
     /**
-     * Sets the rate for the RateLimiter.
+     * Constructor.
+     *
+     * @param rate  locks given per second
+     * @param burst maximum number of locks given at once
+     */
+    public IpcRateLimiter(int rate, int burst) {
+        this.limits = new Limits(rate, burst);
+    }
+
+    int getRate() {
+        return limits.rate;
+    }
+
+    int getBurst() {
+        return limits.burst;
+    }
+
+    /**
+     * Gets the time, in {@link System#nanoTime()}, at which the bucket will be full again. A limiter whose bucket is
+     * full behaves exactly like a new one.
+     */
+    long getFullAtNanos() {
+        return fullAt.get();
+    }
+
+    /**
+     * Sets the rate for the RateLimiter. The burst is set to the same value as the rate.
      *
      * @param rate locks given per second
      */
-    @Synchronized
     public void setRate(int rate) {
-        count = count * rate / this.rate;
-        this.rate = rate;
+        setRate(rate, rate);
+    }
+
+    /**
+     * Sets the rate and burst for the RateLimiter. Locks already given count against the new rate in the same
+     * proportion as against the previous rate.
+     *
+     * @param rate  locks given per second
+     * @param burst maximum number of locks given at once
+     */
+    public void setRate(int rate, int burst) {
+        Limits previous = limits;
+        Limits next = new Limits(rate, burst);
+        limits = next;
+        long now = System.nanoTime();
+        long current;
+        long updated;
+        do {
+            current = fullAt.get();
+            long refillTime = current - now;
+            if (refillTime <= 0) {
+                return;
+            }
+            // scaled as a double, since the product of the refill time and the interval can overflow a long
+            updated = now + (long) (refillTime * ((double) next.intervalNanos / previous.intervalNanos));
+        } while (!fullAt.compareAndSet(current, updated));
     }
 
     /**
      * Tries to get lock. This is a non blocking call where if lock was not retrieved it will immediately return.
+     *
+     * @return true if the lock was acquired; Else false.
      */
-    @Synchronized
     public boolean tryAcquire() {
-        long currentTime = System.nanoTime();
-
-        if (currentTime - timestamp >= RATE_LIMIT_WINDOW_NANOS) {
-            count = 1;
-            timestamp = currentTime;
-            return true;
+        Limits current = limits;
+        long now = System.nanoTime();
+        while (true) {
+            long full = fullAt.get();
+            long next = (full - now > 0 ? full : now) + current.intervalNanos;
+            if (next - now > current.burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(full, next)) {
+                return true;
+            }
         }
+    }
 
-        if (count < rate) {
-            count++;
-            return true;
-        }
+    private static final class Limits {
+        private final int rate;
+        private final int burst;
+        /**
+         * Time to refill the bucket with one lock. Rates above one lock per nanosecond are given one lock per
+         * nanosecond, which no caller can reach anyway.
+         */
+        private final long intervalNanos;
+        /**
+         * Time to refill the bucket from empty.
+         */
+        private final long burstNanos;
 
-        return false;
+        private Limits(int rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+            this.intervalNanos = Math.max(1, NANOS_PER_SECOND / rate);
+            this.burstNanos = intervalNanos * burst;
+        }
     }
 }
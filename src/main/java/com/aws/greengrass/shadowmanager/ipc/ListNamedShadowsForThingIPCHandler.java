@@ -25,35 +25,20 @@ import software.amazon.awssdk.aws.greengrass.model.UnauthorizedError;
 import software.amazon.awssdk.eventstreamrpc.OperationContinuationHandlerContext;
 import software.amazon.awssdk.eventstreamrpc.model.EventStreamJsonMessage;
 
-import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.security.spec.KeySpec;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.PBEKeySpec;
-import javax.crypto.spec.SecretKeySpec;
 
 import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptions;
-import static com.aws.greengrass.shadowmanager.model.Constants.CIPHER_TRANSFORMATION;
-import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_OFFSET;
+import static com.aws.greengrass.shadowmanager.model.Constants.CLASSIC_SHADOW_IDENTIFIER;
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_PAGE_SIZE;
-import static com.aws.greengrass.shadowmanager.model.Constants.ENCRYPTION_ALGORITHM;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_NEXT_TOKEN_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_PAGE_SIZE_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_THING_NAME_KEY;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_CACHED_NEXT_TOKEN_KEYS;
 import static com.aws.greengrass.shadowmanager.model.Constants.MAX_PAGE_SIZE;
 import static com.aws.greengrass.shadowmanager.model.Constants.MIN_PAGE_SIZE;
-import static com.aws.greengrass.shadowmanager.model.Constants.PBE_KEY_ITERATION_COUNT;
-import static com.aws.greengrass.shadowmanager.model.Constants.PBE_KEY_LENGTH;
-import static com.aws.greengrass.shadowmanager.model.Constants.SECRET_KEY_ALGORITHM;
 import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.LIST_NAMED_SHADOWS_FOR_THING;
 
 /**
@@ -61,6 +46,7 @@ import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.LIS
  */
 public class ListNamedShadowsForThingIPCHandler extends GeneratedAbstractListNamedShadowsForThingOperationHandler {
     private static final Logger logger = LogManager.getLogger(ListNamedShadowsForThingIPCHandler.class);
+    private static final NextTokenCipher NEXT_TOKEN_CIPHER = new NextTokenCipher(MAX_CACHED_NEXT_TOKEN_KEYS);
 
     private final String serviceName;
     private final ShadowManagerDAO dao;
@@ -126,22 +112,24 @@ public class ListNamedShadowsForThingIPCHandler extends GeneratedAbstractListNam
                     throw new IllegalArgumentException("pageSize argument must be between 1 and 100");
                 }
 
-                int offset = DEFAULT_OFFSET;
+                // the token holds the name of the last shadow of the previous page, the first page starts after the
+                // classic shadow which has an empty name
+                String afterShadowName = CLASSIC_SHADOW_IDENTIFIER;
                 Optional<String> userToken = Optional.ofNullable(request.getNextToken())
                         .filter(s -> !s.isEmpty());
 
                 if (userToken.isPresent()) {
-                    offset = decodeOffsetFromToken(userToken.get(), serviceName, thingName);
+                    afterShadowName = NEXT_TOKEN_CIPHER.decrypt(userToken.get(), serviceName, thingName);
                 }
 
-                List<String> results = dao.listNamedShadowsForThing(thingName, offset, pageSize);
+                List<String> results = dao.listNamedShadowsForThing(thingName, afterShadowName, pageSize);
 
                 ListNamedShadowsForThingResponse response = new ListNamedShadowsForThingResponse();
                 response.setResults(results);
                 response.setTimestamp(Instant.now());
 
                 if (results.size() == pageSize) {
-                    String nextToken = generateToken(offset + pageSize, serviceName, thingName);
+                    String nextToken = NEXT_TOKEN_CIPHER.encrypt(results.get(pageSize - 1), serviceName, thingName);
                     response.setNextToken(nextToken);
                 } else if (results.size() > pageSize) {
                     ServiceError error = new ServiceError("Could not process ListNamedShadowsForThing "
@@ -193,67 +181,4 @@ public class ListNamedShadowsForThingIPCHandler extends GeneratedAbstractListNam
     public void handleStreamEvent(EventStreamJsonMessage streamRequestEvent) {
         //NA
     }
-
-    /**
-     * Calculates the offset by decrypting the token with a secret formed from clientId and thingName.
-     *
-     * @param nextToken Generated token encrypted by ShadowManager
-     * @param clientId  client which requested the listNameShadowsForThing Request
-     * @param thingName thingName for the listNameShadowsForThing Request
-     * @return The offset used in the list named shadows query
-     */
-    @SuppressWarnings("PMD.AvoidUncheckedExceptionsInSignatures")
-    private static int decodeOffsetFromToken(String nextToken, String clientId, String thingName)
-            throws GeneralSecurityException, IllegalArgumentException {
-        try {
-            String secret = clientId + thingName;
-            Cipher cipher = createCipher(secret, thingName, Cipher.DECRYPT_MODE);
-            String offsetString = new String(cipher.doFinal(Base64.getDecoder().decode(nextToken)),
-                    StandardCharsets.UTF_8);
-            return Integer.parseInt(offsetString);
-        } catch (BadPaddingException | IllegalBlockSizeException e) {
-            throw new IllegalArgumentException("Invalid nextToken argument", e);
-        }
-    }
-
-    /**
-     * Generates a token by encrypting the offset with a secret key formed from clientId and thingName.
-     *
-     * @param offset    current place of the ListNamedShadowsForThing query to be encrypted
-     * @param clientId  client which requested the ListNamedShadowsForThing Request
-     * @param thingName thingName for the ListNamedShadowsForThing Request
-     * @return A generated string token to be returned as the nextToken in the ListNamedShadowsForThing response
-     */
-    private static String generateToken(int offset, String clientId, String thingName) throws GeneralSecurityException {
-        String secret = clientId + thingName;
-        Cipher cipher = createCipher(secret, thingName, Cipher.ENCRYPT_MODE);
-        return Base64.getEncoder()
-                .encodeToString(cipher.doFinal(String.valueOf(offset).getBytes(StandardCharsets.UTF_8)));
-    }
-
-    /**
-     * Creates a Cipher used to encrypt/decrypt the offset using the clientId and thingName as the secretKey.
-     * We use the thingName as the salt value in generating a derived secret key.
-     *
-     * @param secret               secret key used in the encryption process
-     * @param salt                 salt value used to randomize the encrypted password
-     * @param cipherEncryptionMode mode to determine whether Cipher object will encrypt or decrypt
-     * @return A Cipher object used to encrypt/decrypt a token
-     */
-    private static Cipher createCipher(String secret, String salt, int cipherEncryptionMode)
-            throws GeneralSecurityException {
-        KeySpec keySpec = new PBEKeySpec(secret.toCharArray(), salt.getBytes(StandardCharsets.UTF_8),
-                PBE_KEY_ITERATION_COUNT, PBE_KEY_LENGTH);
-        SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM);
-        SecretKey secretKey = secretKeyFactory.generateSecret(keySpec);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getEncoded(), ENCRYPTION_ALGORITHM);
-
-        Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
-        byte[] iv = new byte[cipher.getBlockSize()];
-        IvParameterSpec ivParams = new IvParameterSpec(iv);
-        cipher.init(cipherEncryptionMode, secretKeySpec, ivParams);
-
-        return cipher;
-    }
-
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.ipc;
+
+import com.aws.greengrass.util.Pair;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.CIPHER_TRANSFORMATION;
+import static com.aws.greengrass.shadowmanager.model.Constants.ENCRYPTION_ALGORITHM;
+import static com.aws.greengrass.shadowmanager.model.Constants.PBE_KEY_ITERATION_COUNT;
+import static com.aws.greengrass.shadowmanager.model.Constants.PBE_KEY_LENGTH;
+import static com.aws.greengrass.shadowmanager.model.Constants.SECRET_KEY_ALGORITHM;
+
+/**
+ * Encrypts and decrypts the nextToken of ListNamedShadowsForThing responses.
+ *
+ * <p>The token is encrypted with a key derived from the client and thing names, which takes tens of milliseconds. The
+ * derived keys of the most recently used clients and things are cached, and each thread reuses its own
+ * {@link Cipher} instance, so following the pages of a listing only pays for the key derivation once.
+ */
+public class NextTokenCipher {
+    private final Map<Pair<String, String>, SecretKeySpec> keys;
+    private final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     *
+     * @param maxCachedKeys maximum number of client and thing keys to cache
+     */
+    public NextTokenCipher(int maxCachedKeys) {
+        this.keys = Collections.synchronizedMap(new LinkedHashMap<Pair<String, String>, SecretKeySpec>(
+                16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Pair<String, String>, SecretKeySpec> eldest) {
+                return size() > maxCachedKeys;
+            }
+        });
+    }
+
+    /**
+     * Generates a token by encrypting the value with a secret key formed from clientId and thingName.
+     *
+     * @param value     the value to encrypt
+     * @param clientId  client which requested the ListNamedShadowsForThing Request
+     * @param thingName thingName for the ListNamedShadowsForThing Request
+     * @return the encrypted and base64 encoded token
+     * @throws GeneralSecurityException if the cipher cannot be created
+     */
+    public String encrypt(String value, String clientId, String thingName) throws GeneralSecurityException {
+        Cipher cipher = getCipher(clientId, thingName, Cipher.ENCRYPT_MODE);
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Gets the value of a token by decrypting it with a secret formed from clientId and thingName.
+     *
+     * @param token     token generated by {@link #encrypt(String, String, String)}
+     * @param clientId  client which requested the ListNamedShadowsForThing Request
+     * @param thingName thingName for the ListNamedShadowsForThing Request
+     * @return the decrypted value
+     * @throws GeneralSecurityException if the cipher cannot be created
+     * @throws IllegalArgumentException if the token was not generated for the client and thing
+     */
+    @SuppressWarnings("PMD.AvoidUncheckedExceptionsInSignatures")
+    public String decrypt(String token, String clientId, String thingName)
+            throws GeneralSecurityException, IllegalArgumentException {
+        try {
+            Cipher cipher = getCipher(clientId, thingName, Cipher.DECRYPT_MODE);
+            return new String(cipher.doFinal(Base64.getDecoder().decode(token)), StandardCharsets.UTF_8);
+        } catch (BadPaddingException | IllegalBlockSizeException e) {
+            throw new IllegalArgumentException("Invalid nextToken argument", e);
+        }
+    }
+
+    int getCachedKeyCount() {
+        return keys.size();
+    }
+
+    private Cipher getCipher(String clientId, String thingName, int cipherEncryptionMode)
+            throws GeneralSecurityException {
+        Cipher cipher = ciphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+            ciphers.set(cipher);
+        }
+        byte[] iv = new byte[cipher.getBlockSize()];
+        cipher.init(cipherEncryptionMode, getKey(clientId, thingName), new IvParameterSpec(iv));
+        return cipher;
+    }
+
+    private SecretKeySpec getKey(String clientId, String thingName) throws GeneralSecurityException {
+        Pair<String, String> cacheKey = new Pair<>(clientId, thingName);
+        SecretKeySpec key = keys.get(cacheKey);
+        if (key == null) {
+            // derived outside of the cache lock, as the derivation is slow and the same key may be derived twice
+            key = createKey(clientId + thingName, thingName);
+            keys.put(cacheKey, key);
+        }
+        return key;
+    }
+
+    /**
+     * Derives the key used to encrypt/decrypt the token using the clientId and thingName as the secretKey.
+     * We use the thingName as the salt value in generating a derived secret key.
+     *
+     * @param secret secret key used in the encryption process
+     * @param salt   salt value used to randomize the encrypted password
+     * @return the derived key
+     */
+    private static SecretKeySpec createKey(String secret, String salt) throws GeneralSecurityException {
+        KeySpec keySpec = new PBEKeySpec(secret.toCharArray(), salt.getBytes(StandardCharsets.UTF_8),
+                PBE_KEY_ITERATION_COUNT, PBE_KEY_LENGTH);
+        SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM);
+        SecretKey secretKey = secretKeyFactory.generateSecret(keySpec);
+        return new SecretKeySpec(secretKey.getEncoded(), ENCRYPTION_ALGORITHM);
+    }
+}
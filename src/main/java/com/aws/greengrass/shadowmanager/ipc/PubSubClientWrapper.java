@@ -9,6 +9,7 @@ import com.aws.greengrass.builtin.services.pubsub.PubSubIPCEventStreamAgent;
 import com.aws.greengrass.builtin.services.pubsub.PublishEvent;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.shadowmanager.ipc.model.Operation;
 import com.aws.greengrass.shadowmanager.ipc.model.PubSubRequest;
 import software.amazon.awssdk.aws.greengrass.model.InvalidArgumentsError;
 
@@ -16,8 +17,10 @@ import java.util.function.Consumer;
 import javax.inject.Inject;
 
 import static com.aws.greengrass.shadowmanager.ShadowManager.SERVICE_NAME;
+import static com.aws.greengrass.shadowmanager.model.Constants.BATCH_SHADOW_TOPIC_PREFIX;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_SHADOW_NAME_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_THING_NAME_KEY;
+import static com.aws.greengrass.shadowmanager.model.Constants.LOG_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.PUBSUB_SUBSCRIBE_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_MANAGER_NAME;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_PUBLISH_ACCEPTED_TOPIC;
@@ -81,6 +84,65 @@ public class PubSubClientWrapper {
         handlePubSubMessagePublish(acceptRequest, SHADOW_PUBLISH_DOCUMENTS_TOPIC);
     }
 
+    /**
+     * Publish the combined response of a batch get request of the shadows of a thing using PubSub agent.
+     *
+     * @param thingName The thing name of the batch topic.
+     * @param payload   The combined response payload.
+     */
+    public void batchGetAccepted(String thingName, byte[] payload) {
+        handleBatchMessagePublish(getBatchPublishTopic(thingName, Operation.GET_SHADOW, SHADOW_PUBLISH_ACCEPTED_TOPIC),
+                payload, Operation.GET_SHADOW);
+    }
+
+    /**
+     * Publish the message using PubSub agent when a batch get request of the shadows of a thing has been rejected.
+     *
+     * @param thingName The thing name of the batch topic.
+     * @param payload   The error response payload.
+     */
+    public void batchGetRejected(String thingName, byte[] payload) {
+        handleBatchMessagePublish(getBatchPublishTopic(thingName, Operation.GET_SHADOW, SHADOW_PUBLISH_REJECTED_TOPIC),
+                payload, Operation.GET_SHADOW);
+    }
+
+    /**
+     * Publish the combined response of a batch update request of the shadows of a thing using PubSub agent.
+     *
+     * @param thingName The thing name of the batch topic.
+     * @param payload   The combined response payload.
+     */
+    public void batchUpdateAccepted(String thingName, byte[] payload) {
+        handleBatchMessagePublish(getBatchPublishTopic(thingName, Operation.UPDATE_SHADOW,
+                SHADOW_PUBLISH_ACCEPTED_TOPIC), payload, Operation.UPDATE_SHADOW);
+    }
+
+    /**
+     * Publish the message using PubSub agent when a batch update request of the shadows of a thing has been rejected.
+     *
+     * @param thingName The thing name of the batch topic.
+     * @param payload   The error response payload.
+     */
+    public void batchUpdateRejected(String thingName, byte[] payload) {
+        handleBatchMessagePublish(getBatchPublishTopic(thingName, Operation.UPDATE_SHADOW,
+                SHADOW_PUBLISH_REJECTED_TOPIC), payload, Operation.UPDATE_SHADOW);
+    }
+
+    private void handleBatchMessagePublish(String topic, byte[] payload, Operation operation) {
+        try {
+            this.pubSubIPCEventStreamAgent.publish(topic, payload, SERVICE_NAME);
+            logger.atTrace()
+                    .setEventType(operation.getLogEventType())
+                    .kv(LOG_TOPIC, topic)
+                    .log("Successfully published PubSub message");
+        } catch (InvalidArgumentsError e) {
+            logger.atError().cause(e)
+                    .setEventType(operation.getLogEventType())
+                    .kv(LOG_TOPIC, topic)
+                    .log("Unable to publish PubSub message");
+        }
+    }
+
     /**
      * Publish the message using PubSub agent when a desired operation for a shadow has been accepted.
      *
@@ -105,6 +167,10 @@ public class PubSubClientWrapper {
         }
     }
 
+    private static String getBatchPublishTopic(String thingName, Operation operation, String topic) {
+        return String.format(BATCH_SHADOW_TOPIC_PREFIX, thingName) + operation.getOp() + topic;
+    }
+
     /**
      * Gets the Shadow name topic prefix.
      *
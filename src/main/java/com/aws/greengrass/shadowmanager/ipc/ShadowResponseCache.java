@@ -0,0 +1,164 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.ipc;
+
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.util.Pair;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_TIMESTAMP;
+
+/**
+ * Caches the serialized GetThingShadow responses of the most recently read shadows.
+ *
+ * <p>Apart from its timestamp, the response for a shadow only changes with the version of the shadow. The response is
+ * cached without the timestamp, which is the last field of the response and is appended when the response is sent.
+ * The version alone does not tell a deleted shadow from the shadow created again after it: deleting a shadow keeps its
+ * row with the next version, but creating it again writes a new document from version 1, which may be the version of a
+ * cached response of the deleted shadow. Deleting a shadow therefore drops its response once the delete is committed,
+ * and creating a shadow drops it again in case the shadow was read and cached before the delete was committed.
+ */
+public class ShadowResponseCache {
+    private static final byte[] TIMESTAMP_FIELD = (",\"" + SHADOW_DOCUMENT_TIMESTAMP + "\":")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Map<Pair<String, String>, CachedResponse> responses;
+
+    /**
+     * Incremented each time a response is dropped, so that a response read before a shadow was deleted is not cached
+     * after it was deleted.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param maxCachedResponses maximum number of shadow responses to cache
+     */
+    public ShadowResponseCache(int maxCachedResponses) {
+        this.responses = Collections.synchronizedMap(new LinkedHashMap<Pair<String, String>, CachedResponse>(
+                16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Pair<String, String>, CachedResponse> eldest) {
+                return size() > maxCachedResponses;
+            }
+        });
+    }
+
+    /**
+     * Gets the current generation of the cache, to be passed to {@link #put} for a response built from a shadow read
+     * after this call.
+     *
+     * @return the current generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Gets the version of the shadow whose response is cached.
+     *
+     * @param thingName  the thing name of the shadow
+     * @param shadowName the shadow name
+     * @return the version of the cached response; or empty if no response is cached for the shadow
+     */
+    public OptionalLong getVersion(String thingName, String shadowName) {
+        CachedResponse cached = responses.get(new Pair<>(thingName, shadowName));
+        return cached == null ? OptionalLong.empty() : OptionalLong.of(cached.version);
+    }
+
+    /**
+     * Gets the cached response of a shadow version.
+     *
+     * @param thingName  the thing name of the shadow
+     * @param shadowName the shadow name
+     * @param version    the current version of the shadow
+     * @param timestamp  the timestamp of the response
+     * @return the serialized response; or empty if the response of that version is not cached
+     */
+    public Optional<byte[]> get(String thingName, String shadowName, long version, Instant timestamp) {
+        CachedResponse cached = responses.get(new Pair<>(thingName, shadowName));
+        if (cached == null || cached.version != version) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.withTimestamp(timestamp));
+    }
+
+    /**
+     * Serializes and caches the response of a shadow version.
+     *
+     * @param thingName  the thing name of the shadow
+     * @param shadowName the shadow name
+     * @param version    the version of the shadow
+     * @param response   the response without its timestamp
+     * @param generation the generation of the cache before the shadow was read
+     * @param timestamp  the timestamp of the response
+     * @return the serialized response with the timestamp
+     * @throws JsonProcessingException if the response cannot be serialized
+     */
+    public byte[] put(String thingName, String shadowName, long version, ObjectNode response, long generation,
+                      Instant timestamp) throws JsonProcessingException {
+        CachedResponse cached = new CachedResponse(version, JsonUtil.getPayloadBytes(response));
+        Pair<String, String> key = new Pair<>(thingName, shadowName);
+        if (this.generation.get() == generation) {
+            responses.put(key, cached);
+            if (this.generation.get() != generation) {
+                // the shadow was deleted while the response was built
+                responses.remove(key, cached);
+            }
+        }
+        return cached.withTimestamp(timestamp);
+    }
+
+    /**
+     * Drops the cached response of a shadow.
+     *
+     * @param thingName  the thing name of the shadow
+     * @param shadowName the shadow name
+     */
+    public void invalidate(String thingName, String shadowName) {
+        generation.incrementAndGet();
+        responses.remove(new Pair<>(thingName, shadowName));
+    }
+
+    private static class CachedResponse {
+        private final long version;
+
+        /**
+         * The serialized response without its timestamp and closing brace.
+         */
+        private final byte[] body;
+
+        CachedResponse(long version, byte[] response) {
+            this.version = version;
+            // the response always has a state, so the timestamp is appended after a field
+            this.body = Arrays.copyOf(response, response.length - 1);
+        }
+
+        byte[] withTimestamp(Instant timestamp) {
+            byte[] epochSecond = Long.toString(timestamp.getEpochSecond()).getBytes(StandardCharsets.US_ASCII);
+            byte[] response = new byte[body.length + TIMESTAMP_FIELD.length + epochSecond.length + 1];
+            System.arraycopy(body, 0, response, 0, body.length);
+            System.arraycopy(TIMESTAMP_FIELD, 0, response, body.length, TIMESTAMP_FIELD.length);
+            System.arraycopy(epochSecond, 0, response, body.length + TIMESTAMP_FIELD.length, epochSecond.length);
+            response[response.length - 1] = '}';
+            return response;
+        }
+    }
+}
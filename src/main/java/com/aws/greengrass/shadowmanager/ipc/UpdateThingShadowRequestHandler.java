@@ -17,16 +17,23 @@ import com.aws.greengrass.shadowmanager.ipc.model.PubSubRequest;
 import com.aws.greengrass.shadowmanager.model.ErrorMessage;
 import com.aws.greengrass.shadowmanager.model.LogEvents;
 import com.aws.greengrass.shadowmanager.model.ResponseMessageBuilder;
+import com.aws.greengrass.shadowmanager.model.ResponseMessageWriter;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
 import com.aws.greengrass.shadowmanager.model.UpdateThingShadowHandlerResponse;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.sync.SyncHandler;
+import com.aws.greengrass.shadowmanager.util.ContentHash;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.shadowmanager.util.ShadowWriteSynchronizeHelper;
+import com.aws.greengrass.shadowmanager.util.UpdatePayloadScan;
 import com.aws.greengrass.shadowmanager.util.Validator;
 import com.aws.greengrass.util.Pair;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
 import software.amazon.awssdk.aws.greengrass.model.ConflictError;
 import software.amazon.awssdk.aws.greengrass.model.InvalidArgumentsError;
 import software.amazon.awssdk.aws.greengrass.model.ServiceError;
@@ -36,15 +43,29 @@ import software.amazon.awssdk.aws.greengrass.model.UpdateThingShadowResponse;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static com.aws.greengrass.ipc.common.ExceptionUtil.translateExceptions;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_LOCAL_VERSION_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_SHADOW_NAME_KEY;
 import static com.aws.greengrass.shadowmanager.model.Constants.LOG_THING_NAME_KEY;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_BATCH_SHADOW_COUNT;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_CACHED_SHADOW_RESPONSES;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_METADATA;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_PAYLOAD;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_SHADOWS;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_SHADOW_NAME;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DELTA;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_THING_NAME;
 import static com.aws.greengrass.shadowmanager.util.JsonUtil.isNullOrMissing;
 import static software.amazon.awssdk.aws.greengrass.GreengrassCoreIPCService.UPDATE_THING_SHADOW;
 
@@ -55,6 +76,7 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
     private final AuthorizationHandlerWrapper authorizationHandlerWrapper;
     private final ShadowWriteSynchronizeHelper synchronizeHelper;
     private final SyncHandler syncHandler;
+    private final ShadowResponseCache responseCache;
 
     /**
      * IPC Handler class for responding to UpdateThingShadow requests.
@@ -70,11 +92,32 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
             AuthorizationHandlerWrapper authorizationHandlerWrapper,
             PubSubClientWrapper pubSubClientWrapper,
             ShadowWriteSynchronizeHelper synchronizeHelper, SyncHandler syncHandler) {
+        this(dao, authorizationHandlerWrapper, pubSubClientWrapper, synchronizeHelper, syncHandler,
+                new ShadowResponseCache(MAX_CACHED_SHADOW_RESPONSES));
+    }
+
+    /**
+     * IPC Handler class for responding to UpdateThingShadow requests.
+     *
+     * @param dao                         Local shadow database management
+     * @param authorizationHandlerWrapper The authorization handler wrapper
+     * @param pubSubClientWrapper         The PubSub client wrapper
+     * @param synchronizeHelper           The shadow write operation synchronizer helper.
+     * @param syncHandler                 The handler class to perform shadow sync operations.
+     * @param responseCache               The cache of GetThingShadow responses to drop created shadows from.
+     */
+    public UpdateThingShadowRequestHandler(
+            ShadowManagerDAO dao,
+            AuthorizationHandlerWrapper authorizationHandlerWrapper,
+            PubSubClientWrapper pubSubClientWrapper,
+            ShadowWriteSynchronizeHelper synchronizeHelper, SyncHandler syncHandler,
+            ShadowResponseCache responseCache) {
         super(pubSubClientWrapper);
         this.authorizationHandlerWrapper = authorizationHandlerWrapper;
         this.dao = dao;
         this.synchronizeHelper = synchronizeHelper;
         this.syncHandler = syncHandler;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -126,27 +169,19 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
                     // 2. The state node schema to ensure it's correctness.
                     // 3. The depth of the state node to ensure it is within the boundaries.
                     // 4. The version of the payload to ensure that its current version + 1.
-
-                    updateDocumentRequest = JsonUtil.getPayloadJson(updatedDocumentRequestBytes)
-                            .filter(d -> !isNullOrMissing(d))
-                            .orElseThrow(() ->
-                                    new InvalidRequestParametersException(ErrorMessage
-                                            .createInvalidPayloadJsonMessage("")));
-
-                    // drop "delta" from the state (if we have a state).
-                    // delta isn't valid for users to set.
-                    if (updateDocumentRequest.has(SHADOW_DOCUMENT_STATE)
-                            && updateDocumentRequest.get(SHADOW_DOCUMENT_STATE).isObject()) {
-                        ((ObjectNode) updateDocumentRequest.get(SHADOW_DOCUMENT_STATE))
-                                .remove(SHADOW_DOCUMENT_STATE_DELTA);
-                    }
-                    // Validate the payload schema
-                    JsonUtil.validatePayloadSchema(updateDocumentRequest);
+                    // The payload is first read as a stream of tokens, which covers the first three checks for
+                    // payloads matching the schema and rejects those which are too large or too deep without
+                    // building their JSON tree.
+                    UpdatePayloadScan payloadScan = UpdatePayloadScan.of(updatedDocumentRequestBytes);
+                    clientToken = payloadScan.getClientToken();
+                    payloadScan.validateStateDepth();
+                    updateDocumentRequest = parseUpdatePayload(payloadScan,
+                            JsonUtil.getPayloadJson(updatedDocumentRequestBytes).orElse(null));
 
                     // Get the client token if present in the update shadow request.
-                    clientToken = JsonUtil.getClientToken(updateDocumentRequest);
+                    clientToken = getClientToken(payloadScan, updateDocumentRequest);
 
-                    JsonUtil.validatePayload(currentDocument, updateDocumentRequest);
+                    validateUpdatePayload(payloadScan, currentDocument, updateDocumentRequest);
                 } catch (AuthorizationException e) {
                     logger.atWarn()
                             .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
@@ -180,43 +215,14 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
                     final ShadowDocument updatedDocument = new ShadowDocument(currentDocument);
                     final JsonNode metadata = updatedDocument.update(updateDocumentRequest);
 
-                    // shadow size is based on desired + reported length. Ideally we would just store these separately
-                    // to avoid double serialization, but DB stores the single document
-                    int desiredLength = 0;
-                    int reportedLength = 0;
-                    if (updatedDocument.getState() != null) {
-                        if (!isNullOrMissing(updatedDocument.getState().getDesired())) {
-                            desiredLength = JsonUtil.getPayloadBytes(updatedDocument.getState().getDesired()).length;
-                        }
-                        if (!isNullOrMissing(updatedDocument.getState().getReported())) {
-                            reportedLength = JsonUtil.getPayloadBytes(updatedDocument.getState().getReported()).length;
-                        }
-                    }
-
                     // Make sure new document is not too big
-                    logger.atDebug()
-                            .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
-                            .kv(LOG_THING_NAME_KEY, thingName)
-                            .kv(LOG_SHADOW_NAME_KEY, shadowName)
-                            .kv("updatedShadowStateSize", desiredLength + reportedLength)
-                            .log();
-                    try {
-                        Validator.validateShadowSize(desiredLength + reportedLength);
-                    } catch (InvalidRequestParametersException e) {
-                        logger.atWarn()
-                                .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
-                                .kv(LOG_THING_NAME_KEY, thingName)
-                                .kv(LOG_SHADOW_NAME_KEY, shadowName)
-                                .kv("updatedShadowStateSize", desiredLength + reportedLength)
-                                .kv("maxShadowStateSize", Validator.getMaxShadowDocumentSize())
-                                .log("Requested update is too large");
-                        throw e;
-                    }
+                    validateUpdatedShadowSize(thingName, shadowName, updatedDocument);
 
                     // Update the new document in the DAO.
-                    byte[] updateDocumentBytes = JsonUtil.getPayloadBytes(updatedDocument.toJson(false));
-                    Optional<byte[]> result = dao.updateShadowThing(thingName, shadowName, updateDocumentBytes,
-                            updatedDocument.getVersion());
+                    byte[] updateDocumentBytes = updatedDocument.toJsonBytes();
+                    byte[] deltaBytes = getDeltaBytes(updatedDocument);
+                    Optional<byte[]> result = dao.updateShadowThing(getShadowThingUpdate(thingName, shadowName,
+                            updatedDocument, updateDocumentBytes, deltaBytes));
                     if (!result.isPresent()) {
                         ServiceError error = new ServiceError("Unexpected error occurred in trying to "
                                 + "update shadow thing");
@@ -232,27 +238,8 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
                         throw error;
                     }
 
-                    // Publish the message on the delta topic over PubSub if applicable.
-                    publishDeltaMessage(thingName, shadowName, clientToken, updatedDocument);
-
-                    // Publish the documents message over the documents topic.
-                    publishDocumentsMessage(thingName, shadowName, clientToken, currentDocument, updatedDocument);
-
-                    // Build the response object to send over the accepted topic and as the payload in the response
-                    // object. State node is the same shadow document update payload we received in the update request.
-                    ObjectNode responseNode = ResponseMessageBuilder.builder()
-                            .withVersion(updatedDocument.getVersion())
-                            .withClientToken(clientToken)
-                            .withTimestamp(Instant.now())
-                            .withState(updateDocumentRequest.get("state"))
-                            .withMetadata(metadata)
-                            .build();
-                    byte[] responseNodeBytes = JsonUtil.getPayloadBytes(responseNode);
-
-                    getPubSubClientWrapper().accept(PubSubRequest.builder().thingName(thingName).shadowName(shadowName)
-                            .payload(responseNodeBytes)
-                            .publishOperation(Operation.UPDATE_SHADOW)
-                            .build());
+                    byte[] responseNodeBytes = JsonUtil.getPayloadBytes(buildUpdateResponse(clientToken,
+                            updatedDocument, updateDocumentRequest, metadata));
 
                     UpdateThingShadowResponse updateThingShadowResponse = new UpdateThingShadowResponse();
                     updateThingShadowResponse.setPayload(responseNodeBytes);
@@ -263,8 +250,20 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
                             .kv("service-name", serviceName)
                             .log("Successfully updated shadow");
                     removeMetadataNode(updateDocumentRequest);
-                    this.syncHandler.pushCloudUpdateSyncRequest(thingName, shadowName, updateDocumentRequest,
-                            updatedDocument);
+
+                    // the update may be part of a sync request's transaction, so nothing is published or synced until
+                    // it is committed
+                    String updatedShadowName = shadowName;
+                    Optional<String> updateClientToken = clientToken;
+                    ShadowDocument previousDocument = currentDocument;
+                    JsonNode updatePatch = updateDocumentRequest;
+                    dao.afterCommit(() -> {
+                        dropCreatedShadowResponse(thingName, updatedShadowName, previousDocument);
+                        publishUpdateMessagesIfPossible(thingName, updatedShadowName, updateClientToken,
+                                previousDocument, updatedDocument, deltaBytes, responseNodeBytes);
+                        this.syncHandler.pushCloudUpdateSyncRequest(thingName, updatedShadowName, updatePatch,
+                                updatedDocument);
+                    });
 
                     return new UpdateThingShadowHandlerResponse(updateThingShadowResponse, updateDocumentBytes);
                 } catch (InvalidRequestParametersException e) {
@@ -277,6 +276,448 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
         });
     }
 
+    /**
+     * Handles a batch of UpdateThingShadow requests published on the batch update topic of a thing. Every update is
+     * validated before any is applied and all of them are written in a single database transaction, so either every
+     * shadow in the batch is updated or none is. The accepted, delta and documents messages of each shadow are
+     * published as for a single update, and the combined response is published on the batch update accepted topic.
+     *
+     * <p>Only the shadows of the thing of the batch topic are updated, so that the batch is allowed by the same PubSub
+     * authorization as the topics of those shadows. A batch which updates a shadow of any other thing is rejected as
+     * unauthorized.
+     *
+     * @param thingName   the thing name of the batch topic.
+     * @param payload     the batch request containing the shadow name and update payload of each shadow.
+     * @param serviceName the service name making the request.
+     * @return the combined response payload
+     * @throws ConflictError         if version conflict found when updating any of the shadow documents
+     * @throws UnauthorizedError     if the update of any of the shadows is not authorized
+     * @throws InvalidArgumentsError if the batch request or any of its updates is not valid
+     * @throws ServiceError          if database error occurs
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    public byte[] handleBatchRequest(String thingName, byte[] payload, String serviceName) {
+        return translateExceptions(() -> {
+            Optional<String> clientToken = Optional.empty();
+            List<BatchUpdate> updates;
+            try {
+                JsonNode requestNode = JsonUtil.getPayloadJson(payload).filter(JsonNode::isObject)
+                        .orElseThrow(() -> new InvalidRequestParametersException(
+                                ErrorMessage.createInvalidPayloadJsonMessage("Payload must be an object")));
+                clientToken = JsonUtil.getClientToken(requestNode);
+                updates = getBatchUpdates(thingName, requestNode);
+            } catch (InvalidRequestParametersException e) {
+                logBatchFailure(e, null, "Invalid batch UpdateThingShadow request");
+                publishBatchErrorMessage(thingName, clientToken, null, e.getErrorMessage());
+                throw new InvalidArgumentsError(e.getMessage());
+            } catch (IOException e) {
+                logBatchFailure(e, null, "Invalid batch UpdateThingShadow request");
+                publishBatchErrorMessage(thingName, clientToken, null,
+                        ErrorMessage.createInvalidPayloadJsonMessage(e.getMessage()));
+                throw new InvalidArgumentsError(e.getMessage());
+            }
+
+            // lock the shadows in the same order for every batch so that concurrent batches cannot deadlock
+            List<ShadowRequest> lockOrder = updates.stream().map(BatchUpdate::getShadowRequest)
+                    .sorted(Comparator.comparing(ShadowRequest::computeShadowLockKey))
+                    .collect(Collectors.toList());
+            Optional<String> batchClientToken = clientToken;
+            return withShadowLocks(lockOrder, 0, () -> applyBatchUpdates(thingName, updates, batchClientToken,
+                    serviceName));
+        });
+    }
+
+    private <T> T withShadowLocks(List<ShadowRequest> shadowRequests, int index, Supplier<T> work) {
+        if (index == shadowRequests.size()) {
+            return work.get();
+        }
+        synchronized (synchronizeHelper.getThingShadowLock(shadowRequests.get(index))) {
+            return withShadowLocks(shadowRequests, index + 1, work);
+        }
+    }
+
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private byte[] applyBatchUpdates(String thingName, List<BatchUpdate> updates, Optional<String> clientToken,
+                                     String serviceName) {
+        BatchUpdate failed = null;
+        try {
+            // authorize every update before any shadow is read
+            for (BatchUpdate update : updates) {
+                failed = update;
+                if (!thingName.equals(update.getThingName())) {
+                    throw new AuthorizationException("Shadow is not of the thing of the batch topic");
+                }
+                authorizationHandlerWrapper.doAuthorization(UPDATE_THING_SHADOW, serviceName,
+                        update.getShadowRequest());
+            }
+            Map<Pair<String, String>, ShadowDocument> currentDocuments = dao.getShadowThings(updates.stream()
+                    .map(BatchUpdate::getKey).collect(Collectors.toList()));
+            for (BatchUpdate update : updates) {
+                failed = update;
+                update.currentDocument = currentDocuments.getOrDefault(update.getKey(), new ShadowDocument());
+                update.payloadScan.validateStateDepth();
+                validateUpdatePayload(update.payloadScan, update.currentDocument, update.updateDocumentRequest);
+                update.updatedDocument = new ShadowDocument(update.currentDocument);
+                update.metadata = update.updatedDocument.update(update.updateDocumentRequest);
+                validateUpdatedShadowSize(update.getThingName(), update.getShadowName(), update.updatedDocument);
+                update.updatedDocumentBytes = update.updatedDocument.toJsonBytes();
+                update.deltaBytes = getDeltaBytes(update.updatedDocument);
+            }
+            failed = null;
+
+            // build every response before the shadows are written, so that failing to build one rejects the batch
+            // rather than failing it after it was applied
+            ArrayNode shadowsNode = JsonUtil.OBJECT_MAPPER.createArrayNode();
+            for (BatchUpdate update : updates) {
+                ObjectNode responseNode = buildUpdateResponse(update.clientToken, update.updatedDocument,
+                        update.updateDocumentRequest, update.metadata);
+                update.responseNodeBytes = JsonUtil.getPayloadBytes(responseNode);
+                responseNode.put(SHADOW_DOCUMENT_THING_NAME, update.getThingName());
+                responseNode.put(SHADOW_DOCUMENT_SHADOW_NAME, update.getShadowName());
+                shadowsNode.add(responseNode);
+            }
+            ObjectNode batchResponseNode = ResponseMessageBuilder.builder()
+                    .withClientToken(clientToken)
+                    .withTimestamp(Instant.now()).build();
+            batchResponseNode.set(SHADOW_DOCUMENT_SHADOWS, shadowsNode);
+            byte[] batchResponseNodeBytes = JsonUtil.getPayloadBytes(batchResponseNode);
+
+            dao.executeInTransaction(() -> {
+                for (BatchUpdate update : updates) {
+                    if (!dao.updateShadowThing(getShadowThingUpdate(update.getThingName(), update.getShadowName(),
+                            update.updatedDocument, update.updatedDocumentBytes, update.deltaBytes)).isPresent()) {
+                        // rolls back the updates of the shadows before this one
+                        throw new ShadowManagerDataException(String.format("Unable to update shadow %s of thing %s",
+                                update.getShadowName(), update.getThingName()));
+                    }
+                }
+                return null;
+            });
+
+            publishBatchUpdateMessages(thingName, updates, batchResponseNodeBytes);
+            logger.atInfo()
+                    .kv("shadow-count", updates.size())
+                    .kv("service-name", serviceName)
+                    .log("Successfully updated shadows");
+
+            for (BatchUpdate update : updates) {
+                removeMetadataNode(update.updateDocumentRequest);
+                this.syncHandler.pushCloudUpdateSyncRequest(update.getThingName(), update.getShadowName(),
+                        update.updateDocumentRequest, update.updatedDocument);
+            }
+            return batchResponseNodeBytes;
+        } catch (AuthorizationException e) {
+            logBatchFailure(e, failed, "Not authorized to update shadow");
+            publishBatchErrorMessage(thingName, clientToken, failed, ErrorMessage.UNAUTHORIZED_MESSAGE);
+            throw new UnauthorizedError(e.getMessage());
+        } catch (ConflictError e) {
+            logBatchFailure(e, failed, "Conflicting version in shadow update message");
+            publishBatchErrorMessage(thingName, clientToken, failed, ErrorMessage.VERSION_CONFLICT_MESSAGE);
+            throw e;
+        } catch (InvalidRequestParametersException e) {
+            logBatchFailure(e, failed, "Invalid shadow update message");
+            publishBatchErrorMessage(thingName, clientToken, failed, e.getErrorMessage());
+            throw new InvalidArgumentsError(e.getMessage());
+        } catch (ShadowManagerDataException | IOException e) {
+            logger.atError()
+                    .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                    .setCause(e)
+                    .log("Could not process batch UpdateThingShadow Request due to internal service error");
+            publishBatchErrorMessage(thingName, clientToken, null, ErrorMessage.INTERNAL_SERVICE_FAILURE_MESSAGE);
+            throw new ServiceError(e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes the messages of each updated shadow and the combined response. The shadows are already written, so a
+     * failure to publish is logged rather than failing the batch, and the updates are still synced to the cloud.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void publishBatchUpdateMessages(String thingName, List<BatchUpdate> updates,
+                                            byte[] batchResponseNodeBytes) {
+        for (BatchUpdate update : updates) {
+            dropCreatedShadowResponse(update.getThingName(), update.getShadowName(), update.currentDocument);
+            publishUpdateMessagesIfPossible(update.getThingName(), update.getShadowName(), update.clientToken,
+                    update.currentDocument, update.updatedDocument, update.deltaBytes, update.responseNodeBytes);
+        }
+        try {
+            getPubSubClientWrapper().batchUpdateAccepted(thingName, batchResponseNodeBytes);
+        } catch (RuntimeException e) {
+            logger.atError()
+                    .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                    .setCause(e)
+                    .log("Unable to publish the response of the batch update");
+        }
+    }
+
+    /**
+     * Gets the updates of the batch request. The thing name of each update defaults to the thing of the batch topic.
+     */
+    private List<BatchUpdate> getBatchUpdates(String batchThingName, JsonNode requestNode) throws IOException {
+        JsonNode shadowsNode = requestNode.get(SHADOW_DOCUMENT_SHADOWS);
+        if (shadowsNode == null || !shadowsNode.isArray() || shadowsNode.size() == 0) {
+            throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                    String.format("%s must be a non-empty array", SHADOW_DOCUMENT_SHADOWS)));
+        }
+        if (shadowsNode.size() > MAX_BATCH_SHADOW_COUNT) {
+            throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                    String.format("%s must contain at most %d shadows", SHADOW_DOCUMENT_SHADOWS,
+                            MAX_BATCH_SHADOW_COUNT)));
+        }
+        List<BatchUpdate> updates = new ArrayList<>(shadowsNode.size());
+        Set<Pair<String, String>> keys = new HashSet<>();
+        for (JsonNode shadowNode : shadowsNode) {
+            JsonNode thingName = shadowNode.get(SHADOW_DOCUMENT_THING_NAME);
+            JsonNode shadowName = shadowNode.get(SHADOW_DOCUMENT_SHADOW_NAME);
+            if (!shadowNode.isObject() || (thingName != null && !thingName.isTextual())
+                    || (shadowName != null && !shadowName.isTextual() && !shadowName.isNull())) {
+                throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                        String.format("Each shadow may only have a textual %s and a textual %s",
+                                SHADOW_DOCUMENT_THING_NAME, SHADOW_DOCUMENT_SHADOW_NAME)));
+            }
+            ShadowRequest shadowRequest = new ShadowRequest(thingName == null ? batchThingName : thingName.textValue(),
+                    shadowName == null ? null : shadowName.textValue());
+            Validator.validateShadowRequest(shadowRequest);
+            JsonNode updatePayload = shadowNode.get(SHADOW_DOCUMENT_PAYLOAD);
+            UpdatePayloadScan payloadScan = UpdatePayloadScan.of(updatePayload);
+            BatchUpdate update = new BatchUpdate(shadowRequest, payloadScan,
+                    parseUpdatePayload(payloadScan, updatePayload));
+            if (!keys.add(update.getKey())) {
+                throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(
+                        String.format("Shadow %s of thing %s is updated more than once", update.getShadowName(),
+                                update.getThingName())));
+            }
+            updates.add(update);
+        }
+        return updates;
+    }
+
+    private void logBatchFailure(Exception e, BatchUpdate failed, String message) {
+        logger.atWarn()
+                .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                .setCause(e)
+                .kv(LOG_THING_NAME_KEY, failed == null ? null : failed.getThingName())
+                .kv(LOG_SHADOW_NAME_KEY, failed == null ? null : failed.getShadowName())
+                .log(message);
+    }
+
+    /**
+     * Publishes the error which rejected the batch, along with the thing name and shadow name of the update which
+     * caused it if the error is specific to one update.
+     */
+    private void publishBatchErrorMessage(String thingName, Optional<String> clientToken, BatchUpdate failed,
+                                          ErrorMessage errorMessage) {
+        ObjectNode errorResponse = ResponseMessageBuilder.builder()
+                .withTimestamp(Instant.now())
+                .withClientToken(clientToken)
+                .withError(errorMessage).build();
+        if (failed != null) {
+            errorResponse.put(SHADOW_DOCUMENT_THING_NAME, failed.getThingName());
+            errorResponse.put(SHADOW_DOCUMENT_SHADOW_NAME, failed.getShadowName());
+        }
+        try {
+            getPubSubClientWrapper().batchUpdateRejected(thingName, JsonUtil.getPayloadBytes(errorResponse));
+        } catch (JsonProcessingException e) {
+            logger.atError()
+                    .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                    .cause(e)
+                    .log("Unable to publish batch reject message");
+        }
+    }
+
+    /**
+     * Drops the delta from the state of the update request, since users cannot set it, and validates the payload
+     * schema unless the scan of the payload found it to match the schema.
+     *
+     * @param payloadScan           the scan of the update request.
+     * @param updateDocumentRequest the update request.
+     * @return the update request without the delta.
+     * @throws InvalidRequestParametersException if the payload is missing or its schema is not valid.
+     */
+    private static JsonNode parseUpdatePayload(UpdatePayloadScan payloadScan, JsonNode updateDocumentRequest) {
+        if (payloadScan.isMatchingSchema()) {
+            return dropDelta(updateDocumentRequest);
+        }
+        if (isNullOrMissing(updateDocumentRequest)) {
+            throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(""));
+        }
+
+        dropDelta(updateDocumentRequest);
+        // Validate the payload schema
+        JsonUtil.validatePayloadSchema(updateDocumentRequest);
+        return updateDocumentRequest;
+    }
+
+    /**
+     * Gets the client token of the update request, from the scan of the payload if it matched the schema.
+     */
+    private static Optional<String> getClientToken(UpdatePayloadScan payloadScan, JsonNode updateDocumentRequest) {
+        if (payloadScan.isMatchingSchema()) {
+            return payloadScan.getClientToken();
+        }
+        return JsonUtil.getClientToken(updateDocumentRequest);
+    }
+
+    /**
+     * Validates the depth of the state and the version of the update request against the current document. For a
+     * payload which matched the schema, the depth was already checked on its scan and only the version is validated.
+     *
+     * @param payloadScan           the scan of the update request.
+     * @param currentDocument       the current document of the shadow.
+     * @param updateDocumentRequest the update request.
+     * @throws ConflictError                     if the version of the update request is not the current version.
+     * @throws InvalidRequestParametersException if the state is too deep or the version is not valid.
+     * @throws IOException                       if the update request cannot be read.
+     */
+    private static void validateUpdatePayload(UpdatePayloadScan payloadScan, ShadowDocument currentDocument,
+                                              JsonNode updateDocumentRequest) throws IOException {
+        if (payloadScan.isMatchingSchema()) {
+            if (payloadScan.getVersion().isPresent()) {
+                JsonUtil.validatePayloadVersion(currentDocument, payloadScan.getVersion().getAsLong());
+            }
+            return;
+        }
+        JsonUtil.validatePayload(currentDocument, updateDocumentRequest);
+    }
+
+    private static JsonNode dropDelta(JsonNode updateDocumentRequest) {
+        // drop "delta" from the state (if we have a state).
+        // delta isn't valid for users to set.
+        if (updateDocumentRequest.has(SHADOW_DOCUMENT_STATE)
+                && updateDocumentRequest.get(SHADOW_DOCUMENT_STATE).isObject()) {
+            ((ObjectNode) updateDocumentRequest.get(SHADOW_DOCUMENT_STATE))
+                    .remove(SHADOW_DOCUMENT_STATE_DELTA);
+        }
+        return updateDocumentRequest;
+    }
+
+    /**
+     * Gets the delta of the updated document to store along with it, so that it does not need to be calculated from
+     * the whole desired and reported state when the shadow is read again.
+     */
+    private static byte[] getDeltaBytes(ShadowDocument updatedDocument) throws IOException {
+        if (updatedDocument.getState() == null) {
+            return null;
+        }
+        JsonNode delta = updatedDocument.getState().getDelta();
+        return JsonUtil.getPayloadBytes(delta == null ? JsonUtil.createEmptyObject() : delta);
+    }
+
+    /**
+     * Gets the updated document to store along with the values derived from it, so that they are not computed from
+     * the document when the shadow is read again.
+     */
+    private static ShadowThingUpdate getShadowThingUpdate(String thingName, String shadowName,
+                                                          ShadowDocument updatedDocument, byte[] updatedDocumentBytes,
+                                                          byte[] deltaBytes) {
+        return ShadowThingUpdate.builder()
+                .thingName(thingName)
+                .shadowName(shadowName)
+                .document(updatedDocumentBytes)
+                .version(updatedDocument.getVersion())
+                .contentHash(ContentHash.of(updatedDocument.getState()))
+                .metadataUpdateTime(updatedDocument.getMetadata().getLatestMetadataTimestamp())
+                .delta(deltaBytes)
+                .build();
+    }
+
+    private void validateUpdatedShadowSize(String thingName, String shadowName, ShadowDocument updatedDocument)
+            throws IOException {
+        // shadow size is based on desired + reported length. Ideally we would just store these separately
+        // to avoid double serialization, but DB stores the single document
+        int desiredLength = 0;
+        int reportedLength = 0;
+        if (updatedDocument.getState() != null) {
+            if (!isNullOrMissing(updatedDocument.getState().getDesired())) {
+                desiredLength = JsonUtil.getPayloadSize(updatedDocument.getState().getDesired());
+            }
+            if (!isNullOrMissing(updatedDocument.getState().getReported())) {
+                reportedLength = JsonUtil.getPayloadSize(updatedDocument.getState().getReported());
+            }
+        }
+
+        logger.atDebug()
+                .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                .kv(LOG_THING_NAME_KEY, thingName)
+                .kv(LOG_SHADOW_NAME_KEY, shadowName)
+                .kv("updatedShadowStateSize", desiredLength + reportedLength)
+                .log();
+        try {
+            Validator.validateShadowSize(desiredLength + reportedLength);
+        } catch (InvalidRequestParametersException e) {
+            logger.atWarn()
+                    .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                    .kv(LOG_THING_NAME_KEY, thingName)
+                    .kv(LOG_SHADOW_NAME_KEY, shadowName)
+                    .kv("updatedShadowStateSize", desiredLength + reportedLength)
+                    .kv("maxShadowStateSize", Validator.getMaxShadowDocumentSize())
+                    .log("Requested update is too large");
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the response object to send over the accepted topic and as the payload in the response object. State
+     * node is the same shadow document update payload we received in the update request.
+     */
+    private static ObjectNode buildUpdateResponse(Optional<String> clientToken, ShadowDocument updatedDocument,
+                                                  JsonNode updateDocumentRequest, JsonNode metadata) {
+        return ResponseMessageBuilder.builder()
+                .withVersion(updatedDocument.getVersion())
+                .withClientToken(clientToken)
+                .withTimestamp(Instant.now())
+                .withState(updateDocumentRequest.get("state"))
+                .withMetadata(metadata)
+                .build();
+    }
+
+    private void publishUpdateMessages(String thingName, String shadowName, Optional<String> clientToken,
+                                       ShadowDocument currentDocument, ShadowDocument updatedDocument,
+                                       byte[] deltaBytes, byte[] responseNodeBytes) throws IOException {
+        // Publish the message on the delta topic over PubSub if applicable.
+        publishDeltaMessage(thingName, shadowName, clientToken, updatedDocument, deltaBytes);
+
+        // Publish the documents message over the documents topic.
+        publishDocumentsMessage(thingName, shadowName, clientToken, currentDocument, updatedDocument);
+
+        getPubSubClientWrapper().accept(PubSubRequest.builder().thingName(thingName).shadowName(shadowName)
+                .payload(responseNodeBytes)
+                .publishOperation(Operation.UPDATE_SHADOW)
+                .build());
+    }
+
+    /**
+     * Drops the cached response of a shadow which the update created. A shadow created again after it was deleted
+     * starts from version 1, which may be the version of a response of the deleted shadow cached before its delete was
+     * committed.
+     */
+    private void dropCreatedShadowResponse(String thingName, String shadowName, ShadowDocument currentDocument) {
+        if (currentDocument.isNewDocument()) {
+            responseCache.invalidate(thingName, shadowName);
+        }
+    }
+
+    /**
+     * Publishes the messages of an updated shadow. The shadow is already written, so a failure to publish is logged
+     * rather than failing the update.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void publishUpdateMessagesIfPossible(String thingName, String shadowName, Optional<String> clientToken,
+                                                 ShadowDocument currentDocument, ShadowDocument updatedDocument,
+                                                 byte[] deltaBytes, byte[] responseNodeBytes) {
+        try {
+            publishUpdateMessages(thingName, shadowName, clientToken, currentDocument, updatedDocument, deltaBytes,
+                    responseNodeBytes);
+        } catch (IOException | RuntimeException e) {
+            logger.atError()
+                    .setEventType(LogEvents.UPDATE_THING_SHADOW.code())
+                    .setCause(e)
+                    .kv(LOG_THING_NAME_KEY, thingName)
+                    .kv(LOG_SHADOW_NAME_KEY, shadowName)
+                    .log("Unable to publish the messages of the updated shadow");
+        }
+    }
+
     private void removeMetadataNode(JsonNode updateDocumentRequest) {
         ((ObjectNode) updateDocumentRequest).remove(SHADOW_DOCUMENT_METADATA);
     }
@@ -305,22 +746,26 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
     }
 
     private void publishDeltaMessage(String thingName, String shadowName, Optional<String> clientToken,
-                                     ShadowDocument updatedDocument)
+                                     ShadowDocument updatedDocument, byte[] deltaBytes)
             throws IOException {
         Optional<Pair<JsonNode, JsonNode>> deltaMetaDataPair = updatedDocument.getDelta();
         // Only send the delta if there is any difference in the desired and reported states.
         if (deltaMetaDataPair.isPresent()) {
-            JsonNode responseMessage = ResponseMessageBuilder.builder()
-                    .withVersion(updatedDocument.getVersion())
-                    .withTimestamp(Instant.now())
-                    .withState(deltaMetaDataPair.get().getLeft())
-                    .withMetadata(deltaMetaDataPair.get().getRight())
-                    .withClientToken(clientToken)
-                    .build();
+            byte[] responseMessage;
+            // the delta was already serialized to be stored along with the document
+            try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+                responseMessage = writer
+                        .withVersion(updatedDocument.getVersion())
+                        .withTimestamp(Instant.now())
+                        .withState(deltaBytes)
+                        .withMetadata(deltaMetaDataPair.get().getRight())
+                        .withClientToken(clientToken)
+                        .toBytes();
+            }
 
             getPubSubClientWrapper().delta(PubSubRequest.builder().thingName(thingName)
                     .shadowName(shadowName)
-                    .payload(JsonUtil.getPayloadBytes(responseMessage))
+                    .payload(responseMessage)
                     .publishOperation(Operation.UPDATE_SHADOW)
                     .build());
         }
@@ -329,17 +774,55 @@ public class UpdateThingShadowRequestHandler extends BaseRequestHandler {
     private void publishDocumentsMessage(String thingName, String shadowName, Optional<String> clientToken,
                                          ShadowDocument sourceDocument, ShadowDocument updatedDocument)
             throws IOException {
-        JsonNode responseMessage = ResponseMessageBuilder.builder()
-                .withPrevious(sourceDocument.isNewDocument() ? null : sourceDocument.toJson(true))
-                .withCurrent(updatedDocument.toJson(true))
-                .withClientToken(clientToken)
-                .withTimestamp(Instant.now())
-                .build();
+        byte[] responseMessage;
+        // the documents are copied as they are stored rather than serialized again
+        try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+            responseMessage = writer
+                    .withPrevious(sourceDocument.isNewDocument() ? null : sourceDocument)
+                    .withCurrent(updatedDocument)
+                    .withClientToken(clientToken)
+                    .withTimestamp(Instant.now())
+                    .toBytes();
+        }
         // Send the current document on the documents topic after successfully updating the shadow document.
         getPubSubClientWrapper().documents(PubSubRequest.builder().thingName(thingName).shadowName(shadowName)
-                .payload(JsonUtil.getPayloadBytes(responseMessage))
+                .payload(responseMessage)
                 .publishOperation(Operation.UPDATE_SHADOW)
                 .build());
 
     }
+
+    /**
+     * An update of one shadow in a batch, filled in as the update is validated and applied.
+     */
+    @Getter
+    private static class BatchUpdate {
+        private final ShadowRequest shadowRequest;
+        private final Pair<String, String> key;
+        private final UpdatePayloadScan payloadScan;
+        private final JsonNode updateDocumentRequest;
+        private final Optional<String> clientToken;
+        private ShadowDocument currentDocument;
+        private ShadowDocument updatedDocument;
+        private JsonNode metadata;
+        private byte[] updatedDocumentBytes;
+        private byte[] deltaBytes;
+        private byte[] responseNodeBytes;
+
+        BatchUpdate(ShadowRequest shadowRequest, UpdatePayloadScan payloadScan, JsonNode updateDocumentRequest) {
+            this.shadowRequest = shadowRequest;
+            this.key = new Pair<>(shadowRequest.getThingName(), shadowRequest.getShadowName());
+            this.payloadScan = payloadScan;
+            this.updateDocumentRequest = updateDocumentRequest;
+            this.clientToken = getClientToken(payloadScan, updateDocumentRequest);
+        }
+
+        String getThingName() {
+            return shadowRequest.getThingName();
+        }
+
+        String getShadowName() {
+            return shadowRequest.getShadowName();
+        }
+    }
 }
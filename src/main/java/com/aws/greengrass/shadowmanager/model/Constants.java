@@ -37,6 +37,10 @@ public final class Constants {
     public static final int DEFAULT_DOCUMENT_STATE_DEPTH = 6;
     public static final int DEFAULT_DOCUMENT_SIZE = 8 * 1024;
     public static final int MAX_SHADOW_DOCUMENT_SIZE = 30 * 1024;
+    // largest update payload which is read, the same as the maximum size of a message sent to AWS IoT Core
+    public static final int MAX_UPDATE_PAYLOAD_SIZE = 128 * 1024;
+    // largest serialization buffer kept by each thread, enough for a documents message with two of the largest shadows
+    public static final int MAX_POOLED_PAYLOAD_BUFFER_SIZE = 256 * 1024;
     // https://docs.aws.amazon.com/general/latest/gr/iot-core.html#device-shadow-limits
     // 400 is max TPS for some regions (account level), others are 4000
     public static final int DEFAULT_MAX_OUTBOUND_SYNC_UPDATES_PS = 100;
@@ -53,12 +57,14 @@ public final class Constants {
     public static final int MIN_PAGE_SIZE = 1;
     public static final int MAX_PAGE_SIZE = 100;
     public static final int DEFAULT_PAGE_SIZE = 25;
-    public static final int DEFAULT_OFFSET = 0;
     public static final String CIPHER_TRANSFORMATION = "AES/CBC/PKCS5Padding";
     public static final String ENCRYPTION_ALGORITHM = "AES";
     public static final String SECRET_KEY_ALGORITHM = "PBKDF2WithHmacSHA256";
     public static final int PBE_KEY_ITERATION_COUNT = 65_536;
     public static final int PBE_KEY_LENGTH = 256;
+    public static final int MAX_CACHED_NEXT_TOKEN_KEYS = 1024;
+    public static final int MAX_CACHED_AUTHORIZATION_DECISIONS = 4096;
+    public static final int MAX_CACHED_SHADOW_RESPONSES = 128;
     public static final String CONFIGURATION_SYNCHRONIZATION_TOPIC = "synchronize";
     public static final String CONFIGURATION_CORE_THING_TOPIC = "coreThing";
     public static final String CONFIGURATION_CLASSIC_SHADOW_TOPIC = "classic";
@@ -72,6 +78,8 @@ public final class Constants {
     public static final String CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_RATE = "maxTotalLocalRequestsRate";
     public static final String CONFIGURATION_MAX_LOCAL_REQUESTS_RATE_PER_THING_TOPIC =
             "maxLocalRequestsPerSecondPerThing";
+    public static final String CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_BURST = "maxTotalLocalRequestsBurst";
+    public static final String CONFIGURATION_MAX_LOCAL_REQUESTS_BURST_PER_THING_TOPIC = "maxLocalRequestsBurstPerThing";
     public static final String CONFIGURATION_STRATEGY_TOPIC = "strategy";
     public static final String CONFIGURATION_SYNC_DIRECTION_TOPIC = "direction";
     public static final String UNEXPECTED_TYPE_FORMAT = "Unexpected type in %s: %s";
@@ -81,6 +89,12 @@ public final class Constants {
     public static final String STRATEGY_TYPE_PERIODIC = "periodic";
 
     public static final String PUBSUB_SUBSCRIBE_TOPIC = "$aws/things/+/shadow/#";
+    public static final String BATCH_SHADOW_TOPIC_PREFIX = "$aws/things/%s/shadow/batch";
+    public static final String SHADOW_DOCUMENT_SHADOWS = "shadows";
+    public static final String SHADOW_DOCUMENT_THING_NAME = "thingName";
+    public static final String SHADOW_DOCUMENT_SHADOW_NAME = "shadowName";
+    public static final String SHADOW_DOCUMENT_PAYLOAD = "payload";
+    public static final int MAX_BATCH_SHADOW_COUNT = 25;
 
     private Constants() {
     }
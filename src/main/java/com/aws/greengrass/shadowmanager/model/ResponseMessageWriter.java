@@ -0,0 +1,156 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.model;
+
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.shadowmanager.util.PayloadOutputBuffer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_CLIENT_TOKEN;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_METADATA;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_CURRENT;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_PREVIOUS;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_TIMESTAMP;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_VERSION;
+
+/**
+ * Writes a response message straight to its serialized form, for the messages which embed whole shadow documents.
+ *
+ * <p>The fields are written in the order they are added, the same as with {@link ResponseMessageBuilder}. Shadow
+ * documents and other parts of the message which are already serialized are copied as they are rather than built into
+ * a tree and serialized again. The message is written into the serialization buffer of the thread, which is released
+ * when the writer is closed.
+ */
+public class ResponseMessageWriter implements AutoCloseable {
+    private static final byte[] VERSION_FIELD = (",\"" + SHADOW_DOCUMENT_VERSION + "\":")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final PayloadOutputBuffer output = PayloadOutputBuffer.acquire();
+    private final JsonGenerator generator;
+    private boolean closed;
+
+    private ResponseMessageWriter() throws IOException {
+        try {
+            generator = JsonUtil.OBJECT_MAPPER.getFactory().createGenerator(output);
+            generator.writeStartObject();
+        } catch (IOException | RuntimeException e) {
+            output.release();
+            throw e;
+        }
+    }
+
+    public static ResponseMessageWriter writer() throws IOException {
+        return new ResponseMessageWriter();
+    }
+
+    /**
+     * Writes the client token of the message if there is one.
+     *
+     * @param token the client token of the request
+     * @return this writer
+     * @throws IOException if the field cannot be written
+     */
+    public ResponseMessageWriter withClientToken(final Optional<String> token) throws IOException {
+        if (token.isPresent()) {
+            generator.writeStringField(SHADOW_DOCUMENT_CLIENT_TOKEN, token.get());
+        }
+        return this;
+    }
+
+    public ResponseMessageWriter withTimestamp(final Instant time) throws IOException {
+        generator.writeNumberField(SHADOW_DOCUMENT_TIMESTAMP, time.getEpochSecond());
+        return this;
+    }
+
+    public ResponseMessageWriter withVersion(final long version) throws IOException {
+        generator.writeNumberField(SHADOW_DOCUMENT_VERSION, version);
+        return this;
+    }
+
+    /**
+     * Writes the already serialized state of the message.
+     *
+     * @param state the serialized state
+     * @return this writer
+     * @throws IOException if the field cannot be written
+     */
+    public ResponseMessageWriter withState(final byte[] state) throws IOException {
+        writeRawField(SHADOW_DOCUMENT_STATE, state, state.length);
+        return this;
+    }
+
+    public ResponseMessageWriter withMetadata(final JsonNode metadata) throws IOException {
+        generator.writeFieldName(SHADOW_DOCUMENT_METADATA);
+        generator.writeTree(metadata);
+        return this;
+    }
+
+    public ResponseMessageWriter withPrevious(final ShadowDocument previousDocument) throws IOException {
+        writeDocument(SHADOW_DOCUMENT_STATE_PREVIOUS, previousDocument);
+        return this;
+    }
+
+    public ResponseMessageWriter withCurrent(final ShadowDocument currentDocument) throws IOException {
+        writeDocument(SHADOW_DOCUMENT_STATE_CURRENT, currentDocument);
+        return this;
+    }
+
+    /**
+     * Finishes the message.
+     *
+     * @return the serialized message
+     * @throws IOException if the message cannot be written
+     */
+    public byte[] toBytes() throws IOException {
+        generator.writeEndObject();
+        generator.close();
+        return output.toByteArray();
+    }
+
+    /**
+     * Releases the buffer of the message, whether or not the message was finished.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            output.release();
+        }
+    }
+
+    /**
+     * Writes the shadow document along with its version, the same as {@link ShadowDocument#toJson(boolean)}, by
+     * appending the version to the serialized document.
+     */
+    private void writeDocument(String fieldName, ShadowDocument document) throws IOException {
+        if (document == null) {
+            generator.writeNullField(fieldName);
+            return;
+        }
+        byte[] documentBytes = document.toJsonBytes();
+        // the document always has a state, so the version follows a field
+        writeRawField(fieldName, documentBytes, documentBytes.length - 1);
+        output.write(VERSION_FIELD);
+        output.write(Long.toString(document.getVersion()).getBytes(StandardCharsets.US_ASCII));
+        output.write('}');
+    }
+
+    private void writeRawField(String fieldName, byte[] value, int length) throws IOException {
+        generator.writeFieldName(fieldName);
+        // an empty raw value only writes the separator before the value, so that the generator then writes the
+        // separator before the next field
+        generator.writeRawValue("");
+        generator.flush();
+        output.write(value, 0, length);
+    }
+}
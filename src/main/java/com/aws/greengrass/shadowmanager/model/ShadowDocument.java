@@ -10,9 +10,12 @@ import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.util.Pair;
 import com.aws.greengrass.util.SerializerFactory;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.LongNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.io.IOException;
@@ -30,6 +33,9 @@ import static com.aws.greengrass.shadowmanager.util.JsonUtil.isNullOrMissing;
  */
 @Getter
 public class ShadowDocument {
+    private static final ObjectReader DOCUMENT_READER = SerializerFactory.getFailSafeJsonObjectMapper()
+            .readerFor(ShadowDocument.class);
+
     @Nullable
     @JsonProperty(SHADOW_DOCUMENT_STATE)
     private ShadowState state;
@@ -43,6 +49,12 @@ public class ShadowDocument {
     @JsonProperty(SHADOW_DOCUMENT_TIMESTAMP)
     private Long timestamp;
 
+    /**
+     * The serialized document without its version, as it is stored, until the document is updated.
+     */
+    @Getter(AccessLevel.NONE)
+    private byte[] documentBytes;
+
     /**
      * Constructor needed for deserializing from JSON node.
      */
@@ -75,14 +87,16 @@ public class ShadowDocument {
     }
 
     /**
-     * Constructor to create a new shadow document from a byte array.
+     * Constructor to create a shadow document from the stored document. The stored bytes are kept so that the document
+     * does not need to be serialized again.
      *
-     * @param documentBytes the byte array containing the shadow information.
+     * @param documentBytes the stored shadow document, without its version.
      * @param version       The shadow document version.
      * @throws IOException if there was an issue while deserializing the shadow byte array.
      */
     public ShadowDocument(byte[] documentBytes, long version) throws IOException {
         setFields(documentBytes, false, version);
+        this.documentBytes = documentBytes;
     }
 
     public ShadowDocument(JsonNode node, boolean validate) throws IOException {
@@ -90,13 +104,14 @@ public class ShadowDocument {
     }
 
     /**
-     * Copy constructor.
+     * Copy constructor. The state and metadata nodes are shared with the given shadow document, since an update only
+     * copies the nodes on the path to the fields it changes.
      *
      * @param shadowDocument The shadow document to create from.
      */
     public ShadowDocument(ShadowDocument shadowDocument) {
-        this(shadowDocument.getState() == null ? null : shadowDocument.getState().deepCopy(),
-                shadowDocument.getMetadata() == null ? null : shadowDocument.getMetadata().deepCopy(),
+        this(shadowDocument.getState() == null ? null : shadowDocument.getState().copy(),
+                shadowDocument.getMetadata() == null ? null : shadowDocument.getMetadata().copy(),
                 shadowDocument.getVersion());
     }
 
@@ -119,15 +134,15 @@ public class ShadowDocument {
         setFields(JsonUtil.getPayloadJson(documentBytes).orElse(null), validate, versionOverride);
     }
 
-    private void setFields(JsonNode node, boolean validate, Long versionOverride) {
+    private void setFields(JsonNode node, boolean validate, Long versionOverride) throws IOException {
         if (isNullOrMissing(node)) {
             throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage(""));
         }
         if (validate) {
             JsonUtil.validatePayloadSchema(node);
         }
-        setFields(SerializerFactory.getFailSafeJsonObjectMapper().convertValue(node, ShadowDocument.class),
-                versionOverride);
+        // read straight from the node rather than converted through an intermediate token buffer
+        setFields(DOCUMENT_READER.<ShadowDocument>readValue(node), versionOverride);
     }
 
     private void setFields(ShadowDocument shadowDocument, Long versionOverride) {
@@ -165,6 +180,7 @@ public class ShadowDocument {
         JsonNode patchMetadata = this.metadata.update(updatedStateNode, this.state);
         // Incrementing the version here since we are creating a new version of the shadow document.
         this.version = this.version == null ? 1 : this.version + 1;
+        this.documentBytes = null;
 
         return patchMetadata;
     }
@@ -188,6 +204,20 @@ public class ShadowDocument {
         return result;
     }
 
+    /**
+     * Serializes the document without its version, the way it is stored. The serialized document is kept until the
+     * document is updated, so the returned array must not be modified.
+     *
+     * @return the serialized shadow document.
+     * @throws JsonProcessingException if the document cannot be serialized.
+     */
+    public byte[] toJsonBytes() throws JsonProcessingException {
+        if (documentBytes == null) {
+            documentBytes = JsonUtil.getPayloadBytes(toJson(false));
+        }
+        return documentBytes;
+    }
+
     /**
      * Calculates the delta node based on the current version of the shadow document's desired and reported state. Also
      * calculates the delta in the metadata node.
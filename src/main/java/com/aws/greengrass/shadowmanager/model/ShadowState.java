@@ -7,8 +7,10 @@ package com.aws.greengrass.shadowmanager.model;
 
 import com.aws.greengrass.shadowmanager.util.JsonMerger;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Getter;
 
@@ -27,12 +29,22 @@ import static com.aws.greengrass.shadowmanager.util.JsonUtil.nullIfEmpty;
  */
 @Getter
 public class ShadowState {
+    private static final JsonNode UNKNOWN_DELTA = MissingNode.getInstance();
+
     @JsonProperty(SHADOW_DOCUMENT_STATE_DESIRED)
     private JsonNode desired;
 
     @JsonProperty(SHADOW_DOCUMENT_STATE_REPORTED)
     private JsonNode reported;
 
+    /**
+     * The delta between the desired and reported state, or {@link #UNKNOWN_DELTA} until it is calculated. It is kept
+     * up to date by the updates, and never read from the state JSON since the delta of a cloud shadow is calculated by
+     * the cloud.
+     */
+    @JsonIgnore
+    private JsonNode delta = UNKNOWN_DELTA;
+
     public ShadowState() {
         this(null, null);
     }
@@ -48,13 +60,28 @@ public class ShadowState {
      * @return the new instance of the shadow state.
      */
     public ShadowState deepCopy() {
-        return new ShadowState(
+        ShadowState copy = new ShadowState(
                 isNullOrMissing(this.desired) ? this.desired : this.desired.deepCopy(),
                 isNullOrMissing(this.reported) ? this.reported : this.reported.deepCopy());
+        copy.delta = this.delta == null || this.delta == UNKNOWN_DELTA ? this.delta : this.delta.deepCopy();
+        return copy;
+    }
+
+    /**
+     * Creates a new instance of the shadow state which shares the desired and reported nodes with this one. Updates
+     * never modify the nodes in place, so either state can be updated without changing the other.
+     *
+     * @return the new instance of the shadow state.
+     */
+    public ShadowState copy() {
+        ShadowState copy = new ShadowState(this.desired, this.reported);
+        copy.delta = this.delta;
+        return copy;
     }
 
     /**
-     * Updates the shadow state's reported and desired JSON nodes from the update request's state node.
+     * Updates the shadow state's reported and desired JSON nodes from the update request's state node. The nodes are
+     * replaced by merged copies rather than modified in place.
      *
      * @param updatedStateNode The state node in the update shadow request.
      */
@@ -63,11 +90,16 @@ public class ShadowState {
         if (isNullStateDocument(updatedStateNode)) {
             this.desired = null;
             this.reported = null;
+            this.delta = null;
             return;
         }
         if (isEmptyStateDocument(updatedStateNode)) {
             return;
         }
+        // Before there is a reported JSON the delta is the whole desired JSON as is, which is not a diff that can be
+        // updated.
+        final JsonNode previousDelta = this.reported != null && this.reported.isObject() ? this.delta : UNKNOWN_DELTA;
+        this.delta = UNKNOWN_DELTA;
         for (final Iterator<String> i = updatedStateNode.fieldNames(); i.hasNext(); ) {
             final String field = i.next();
             final JsonNode value = updatedStateNode.get(field);
@@ -78,8 +110,7 @@ public class ShadowState {
                 } else if (this.desired == null) {
                     this.desired = nullIfEmpty(value);
                 } else {
-                    JsonMerger.merge(this.desired, value);
-                    this.desired = nullIfEmpty(this.desired);
+                    this.desired = nullIfEmpty(JsonMerger.mergeCopy(this.desired, value));
                 }
                 continue;
             }
@@ -90,11 +121,16 @@ public class ShadowState {
                 } else if (this.reported == null) {
                     this.reported = nullIfEmpty(value);
                 } else {
-                    JsonMerger.merge(this.reported, value);
-                    this.reported = nullIfEmpty(reported);
+                    this.reported = nullIfEmpty(JsonMerger.mergeCopy(this.reported, value));
                 }
             }
         }
+        if (previousDelta != UNKNOWN_DELTA && desired != null && desired.isObject()
+                && reported != null && reported.isObject()) {
+            this.delta = JsonUtil.updateDelta(previousDelta, (ObjectNode) reported, (ObjectNode) desired,
+                    updatedStateNode.get(SHADOW_DOCUMENT_STATE_REPORTED),
+                    updatedStateNode.get(SHADOW_DOCUMENT_STATE_DESIRED));
+        }
     }
 
     /**
@@ -128,11 +164,28 @@ public class ShadowState {
     }
 
     /**
-     * Calculates the delta node based on the current version of the shadow document's desired and reported state.
+     * Gets the delta node based on the current version of the shadow document's desired and reported state. The delta
+     * is only calculated from the whole desired and reported state if it is not already known.
      *
      * @return an optional value of the delta node.
      */
     public JsonNode getDelta() {
+        if (delta == UNKNOWN_DELTA) {
+            delta = calculateDelta();
+        }
+        return delta;
+    }
+
+    /**
+     * Sets the delta node when it is already known, such as when it was stored along with the shadow document.
+     *
+     * @param delta the delta node; or null if there is no difference between the desired and reported state.
+     */
+    public void setDelta(JsonNode delta) {
+        this.delta = nullIfEmpty(delta);
+    }
+
+    private JsonNode calculateDelta() {
         if (desired == null) {
             return null;
         }
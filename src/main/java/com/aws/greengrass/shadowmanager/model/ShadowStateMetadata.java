@@ -6,11 +6,12 @@
 package com.aws.greengrass.shadowmanager.model;
 
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.LongNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.time.Clock;
@@ -28,6 +29,8 @@ import static com.aws.greengrass.shadowmanager.util.JsonUtil.nullIfEmpty;
  */
 @Getter
 public class ShadowStateMetadata {
+    private static final long UNKNOWN_TIMESTAMP = -1L;
+
     @JsonProperty(SHADOW_DOCUMENT_STATE_DESIRED)
     private JsonNode desired;
 
@@ -35,6 +38,13 @@ public class ShadowStateMetadata {
     private JsonNode reported;
     private final Clock clock;
 
+    /**
+     * The latest timestamp in the desired and reported metadata, 0 if there are none, or {@link #UNKNOWN_TIMESTAMP}
+     * until it is either computed from the metadata or known from an update.
+     */
+    @Getter(AccessLevel.NONE)
+    private long latestTimestamp = UNKNOWN_TIMESTAMP;
+
     public ShadowStateMetadata() {
         this(null, null, Clock.systemDefaultZone());
     }
@@ -55,14 +65,28 @@ public class ShadowStateMetadata {
      * @return the new instance of the shadow state.
      */
     public ShadowStateMetadata deepCopy() {
-        return new ShadowStateMetadata(
+        ShadowStateMetadata copy = new ShadowStateMetadata(
                 isNullOrMissing(this.desired) ? this.desired : this.desired.deepCopy(),
                 isNullOrMissing(this.reported) ? this.reported : this.reported.deepCopy());
+        copy.latestTimestamp = this.latestTimestamp;
+        return copy;
+    }
+
+    /**
+     * Creates a new instance of the shadow state metadata which shares the desired and reported nodes with this one.
+     * Updates never modify the nodes in place, so either metadata can be updated without changing the other.
+     *
+     * @return the new instance of the shadow state metadata.
+     */
+    public ShadowStateMetadata copy() {
+        ShadowStateMetadata copy = new ShadowStateMetadata(this.desired, this.reported, this.clock);
+        copy.latestTimestamp = this.latestTimestamp;
+        return copy;
     }
 
     /**
      * Updates the shadow metadata node's reported and desired JSON nodes from the current state node and the update
-     * request state node.
+     * request state node. The nodes are replaced by merged copies rather than modified in place.
      *
      * @param patch The update request patch.
      * @param state The state node in the shadow document.
@@ -71,15 +95,29 @@ public class ShadowStateMetadata {
     @SuppressWarnings("PMD.NullAssignment")
     public JsonNode update(JsonNode patch, ShadowState state) {
         // Create the patch metadata tree. This will transform nulls to metadata nodes.
-        final JsonNode metadataPatch = createMetadataPatch(patch);
+        final long timestamp = this.clock.instant().getEpochSecond();
+        final JsonNode metadataPatch = createMetadataPatch(patch,
+                JsonUtil.OBJECT_MAPPER.createObjectNode().put(SHADOW_DOCUMENT_TIMESTAMP, timestamp));
 
         // If the thing now has null state after the update then the metadata should also be null
         if (state.isEmpty()) {
             desired = null;
             reported = null;
+            latestTimestamp = 0L;
             return metadataPatch;
         }
 
+        // Every value set by the patch ends up in the state, so its timestamp ends up in the metadata. That timestamp
+        // is then the latest one, unless the metadata already has a later one such as a timestamp from the cloud.
+        // Otherwise, the patch may have removed the latest timestamp, which is then recomputed when it is needed.
+        if (latestTimestamp != UNKNOWN_TIMESTAMP && latestTimestamp <= timestamp
+                && (setsValue(patch.get(SHADOW_DOCUMENT_STATE_DESIRED))
+                || setsValue(patch.get(SHADOW_DOCUMENT_STATE_REPORTED)))) {
+            latestTimestamp = timestamp;
+        } else {
+            latestTimestamp = UNKNOWN_TIMESTAMP;
+        }
+
         // Merge in the desired metadata
         final JsonNode patchDesired = metadataPatch.get(SHADOW_DOCUMENT_STATE_DESIRED);
         if (!isNullOrMissing(patchDesired)) {
@@ -95,17 +133,39 @@ public class ShadowStateMetadata {
         return metadataPatch;
     }
 
-    private JsonNode createMetadataPatch(final JsonNode source) {
+    /**
+     * Checks whether a patch node sets any value, rather than only removing fields. A null element of an array is a
+     * value since the whole array is replaced.
+     */
+    private static boolean setsValue(final JsonNode patch) {
+        if (patch == null || patch.isNull()) {
+            return false;
+        }
+        if (patch.isValueNode()) {
+            return true;
+        }
+        for (final JsonNode node : patch) {
+            if (setsValue(node) || patch.isArray() && node.isNull()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the metadata patch for a patch node, where every value is replaced by the same metadata node holding the
+     * timestamp of the update. Field names are not interned: the metadata reuses the name Strings of the patch, which
+     * Jackson canonicalizes in the symbol table of its parser factory.
+     */
+    private static JsonNode createMetadataPatch(final JsonNode source, final ObjectNode timestampNode) {
         if (source.isValueNode()) {
-            ObjectNode node = JsonUtil.OBJECT_MAPPER.createObjectNode();
-            node.set(SHADOW_DOCUMENT_TIMESTAMP, new LongNode(this.clock.instant().getEpochSecond()));
-            return node;
+            return timestampNode;
         }
 
         if (source.isArray()) {
             final ArrayNode result = JsonUtil.OBJECT_MAPPER.createArrayNode();
             for (final JsonNode node : source) {
-                result.add(createMetadataPatch(node));
+                result.add(createMetadataPatch(node, timestampNode));
             }
             return result;
         }
@@ -117,7 +177,7 @@ public class ShadowStateMetadata {
         while (fieldIter.hasNext()) {
             final String fieldName = fieldIter.next();
             final JsonNode node = sourceObject.get(fieldName);
-            result.set(fieldName, createMetadataPatch(node));
+            result.set(fieldName, createMetadataPatch(node, timestampNode));
         }
         return result;
     }
@@ -128,79 +188,57 @@ public class ShadowStateMetadata {
             return null;
         }
 
-        //if the metadata node is null, then lets create an empty one so we can merge into it
-        final JsonNode mergeNode = metadata == null ? JsonUtil.OBJECT_MAPPER.createObjectNode() : metadata;
-
-        merge((ObjectNode) state, (ObjectNode) mergeNode, (ObjectNode) patch);
-        return mergeNode;
+        return merge((ObjectNode) state, (ObjectNode) metadata, (ObjectNode) patch);
     }
 
-    private void merge(final ObjectNode state, final ObjectNode metadata, final ObjectNode patch) {
+    /**
+     * Merges the patch into a copy of the metadata node, which shares all the fields that the patch does not touch.
+     *
+     * @return the merged metadata node.
+     */
+    private ObjectNode merge(final ObjectNode state, final ObjectNode metadata, final ObjectNode patch) {
+        // if the metadata node is null, then the patch is merged into an empty one
+        final ObjectNode result = JsonUtil.OBJECT_MAPPER.createObjectNode();
+        if (metadata != null) {
+            result.setAll(metadata);
+        }
         final Iterator<Map.Entry<String, JsonNode>> fieldIter = patch.fields();
         while (fieldIter.hasNext()) {
             final Map.Entry<String, JsonNode> patchFieldEntry = fieldIter.next();
             final String patchFieldName = patchFieldEntry.getKey();
             final JsonNode patchFieldNode = patchFieldEntry.getValue();
 
-            JsonNode metadataFieldNode = metadata.get(patchFieldName);
+            final JsonNode metadataFieldNode = result.get(patchFieldName);
             final JsonNode stateFieldNode = state.get(patchFieldName);
 
             // If the state doesn't have the node then it was remove from state and should be
             // removed from metadata if present.
             if (isNullOrMissing(stateFieldNode)) {
-                metadata.remove(patchFieldName);
+                result.remove(patchFieldName);
                 continue;
             }
 
-            // If the patch is an array, we can replace the original with the patch.
-            if (patchFieldNode.isArray()) {
-                if (isNullOrMissing(metadataFieldNode)) {
-                    metadataFieldNode = JsonUtil.OBJECT_MAPPER.createArrayNode();
-                } else {
-                    ((ArrayNode) metadataFieldNode).removeAll();
-                }
-                ((ArrayNode) metadataFieldNode).addAll((ArrayNode) patchFieldNode);
-                metadata.set(patchFieldName, metadataFieldNode);
+            // If the patch is an array or a metadata node, we can replace the original with the patch. The metadata
+            // node is shared by all the values set by the patch, and arrays are always replaced as a whole, so neither
+            // is modified afterwards.
+            if (patchFieldNode.isArray() || isMetadataNode(patchFieldNode)) {
+                result.set(patchFieldName, patchFieldNode);
                 continue;
             }
 
-            // If the metadata node doesn't exist then copy the patch into it.
-            if (isNullOrMissing(metadataFieldNode)) {
-                metadataFieldNode = patchFieldNode.deepCopy(); //deep copy here to prevent modifying patch
-                metadata.set(patchFieldName, metadataFieldNode);
-                // Not continuing here because we will want to recurse over the patch fields to make sure there are
-                // no null nodes in the state node that need to be removed.
-            }
-
-            // If there is a type mismatch then the patch type always wins. This allows nodes to switch between
-            // values, arrays and objects and metadata stays in sync
-            if (patchFieldNode.getNodeType() != metadataFieldNode.getNodeType()) {
-                metadataFieldNode = patchFieldNode.deepCopy(); //deep copy here to prevent modifying patch
-                metadata.set(patchFieldName, metadataFieldNode);
-                // Not continuing here because we will want to recurse over the patch fields to make sure there are
-                // no null nodes in the state node that need to be removed.
-            }
-
-            // If the patchField is a metadata node then we can replace the original node with the patch.
-            if (isMetadataNode(patchFieldNode)) {
-                metadata.set(patchFieldName, patchFieldNode);
-                continue;
-            }
+            // If the metadata node doesn't exist, or the type of the original data has changed, then the patch object
+            // is merged into a new node. This allows nodes to switch between values, arrays and objects and metadata
+            // stays in sync. Merging rather than copying the patch makes sure that there are no null nodes in the
+            // state node that need to be removed.
+            final boolean replaced = isNullOrMissing(metadataFieldNode) || !metadataFieldNode.isObject()
+                    || isMetadataNode(metadataFieldNode);
 
-            // If the original field is a metadata node then the type of the original data has changed since patch
-            // is not a metadata node and we can replace it.
-            if (isMetadataNode(metadataFieldNode)) {
-                metadata.set(patchFieldName, patchFieldNode);
-                // Not continuing here because we will want to recurse over the patch fields to make sure there are
-                // no null nodes in the state node that need to be removed.
-            }
-
-            // Now we have gotten to the case where the original and patch nodes are the same type and are not
+            // Now we have gotten to the case where the original and patch nodes are both objects and are not
             // metadata nodes, recurse.
-            if (patchFieldNode.isObject()) {
-                merge((ObjectNode) stateFieldNode, (ObjectNode) metadataFieldNode, (ObjectNode) patchFieldNode);
-            }
+            result.set(patchFieldName, merge((ObjectNode) stateFieldNode,
+                    replaced ? null : (ObjectNode) metadataFieldNode, (ObjectNode) patchFieldNode));
         }
+        return result;
     }
 
     /**
@@ -303,18 +341,43 @@ public class ShadowStateMetadata {
      * @return the latest timestamp from the reported and desired nodes.
      */
     public long getLatestUpdatedTimestamp() {
-        long desiredMax = 0L;
-        if (desired != null && desired.isObject()) {
-            desiredMax = getLatestUpdatedTimestamp((ObjectNode) desired);
-        }
-        long reportedMax = 0L;
-        if (reported != null && reported.isObject()) {
-            reportedMax = getLatestUpdatedTimestamp((ObjectNode) reported);
-        }
-        long overAllMax = Math.max(desiredMax, reportedMax);
+        long overAllMax = getLatestMetadataTimestamp();
         return overAllMax == 0 ? this.clock.instant().getEpochSecond() : overAllMax;
     }
 
+    /**
+     * Gets the latest timestamp in the metadata reported and desired nodes. The timestamp is kept up to date by the
+     * updates, so the metadata nodes are only walked if it is not known.
+     *
+     * @return the latest timestamp from the reported and desired nodes; or 0 if there are no timestamps.
+     */
+    @JsonIgnore
+    public long getLatestMetadataTimestamp() {
+        if (latestTimestamp == UNKNOWN_TIMESTAMP) {
+            long desiredMax = 0L;
+            if (desired != null && desired.isObject()) {
+                desiredMax = getLatestUpdatedTimestamp((ObjectNode) desired);
+            }
+            long reportedMax = 0L;
+            if (reported != null && reported.isObject()) {
+                reportedMax = getLatestUpdatedTimestamp((ObjectNode) reported);
+            }
+            latestTimestamp = Math.max(desiredMax, reportedMax);
+        }
+        return latestTimestamp;
+    }
+
+    /**
+     * Sets the latest timestamp in the metadata reported and desired nodes when it is already known, such as when it
+     * was stored along with the shadow document.
+     *
+     * @param latestTimestamp the latest timestamp from the reported and desired nodes; or 0 if there are none.
+     */
+    @JsonIgnore
+    public void setLatestMetadataTimestamp(long latestTimestamp) {
+        this.latestTimestamp = latestTimestamp;
+    }
+
     private long getLatestUpdatedTimestamp(JsonNode node) {
         long maxVal = 0L;
         if (isNullOrMissing(node)) {
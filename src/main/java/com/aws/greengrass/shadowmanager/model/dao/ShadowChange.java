@@ -0,0 +1,34 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.model.dao;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * An entry in the compacted log of changes made to the local shadows, which keeps the latest change of each shadow.
+ */
+@Builder
+@Value
+public class ShadowChange {
+    /**
+     * Increasing sequence number of the change. Later changes always have a larger sequence number.
+     */
+    long sequenceNumber;
+    String thingName;
+    String shadowName;
+    Operation operation;
+    /**
+     * The version of the shadow after the change.
+     */
+    long version;
+    long updateTime;
+
+    public enum Operation {
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.model.dao;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A new shadow document to store, along with the values derived from it which are stored next to it so that they are
+ * not computed again when the document is read.
+ */
+@Builder(toBuilder = true)
+@Value
+public class ShadowThingUpdate {
+    String thingName;
+    String shadowName;
+    byte[] document;
+    long version;
+    /**
+     * The hash of the desired and reported state of the document, or null if unknown.
+     */
+    String contentHash;
+    /**
+     * The latest timestamp in the metadata of the document, 0 if it has none, or null if unknown.
+     */
+    Long metadataUpdateTime;
+    /**
+     * The delta of the document, an empty object if it has none, or null if unknown.
+     */
+    byte[] delta;
+}
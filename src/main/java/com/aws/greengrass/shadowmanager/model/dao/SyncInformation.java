@@ -18,6 +18,7 @@ public class SyncInformation {
     private String thingName;
     private String shadowName;
     private byte[] lastSyncedDocument;
+    private String lastSyncedDocumentHash;
     private long localVersion;
     private long cloudVersion;
     private long cloudUpdateTime;
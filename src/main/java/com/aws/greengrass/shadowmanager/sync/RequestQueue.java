@@ -7,8 +7,10 @@ package com.aws.greengrass.shadowmanager.sync;
 
 import com.aws.greengrass.shadowmanager.sync.model.SyncRequest;
 
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -269,6 +271,74 @@ public class RequestQueue {
         }
     }
 
+    /**
+     * Take the head of the queue if its shadow is one of the given shadows. Returns immediately if no item is available
+     * or if the head of the queue is for another shadow.
+     *
+     * @param shadowKeys keys of the shadows whose requests may be taken, as returned by {@link #shadowKeys()}. The key
+     *                   of the shadow of the returned request is removed from the set.
+     * @return the request at the head of the queue or null if it is not for one of the given shadows.
+     */
+    public SyncRequest pollIfIn(Set<String> shadowKeys) {
+        lock.lock();
+        try {
+            if (isEmpty() || !shadowKeys.remove(requests.keySet().iterator().next())) {
+                return null;
+            }
+            SyncRequest value = dequeue();
+            signalIfNotEmpty();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add an item to the queue and take the head of the queue if its shadow is one of the given shadows, in one atomic
+     * action. Unlike {@link #putAndTake(SyncRequest, boolean)}, the given item is only returned if its shadow is one
+     * of the given shadows.
+     *
+     * @param value      a request to add
+     * @param isNewValue whether the value being offered should be considered as new. When offering back an "old"
+     *                   request to retry, this should be set to false so that a request in the queue is merged
+     *                   correctly.
+     * @param shadowKeys keys of the shadows whose requests may be taken, as returned by {@link #shadowKeys()}. The key
+     *                   of the shadow of the returned request is removed from the set.
+     * @return the request at the head of the queue or null if it is not for one of the given shadows.
+     * @throws NullPointerException if value is null
+     */
+    @SuppressWarnings("PMD.AvoidThrowingNullPointerException")
+    public SyncRequest putAndPollIfIn(SyncRequest value, boolean isNewValue, Set<String> shadowKeys) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            if (!mergeIfPresent(value, isNewValue)) {
+                enqueue(value);
+            }
+            SyncRequest head = pollIfIn(shadowKeys);
+            signalIfNotEmpty();
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the keys of the shadows which currently have a request in the queue.
+     *
+     * @return a copy of the keys of the shadows in the queue.
+     */
+    public Set<String> shadowKeys() {
+        lock.lock();
+        try {
+            return new HashSet<>(requests.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Return, but don't remove, the head of the queue.
      *
@@ -9,6 +9,7 @@ import com.aws.greengrass.logging.api.LogEventBuilder;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.shadowmanager.ShadowManager;
+import com.aws.greengrass.shadowmanager.ShadowManagerDAO;
 import com.aws.greengrass.shadowmanager.exception.InvalidRequestParametersException;
 import com.aws.greengrass.shadowmanager.exception.IoTDataPlaneClientCreationException;
 import com.aws.greengrass.shadowmanager.exception.RetryableException;
@@ -19,6 +20,7 @@ import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
 import com.aws.greengrass.shadowmanager.model.UpdateThingShadowHandlerResponse;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
+import com.aws.greengrass.shadowmanager.util.ContentHash;
 import com.aws.greengrass.shadowmanager.util.JsonMerger;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -126,6 +128,25 @@ public abstract class BaseSyncRequest extends ShadowRequest implements SyncReque
         return existing.map(base -> isUpdateNecessary(base, update)).orElse(true);
     }
 
+    /**
+     * Executes the unit of work in a single database transaction while holding the write lock for the shadow, so that
+     * the local shadow and its sync information are committed together and no local request can interleave with the
+     * uncommitted changes.
+     *
+     * @param context the execution context.
+     * @param work    the unit of work to execute.
+     * @param <T>     the result type of the unit of work.
+     * @param <E>     the checked exception type thrown by the unit of work.
+     * @return the result of the unit of work.
+     * @throws E if the unit of work throws.
+     */
+    <T, E extends Exception> T executeInTransaction(SyncContext context, ShadowManagerDAO.UnitOfWork<T, E> work)
+            throws E {
+        synchronized (context.getSynchronizeHelper().getThingShadowLock(this)) {
+            return context.getDao().executeInTransaction(work);
+        }
+    }
+
     /**
      * Gets the updated version from the payload bytes.
      *
@@ -339,9 +360,26 @@ public abstract class BaseSyncRequest extends ShadowRequest implements SyncReque
                 .thingName(getThingName())
                 .cloudUpdateTime(cloudUpdateTime)
                 .lastSyncedDocument(getPayloadBytes(updateDocument))
+                .lastSyncedDocumentHash(getStateHash(updateDocument))
                 .build());
     }
 
+    /**
+     * Gets the content hash of the state in the update request, read as a shadow document so that it is hashed the same
+     * way as the state of the local shadow it is later compared with.
+     *
+     * @param updateDocument The update request payload.
+     * @return the content hash of the state.
+     * @throws SkipSyncRequestException if the update request payload is not a shadow document.
+     */
+    private String getStateHash(ObjectNode updateDocument) throws SkipSyncRequestException {
+        try {
+            return ContentHash.of(new ShadowDocument(updateDocument, false).getState());
+        } catch (IOException | InvalidRequestParametersException e) {
+            throw new SkipSyncRequestException(e);
+        }
+    }
+
     /**
      * Gets the sync information if it exists or throws a SkipSyncRequestException.
      *
@@ -424,23 +462,25 @@ public abstract class BaseSyncRequest extends ShadowRequest implements SyncReque
      */
     void handleLocalDelete(@NonNull SyncInformation syncInformation)
             throws SkipSyncRequestException {
-        deleteLocalShadowDocument();
-        // Since the local shadow has been deleted, we need get the deleted shadow version from the DAO.
-        long localShadowVersion = context.getDao().getDeletedShadowVersion(getThingName(), getShadowName())
-                .orElse(syncInformation.getLocalVersion() + 1);
-        context.getDao().updateSyncInformation(SyncInformation.builder()
-                .localVersion(localShadowVersion)
-                // If the cloud shadow was deleted, then the last synced version might be 1 higher than the last version
-                // that was synced.
-                // If the device was offline for a long time and the cloud shadow was deleted multiple times in that
-                // period, there is no way to get the correct cloud shadow version. We will eventually get the correct
-                // cloud shadow version in the next cloud shadow update.
-                .cloudVersion(syncInformation.getCloudVersion() + 1)
-                .shadowName(getShadowName())
-                .thingName(getThingName())
-                .cloudUpdateTime(syncInformation.getCloudUpdateTime())
-                .lastSyncedDocument(null)
-                .build());
+        executeInTransaction(context, () -> {
+            deleteLocalShadowDocument();
+            // Since the local shadow has been deleted, we need get the deleted shadow version from the DAO.
+            long localShadowVersion = context.getDao().getDeletedShadowVersion(getThingName(), getShadowName())
+                    .orElse(syncInformation.getLocalVersion() + 1);
+            return context.getDao().updateSyncInformation(SyncInformation.builder()
+                    .localVersion(localShadowVersion)
+                    // If the cloud shadow was deleted, then the last synced version might be 1 higher than the last
+                    // version that was synced.
+                    // If the device was offline for a long time and the cloud shadow was deleted multiple times in
+                    // that period, there is no way to get the correct cloud shadow version. We will eventually get the
+                    // correct cloud shadow version in the next cloud shadow update.
+                    .cloudVersion(syncInformation.getCloudVersion() + 1)
+                    .shadowName(getShadowName())
+                    .thingName(getThingName())
+                    .cloudUpdateTime(syncInformation.getCloudUpdateTime())
+                    .lastSyncedDocument(null)
+                    .build());
+        });
     }
 
     /**
@@ -496,6 +536,26 @@ public abstract class BaseSyncRequest extends ShadowRequest implements SyncReque
         return updatedVersion.orElse(localDocumentVersion.map(version -> version + 1).orElse(1L));
     }
 
+    /**
+     * Update the local shadow document and the sync information for the thing's shadow in a single transaction.
+     *
+     * @param updateDocument       The update request payload.
+     * @param localDocumentVersion The current local document version.
+     * @param cloudDocumentVersion The current cloud document version.
+     * @param cloudUpdateTime      The cloud document latest update time.
+     * @return the updated local document version.
+     * @throws SkipSyncRequestException if the update request encountered a skipable exception.
+     */
+    long updateLocalDocumentAndSyncInformation(ObjectNode updateDocument, Optional<Long> localDocumentVersion,
+                                               long cloudDocumentVersion, long cloudUpdateTime)
+            throws SkipSyncRequestException {
+        return executeInTransaction(context, () -> {
+            long updatedLocalVersion = updateLocalDocumentAndGetUpdatedVersion(updateDocument, localDocumentVersion);
+            updateSyncInformation(updateDocument, updatedLocalVersion, cloudDocumentVersion, cloudUpdateTime);
+            return updatedLocalVersion;
+        });
+    }
+
     /**
      * Update the local shadow document using the update request handler.
      *
@@ -15,6 +15,7 @@ import com.aws.greengrass.shadowmanager.exception.SkipSyncRequestException;
 import com.aws.greengrass.shadowmanager.exception.UnknownShadowException;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
+import com.aws.greengrass.shadowmanager.util.ContentHash;
 import com.aws.greengrass.shadowmanager.util.JsonMerger;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -154,7 +155,8 @@ public class CloudUpdateSyncRequest extends BaseSyncRequest {
 
         try {
             context.getDao().updateSyncInformation(SyncInformation.builder()
-                    .lastSyncedDocument(JsonUtil.getPayloadBytes(localShadowDocument.toJson(false)))
+                    .lastSyncedDocument(localShadowDocument.toJsonBytes())
+                    .lastSyncedDocumentHash(ContentHash.of(localShadowDocument.getState()))
                     .cloudVersion(cloudUpdatedVersion)
                     .cloudDeleted(false)
                     .shadowName(getShadowName())
@@ -203,7 +205,8 @@ public class CloudUpdateSyncRequest extends BaseSyncRequest {
             return false;
         }
 
-        if (!isUpdateNecessary(currentSyncInformation.getLastSyncedDocument(), updateDocument)) {
+        if (isLastSyncedContentSame(currentSyncInformation)
+                || !isUpdateNecessary(currentSyncInformation.getLastSyncedDocument(), updateDocument)) {
             logger.atDebug()
                     .kv(LOG_THING_NAME_KEY, getThingName())
                     .kv(LOG_SHADOW_NAME_KEY, getShadowName())
@@ -217,6 +220,21 @@ public class CloudUpdateSyncRequest extends BaseSyncRequest {
         return true;
     }
 
+    /**
+     * Checks whether the local shadow state after the update is the same as the last synced shadow state by comparing
+     * their content hashes, which avoids deserializing the last synced document.
+     *
+     * @param currentSyncInformation the current sync information for the shadow.
+     * @return true if the last synced shadow already has the local shadow state; Else false.
+     */
+    private boolean isLastSyncedContentSame(SyncInformation currentSyncInformation) {
+        // Clearing the state needs the explicit handling done while comparing the documents.
+        return currentSyncInformation.getLastSyncedDocumentHash() != null
+                && !JsonUtil.isNullStateDocument(updateDocument)
+                && currentSyncInformation.getLastSyncedDocumentHash()
+                .equals(ContentHash.of(localShadowDocument.getState()));
+    }
+
     private void updateSyncInformationVersion(Optional<ShadowDocument> shadowDocument,
                                               SyncInformation currentSyncInformation,
                                               SyncContext context) {
@@ -224,6 +242,7 @@ public class CloudUpdateSyncRequest extends BaseSyncRequest {
             try {
                 context.getDao().updateSyncInformation(SyncInformation.builder()
                         .lastSyncedDocument(currentSyncInformation.getLastSyncedDocument())
+                        .lastSyncedDocumentHash(currentSyncInformation.getLastSyncedDocumentHash())
                         .cloudVersion(currentSyncInformation.getCloudVersion())
                         .cloudDeleted(false)
                         .shadowName(getShadowName())
@@ -171,6 +171,21 @@ public class FullShadowSyncRequest extends BaseSyncRequest {
         long localDocumentVersion = localShadowDocument.get().getVersion();
         long cloudDocumentVersion = cloudShadowDocument.get().getVersion();
 
+        // If only the cloud document version is different from the last sync, that means only the local document
+        // needed some updates. So we go ahead and update the local shadow document along with the sync information.
+        if (!isDocVersionSame(cloudShadowDocument.get(), syncInformation, DataOwner.CLOUD)
+                && isDocVersionSame(localShadowDocument.get(), syncInformation, DataOwner.LOCAL)) {
+            updateLocalDocumentAndSyncInformation(updateDocument, Optional.of(localDocumentVersion),
+                    cloudDocumentVersion, cloudUpdateTime);
+            logger.atTrace()
+                    .kv(LOG_THING_NAME_KEY, getThingName())
+                    .kv(LOG_SHADOW_NAME_KEY, getShadowName())
+                    .kv(LOG_LOCAL_VERSION_KEY, localShadowDocument.get().getVersion())
+                    .kv(LOG_CLOUD_VERSION_KEY, cloudShadowDocument.get().getVersion())
+                    .log("Successfully performed full sync");
+            return;
+        }
+
         // If the cloud document version is different from the last sync, that means the local document needed
         // some updates. So we go ahead and update the local shadow document.
         if (!isDocVersionSame(cloudShadowDocument.get(), syncInformation, DataOwner.CLOUD)) {
@@ -226,8 +241,8 @@ public class FullShadowSyncRequest extends BaseSyncRequest {
                 .log("Syncing local shadow for the first time");
 
         ObjectNode updateDocument = (ObjectNode) cloudShadowDocument.toJson(false);
-        long localDocumentVersion = updateLocalDocumentAndGetUpdatedVersion(updateDocument, Optional.empty());
-        updateSyncInformation(updateDocument, localDocumentVersion, cloudShadowDocument.getVersion(), cloudUpdateTime);
+        updateLocalDocumentAndSyncInformation(updateDocument, Optional.empty(), cloudShadowDocument.getVersion(),
+                cloudUpdateTime);
     }
 
     /**
@@ -71,27 +71,30 @@ public class LocalDeleteSyncRequest extends BaseSyncRequest {
 
         if (deletedCloudVersion >= currentCloudVersion) {
             try {
-                DeleteThingShadowRequest request = new DeleteThingShadowRequest();
-                request.setThingName(getThingName());
-                request.setShadowName(getShadowName());
-                context.getDeleteHandler().handleRequest(request, SHADOW_MANAGER_NAME);
-
-                long updateTime = Instant.now().getEpochSecond();
-                long localShadowVersion = context.getDao().getDeletedShadowVersion(getThingName(), getShadowName())
-                        .orElse(syncInformation.getLocalVersion() + 1);
-                context.getDao().updateSyncInformation(SyncInformation.builder()
-                        .thingName(getThingName())
-                        .shadowName(getShadowName())
-                        .lastSyncedDocument(null)
-                        .cloudUpdateTime(updateTime)
-                        .localVersion(localShadowVersion)
-                        // The version number we get in the MQTT message is the version of the cloud shadow that was
-                        // deleted. But the cloud shadow version after the delete has been incremented by 1. So we have
-                        // synced that incremented version instead of the deleted cloud shadow version.
-                        .cloudVersion(deletedCloudVersion + 1)
-                        .lastSyncTime(updateTime)
-                        .cloudDeleted(true)
-                        .build());
+                long localShadowVersion = executeInTransaction(context, () -> {
+                    DeleteThingShadowRequest request = new DeleteThingShadowRequest();
+                    request.setThingName(getThingName());
+                    request.setShadowName(getShadowName());
+                    context.getDeleteHandler().handleRequest(request, SHADOW_MANAGER_NAME);
+
+                    long updateTime = Instant.now().getEpochSecond();
+                    long deletedVersion = context.getDao().getDeletedShadowVersion(getThingName(), getShadowName())
+                            .orElse(syncInformation.getLocalVersion() + 1);
+                    context.getDao().updateSyncInformation(SyncInformation.builder()
+                            .thingName(getThingName())
+                            .shadowName(getShadowName())
+                            .lastSyncedDocument(null)
+                            .cloudUpdateTime(updateTime)
+                            .localVersion(deletedVersion)
+                            // The version number we get in the MQTT message is the version of the cloud shadow that
+                            // was deleted. But the cloud shadow version after the delete has been incremented by 1. So
+                            // we have synced that incremented version instead of the deleted cloud shadow version.
+                            .cloudVersion(deletedCloudVersion + 1)
+                            .lastSyncTime(updateTime)
+                            .cloudDeleted(true)
+                            .build());
+                    return deletedVersion;
+                });
                 logger.atDebug()
                         .kv(LOG_THING_NAME_KEY, getThingName())
                         .kv(LOG_SHADOW_NAME_KEY, getShadowName())
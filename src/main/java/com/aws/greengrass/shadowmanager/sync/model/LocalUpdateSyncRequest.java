@@ -125,30 +125,37 @@ public class LocalUpdateSyncRequest extends BaseSyncRequest {
         // Expected sequential cloud update, routing update to local shadow
         if (cloudUpdateVersion == currentCloudVersion + 1) {
             try {
-                updateRequestWithLocalVersion(currentLocalVersion);
+                // Write the local shadow and its sync information in a single transaction so that a failure in between
+                // does not leave the shadow updated without the sync information reflecting it.
+                long localUpdatedVersion = executeInTransaction(context, () -> {
+                    updateRequestWithLocalVersion(currentLocalVersion);
 
-                UpdateThingShadowRequest request = new UpdateThingShadowRequest();
-                request.setThingName(getThingName());
-                request.setShadowName(getShadowName());
-                request.setPayload(JsonUtil.getPayloadBytes(shadowDocument.toJson(false)));
+                    UpdateThingShadowRequest request = new UpdateThingShadowRequest();
+                    request.setThingName(getThingName());
+                    request.setShadowName(getShadowName());
+                    request.setPayload(JsonUtil.getPayloadBytes(shadowDocument.toJson(false)));
 
-                UpdateThingShadowHandlerResponse response =
-                        context.getUpdateHandler().handleRequest(request, SHADOW_MANAGER_NAME);
+                    UpdateThingShadowHandlerResponse response =
+                            context.getUpdateHandler().handleRequest(request, SHADOW_MANAGER_NAME);
 
-                byte[] updatedDocument = response.getCurrentDocument();
-                long updateTime = Instant.now().getEpochSecond();
-                long localUpdatedVersion = getUpdatedVersion(response.getUpdateThingShadowResponse().getPayload())
-                        .orElse(currentLocalVersion + 1);
-                context.getDao().updateSyncInformation(SyncInformation.builder()
-                        .thingName(getThingName())
-                        .shadowName(getShadowName())
-                        .lastSyncedDocument(updatedDocument)
-                        .cloudUpdateTime(updateTime)
-                        .localVersion(localUpdatedVersion)
-                        .cloudVersion(cloudUpdateVersion)
-                        .lastSyncTime(updateTime)
-                        .cloudDeleted(false)
-                        .build());
+                    byte[] updatedDocument = response.getCurrentDocument();
+                    long updateTime = Instant.now().getEpochSecond();
+                    long updatedVersion = getUpdatedVersion(response.getUpdateThingShadowResponse().getPayload())
+                            .orElse(currentLocalVersion + 1);
+                    context.getDao().updateSyncInformation(SyncInformation.builder()
+                            .thingName(getThingName())
+                            .shadowName(getShadowName())
+                            .lastSyncedDocument(updatedDocument)
+                            .lastSyncedDocumentHash(context.getDao()
+                                    .getShadowContentHash(getThingName(), getShadowName()).orElse(null))
+                            .cloudUpdateTime(updateTime)
+                            .localVersion(updatedVersion)
+                            .cloudVersion(cloudUpdateVersion)
+                            .lastSyncTime(updateTime)
+                            .cloudDeleted(false)
+                            .build());
+                    return updatedVersion;
+                });
                 logger.atDebug()
                         .kv(LOG_THING_NAME_KEY, getThingName())
                         .kv(LOG_SHADOW_NAME_KEY, getShadowName())
@@ -228,6 +235,7 @@ public class LocalUpdateSyncRequest extends BaseSyncRequest {
                         .thingName(getThingName())
                         .shadowName(getShadowName())
                         .lastSyncedDocument(currentSyncInformation.getLastSyncedDocument())
+                        .lastSyncedDocumentHash(currentSyncInformation.getLastSyncedDocumentHash())
                         .cloudUpdateTime(updateTime)
                         .localVersion(currentSyncInformation.getLocalVersion())
                         .cloudVersion(shadowDocument.getVersion())
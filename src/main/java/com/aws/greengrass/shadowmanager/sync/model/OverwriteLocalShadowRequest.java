@@ -59,9 +59,8 @@ public class OverwriteLocalShadowRequest extends BaseSyncRequest {
                 // update the local shadow with the entire cloud shadow,
                 long cloudUpdateTime = getCloudUpdateTime(cloudShadowDocument.get());
                 ObjectNode updateDocument = (ObjectNode) cloudShadowDocument.get().toJson(false);
-                long localDocumentVersion = updateLocalDocumentAndGetUpdatedVersion(updateDocument, Optional.empty());
-                updateSyncInformation(updateDocument, localDocumentVersion, cloudShadowDocument.get().getVersion(),
-                        cloudUpdateTime);
+                updateLocalDocumentAndSyncInformation(updateDocument, Optional.empty(),
+                        cloudShadowDocument.get().getVersion(), cloudUpdateTime);
             }
         } else {
             // If the cloud shadow is not present, then go ahead and delete the local shadow.
@@ -259,6 +259,17 @@ public abstract class BaseSyncStrategy implements SyncStrategy {
      */
     abstract SyncRequest getRequest() throws InterruptedException;
 
+    /**
+     * Put a request which could not be completed back into the queue and get the next request in one atomic action.
+     *
+     * @param request    the request to put back.
+     * @param isNewValue whether the request should be merged on top of a request for the shadow already in the queue.
+     * @return the next request, which may be the given request if the queue is empty.
+     */
+    SyncRequest putBackAndGetRequest(SyncRequest request, boolean isNewValue) {
+        return syncQueue.putAndTake(request, isNewValue);
+    }
+
     /**
      * Put a sync request into the queue if syncing is started.
      * <p/>
@@ -373,7 +384,7 @@ public abstract class BaseSyncStrategy implements SyncStrategy {
                     SyncRequest failedRequest = request;
 
                     // tell queue this is not a new value so it merges correctly with any update that came in
-                    request = syncQueue.putAndTake(request, false);
+                    request = putBackAndGetRequest(request, false);
 
                     // if queue was empty, we are going to immediately retrying the same request. For this case don't
                     // use the default retry configuration - keep from spamming too quickly
@@ -390,7 +401,7 @@ public abstract class BaseSyncStrategy implements SyncStrategy {
                             .addKeyValue(LOG_SHADOW_NAME_KEY, currProcessingShadowName)
                             .log("Received conflict when processing request. Retrying as a full sync");
                     // add back to queue to merge over any shadow request that came in while it was executing
-                    request = syncQueue.putAndTake(
+                    request = putBackAndGetRequest(
                             fullSyncRequestBasedOnDirection(currProcessingThingName, currProcessingShadowName),
                             true);
                 } catch (UnknownShadowException e) {
@@ -398,7 +409,7 @@ public abstract class BaseSyncStrategy implements SyncStrategy {
                             .addKeyValue(LOG_SHADOW_NAME_KEY, currProcessingShadowName)
                             .log("Received unknown shadow when processing request. Retrying as a full sync");
                     // add back to queue to merge over any shadow request that came in while it was executing
-                    request = syncQueue.putAndTake(
+                    request = putBackAndGetRequest(
                             fullSyncRequestBasedOnDirection(currProcessingThingName, currProcessingShadowName),
                             true);
                 } catch (Exception e) {
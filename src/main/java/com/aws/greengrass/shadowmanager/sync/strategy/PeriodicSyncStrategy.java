@@ -14,22 +14,43 @@ import com.aws.greengrass.shadowmanager.sync.model.SyncContext;
 import com.aws.greengrass.shadowmanager.sync.model.SyncRequest;
 import com.aws.greengrass.util.RetryUtils;
 
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Handles syncing of shadows on a specific cadence. With this strategy, the Shadow manager will only execute the
  * sync requests on a particular interval. It will cache all the sync requests until the interval has elapsed; after
  * which it will empty the sync queue by executing all the cached sync requests.
+ * <p/>
+ * The sync queue keeps a single merged request per shadow, so it holds the set of shadows changed locally or in the
+ * cloud since they were last synced. When merging per interval, only the shadows in the queue at the start of an
+ * interval are synced in that interval, each with a single request. Requests received meanwhile are merged in the
+ * queue and synced in the next interval.
  */
 public class PeriodicSyncStrategy extends BaseSyncStrategy {
     private static final Logger logger = LogManager.getLogger(PeriodicSyncStrategy.class);
     private final ScheduledExecutorService syncExecutorService;
     private final long interval;
+    private final long jitter;
+    private final boolean mergePerInterval;
     final ReentrantLock syncThreadLock = new ReentrantLock(); // lock for ensuring thread ends before stopping
 
+    /**
+     * Keys of the shadows which have not been synced yet in the current interval. Only used by the sync thread.
+     */
+    private Set<String> intervalShadowKeys = Collections.emptySet();
+
+    /**
+     * Number of times syncing was started, used to tell apart the jittered runs scheduled by each start.
+     */
+    private final AtomicLong startCount = new AtomicLong();
+
     /**
      * Constructor.
      *
@@ -41,9 +62,27 @@ public class PeriodicSyncStrategy extends BaseSyncStrategy {
      */
     public PeriodicSyncStrategy(ScheduledExecutorService ses, Retryer retryer, long interval,
                                 RequestQueue syncQueue, DirectionWrapper direction) {
+        this(ses, retryer, interval, 0, false, syncQueue, direction);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ses              The scheduled executor service object.
+     * @param retryer          The retryer object.
+     * @param interval         The interval at which to sync the shadows.
+     * @param jitter           The maximum random delay in seconds added to each interval.
+     * @param mergePerInterval Whether to sync each shadow at most once per interval.
+     * @param syncQueue        The sync queue from the previous strategy if any.
+     * @param direction        The sync direction
+     */
+    public PeriodicSyncStrategy(ScheduledExecutorService ses, Retryer retryer, long interval, long jitter,
+                                boolean mergePerInterval, RequestQueue syncQueue, DirectionWrapper direction) {
         super(retryer, syncQueue, direction);
         this.syncExecutorService = ses;
         this.interval = interval;
+        this.jitter = jitter;
+        this.mergePerInterval = mergePerInterval;
     }
 
     /**
@@ -62,21 +101,55 @@ public class PeriodicSyncStrategy extends BaseSyncStrategy {
         super(retryer, retryConfig, syncQueue, direction);
         this.syncExecutorService = ses;
         this.interval = interval;
+        this.jitter = 0;
+        this.mergePerInterval = false;
     }
 
     @Override
     void doStart(SyncContext context, int syncParallelism) {
-        logger.atInfo(SYNC_EVENT_TYPE).kv("interval", interval).log("Start periodic syncing");
+        logger.atInfo(SYNC_EVENT_TYPE).kv("interval", interval).kv("jitter", jitter)
+                .kv("mergePerInterval", mergePerInterval).log("Start periodic syncing");
         this.syncParallelism = 1; // ignore sync parallelism as there is only 1 thread running
         this.criticalExecBlock = new Semaphore(1);
-        this.syncThreads.add(syncExecutorService
-                .scheduleAtFixedRate(this::syncLoop, 0, interval, TimeUnit.SECONDS));
+        if (jitter > 0) {
+            scheduleSyncLoop(randomJitter(), startCount.incrementAndGet());
+        } else {
+            this.syncThreads.add(syncExecutorService
+                    .scheduleAtFixedRate(this::syncLoop, 0, interval, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Schedules a single run of the sync loop, which schedules the next run with a new random delay once it is done.
+     * Only the future of the latest run is kept so that stopping the strategy cancels it.
+     *
+     * @param delay the delay in seconds before running the sync loop.
+     * @param start the start the run belongs to. Runs left over from before the strategy was restarted are dropped.
+     */
+    private void scheduleSyncLoop(long delay, long start) {
+        synchronized (lifecycleLock) {
+            if (!syncing.get() || start != startCount.get()) {
+                return;
+            }
+            this.syncThreads.clear();
+            this.syncThreads.add(syncExecutorService.schedule(() -> {
+                syncLoop();
+                scheduleSyncLoop(interval + randomJitter(), start);
+            }, delay, TimeUnit.SECONDS));
+        }
+    }
+
+    private long randomJitter() {
+        return ThreadLocalRandom.current().nextLong(jitter + 1);
     }
 
     @Override
     protected void syncLoop() {
         syncThreadLock.lock();
         try {
+            if (mergePerInterval) {
+                intervalShadowKeys = syncQueue.shadowKeys();
+            }
             super.syncLoop();
         } finally {
             syncThreadLock.unlock();
@@ -95,6 +168,20 @@ public class PeriodicSyncStrategy extends BaseSyncStrategy {
 
     @Override
     SyncRequest getRequest() {
+        if (mergePerInterval) {
+            // requests for shadows synced earlier in this interval, or for shadows which were not in the queue when
+            // the interval started, are only behind the requests still to sync in this interval
+            return syncQueue.pollIfIn(intervalShadowKeys);
+        }
         return syncQueue.poll();
     }
+
+    @Override
+    SyncRequest putBackAndGetRequest(SyncRequest request, boolean isNewValue) {
+        if (mergePerInterval) {
+            // the shadow of the request was already synced once in this interval, so it is retried in the next one
+            return syncQueue.putAndPollIfIn(request, isNewValue, intervalShadowKeys);
+        }
+        return super.putBackAndGetRequest(request, isNewValue);
+    }
 }
@@ -53,7 +53,7 @@ public class SyncStrategyFactory {
         switch (syncStrategy.getType()) {
             case PERIODIC:
                 return new PeriodicSyncStrategy(syncScheduledExecutorService, retryer, syncStrategy.getDelay(),
-                        syncQueue, direction);
+                        syncStrategy.getJitter(), syncStrategy.isMergePerInterval(), syncQueue, direction);
             case REALTIME:
             default:
                 return new RealTimeSyncStrategy(syncExecutorService, retryer, syncQueue, direction);
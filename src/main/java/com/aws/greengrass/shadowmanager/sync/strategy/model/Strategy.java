@@ -31,10 +31,22 @@ public class Strategy {
      */
     private long delay;
 
+    /**
+     * The maximum random delay added to each interval of the periodic sync strategy, so that devices configured with
+     * the same delay do not all sync at the same time.
+     */
+    private long jitter;
+
+    /**
+     * Whether the periodic sync strategy syncs each shadow at most once per interval. Requests received while an
+     * interval is being synced are merged and deferred to the next interval.
+     */
+    private boolean mergePerInterval;
+
     /**
      * The default strategy to be used. Currently it will be set to real time syncing of shadows.
      */
-    public static final Strategy DEFAULT_STRATEGY = new Strategy(StrategyType.REALTIME, 0);
+    public static final Strategy DEFAULT_STRATEGY = new Strategy(StrategyType.REALTIME, 0, 0, false);
 
     /**
      * Gets the Sync Strategy based on the POJO object.
@@ -53,6 +65,12 @@ public class Strategy {
                 case "delay":
                     strategy.delay(Coerce.toLong(entry.getValue()));
                     break;
+                case "jitter":
+                    strategy.jitter(Coerce.toLong(entry.getValue()));
+                    break;
+                case "mergePerInterval":
+                    strategy.mergePerInterval(Coerce.toBoolean(entry.getValue()));
+                    break;
                 default:
                     break;
             }
@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.util;
+
+import com.aws.greengrass.shadowmanager.model.ShadowState;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.isNullOrMissing;
+
+/**
+ * Computes a stable hash of the desired and reported state of a shadow document.
+ *
+ * <p>Object fields are hashed in sorted order so that two states which are equal as JSON trees always have the same
+ * hash, regardless of the order in which their fields were written. The state is normalized the way the shadow stores
+ * it: a field set to null is hashed as if it were missing, since updating a shadow removes it, and integers are hashed
+ * by their value rather than by the type they were read as. Integers and decimals still hash differently.
+ */
+public final class ContentHash {
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final byte MISSING = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte STRING = 4;
+    private static final byte ARRAY = 5;
+    private static final byte OBJECT = 6;
+    private static final byte OTHER = 7;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Gets the hash of the desired and reported state of the shadow.
+     *
+     * @param state the shadow state.
+     * @return the hex encoded hash of the state.
+     */
+    public static String of(ShadowState state) {
+        return state == null ? of(null, null) : of(state.getDesired(), state.getReported());
+    }
+
+    private static String of(JsonNode desired, JsonNode reported) {
+        MessageDigest digest = newDigest();
+        update(digest, desired);
+        update(digest, reported);
+        return toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, JsonNode node) {
+        if (isAbsent(node)) {
+            digest.update(MISSING);
+        } else if (node.isBoolean()) {
+            digest.update(BOOLEAN);
+            digest.update(node.booleanValue() ? (byte) 1 : (byte) 0);
+        } else if (node.isIntegralNumber()) {
+            digest.update(INTEGER);
+            update(digest, node.bigIntegerValue().toString());
+        } else if (node.isNumber()) {
+            digest.update(DECIMAL);
+            update(digest, node.decimalValue().stripTrailingZeros().toString());
+        } else if (node.isTextual()) {
+            digest.update(STRING);
+            update(digest, node.textValue());
+        } else if (node.isArray()) {
+            digest.update(ARRAY);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(node.size()).array());
+            for (JsonNode element : node) {
+                update(digest, element);
+            }
+        } else if (node.isObject()) {
+            digest.update(OBJECT);
+            List<String> fields = new ArrayList<>(node.size());
+            Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                if (!isAbsent(entry.getValue())) {
+                    fields.add(entry.getKey());
+                }
+            }
+            Collections.sort(fields);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(fields.size()).array());
+            for (String field : fields) {
+                update(digest, field);
+                update(digest, node.get(field));
+            }
+        } else {
+            digest.update(OTHER);
+            update(digest, node.toString());
+        }
+    }
+
+    private static boolean isAbsent(JsonNode node) {
+        return node == null || node.isNull() || node.isMissingNode();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
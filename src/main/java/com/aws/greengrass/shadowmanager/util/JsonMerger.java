@@ -62,6 +62,79 @@ public final class JsonMerger {
                 + " Json objects whose underlying node are the same type."));
     }
 
+    /**
+     * Merges the patch JSON node into a copy of the source JSON node, in the same way as
+     * {@link #merge(JsonNode, JsonNode)}, without modifying the source. Only the objects on the path to the fields
+     * which the patch changes are copied, and every other node is shared between the source and the result. Neither
+     * may be modified in place afterwards.
+     *
+     * @param source The source JSON to merge.
+     * @param patch  The patch JSON.
+     * @return the merged JSON, which is the source itself if the patch does not change anything.
+     * @throws InvalidRequestParametersException If the source and patch node are of different types.
+     */
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "We do check the type before cast.")
+    public static JsonNode mergeCopy(final JsonNode source, final JsonNode patch)
+            throws InvalidRequestParametersException {
+        if (JsonUtil.isNullStateDocument(patch)) {
+            return clearStateCopy(source);
+        }
+
+        if (JsonUtil.isEmptyStateDocument(patch)) {
+            return source;
+        }
+
+        if (source.isObject() && patch.isObject()) {
+            return mergeCopy((ObjectNode) source, (ObjectNode) patch);
+        }
+
+        if (source.isArray() && patch.isArray()) {
+            return JsonUtil.OBJECT_MAPPER.createArrayNode().addAll((ArrayNode) patch);
+        }
+
+        throw new InvalidRequestParametersException(ErrorMessage.createInvalidPayloadJsonMessage("Merge only works with"
+                + " Json objects whose underlying node are the same type."));
+    }
+
+    private static ObjectNode mergeCopy(final ObjectNode source, final ObjectNode patch) {
+        final ObjectNode result = JsonUtil.OBJECT_MAPPER.createObjectNode();
+        result.setAll(source);
+        final Iterator<String> fieldNames = patch.fieldNames();
+        while (fieldNames.hasNext()) {
+            final String field = fieldNames.next();
+
+            final JsonNode originalValue = source.get(field);
+            final JsonNode patchValue = patch.get(field);
+
+            if (isNullOrMissing(patchValue)) {
+                if (!isNullOrMissing(originalValue)) {
+                    result.remove(field);
+                }
+                continue;
+            }
+
+            if (isNullOrMissing(originalValue)) {
+                if (patchValue.isObject()) {
+                    final ObjectNode child = createMergeTree((ObjectNode) patchValue);
+                    if (child != null) {
+                        result.set(field, child);
+                    }
+                } else {
+                    result.set(field, patchValue);
+                }
+                continue;
+            }
+
+            if (originalValue.isObject() && patchValue.isObject()) {
+                result.set(field, mergeCopy((ObjectNode) originalValue, (ObjectNode) patchValue));
+                continue;
+            }
+
+            result.set(field, patchValue);
+        }
+        return result;
+    }
+
     private static void merge(final ObjectNode source, final ObjectNode patch) {
         final Iterator<String> fieldNames = patch.fieldNames();
         while (fieldNames.hasNext()) {
@@ -148,6 +221,20 @@ public final class JsonMerger {
         return result;
     }
 
+    private static JsonNode clearStateCopy(final JsonNode node) {
+        if (!node.isObject()) {
+            return node;
+        }
+        final JsonNode stateNode = node.get(SHADOW_DOCUMENT_STATE);
+        if (stateNode == null) {
+            return JsonUtil.OBJECT_MAPPER.createObjectNode();
+        }
+        final ObjectNode result = JsonUtil.OBJECT_MAPPER.createObjectNode();
+        result.setAll((ObjectNode) node);
+        result.set(SHADOW_DOCUMENT_STATE, clearStateCopy(stateNode));
+        return result;
+    }
+
     private static void clearState(JsonNode node) {
         if (!node.isObject()) {
             return;
@@ -9,9 +9,13 @@ import com.aws.greengrass.shadowmanager.exception.InvalidRequestParametersExcept
 import com.aws.greengrass.shadowmanager.model.ErrorMessage;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
@@ -30,18 +34,33 @@ import java.util.StringJoiner;
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_DOCUMENT_STATE_DEPTH;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_CLIENT_TOKEN;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DELTA;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DESIRED;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_VERSION;
 import static com.aws.greengrass.shadowmanager.model.ErrorMessage.createInvalidPayloadJsonMessage;
 
 public final class JsonUtil {
-    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // field names are chosen by the devices, so they are not interned into the JVM string table
+    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(JsonFactory.builder()
+            .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+            .build());
+
+    // maxLength of the clientToken in the update payload schema
+    static final int MAX_CLIENT_TOKEN_LENGTH = 64;
 
     private static JsonSchema updateRequestSchema;
 
+    /**
+     * Reader and writer for all payloads, created once the mapper is configured rather than for every payload.
+     */
+    private static final ObjectReader PAYLOAD_READER;
+    private static final ObjectWriter PAYLOAD_WRITER;
+
     static {
         OBJECT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        PAYLOAD_READER = OBJECT_MAPPER.reader();
+        PAYLOAD_WRITER = OBJECT_MAPPER.writer();
     }
 
     private JsonUtil() {
@@ -55,7 +74,7 @@ public final class JsonUtil {
      */
     public static void loadSchema() throws IOException {
         try (InputStream schema = JsonUtil.class.getResourceAsStream("/json/schema/update_payload_schema.json")) {
-            JsonNode updateRequest = OBJECT_MAPPER.reader().readTree(schema);
+            JsonNode updateRequest = PAYLOAD_READER.readTree(schema);
             updateRequestSchema =
                     JsonSchemaFactory.getInstance(SpecVersionDetector.detect(updateRequest)).getSchema(updateRequest);
         }
@@ -70,6 +89,9 @@ public final class JsonUtil {
      */
     @SuppressWarnings("PMD.PreserveStackTrace")
     public static void validatePayloadSchema(JsonNode payload) throws InvalidRequestParametersException {
+        if (matchesUpdatePayloadSchema(payload)) {
+            return;
+        }
         Set<ValidationMessage> errors = updateRequestSchema.validate(payload);
         if (errors.isEmpty()) {
             return;
@@ -83,6 +105,47 @@ public final class JsonUtil {
         throw new InvalidRequestParametersException(createInvalidPayloadJsonMessage(message.toString()));
     }
 
+    /**
+     * Checks the payload against the fixed shape of the update payload schema without going through the schema
+     * library. This only accepts payloads which the schema accepts, and leaves anything else to the schema library so
+     * that the error message explains what is wrong with the payload.
+     *
+     * @param payload the JSON payload to check.
+     * @return true if the payload is known to be valid; false if it has to be validated with the schema library.
+     */
+    static boolean matchesUpdatePayloadSchema(JsonNode payload) {
+        if (payload == null || !payload.isObject()) {
+            return false;
+        }
+        JsonNode clientToken = payload.get(SHADOW_DOCUMENT_CLIENT_TOKEN);
+        if (clientToken != null
+                && (!clientToken.isTextual() || clientToken.textValue().length() > MAX_CLIENT_TOKEN_LENGTH)) {
+            return false;
+        }
+        JsonNode version = payload.get(SHADOW_DOCUMENT_VERSION);
+        if (version != null && (!(version.isInt() || version.isLong()) || version.longValue() < 0)) {
+            return false;
+        }
+        JsonNode state = payload.get(SHADOW_DOCUMENT_STATE);
+        if (state == null) {
+            return false;
+        }
+        if (state.isNull()) {
+            return true;
+        }
+        if (!state.isObject() || !isObjectOrNull(state.get(SHADOW_DOCUMENT_STATE_REPORTED))
+                || !isObjectOrNull(state.get(SHADOW_DOCUMENT_STATE_DESIRED))
+                || !isObjectOrNull(state.get(SHADOW_DOCUMENT_STATE_DELTA))) {
+            return false;
+        }
+        // a state with properties needs to have either a reported or a desired node
+        return state.isEmpty() || state.has(SHADOW_DOCUMENT_STATE_REPORTED) || state.has(SHADOW_DOCUMENT_STATE_DESIRED);
+    }
+
+    private static boolean isObjectOrNull(JsonNode node) {
+        return node == null || node.isObject() || node.isNull();
+    }
+
     /**
      * Gets the payload as a JSON node from a byte array.
      *
@@ -94,11 +157,54 @@ public final class JsonUtil {
         if (payload == null) {
             return Optional.empty();
         }
-        return Optional.of(OBJECT_MAPPER.readTree(payload));
+        return Optional.of(PAYLOAD_READER.readTree(payload));
     }
 
+    /**
+     * Serializes the JSON node into a buffer reused by the thread, so that only the resulting payload is allocated.
+     *
+     * @param node the JSON node to serialize
+     * @return the serialized payload
+     * @throws JsonProcessingException if the node cannot be serialized
+     */
     public static byte[] getPayloadBytes(JsonNode node) throws JsonProcessingException {
-        return OBJECT_MAPPER.writeValueAsBytes(node);
+        PayloadOutputBuffer buffer = serialize(node);
+        try {
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Gets the size of the serialized JSON node without allocating the serialized payload.
+     *
+     * @param node the JSON node
+     * @return the size of the serialized node in bytes
+     * @throws JsonProcessingException if the node cannot be serialized
+     */
+    public static int getPayloadSize(JsonNode node) throws JsonProcessingException {
+        PayloadOutputBuffer buffer = serialize(node);
+        try {
+            return buffer.size();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static PayloadOutputBuffer serialize(JsonNode node) throws JsonProcessingException {
+        PayloadOutputBuffer buffer = PayloadOutputBuffer.acquire();
+        try {
+            PAYLOAD_WRITER.writeValue(buffer, node);
+            return buffer;
+        } catch (JsonProcessingException e) {
+            buffer.release();
+            throw e;
+        } catch (IOException e) {
+            buffer.release();
+            // the buffer does not throw IOExceptions itself
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
     }
 
     public static boolean isNullOrMissing(JsonNode node) {
@@ -194,15 +300,29 @@ public final class JsonUtil {
         if (isNullOrMissing(updateVersion)) {
             return;
         }
+        validatePayloadVersion(sourceDocument, updateVersion.asInt());
+    }
+
+    /**
+     * Validates the version of the update payload against the current version of the shadow document.
+     *
+     * @param sourceDocument The current version of the shadow document.
+     * @param updateVersion  The version sent in the update request.
+     * @throws ConflictError                     when the version number sent in the update request is not exactly one
+     *                                           higher than the current shadow version
+     * @throws InvalidRequestParametersException when the shadow does not exist and the version is not 1.
+     */
+    public static void validatePayloadVersion(ShadowDocument sourceDocument, long updateVersion)
+            throws ConflictError, InvalidRequestParametersException {
         // If there is no current version document, then this is the first version of the document and we only need
         // to ensure that if there is a version in the update request, it is 1.
         if (sourceDocument.isNewDocument()) {
-            if (updateVersion.asInt() != 1) {
+            if (updateVersion != 1) {
                 throw new InvalidRequestParametersException(ErrorMessage.INVALID_VERSION_MESSAGE);
             }
             return;
         }
-        if (sourceDocument.getVersion() != updateVersion.asInt()) {
+        if (sourceDocument.getVersion() != updateVersion) {
             throw new ConflictError(ErrorMessage.VERSION_CONFLICT_MESSAGE.getMessage());
         }
     }
@@ -302,6 +422,109 @@ public final class JsonUtil {
         return result;
     }
 
+    /**
+     * Updates the delta between the reported and desired JSON after a patch was merged into them. Only the fields
+     * which the patch touched are compared again, and the delta of all other fields is kept.
+     *
+     * @param delta         The delta node before the patch was merged; or null if there was no delta.
+     * @param reported      The reported JSON object after the patch was merged.
+     * @param desired       The desired JSON object after the patch was merged.
+     * @param reportedPatch The reported node of the patch; or null if the patch did not update the reported JSON.
+     * @param desiredPatch  The desired node of the patch; or null if the patch did not update the desired JSON.
+     * @return the delta node containing the difference between the reported and desired.
+     */
+    public static JsonNode updateDelta(JsonNode delta, ObjectNode reported, ObjectNode desired,
+                                       JsonNode reportedPatch, JsonNode desiredPatch) {
+        final ObjectNode result = updateDelta(delta != null && delta.isObject() ? (ObjectNode) delta : null,
+                reported, desired, reportedPatch, desiredPatch);
+        return result.size() > 0 ? result : null;
+    }
+
+    private static ObjectNode updateDelta(final ObjectNode delta, final ObjectNode reported, final ObjectNode desired,
+                                          final JsonNode reportedPatch, final JsonNode desiredPatch) {
+        // The previous delta is never modified since it may share nodes with the previous desired JSON
+        final ObjectNode result = OBJECT_MAPPER.createObjectNode();
+        if (delta != null) {
+            result.setAll(delta);
+            // The fields of the previous delta are checked again even if the patch did not touch them, since a
+            // reported node which replaced a value no longer matches a delta which was the whole desired value.
+            final Iterator<String> fields = delta.fieldNames();
+            while (fields.hasNext()) {
+                final String field = fields.next();
+                if (!isTouched(desiredPatch, field) && !isTouched(reportedPatch, field)) {
+                    updateDeltaField(result, field, reported, desired, null, null);
+                }
+            }
+        }
+        if (desiredPatch != null && desiredPatch.isObject()) {
+            final Iterator<String> fields = desiredPatch.fieldNames();
+            while (fields.hasNext()) {
+                updateDeltaField(result, fields.next(), reported, desired, reportedPatch, desiredPatch);
+            }
+        }
+        if (reportedPatch != null && reportedPatch.isObject()) {
+            final Iterator<String> fields = reportedPatch.fieldNames();
+            while (fields.hasNext()) {
+                final String field = fields.next();
+                if (!isTouched(desiredPatch, field)) {
+                    updateDeltaField(result, field, reported, desired, reportedPatch, desiredPatch);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isTouched(final JsonNode patch, final String field) {
+        return patch != null && patch.isObject() && patch.has(field);
+    }
+
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "We do check the type before cast.")
+    private static void updateDeltaField(final ObjectNode delta, final String field, final ObjectNode reported,
+                                         final ObjectNode desired, final JsonNode reportedPatch,
+                                         final JsonNode desiredPatch) {
+        final JsonNode reportedValue = reported.get(field);
+        final JsonNode desiredValue = desired.get(field);
+
+        // Same as calculateDelta, which only has the fields of the desired node in the delta.
+        if (desiredValue == null) {
+            delta.remove(field);
+            return;
+        }
+        if (isNullOrMissing(desiredValue)) {
+            if (isNullOrMissing(reportedValue)) {
+                delta.remove(field);
+            } else {
+                delta.set(field, null);
+            }
+            return;
+        }
+        if (isNullOrMissing(reportedValue)) {
+            delta.set(field, desiredValue);
+            return;
+        }
+
+        final JsonNode fieldDelta;
+        if (reportedValue.isObject() && desiredValue.isObject()) {
+            // If the desired object was replaced, then all of its fields were touched. If the reported object
+            // replaced a value, then the previous delta of the field was the whole desired object whose fields are
+            // all checked again. Otherwise the fields which are neither touched nor in the previous delta are still
+            // the same.
+            final JsonNode previousDelta = delta.get(field);
+            final ObjectNode result = updateDelta(previousDelta != null && previousDelta.isObject()
+                            ? (ObjectNode) previousDelta : null, (ObjectNode) reportedValue, (ObjectNode) desiredValue,
+                    reportedPatch == null ? null : reportedPatch.get(field),
+                    desiredPatch == null ? null : desiredPatch.get(field));
+            fieldDelta = result.size() > 0 ? result : null;
+        } else {
+            fieldDelta = calculateDelta(reportedValue, desiredValue);
+        }
+        if (fieldDelta == null) {
+            delta.remove(field);
+        } else {
+            delta.set(field, fieldDelta);
+        }
+    }
+
     public static boolean hasVersion(JsonNode document) {
         return document.has(SHADOW_DOCUMENT_VERSION) && document.get(SHADOW_DOCUMENT_VERSION).isIntegralNumber();
     }
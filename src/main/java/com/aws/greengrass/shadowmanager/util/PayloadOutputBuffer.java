@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.util;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_POOLED_PAYLOAD_BUFFER_SIZE;
+
+/**
+ * Output stream to serialize payloads into, which each thread reuses so that serializing a payload only allocates the
+ * payload itself rather than growing new buffers for every payload.
+ *
+ * <p>A buffer is acquired with {@link #acquire()} and must be released once its content was copied out. A thread which
+ * needs a second buffer while its own is in use, such as when a document is serialized while a message embedding it is
+ * being written, gets a buffer which is not reused.
+ */
+public final class PayloadOutputBuffer extends OutputStream {
+    private static final int INITIAL_SIZE = 4096;
+    private static final ThreadLocal<PayloadOutputBuffer> BUFFERS = ThreadLocal.withInitial(PayloadOutputBuffer::new);
+
+    private byte[] buffer = new byte[INITIAL_SIZE];
+    private int size;
+    private boolean inUse;
+
+    private PayloadOutputBuffer() {
+    }
+
+    /**
+     * Acquires the buffer of the current thread.
+     *
+     * @return an empty buffer
+     */
+    public static PayloadOutputBuffer acquire() {
+        PayloadOutputBuffer outputBuffer = BUFFERS.get();
+        if (outputBuffer.inUse) {
+            outputBuffer = new PayloadOutputBuffer();
+        }
+        outputBuffer.inUse = true;
+        return outputBuffer;
+    }
+
+    /**
+     * Releases the buffer so that it can be reused by the thread. Buffers which grew larger than
+     * {@link com.aws.greengrass.shadowmanager.model.Constants#MAX_POOLED_PAYLOAD_BUFFER_SIZE} are dropped so that a
+     * single large payload does not stay allocated.
+     */
+    public void release() {
+        size = 0;
+        inUse = false;
+        if (buffer.length > MAX_POOLED_PAYLOAD_BUFFER_SIZE) {
+            buffer = new byte[INITIAL_SIZE];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the content of the buffer.
+     *
+     * @return the bytes written to the buffer
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(size + 1);
+        buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(size + len);
+        System.arraycopy(b, off, buffer, size, len);
+        size += len;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+}
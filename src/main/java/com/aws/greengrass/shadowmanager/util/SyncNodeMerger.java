@@ -11,9 +11,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.Map;
 
 import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
 import static com.aws.greengrass.shadowmanager.util.JsonUtil.isNullOrMissing;
@@ -48,8 +47,7 @@ public final class SyncNodeMerger {
         // Check if all the 3 versions are objects. If so, iterate over them and figure out the exact merged value
         // for the object node.
         if (areNodesObjects(local, cloud, base)) {
-            final ObjectNode result = getMergedNode((ObjectNode)local, (ObjectNode)cloud, (ObjectNode)base, owner);
-            return result.size() > 0 ? result : null;
+            return getMergedNode((ObjectNode) local, (ObjectNode) cloud, (ObjectNode) base, owner);
         } else {
             // Check if the local value has changed since the last sync.
             boolean hasLocalChanged = compare(local, base);
@@ -78,18 +76,73 @@ public final class SyncNodeMerger {
      * This function handles the recursion for all the fields in either an ObjectNode to figure out
      * the synchronized merged node.
      *
+     * <p>The fields of the owner's node are merged first and the node is returned as is if every merged field is
+     * the owner's own value and the other node has no additional fields. A new node is only created once a merged
+     * field differs from the owner's value, so unchanged subtrees are reused by reference instead of being copied.
+     *
      * @param local The current local document.
      * @param cloud The current cloud document.
      * @param base  The last synced document.
      * @param owner The data owner which is used during conflict resolution.
-     * @return The correct synchronized merge node.
+     * @return The correct synchronized merge node; or null if the merged node has no fields.
+     */
+    private static JsonNode getMergedNode(ObjectNode local, ObjectNode cloud, ObjectNode base, DataOwner owner) {
+        final ObjectNode primary = (ObjectNode) chooseOwnerValue(local, cloud, owner);
+        final ObjectNode secondary = primary == local ? cloud : local;
+        ObjectNode result = null;
+        int unchangedFields = 0;
+
+        final Iterator<Map.Entry<String, JsonNode>> primaryFields = primary.fields();
+        while (primaryFields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = primaryFields.next();
+            final JsonNode mergedResult = getMergedField(local, cloud, base, owner, field.getKey());
+            if (result == null) {
+                if (mergedResult == field.getValue()) {
+                    unchangedFields++;
+                    continue;
+                }
+                result = copyFields(primary, unchangedFields);
+            }
+            result.set(field.getKey(), mergedResult);
+        }
+
+        final Iterator<String> secondaryFields = secondary.fieldNames();
+        while (secondaryFields.hasNext()) {
+            final String field = secondaryFields.next();
+            if (primary.has(field)) {
+                continue;
+            }
+            if (result == null) {
+                result = copyFields(primary, unchangedFields);
+            }
+            result.set(field, getMergedField(local, cloud, base, owner, field));
+        }
+
+        if (result == null) {
+            return primary.size() > 0 ? primary : null;
+        }
+        return result.size() > 0 ? result : null;
+    }
+
+    private static JsonNode getMergedField(ObjectNode local, ObjectNode cloud, ObjectNode base, DataOwner owner,
+                                           String field) {
+        return getMergedNode(local.get(field), cloud.get(field), base.get(field), owner);
+    }
+
+    /**
+     * Creates a new object node with the first fields of the source node.
+     *
+     * @param source The node to copy the fields from.
+     * @param count  The number of fields to copy.
+     * @return the new object node.
      */
-    private static ObjectNode getMergedNode(ObjectNode local, ObjectNode cloud, ObjectNode base,
-                                            DataOwner owner) {
-        ObjectNode result = OBJECT_MAPPER.createObjectNode();
-        final HashSet<String> visited = new HashSet<>();
-        iterateOverAllUnvisitedFields(local, cloud, base, owner, result, visited, local.fieldNames());
-        iterateOverAllUnvisitedFields(local, cloud, base, owner, result, visited, cloud.fieldNames());
+    private static ObjectNode copyFields(ObjectNode source, int count) {
+        final ObjectNode result = OBJECT_MAPPER.createObjectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+        for (int i = 0; i < count && fields.hasNext(); i++) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            result.set(field.getKey(), field.getValue());
+        }
         return result;
     }
 
@@ -119,36 +172,6 @@ public final class SyncNodeMerger {
         return hasChanged;
     }
 
-    /**
-     * Iterates over all the unvisited nodes and gets the correct synchronized node for all the nodes.
-     *
-     * @param local   The current local document.
-     * @param cloud   The current cloud document.
-     * @param base    The last synced document.
-     * @param owner   The data owner which is used during conflict resolution.
-     * @param result  The result synchronized merged node.
-     * @param visited The set of visited nodes.
-     * @param fields  The field names iterator.
-     */
-    private static void iterateOverAllUnvisitedFields(JsonNode local, JsonNode cloud, JsonNode base,
-                                                      DataOwner owner, JsonNode result,
-                                                      Set<String> visited, Iterator<String> fields) {
-        while (fields.hasNext()) {
-            final String field = fields.next();
-            if (visited.contains(field)) {
-                continue;
-            }
-            final JsonNode localValue = local.get(field);
-            final JsonNode cloudValue = cloud.get(field);
-            final JsonNode baseValue = base.get(field);
-            JsonNode mergedResult = getMergedNode(localValue, cloudValue, baseValue, owner);
-            ((ObjectNode) result).set(field, mergedResult);
-            if (mergedResult == null) {
-                visited.add(field);
-            }
-        }
-    }
-
     /**
      * Resolves the conflict based on the owner.
      *
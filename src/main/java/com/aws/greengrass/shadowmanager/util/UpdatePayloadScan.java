@@ -0,0 +1,209 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.util;
+
+import com.aws.greengrass.shadowmanager.exception.InvalidRequestParametersException;
+import com.aws.greengrass.shadowmanager.model.ErrorMessage;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_DOCUMENT_STATE_DEPTH;
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_UPDATE_PAYLOAD_SIZE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_CLIENT_TOKEN;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DELTA;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DESIRED;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_VERSION;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.MAX_CLIENT_TOKEN_LENGTH;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+
+/**
+ * The result of reading an update payload once, as a stream of tokens, before it is parsed into a JSON tree.
+ *
+ * <p>The scan checks the payload size, the shape of the update payload schema and the depth of the reported and desired
+ * state, and picks up the clientToken and version on the way. A payload which is known to match the schema does not
+ * need to go through the schema library, and one which is too deep is rejected without building its tree. Anything
+ * the scan cannot vouch for, such as a payload with duplicate fields, is left to the schema library so that the error
+ * message explains what is wrong with the payload.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UpdatePayloadScan {
+    private static final UpdatePayloadScan UNMATCHED = new UpdatePayloadScan(false, false, Optional.empty(),
+            OptionalLong.empty());
+
+    /**
+     * Whether the payload is known to match the update payload schema once the delta is dropped.
+     */
+    private final boolean matchingSchema;
+    private final boolean tooDeep;
+    private final Optional<String> clientToken;
+    private final OptionalLong version;
+
+    /**
+     * Scans the update payload.
+     *
+     * @param payload the update payload.
+     * @return the result of the scan.
+     * @throws InvalidRequestParametersException if the payload is too large.
+     * @throws IOException                       if the payload cannot be read.
+     */
+    public static UpdatePayloadScan of(byte[] payload) throws IOException {
+        if (payload.length > MAX_UPDATE_PAYLOAD_SIZE) {
+            throw new InvalidRequestParametersException(ErrorMessage.PAYLOAD_TOO_LARGE_MESSAGE);
+        }
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(payload)) {
+            // the JSON tree keeps the last of duplicate fields, which the scan would have to track for every node
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            return scan(parser);
+        } catch (JsonParseException e) {
+            // malformed JSON or duplicate fields, which are reported when the payload is parsed into a tree
+            return UNMATCHED;
+        }
+    }
+
+    /**
+     * Scans an update payload which is already parsed, such as one of the updates of a batch, so that it is validated
+     * the same way as a payload which is not. The size of the payload is not checked, since it is only known once it
+     * is serialized.
+     *
+     * @param payload the update payload, or null if it is missing.
+     * @return the result of the scan.
+     * @throws IOException if the payload cannot be read.
+     */
+    public static UpdatePayloadScan of(JsonNode payload) throws IOException {
+        if (payload == null) {
+            return UNMATCHED;
+        }
+        try (JsonParser parser = payload.traverse(OBJECT_MAPPER)) {
+            return scan(parser);
+        }
+    }
+
+    /**
+     * Rejects the payload if the reported or desired state is deeper than the max depth for shadows (6).
+     *
+     * @throws InvalidRequestParametersException when the state node has depth more than the max
+     */
+    public void validateStateDepth() throws InvalidRequestParametersException {
+        if (tooDeep) {
+            throw new InvalidRequestParametersException(ErrorMessage.INVALID_STATE_NODE_DEPTH_MESSAGE);
+        }
+    }
+
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private static UpdatePayloadScan scan(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return UNMATCHED;
+        }
+        boolean matching = true;
+        boolean hasState = false;
+        boolean tooDeep = false;
+        String clientToken = null;
+        Long version = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (SHADOW_DOCUMENT_CLIENT_TOKEN.equals(fieldName)) {
+                if (value == JsonToken.VALUE_STRING && parser.getTextLength() <= MAX_CLIENT_TOKEN_LENGTH) {
+                    clientToken = parser.getText();
+                } else {
+                    matching = false;
+                }
+            } else if (SHADOW_DOCUMENT_VERSION.equals(fieldName)) {
+                if (value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER
+                        && parser.getLongValue() >= 0) {
+                    version = parser.getLongValue();
+                } else {
+                    matching = false;
+                }
+            } else if (SHADOW_DOCUMENT_STATE.equals(fieldName)) {
+                hasState = true;
+                if (value == JsonToken.START_OBJECT) {
+                    StateScan state = scanState(parser);
+                    matching &= state.matching;
+                    tooDeep = state.tooDeep;
+                } else if (value != JsonToken.VALUE_NULL) {
+                    matching = false;
+                }
+            }
+            parser.skipChildren();
+        }
+        if (!matching || !hasState) {
+            return UNMATCHED;
+        }
+        return new UpdatePayloadScan(true, tooDeep, Optional.ofNullable(clientToken),
+                version == null ? OptionalLong.empty() : OptionalLong.of(version));
+    }
+
+    /**
+     * Scans the fields of the state node, leaving the parser at the end of the node.
+     */
+    private static StateScan scanState(JsonParser parser) throws IOException {
+        StateScan state = new StateScan();
+        boolean hasReportedOrDesired = false;
+        boolean hasOtherFields = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (SHADOW_DOCUMENT_STATE_REPORTED.equals(fieldName) || SHADOW_DOCUMENT_STATE_DESIRED.equals(fieldName)) {
+                hasReportedOrDesired = true;
+                if (value == JsonToken.START_OBJECT) {
+                    state.tooDeep |= exceedsMaxDepth(parser);
+                } else if (value != JsonToken.VALUE_NULL) {
+                    state.matching = false;
+                }
+            } else if (!SHADOW_DOCUMENT_STATE_DELTA.equals(fieldName)) {
+                // the delta is dropped from the update, so neither its value nor its presence matter
+                hasOtherFields = true;
+            }
+            parser.skipChildren();
+        }
+        // a state with properties needs to have either a reported or a desired node
+        state.matching &= hasReportedOrDesired || !hasOtherFields;
+        return state;
+    }
+
+    /**
+     * Reads a reported or desired node, leaving the parser at the end of the node. The node itself is at depth 1, and
+     * only a container with children counts towards the depth.
+     */
+    private static boolean exceedsMaxDepth(JsonParser parser) throws IOException {
+        boolean tooDeep = false;
+        int depth = 1;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                break;
+            }
+            if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                depth--;
+            } else if (token != JsonToken.FIELD_NAME) {
+                // any value is a child of the container at the current depth
+                tooDeep |= depth > DEFAULT_DOCUMENT_STATE_DEPTH;
+                if (token.isStructStart()) {
+                    depth++;
+                }
+            }
+        }
+        return tooDeep;
+    }
+
+    private static class StateScan {
+        private boolean matching = true;
+        private boolean tooDeep;
+    }
+}
@@ -130,6 +130,20 @@ public final class Validator {
         }
     }
 
+    /**
+     * Validates the maximum number of inbound shadow requests allowed at once is within the appropriate limits.
+     *
+     * @param maxLocalRequestBurst The new max number of local shadow requests allowed at once
+     * @throws InvalidConfigurationException if the new local shadow requests burst is less than 1.
+     */
+    public static void validateLocalRequestBurst(int maxLocalRequestBurst) {
+        if (maxLocalRequestBurst <= 0) {
+            throw new InvalidConfigurationException(String.format(
+                    "Maximum local shadow requests burst provided %d is invalid. It should be greater than 0.",
+                    maxLocalRequestBurst));
+        }
+    }
+
     /**
      * Validate that a shadow size does not exceed the maximum.
      * @param size size of shadow
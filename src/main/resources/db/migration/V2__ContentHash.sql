@@ -0,0 +1,3 @@
+ALTER TABLE documents ADD COLUMN contentHash VARCHAR(64);
+
+ALTER TABLE sync ADD COLUMN lastSyncedDocumentHash VARCHAR(64);
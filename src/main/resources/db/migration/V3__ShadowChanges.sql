@@ -0,0 +1,11 @@
+CREATE TABLE changes (
+    sequenceNumber BIGINT AUTO_INCREMENT PRIMARY KEY,
+    thingName VARCHAR(255) NOT NULL,
+    shadowName VARCHAR(255) NOT NULL,
+    operation VARCHAR(16) NOT NULL,
+    version NUMBER,
+    updateTime NUMBER
+);
+
+-- Finds the changes of a shadow, so that only the latest change of each shadow is kept in the change log.
+CREATE INDEX changes_shadow ON changes (thingName, shadowName);
@@ -0,0 +1,2 @@
+-- Lists the live named shadows of a thing in name order without reading the documents themselves.
+CREATE INDEX documents_live_shadows ON documents (thingName, deleted, shadowName);
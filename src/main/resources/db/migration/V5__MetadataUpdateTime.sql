@@ -0,0 +1,2 @@
+-- The latest timestamp in the metadata of the shadow document, so that it is known without walking the metadata.
+ALTER TABLE documents ADD COLUMN metadataUpdateTime NUMBER;
@@ -0,0 +1,2 @@
+-- The delta between the desired and reported state of the shadow document, so that it is not calculated on each read.
+ALTER TABLE documents ADD COLUMN delta TEXT;
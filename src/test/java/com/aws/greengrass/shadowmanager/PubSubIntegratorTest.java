@@ -53,10 +53,12 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMostOnce;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -359,4 +361,44 @@ class PubSubIntegratorTest {
         assertDoesNotThrow(() -> integrator.extractShadowFromTopic("$aws/things/" + MOCK_THING + "/shadow" + shadowPrefix + "/delete"));
         assertDoesNotThrow(() -> integrator.extractShadowFromTopic("$aws/things/" + MOCK_THING + "/shadow" + shadowPrefix + "/update"));
     }
+
+    @Test
+    void GIVEN_batch_get_message_WHEN_accept_THEN_calls_batch_get_handler_with_thing_of_topic() {
+        doNothing().when(mockPubSubClientWrapper).subscribe(publishEventCaptor.capture());
+        PubSubIntegrator integrator = new PubSubIntegrator(mockPubSubClientWrapper, mockDeleteThingShadowRequestHandler,
+                mockUpdateThingShadowRequestHandler, mockGetThingShadowRequestHandler);
+        integrator.subscribe();
+
+        publishEventCaptor.getValue().accept(PublishEvent.builder().topic("$aws/things/" + MOCK_THING + "/shadow/batch/get").payload(PAYLOAD).build());
+
+        verify(mockGetThingShadowRequestHandler, times(1)).handleBatchRequest(MOCK_THING, PAYLOAD, SHADOW_MANAGER_NAME);
+        verify(mockGetThingShadowRequestHandler, never()).handleRequest(any(GetThingShadowRequest.class), any());
+    }
+
+    @Test
+    void GIVEN_batch_response_topic_WHEN_isResponseMessage_THEN_returns_true() {
+        PubSubIntegrator integrator = new PubSubIntegrator(mockPubSubClientWrapper, mockDeleteThingShadowRequestHandler,
+                mockUpdateThingShadowRequestHandler, mockGetThingShadowRequestHandler);
+
+        assertTrue(integrator.isResponseMessage("$aws/things/" + MOCK_THING + "/shadow/batch/get/accepted"));
+        assertTrue(integrator.isResponseMessage("$aws/things/" + MOCK_THING + "/shadow/batch/get/rejected"));
+        assertTrue(integrator.isResponseMessage("$aws/things/" + MOCK_THING + "/shadow/batch/update/accepted"));
+        assertTrue(integrator.isResponseMessage("$aws/things/" + MOCK_THING + "/shadow/batch/update/rejected"));
+        assertFalse(integrator.isResponseMessage("$aws/things/" + MOCK_THING + "/shadow/batch/get"));
+        assertFalse(integrator.isResponseMessage("$aws/things/" + MOCK_THING + "/shadow/batch/update"));
+    }
+
+    @Test
+    void GIVEN_batch_update_message_WHEN_accept_THEN_calls_batch_update_handler_with_thing_of_topic() {
+        doNothing().when(mockPubSubClientWrapper).subscribe(publishEventCaptor.capture());
+        PubSubIntegrator integrator = new PubSubIntegrator(mockPubSubClientWrapper, mockDeleteThingShadowRequestHandler,
+                mockUpdateThingShadowRequestHandler, mockGetThingShadowRequestHandler);
+        integrator.subscribe();
+
+        publishEventCaptor.getValue().accept(PublishEvent.builder().topic("$aws/things/" + MOCK_THING + "/shadow/batch/update").payload(PAYLOAD).build());
+
+        verify(mockUpdateThingShadowRequestHandler, times(1)).handleBatchRequest(MOCK_THING, PAYLOAD, SHADOW_MANAGER_NAME);
+        verify(mockUpdateThingShadowRequestHandler, never()).handleRequest(any(UpdateThingShadowRequest.class), any());
+        verify(mockGetThingShadowRequestHandler, never()).handleBatchRequest(any(), any(), any());
+    }
 }
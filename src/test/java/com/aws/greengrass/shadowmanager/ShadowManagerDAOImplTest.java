@@ -7,6 +7,8 @@ package com.aws.greengrass.shadowmanager;
 
 import com.aws.greengrass.shadowmanager.exception.ShadowManagerDataException;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowChange;
+import com.aws.greengrass.shadowmanager.model.dao.ShadowThingUpdate;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
@@ -26,12 +28,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
@@ -39,13 +43,22 @@ import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
@@ -66,6 +79,12 @@ class ShadowManagerDAOImplTest {
     @Mock
     private PreparedStatement mockPreparedStatement;
 
+    @Mock
+    private PreparedStatement mockChangePreparedStatement;
+
+    @Mock
+    private PreparedStatement mockChangeCompactPreparedStatement;
+
     @Mock
     private ResultSet mockResultSet;
 
@@ -83,12 +102,26 @@ class ShadowManagerDAOImplTest {
     @BeforeEach
     void setup() throws SQLException, IOException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        lenient().when(mockConnection.prepareStatement(startsWith("INSERT INTO changes")))
+                .thenReturn(mockChangePreparedStatement);
+        lenient().when(mockConnection.prepareStatement(startsWith("DELETE FROM changes WHERE thingName")))
+                .thenReturn(mockChangeCompactPreparedStatement);
         when(mockDatabase.getPool()).thenReturn(mockPool);
         when(mockPool.getConnection()).thenReturn(mockConnection);
         when(mockDatabase.isInitialized()).thenReturn(true);
         JsonUtil.loadSchema();
     }
 
+    private static ShadowThingUpdate shadowThingUpdate(String thingName, String shadowName, byte[] document,
+                                                       long version) {
+        return ShadowThingUpdate.builder()
+                .thingName(thingName)
+                .shadowName(shadowName)
+                .document(document)
+                .version(version)
+                .build();
+    }
+
     private void assertUpdateShadowStatementMocks(long epochNow) {
         assertThat(stringArgumentCaptor.getAllValues().size(), is(2));
         assertThat(longArgumentCaptor.getAllValues().size(), is(2));
@@ -145,17 +178,17 @@ class ShadowManagerDAOImplTest {
     }
 
     private void assertListShadowStatementMocks() {
-        assertThat(integerArgumentCaptor.getAllValues().size(), is(2));
-        assertThat(stringArgumentCaptor.getValue(), is(notNullValue()));
+        assertThat(stringArgumentCaptor.getAllValues().size(), is(2));
+        assertThat(integerArgumentCaptor.getAllValues().size(), is(1));
 
-        assertThat(stringArgumentCaptor.getValue(), is(THING_NAME));
-        assertThat(integerArgumentCaptor.getAllValues().get(0), is(10));
-        assertThat(integerArgumentCaptor.getAllValues().get(1), is(10));
+        assertThat(stringArgumentCaptor.getAllValues().get(0), is(THING_NAME));
+        assertThat(stringArgumentCaptor.getAllValues().get(1), is(SHADOW_NAME));
+        assertThat(integerArgumentCaptor.getValue(), is(10));
     }
 
     private void setupListShadowStatementMocks() throws SQLException {
         doNothing().when(mockPreparedStatement).setString(eq(1), stringArgumentCaptor.capture());
-        doNothing().when(mockPreparedStatement).setInt(eq(2), integerArgumentCaptor.capture());
+        doNothing().when(mockPreparedStatement).setString(eq(2), stringArgumentCaptor.capture());
         doNothing().when(mockPreparedStatement).setInt(eq(3), integerArgumentCaptor.capture());
     }
 
@@ -206,8 +239,8 @@ class ShadowManagerDAOImplTest {
         doNothing().when(mockPreparedStatement).setLong(eq(6), longArgumentCaptor.capture());
         doNothing().when(mockPreparedStatement).setLong(eq(7), longArgumentCaptor.capture());
         doNothing().when(mockPreparedStatement).setLong(eq(8), longArgumentCaptor.capture());
-        doNothing().when(mockPreparedStatement).setString(eq(9), stringArgumentCaptor.capture());
         doNothing().when(mockPreparedStatement).setString(eq(10), stringArgumentCaptor.capture());
+        doNothing().when(mockPreparedStatement).setString(eq(11), stringArgumentCaptor.capture());
     }
 
     private void assertInsertShadowSyncStatementMocks() {
@@ -235,7 +268,7 @@ class ShadowManagerDAOImplTest {
 
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
         ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
-        Optional<byte[]> updatedShadow = impl.updateShadowThing(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1);
+        Optional<byte[]> updatedShadow = impl.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
         assertThat(updatedShadow, is(notNullValue()));
         assertThat(updatedShadow.get(), is(BASE_DOCUMENT));
 
@@ -249,7 +282,7 @@ class ShadowManagerDAOImplTest {
 
         when(mockPreparedStatement.executeUpdate()).thenReturn(0);
         ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
-        Optional<byte[]> updatedShadow = impl.updateShadowThing(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1);
+        Optional<byte[]> updatedShadow = impl.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
         assertThat(updatedShadow, is(Optional.empty()));
 
         assertUpdateShadowStatementMocks(epochNow);
@@ -262,10 +295,39 @@ class ShadowManagerDAOImplTest {
 
         when(mockPreparedStatement.executeUpdate()).thenThrow(SQLException.class);
         ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
-        assertThrows(ShadowManagerDataException.class, () -> impl.updateShadowThing(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
+        assertThrows(ShadowManagerDataException.class, () -> impl.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1)));
         assertUpdateShadowStatementMocks(epochNow);
     }
 
+    @Test
+    void GIVEN_updated_shadow_document_WHEN_updateShadowThing_THEN_change_is_recorded_in_same_transaction() throws SQLException {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockChangePreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        impl.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
+
+        verify(mockChangePreparedStatement, times(1)).setString(1, THING_NAME);
+        verify(mockChangePreparedStatement, times(1)).setString(2, SHADOW_NAME);
+        verify(mockChangePreparedStatement, times(1)).setString(3, ShadowChange.Operation.UPDATE.name());
+        verify(mockChangePreparedStatement, times(1)).setLong(4, 1L);
+        verify(mockChangePreparedStatement, times(1)).executeUpdate();
+        verify(mockChangeCompactPreparedStatement, times(1)).setString(1, THING_NAME);
+        verify(mockChangeCompactPreparedStatement, times(1)).setString(2, SHADOW_NAME);
+        verify(mockChangeCompactPreparedStatement, times(1)).executeUpdate();
+        verify(mockPool, times(1)).getConnection();
+        verify(mockConnection, times(1)).commit();
+    }
+
+    @Test
+    void GIVEN_updated_shadow_document_WHEN_updateShadowThing_and_h2_returns_0_rows_updated_THEN_change_is_not_recorded() throws SQLException {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        impl.updateShadowThing(shadowThingUpdate(THING_NAME, SHADOW_NAME, BASE_DOCUMENT, 1));
+
+        verify(mockChangeCompactPreparedStatement, never()).executeUpdate();
+        verify(mockChangePreparedStatement, never()).executeUpdate();
+    }
+
     @Test
     void GIVEN_existing_shadow_WHEN_getShadowThing_THEN_returns_shadow_document() throws SQLException, IOException {
         setupGetShadowStatementMocks();
@@ -318,6 +380,25 @@ class ShadowManagerDAOImplTest {
         assertDeleteShadowStatementMocks(epochNow);
     }
 
+    @Test
+    void GIVEN_existing_shadow_WHEN_deleteShadowThing_THEN_change_is_recorded_in_same_transaction() throws SQLException {
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getBytes(1)).thenReturn(BASE_DOCUMENT);
+        when(mockResultSet.getLong(2)).thenReturn(1L);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockChangePreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        impl.deleteShadowThing(THING_NAME, SHADOW_NAME);
+
+        verify(mockChangePreparedStatement, times(1)).setString(3, ShadowChange.Operation.DELETE.name());
+        verify(mockChangePreparedStatement, times(1)).setLong(4, 2L);
+        verify(mockChangePreparedStatement, times(1)).executeUpdate();
+        verify(mockChangeCompactPreparedStatement, times(1)).executeUpdate();
+        verify(mockPool, times(1)).getConnection();
+        verify(mockConnection, times(1)).commit();
+    }
+
     @Test
     void GIVEN_existing_shadow_WHEN_deleteShadowThing_and_h2_returns_0_rows_deleted_THEN_returns_empty_optional() throws SQLException {
         long epochNow = Instant.now().getEpochSecond();
@@ -364,7 +445,7 @@ class ShadowManagerDAOImplTest {
         });
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
-        List<String> results = impl.listNamedShadowsForThing(THING_NAME, 10, 10);
+        List<String> results = impl.listNamedShadowsForThing(THING_NAME, SHADOW_NAME, 10);
 
         assertThat(results.toArray(), is(arrayContaining("SomeShadow-1", "SomeShadow-2", "SomeShadow-3", "SomeShadow-4", "SomeShadow-5", "SomeShadow-6", "SomeShadow-7", "SomeShadow-8", "SomeShadow-9", "SomeShadow-10")));
         assertListShadowStatementMocks();
@@ -376,7 +457,7 @@ class ShadowManagerDAOImplTest {
         when(mockResultSet.next()).thenReturn(false);
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
-        List<String> results = impl.listNamedShadowsForThing(THING_NAME, 10, 10);
+        List<String> results = impl.listNamedShadowsForThing(THING_NAME, SHADOW_NAME, 10);
 
         assertThat(results.size(), is(0));
         assertListShadowStatementMocks();
@@ -389,7 +470,7 @@ class ShadowManagerDAOImplTest {
 
         when(mockPreparedStatement.executeQuery()).thenThrow(SQLException.class);
         ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
-        assertThrows(ShadowManagerDataException.class, () -> impl.listNamedShadowsForThing(THING_NAME, 10, 10));
+        assertThrows(ShadowManagerDataException.class, () -> impl.listNamedShadowsForThing(THING_NAME, SHADOW_NAME, 10));
         assertListShadowStatementMocks();
     }
 
@@ -731,4 +812,114 @@ class ShadowManagerDAOImplTest {
         assertThat(stringArgumentCaptor.getAllValues().get(0), is(THING_NAME));
         assertThat(stringArgumentCaptor.getAllValues().get(1), is(SHADOW_NAME));
     }
+
+    @Test
+    void GIVEN_unit_of_work_WHEN_executeInTransaction_THEN_all_statements_share_one_committed_connection() throws SQLException {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+
+        boolean result = impl.executeInTransaction(() -> {
+            impl.deleteSyncInformation(THING_NAME, SHADOW_NAME);
+            return impl.deleteSyncInformation(THING_NAME, SHADOW_NAME);
+        });
+
+        assertTrue(result);
+        verify(mockPool, times(1)).getConnection();
+        verify(mockConnection, times(1)).setAutoCommit(false);
+        verify(mockConnection, times(1)).commit();
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection, times(1)).setAutoCommit(true);
+    }
+
+    @Test
+    void GIVEN_unit_of_work_throws_WHEN_executeInTransaction_THEN_transaction_is_rolled_back() throws SQLException {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+
+        assertThrows(IOException.class, () -> impl.executeInTransaction(() -> {
+            impl.deleteSyncInformation(THING_NAME, SHADOW_NAME);
+            throw new IOException();
+        }));
+
+        verify(mockConnection, never()).commit();
+        verify(mockConnection, times(1)).rollback();
+        verify(mockConnection, times(1)).setAutoCommit(true);
+    }
+
+    @Test
+    void GIVEN_unit_of_work_throws_and_rollback_fails_WHEN_executeInTransaction_THEN_rollback_failure_suppressed() throws SQLException {
+        SQLException rollbackException = new SQLException("rollback");
+        SQLException autoCommitException = new SQLException("autoCommit");
+        doThrow(rollbackException).when(mockConnection).rollback();
+        doNothing().doThrow(autoCommitException).when(mockConnection).setAutoCommit(anyBoolean());
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        IOException unitOfWorkException = new IOException();
+
+        IOException thrown = assertThrows(IOException.class, () -> impl.executeInTransaction(() -> {
+            impl.deleteSyncInformation(THING_NAME, SHADOW_NAME);
+            throw unitOfWorkException;
+        }));
+
+        assertThat(thrown, is(sameInstance(unitOfWorkException)));
+        assertThat(thrown.getSuppressed(), is(arrayContaining(rollbackException, autoCommitException)));
+        verify(mockConnection, times(1)).setAutoCommit(true);
+    }
+
+    @Test
+    void GIVEN_action_registered_in_transaction_WHEN_executeInTransaction_THEN_action_runs_after_commit() throws SQLException {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        List<String> events = new ArrayList<>();
+        doAnswer(invocation -> {
+            events.add("commit");
+            return null;
+        }).when(mockConnection).commit();
+
+        impl.executeInTransaction(() -> {
+            impl.afterCommit(() -> events.add("action"));
+            events.add("work");
+            return impl.deleteSyncInformation(THING_NAME, SHADOW_NAME);
+        });
+
+        assertThat(events, contains("work", "commit", "action"));
+    }
+
+    @Test
+    void GIVEN_action_registered_in_transaction_WHEN_transaction_rolled_back_THEN_action_discarded() throws SQLException {
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        List<String> events = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> impl.executeInTransaction(() -> {
+            impl.afterCommit(() -> events.add("action"));
+            impl.deleteSyncInformation(THING_NAME, SHADOW_NAME);
+            throw new IOException();
+        }));
+        impl.afterCommit(() -> events.add("later action"));
+
+        assertThat(events, contains("later action"));
+    }
+
+    @Test
+    void GIVEN_recorded_changes_WHEN_getShadowChangesSince_THEN_returns_changes() throws SQLException {
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getLong(1)).thenReturn(6L, 7L);
+        when(mockResultSet.getString(2)).thenReturn(THING_NAME);
+        when(mockResultSet.getString(3)).thenReturn(SHADOW_NAME);
+        when(mockResultSet.getString(4)).thenReturn("UPDATE", "DELETE");
+        when(mockResultSet.getLong(5)).thenReturn(1L, 2L);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        ShadowManagerDAOImpl impl = new ShadowManagerDAOImpl(mockDatabase);
+        List<ShadowChange> changes = impl.getShadowChangesSince(5, 10);
+
+        assertThat(changes.size(), is(2));
+        assertThat(changes.get(0).getSequenceNumber(), is(6L));
+        assertThat(changes.get(0).getOperation(), is(ShadowChange.Operation.UPDATE));
+        assertThat(changes.get(1).getSequenceNumber(), is(7L));
+        assertThat(changes.get(1).getOperation(), is(ShadowChange.Operation.DELETE));
+        assertThat(changes.get(1).getVersion(), is(2L));
+        verify(mockPreparedStatement, times(1)).setLong(1, 5L);
+        verify(mockPreparedStatement, times(1)).setInt(2, 10);
+    }
 }
@@ -23,8 +23,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
 
 import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURATION_CONFIG_KEY;
+import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_LOCAL_REQUESTS_BURST_PER_THING_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_LOCAL_REQUESTS_RATE_PER_THING_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_OUTBOUND_UPDATES_PS_TOPIC;
+import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_BURST;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_RATE;
 import static com.aws.greengrass.shadowmanager.model.Constants.CONFIGURATION_RATE_LIMITS_TOPIC;
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_LOCAL_REQUESTS_RATE;
@@ -124,5 +126,32 @@ class RateLimitConfigurationTest extends GGServiceTestUtil {
                 CONFIGURATION_MAX_OUTBOUND_UPDATES_PS_TOPIC).withValue(-1);
         assertThrows(InvalidConfigurationException.class, () -> RateLimitsConfiguration.from(configurationTopics));
     }
-}
 
+    @Test
+    public void GIVEN_no_burst_configured_WHEN_get_bursts_THEN_return_rates() {
+        configurationTopics.lookup(CONFIGURATION_RATE_LIMITS_TOPIC,
+                CONFIGURATION_MAX_LOCAL_REQUESTS_RATE_PER_THING_TOPIC).withValue(RATE_LIMIT);
+        RateLimitsConfiguration rateLimitsConfiguration = RateLimitsConfiguration.from(configurationTopics);
+        assertThat(rateLimitsConfiguration.getMaxLocalRequestBurstPerThing(), is(RATE_LIMIT));
+        assertThat(rateLimitsConfiguration.getMaxTotalLocalRequestBurst(), is(DEFAULT_TOTAL_LOCAL_REQUESTS_RATE));
+    }
+
+    @Test
+    public void GIVEN_good_bursts_WHEN_get_bursts_THEN_return_from_config() {
+        configurationTopics.lookup(CONFIGURATION_RATE_LIMITS_TOPIC,
+                CONFIGURATION_MAX_LOCAL_REQUESTS_BURST_PER_THING_TOPIC).withValue(5);
+        configurationTopics.lookup(CONFIGURATION_RATE_LIMITS_TOPIC,
+                CONFIGURATION_MAX_TOTAL_LOCAL_REQUESTS_BURST).withValue(RATE_LIMIT);
+        RateLimitsConfiguration rateLimitsConfiguration = RateLimitsConfiguration.from(configurationTopics);
+        assertThat(rateLimitsConfiguration.getMaxLocalRequestBurstPerThing(), is(5));
+        assertThat(rateLimitsConfiguration.getMaxTotalLocalRequestBurst(), is(RATE_LIMIT));
+    }
+
+    @Test
+    public void GIVEN_bad_burst_WHEN_from_THEN_throws_invalid_configuration(ExtensionContext extensionContext) {
+        ignoreExceptionOfType(extensionContext, InvalidConfigurationException.class);
+        configurationTopics.lookup(CONFIGURATION_RATE_LIMITS_TOPIC,
+                CONFIGURATION_MAX_LOCAL_REQUESTS_BURST_PER_THING_TOPIC).withValue(0);
+        assertThrows(InvalidConfigurationException.class, () -> RateLimitsConfiguration.from(configurationTopics));
+    }
+}
@@ -8,10 +8,14 @@ package com.aws.greengrass.shadowmanager.ipc;
 import com.aws.greengrass.authorization.AuthorizationHandler;
 import com.aws.greengrass.authorization.Permission;
 import com.aws.greengrass.authorization.exceptions.AuthorizationException;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.Context;
 import com.aws.greengrass.shadowmanager.AuthorizationHandlerWrapper;
 import com.aws.greengrass.shadowmanager.ShadowManager;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -20,10 +24,15 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURATION_CONFIG_KEY;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.ACCESS_CONTROL_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
 import static com.aws.greengrass.shadowmanager.TestUtils.SAMPLE_EXCEPTION_MESSAGE;
 import static com.aws.greengrass.shadowmanager.TestUtils.SHADOW_NAME;
 import static com.aws.greengrass.shadowmanager.TestUtils.TEST_SERVICE;
@@ -36,6 +45,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
@@ -47,12 +58,26 @@ public class AuthorizationHandlerWrapperTest {
     @Mock
     AuthorizationHandler mockAuthorizationHandler;
 
+    private Context context;
+    private Topics servicesTopics;
+
+    @BeforeEach
+    void setup() {
+        context = new Context();
+        servicesTopics = Topics.of(context, SERVICES_NAMESPACE_TOPIC, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        context.close();
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     @ValueSource(strings = {SHADOW_NAME})
     void GIVEN_valid_authorization_WHEN_do_authorization_THEN_do_nothing(String shadowName) throws AuthorizationException {
         when(mockAuthorizationHandler.isAuthorized(any(), any(Permission.class))).thenReturn(true);
-        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
         ShadowRequest shadowRequest = new ShadowRequest(THING_NAME, shadowName);
 
         assertDoesNotThrow(() -> authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest));
@@ -64,7 +89,7 @@ public class AuthorizationHandlerWrapperTest {
     void GIVEN_invalid_authorization_WHEN_do_authorization_THEN_throw_authorization_exception(String shadowName) throws AuthorizationException {
         when(mockAuthorizationHandler.isAuthorized(any(), any(Permission.class)))
                 .thenThrow(new AuthorizationException(SAMPLE_EXCEPTION_MESSAGE));
-        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
         ShadowRequest shadowRequest = new ShadowRequest(THING_NAME, shadowName);
 
         AuthorizationException thrown = assertThrows(AuthorizationException.class,
@@ -76,7 +101,7 @@ public class AuthorizationHandlerWrapperTest {
     @Test
     void GIVEN_valid_component_registration_WHEN_register_component_THEN_throw_do_nothing() throws AuthorizationException {
         doNothing().when(mockAuthorizationHandler).registerComponent(any(), any());
-        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
 
         assertDoesNotThrow(() -> authorizationHandlerWrapper.registerComponent(TEST_SERVICE, TEST_OPERATIONS_SET));
     }
@@ -84,7 +109,7 @@ public class AuthorizationHandlerWrapperTest {
     @Test
     void GIVEN_invalid_component_registration_WHEN_register_component_THEN_throw_authorization_exception() throws AuthorizationException {
         doThrow(new AuthorizationException(SAMPLE_EXCEPTION_MESSAGE)).when(mockAuthorizationHandler).registerComponent(any(), any());
-        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
         AuthorizationException thrown = assertThrows(AuthorizationException.class,
                 () -> authorizationHandlerWrapper.registerComponent(TEST_SERVICE, TEST_OPERATIONS_SET));
 
@@ -95,9 +120,64 @@ public class AuthorizationHandlerWrapperTest {
     @NullAndEmptySource
     @ValueSource(strings = {SHADOW_NAME})
     void GIVEN_shadow_manager_WHEN_perform_action_THEN_authorized(String shadowName)  {
-        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
         ShadowRequest shadowRequest = new ShadowRequest(THING_NAME, shadowName);
         assertDoesNotThrow(() -> authorizationHandlerWrapper.doAuthorization(OP_CODE, ShadowManager.SERVICE_NAME,
                 shadowRequest ));
     }
+
+    @Test
+    void GIVEN_authorized_service_WHEN_do_authorization_again_THEN_decision_is_cached() throws AuthorizationException {
+        when(mockAuthorizationHandler.isAuthorized(any(), any(Permission.class))).thenReturn(true);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
+        ShadowRequest shadowRequest = new ShadowRequest(THING_NAME, SHADOW_NAME);
+        context.waitForPublishQueueToClear();
+
+        authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest);
+        authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest);
+        authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, new ShadowRequest(THING_NAME, null));
+
+        verify(mockAuthorizationHandler, times(2)).isAuthorized(any(), any(Permission.class));
+        assertThat(authorizationHandlerWrapper.getCacheHits(), is(1L));
+        assertThat(authorizationHandlerWrapper.getCacheMisses(), is(2L));
+    }
+
+    @Test
+    void GIVEN_unauthorized_service_WHEN_do_authorization_again_THEN_denial_is_cached() throws AuthorizationException {
+        when(mockAuthorizationHandler.isAuthorized(any(), any(Permission.class)))
+                .thenThrow(new AuthorizationException(SAMPLE_EXCEPTION_MESSAGE));
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
+        ShadowRequest shadowRequest = new ShadowRequest(THING_NAME, SHADOW_NAME);
+        context.waitForPublishQueueToClear();
+
+        assertThrows(AuthorizationException.class,
+                () -> authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest));
+        AuthorizationException thrown = assertThrows(AuthorizationException.class,
+                () -> authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest));
+
+        assertThat(thrown.getMessage(), is(equalTo(SAMPLE_EXCEPTION_MESSAGE)));
+        verify(mockAuthorizationHandler, times(1)).isAuthorized(any(), any(Permission.class));
+        assertThat(authorizationHandlerWrapper.getCacheHits(), is(1L));
+    }
+
+    @Test
+    void GIVEN_cached_decision_WHEN_access_control_changes_THEN_authorization_is_checked_again() throws AuthorizationException {
+        when(mockAuthorizationHandler.isAuthorized(any(), any(Permission.class))).thenReturn(true);
+        AuthorizationHandlerWrapper authorizationHandlerWrapper = new AuthorizationHandlerWrapper(mockAuthorizationHandler, servicesTopics);
+        ShadowRequest shadowRequest = new ShadowRequest(THING_NAME, SHADOW_NAME);
+        context.waitForPublishQueueToClear();
+        authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest);
+
+        // an unrelated configuration change keeps the cached decisions
+        servicesTopics.lookup(TEST_SERVICE, CONFIGURATION_CONFIG_KEY, "someKey").withValue("someValue");
+        context.waitForPublishQueueToClear();
+        authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest);
+        verify(mockAuthorizationHandler, times(1)).isAuthorized(any(), any(Permission.class));
+
+        servicesTopics.lookup(TEST_SERVICE, CONFIGURATION_CONFIG_KEY, ACCESS_CONTROL_NAMESPACE_TOPIC,
+                ShadowManager.SERVICE_NAME, "policy", "operations").withValue(Collections.singletonList(OP_CODE));
+        context.waitForPublishQueueToClear();
+        authorizationHandlerWrapper.doAuthorization(OP_CODE, TEST_SERVICE, shadowRequest);
+        verify(mockAuthorizationHandler, times(2)).isAuthorized(any(), any(Permission.class));
+    }
 }
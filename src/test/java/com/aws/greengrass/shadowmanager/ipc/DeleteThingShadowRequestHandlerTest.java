@@ -66,8 +66,11 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -93,12 +96,40 @@ class DeleteThingShadowRequestHandlerTest {
     @Captor
     ArgumentCaptor<PubSubRequest> pubSubRequestCaptor;
 
+    @Captor
+    ArgumentCaptor<Runnable> afterCommitCaptor;
+
     @BeforeEach
     void setup() throws IOException {
         lenient().when(mockSynchronizeHelper.getThingShadowLock(any())).thenReturn(Object.class);
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(mockDao).afterCommit(any());
         JsonUtil.loadSchema();
     }
 
+    @Test
+    void GIVEN_delete_in_transaction_WHEN_handle_request_THEN_message_published_and_synced_after_commit() throws URISyntaxException, IOException {
+        File f = new File(getClass().getResource("json_shadow_examples/good_new_document.json").toURI());
+        byte[] allByteData = Files.readAllBytes(f.toPath());
+        DeleteThingShadowRequest request = new DeleteThingShadowRequest();
+        request.setThingName(THING_NAME);
+        request.setShadowName(SHADOW_NAME);
+
+        DeleteThingShadowRequestHandler deleteThingShadowIPCHandler = new DeleteThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+        when(mockDao.deleteShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(allByteData)));
+        doNothing().when(mockDao).afterCommit(afterCommitCaptor.capture());
+
+        deleteThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
+        verify(mockPubSubClientWrapper, never()).accept(any());
+        verify(mockSyncHandler, never()).pushCloudDeleteSyncRequest(any(), any());
+
+        afterCommitCaptor.getValue().run();
+        verify(mockPubSubClientWrapper, times(1)).accept(any());
+        verify(mockSyncHandler, times(1)).pushCloudDeleteSyncRequest(THING_NAME, SHADOW_NAME);
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     @ValueSource(strings = {SHADOW_NAME})
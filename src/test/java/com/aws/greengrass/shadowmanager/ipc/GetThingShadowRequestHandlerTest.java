@@ -18,6 +18,8 @@ import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.Pair;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,8 +44,12 @@ import software.amazon.awssdk.aws.greengrass.model.UnauthorizedError;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.aws.greengrass.shadowmanager.TestUtils.SAMPLE_EXCEPTION_MESSAGE;
@@ -56,6 +62,7 @@ import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_M
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_TIMESTAMP;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.either;
 import static org.hamcrest.Matchers.equalTo;
@@ -66,7 +73,11 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -86,6 +97,12 @@ class GetThingShadowRequestHandlerTest {
     @Captor
     ArgumentCaptor<PubSubRequest> pubSubRequestCaptor;
 
+    @Captor
+    ArgumentCaptor<Collection<Pair<String, String>>> shadowsCaptor;
+
+    @Captor
+    ArgumentCaptor<byte[]> payloadCaptor;
+
     @BeforeEach
     void setup() throws IOException {
         JsonUtil.loadSchema();
@@ -196,6 +213,37 @@ class GetThingShadowRequestHandlerTest {
 
     }
 
+    @Test
+    void GIVEN_shadow_version_unchanged_WHEN_handle_request_again_THEN_cached_response_returned() throws IOException, URISyntaxException {
+        File f = new File(getClass().getResource("json_shadow_examples/good_new_document.json").toURI());
+        GetThingShadowRequest request = new GetThingShadowRequest();
+        request.setThingName(THING_NAME);
+        request.setShadowName(SHADOW_NAME);
+        ShadowResponseCache responseCache = new ShadowResponseCache(Constants.MAX_CACHED_SHADOW_RESPONSES);
+        GetThingShadowRequestHandler getThingShadowIPCHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, responseCache);
+        when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(Files.readAllBytes(f.toPath()))));
+        when(mockDao.getShadowDocumentVersion(THING_NAME, SHADOW_NAME)).thenReturn(Optional.of(2L), Optional.of(3L));
+
+        JsonNode firstResponse = JsonUtil.getPayloadJson(getThingShadowIPCHandler.handleRequest(request, TEST_SERVICE).getPayload()).get();
+        JsonNode cachedResponse = JsonUtil.getPayloadJson(getThingShadowIPCHandler.handleRequest(request, TEST_SERVICE).getPayload()).get();
+        verify(mockDao, times(1)).getShadowThing(THING_NAME, SHADOW_NAME);
+        assertThat("cachedResponse has timestamp", cachedResponse.get(SHADOW_DOCUMENT_TIMESTAMP).isLong(), is(true));
+        ((ObjectNode) firstResponse).remove(SHADOW_DOCUMENT_TIMESTAMP);
+        ((ObjectNode) cachedResponse).remove(SHADOW_DOCUMENT_TIMESTAMP);
+        assertThat(cachedResponse, is(equalTo(firstResponse)));
+
+        // the shadow was updated
+        getThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
+        verify(mockDao, times(2)).getShadowThing(THING_NAME, SHADOW_NAME);
+
+        // the shadow was deleted
+        responseCache.invalidate(THING_NAME, SHADOW_NAME);
+        getThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
+        verify(mockDao, times(3)).getShadowThing(THING_NAME, SHADOW_NAME);
+        verify(mockDao, times(2)).getShadowDocumentVersion(THING_NAME, SHADOW_NAME);
+        verify(mockPubSubClientWrapper, times(4)).accept(any());
+    }
+
     @Test
     void GIVEN_no_shadow_document_found_WHEN_handle_request_THEN_throw_resource_not_found_error(ExtensionContext context) throws IOException {
         ignoreExceptionOfType(context, ResourceNotFoundError.class);
@@ -324,4 +372,109 @@ class GetThingShadowRequestHandlerTest {
         assertThat(errorNode.get(ERROR_MESSAGE_FIELD_NAME).asText(), either(startsWith("ShadowName")).or(startsWith("ThingName")));
     }
 
+    @Test
+    void GIVEN_batch_of_shadows_WHEN_handle_batch_request_THEN_shadows_read_in_one_query_and_combined(ExtensionContext context) throws IOException, URISyntaxException {
+        ignoreExceptionOfType(context, AuthorizationException.class);
+        File f = new File(getClass().getResource("json_shadow_examples/good_initial_document.json").toURI());
+        byte[] allByteData = Files.readAllBytes(f.toPath());
+        Map<Pair<String, String>, ShadowDocument> documents = new HashMap<>();
+        documents.put(new Pair<>(THING_NAME, SHADOW_NAME), new ShadowDocument(allByteData));
+        when(mockDao.getShadowThings(any())).thenReturn(documents);
+        lenient().doThrow(new AuthorizationException(SAMPLE_EXCEPTION_MESSAGE)).when(mockAuthorizationHandlerWrapper)
+                .doAuthorization(any(), any(), argThat((ShadowRequest r) -> "unauthorizedShadow".equals(r.getShadowName())));
+        byte[] payload = ("{\"clientToken\": \"token\", \"shadows\": ["
+                + "{\"thingName\": \"" + THING_NAME + "\", \"shadowName\": \"" + SHADOW_NAME + "\"},"
+                + "{\"shadowName\": \"missingShadow\"},"
+                + "{\"shadowName\": \"unauthorizedShadow\"},"
+                + "{\"thingName\": \"\"}]}").getBytes(StandardCharsets.UTF_8);
+
+        GetThingShadowRequestHandler getThingShadowIPCHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper);
+        byte[] response = getThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload, TEST_SERVICE);
+
+        verify(mockDao, times(1)).getShadowThings(shadowsCaptor.capture());
+        assertThat(shadowsCaptor.getValue(), contains(new Pair<>(THING_NAME, SHADOW_NAME), new Pair<>(THING_NAME, "missingShadow")));
+        verify(mockPubSubClientWrapper, times(1)).batchGetAccepted(THING_NAME, response);
+
+        JsonNode responseNode = JsonUtil.getPayloadJson(response).get();
+        assertThat(responseNode.get(Constants.SHADOW_DOCUMENT_CLIENT_TOKEN).asText(), is("token"));
+        JsonNode shadows = responseNode.get(Constants.SHADOW_DOCUMENT_SHADOWS);
+        assertThat(shadows.size(), is(4));
+        assertThat(shadows.get(0).get(Constants.SHADOW_DOCUMENT_SHADOW_NAME).asText(), is(SHADOW_NAME));
+        assertThat(shadows.get(0).get(Constants.SHADOW_DOCUMENT_VERSION).asLong(), is(1L));
+        assertThat(shadows.get(0).has(Constants.SHADOW_DOCUMENT_STATE), is(true));
+        assertThat(shadows.get(1).get(ERROR_CODE_FIELD_NAME).asInt(), is(404));
+        assertThat(shadows.get(2).get(Constants.SHADOW_DOCUMENT_SHADOW_NAME).asText(), is("unauthorizedShadow"));
+        assertThat(shadows.get(2).get(ERROR_CODE_FIELD_NAME).asInt(), is(401));
+        assertThat(shadows.get(3).get(ERROR_CODE_FIELD_NAME).asInt(), is(400));
+    }
+
+    @Test
+    void GIVEN_shadow_of_other_thing_in_batch_WHEN_handle_batch_request_THEN_shadow_rejected_as_unauthorized(ExtensionContext context) throws IOException, AuthorizationException {
+        ignoreExceptionOfType(context, AuthorizationException.class);
+        when(mockDao.getShadowThings(any())).thenReturn(new HashMap<>());
+        byte[] payload = ("{\"shadows\": [{\"shadowName\": \"" + SHADOW_NAME + "\"},"
+                + "{\"thingName\": \"otherThing\", \"shadowName\": \"" + SHADOW_NAME + "\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        GetThingShadowRequestHandler getThingShadowIPCHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper);
+        byte[] response = getThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload, TEST_SERVICE);
+
+        verify(mockDao, times(1)).getShadowThings(shadowsCaptor.capture());
+        assertThat(shadowsCaptor.getValue(), contains(new Pair<>(THING_NAME, SHADOW_NAME)));
+        verify(mockAuthorizationHandlerWrapper, never()).doAuthorization(any(), any(),
+                argThat((ShadowRequest r) -> "otherThing".equals(r.getThingName())));
+        verify(mockPubSubClientWrapper, times(1)).batchGetAccepted(THING_NAME, response);
+
+        JsonNode shadows = JsonUtil.getPayloadJson(response).get().get(Constants.SHADOW_DOCUMENT_SHADOWS);
+        assertThat(shadows.size(), is(2));
+        assertThat(shadows.get(0).get(ERROR_CODE_FIELD_NAME).asInt(), is(404));
+        assertThat(shadows.get(1).get(Constants.SHADOW_DOCUMENT_THING_NAME).asText(), is("otherThing"));
+        assertThat(shadows.get(1).get(ERROR_CODE_FIELD_NAME).asInt(), is(401));
+        assertThat(shadows.get(1).has(Constants.SHADOW_DOCUMENT_STATE), is(false));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not json", "[]", "{}", "{\"shadows\": []}", "{\"shadows\": [1]}",
+            "{\"shadows\": [{\"thingName\": 1}]}"})
+    void GIVEN_invalid_batch_payload_WHEN_handle_batch_request_THEN_throw_invalid_arguments_error(String payload, ExtensionContext context) throws IOException {
+        ignoreExceptionOfType(context, InvalidRequestParametersException.class);
+        ignoreExceptionOfType(context, JsonParseException.class);
+        GetThingShadowRequestHandler getThingShadowIPCHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper);
+
+        assertThrows(InvalidArgumentsError.class, () -> getThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload.getBytes(StandardCharsets.UTF_8), TEST_SERVICE));
+
+        verify(mockPubSubClientWrapper, times(1)).batchGetRejected(eq(THING_NAME), payloadCaptor.capture());
+        JsonNode errorNode = JsonUtil.getPayloadJson(payloadCaptor.getValue()).get();
+        assertThat(errorNode.get(ERROR_CODE_FIELD_NAME).asInt(), is(400));
+        verify(mockDao, never()).getShadowThings(any());
+    }
+
+    @Test
+    void GIVEN_too_many_shadows_WHEN_handle_batch_request_THEN_throw_invalid_arguments_error(ExtensionContext context) {
+        ignoreExceptionOfType(context, InvalidRequestParametersException.class);
+        StringBuilder payload = new StringBuilder("{\"shadows\": [");
+        for (int i = 0; i <= Constants.MAX_BATCH_SHADOW_COUNT; i++) {
+            payload.append(i == 0 ? "" : ",").append("{\"shadowName\": \"shadow").append(i).append("\"}");
+        }
+        payload.append("]}");
+        GetThingShadowRequestHandler getThingShadowIPCHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper);
+
+        InvalidArgumentsError thrown = assertThrows(InvalidArgumentsError.class, () -> getThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload.toString().getBytes(StandardCharsets.UTF_8), TEST_SERVICE));
+
+        assertThat(thrown.getMessage(), containsString("at most"));
+        verify(mockDao, never()).getShadowThings(any());
+    }
+
+    @Test
+    void GIVEN_database_error_WHEN_handle_batch_request_THEN_throw_service_error(ExtensionContext context) {
+        ignoreExceptionOfType(context, ShadowManagerDataException.class);
+        doThrow(new ShadowManagerDataException(new Exception(SAMPLE_EXCEPTION_MESSAGE))).when(mockDao).getShadowThings(any());
+        byte[] payload = ("{\"shadows\": [{\"thingName\": \"" + THING_NAME + "\"}]}").getBytes(StandardCharsets.UTF_8);
+        GetThingShadowRequestHandler getThingShadowIPCHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper);
+
+        assertThrows(ServiceError.class, () -> getThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload, TEST_SERVICE));
+
+        verify(mockPubSubClientWrapper, times(1)).batchGetRejected(eq(THING_NAME), any());
+        verify(mockPubSubClientWrapper, never()).batchGetAccepted(any(), any());
+    }
 }
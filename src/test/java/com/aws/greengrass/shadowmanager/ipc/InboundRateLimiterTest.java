@@ -22,10 +22,12 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static com.aws.greengrass.shadowmanager.TestUtils.THING_NAME;
+import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_LOCAL_REQUESTS_RATE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -129,6 +131,40 @@ public class InboundRateLimiterTest {
         assertThat(rateLimiterMap.keySet().toArray(), arrayContainingInAnyOrder(thing2, thing3));
     }
 
+    @Test
+    void GIVEN_throttled_thing_WHEN_acquire_lock_for_new_things_THEN_throttled_thing_not_evicted() throws ThrottledRequestException {
+        final String hotThing = "hotThing";
+        inboundRateLimiter = new InboundRateLimiter();
+        inboundRateLimiter.setTotalInboundRateLimiter(mockTotalInboundRateLimiter);
+        inboundRateLimiter.setTotalRate(2);
+        Map<String, IpcRateLimiter> rateLimiterMap = inboundRateLimiter.getRateLimitersPerThing();
+
+        for (int i = 0; i < DEFAULT_LOCAL_REQUESTS_RATE; i++) {
+            inboundRateLimiter.acquireLockForThing(hotThing);
+        }
+        assertThrows(ThrottledRequestException.class, () -> inboundRateLimiter.acquireLockForThing(hotThing));
+        inboundRateLimiter.acquireLockForThing("thing1");
+        inboundRateLimiter.acquireLockForThing("thing2");
+
+        assertThat(rateLimiterMap.keySet().toArray(), arrayContainingInAnyOrder(hotThing, "thing2"));
+        assertThrows(ThrottledRequestException.class, () -> inboundRateLimiter.acquireLockForThing(hotThing));
+    }
+
+    @Test
+    void GIVEN_many_things_WHEN_acquire_lock_for_thing_THEN_rate_limiter_map_never_exceeds_total_rate() throws ThrottledRequestException {
+        int testRate = 10;
+        inboundRateLimiter = new InboundRateLimiter();
+        inboundRateLimiter.setTotalInboundRateLimiter(mockTotalInboundRateLimiter);
+        inboundRateLimiter.setTotalRate(testRate);
+        Map<String, IpcRateLimiter> rateLimiterMap = inboundRateLimiter.getRateLimitersPerThing();
+
+        for (int i = 0; i < 100; i++) {
+            inboundRateLimiter.acquireLockForThing("thing" + i);
+            assertThat(rateLimiterMap.size(), is(lessThanOrEqualTo(testRate)));
+        }
+        assertThat(rateLimiterMap.containsKey("thing99"), is(true));
+    }
+
     @Test
     void GIVEN_new_rate_WHEN_set_rate_THEN_rate_set_for_existing_limiters() {
         IpcRateLimiter mockLimiter1 = mock(IpcRateLimiter.class);
@@ -155,6 +191,26 @@ public class InboundRateLimiterTest {
         assertThat(rateCaptor.getValue(), is(TEST_RATE_LIMIT));
     }
 
+    @Test
+    void GIVEN_new_rate_and_burst_WHEN_set_rate_THEN_rate_and_burst_set_for_existing_limiters() {
+        IpcRateLimiter mockLimiter = mock(IpcRateLimiter.class);
+
+        LinkedHashMap<String, IpcRateLimiter> testRateLimiterMap = new LinkedHashMap<>();
+        testRateLimiterMap.put("existingThing1", mockLimiter);
+        inboundRateLimiter = new InboundRateLimiter();
+        inboundRateLimiter.setRateLimitersPerThing(testRateLimiterMap);
+
+        inboundRateLimiter.setRate(TEST_RATE_LIMIT, 2);
+
+        verify(mockLimiter, times(1)).setRate(TEST_RATE_LIMIT, 2);
+    }
+
+    @Test
+    void GIVEN_new_total_inbound_rate_and_burst_WHEN_set_total_rate_THEN_rate_and_burst_set_for_total_inbound_rate_limiter() {
+        inboundRateLimiter.setTotalRate(TEST_RATE_LIMIT, 2);
+        verify(mockTotalInboundRateLimiter, times(1)).setRate(TEST_RATE_LIMIT, 2);
+    }
+
     @Test
     void GIVEN_existing_rate_limiters_for_things_WHEN_clear_THEN_rate_limiters_cleared() {
         inboundRateLimiter.clear();
@@ -10,12 +10,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.aws.greengrass.shadowmanager.model.Constants.DEFAULT_LOCAL_REQUESTS_RATE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
@@ -30,7 +37,46 @@ public class IpcRateLimiterTest {
         ipcRateLimiter.setRate(newRate);
 
         assertThat(ipcRateLimiter.getRate(), is(equalTo(newRate)));
-        assertThat(ipcRateLimiter.getCount(), is(0));
+        assertThat(ipcRateLimiter.getBurst(), is(equalTo(newRate)));
+    }
+
+    @Test
+    void GIVEN_rate_and_burst_WHEN_set_rate_THEN_rate_and_burst_set() {
+        IpcRateLimiter ipcRateLimiter = new IpcRateLimiter(DEFAULT_LOCAL_REQUESTS_RATE);
+
+        ipcRateLimiter.setRate(5, 2);
+
+        assertThat(ipcRateLimiter.getRate(), is(5));
+        assertThat(ipcRateLimiter.getBurst(), is(2));
+        assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+        assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+        assertThat("lock not acquired", ipcRateLimiter.tryAcquire(), is(false));
+    }
+
+    @Test
+    void GIVEN_part_of_a_lock_refilling_WHEN_set_lower_rate_THEN_refill_time_scaled() {
+        IpcRateLimiter ipcRateLimiter = new IpcRateLimiter(TEST_RATE_LIMIT);
+        assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+
+        // less than one refill interval of the previous rate is left, which must not be rounded down to nothing
+        ipcRateLimiter.setRate(1);
+
+        assertThat(ipcRateLimiter.getFullAtNanos() - System.nanoTime(),
+                is(greaterThan(TimeUnit.MILLISECONDS.toNanos(500))));
+        assertThat("lock not acquired", ipcRateLimiter.tryAcquire(), is(false));
+    }
+
+    @Test
+    void GIVEN_rate_above_one_lock_per_nanosecond_WHEN_set_rate_THEN_locks_acquired() {
+        IpcRateLimiter ipcRateLimiter = new IpcRateLimiter(TEST_RATE_LIMIT);
+        for (int i = 0; i < TEST_RATE_LIMIT; i++) {
+            assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+        }
+
+        ipcRateLimiter.setRate(Integer.MAX_VALUE);
+
+        assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+        assertThat("lock acquired", new IpcRateLimiter(Integer.MAX_VALUE).tryAcquire(), is(true));
     }
 
     @Test
@@ -52,16 +98,60 @@ public class IpcRateLimiterTest {
     }
 
     @Test
-    void GIVEN_acquire_lock_after_one_second_WHEN_try_acquire_THEN_count_reset() throws InterruptedException {
+    void GIVEN_rate_reached_WHEN_try_acquire_after_one_second_THEN_locks_refilled() throws InterruptedException {
         IpcRateLimiter ipcRateLimiter = new IpcRateLimiter(TEST_RATE_LIMIT);
-
-        ipcRateLimiter.tryAcquire();
-        long initialTimestamp = ipcRateLimiter.getTimestamp();
+        for (int i = 0; i < TEST_RATE_LIMIT; i++) {
+            ipcRateLimiter.tryAcquire();
+        }
+        assertThat("lock not acquired", ipcRateLimiter.tryAcquire(), is(false));
 
         TimeUnit.SECONDS.sleep(1);
 
-        assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
-        assertThat("count reset", ipcRateLimiter.getCount(), is(1));
-        assertThat(ipcRateLimiter.getTimestamp(), greaterThanOrEqualTo(initialTimestamp + 1_000_000_000));
+        for (int i = 0; i < TEST_RATE_LIMIT; i++) {
+            assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+        }
+        assertThat("lock not acquired", ipcRateLimiter.tryAcquire(), is(false));
+    }
+
+    @Test
+    void GIVEN_burst_smaller_than_rate_WHEN_try_acquire_THEN_only_burst_locks_acquired_at_once() {
+        IpcRateLimiter ipcRateLimiter = new IpcRateLimiter(TEST_RATE_LIMIT, 3);
+        for (int i = 0; i < 3; i++) {
+            assertThat("lock acquired", ipcRateLimiter.tryAcquire(), is(true));
+        }
+
+        assertThat("lock not acquired", ipcRateLimiter.tryAcquire(), is(false));
+    }
+
+    @Test
+    void GIVEN_concurrent_threads_WHEN_try_acquire_THEN_at_most_burst_locks_acquired() throws Exception {
+        // slow rate so that no lock is refilled while the threads run
+        IpcRateLimiter ipcRateLimiter = new IpcRateLimiter(1, TEST_RATE_LIMIT);
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < TEST_RATE_LIMIT; j++) {
+                        if (ipcRateLimiter.tryAcquire()) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(acquired.get(), is(TEST_RATE_LIMIT));
     }
 }
@@ -63,10 +63,10 @@ import static org.mockito.Mockito.when;
 @ExtendWith({MockitoExtension.class, GGExtension.class})
 class ListNamedShadowsForThingIPCHandlerTest {
     private static final List<String> NAMED_SHADOW_LIST = Arrays.asList("one", "two", "three");
-    private static final String EXPECTED_TOKEN_WITH_OFFSET = "o8Zz1puGZZ/aNy+OKKAN8A==";
-    private static final int DECODED_OFFSET_VALUE = 3;
+    private static final String EXPECTED_TOKEN_WITH_LAST_SHADOW_NAME = "aGG67xEIubt7oLnoindJGg==";
+    private static final String DECODED_LAST_SHADOW_NAME = "three";
     private static final int PAGE_SIZE_MATCHING_SHADOW_LIST = 3;
-    private static final int DEFAULT_OFFSET = 0;
+    private static final String FIRST_PAGE_SHADOW_NAME = "";
     private static final int DEFAULT_PAGE_SIZE = 25;
 
     @Mock
@@ -84,7 +84,7 @@ class ListNamedShadowsForThingIPCHandlerTest {
     InboundRateLimiter mockInboundRateLimiter;
 
     @Captor
-    ArgumentCaptor<Integer> offsetCaptor;
+    ArgumentCaptor<String> afterShadowNameCaptor;
     @Captor
     ArgumentCaptor<Integer> pageSizeCaptor;
 
@@ -108,7 +108,7 @@ class ListNamedShadowsForThingIPCHandlerTest {
         }
 
         try (ListNamedShadowsForThingIPCHandler listNamedShadowsForThingIPCHandler = new ListNamedShadowsForThingIPCHandler(mockContext, mockDao, mockAuthorizationHandlerWrapper, mockInboundRateLimiter)) {
-            when(mockDao.listNamedShadowsForThing(any(), anyInt(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
+            when(mockDao.listNamedShadowsForThing(any(), anyString(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
 
             ListNamedShadowsForThingResponse actualResponse = listNamedShadowsForThingIPCHandler.handleRequest(request);
             assertThat(actualResponse.getResults(), is(equalTo(NAMED_SHADOW_LIST)));
@@ -116,8 +116,8 @@ class ListNamedShadowsForThingIPCHandlerTest {
             assertThat(actualResponse.getTimestamp(), is(notNullValue()));
 
             verify(mockDao, times(1)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
-            assertThat(offsetCaptor.getValue(), is(equalTo(DEFAULT_OFFSET)));
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
+            assertThat(afterShadowNameCaptor.getValue(), is(equalTo(FIRST_PAGE_SHADOW_NAME)));
             assertThat(pageSizeCaptor.getValue(), is(equalTo(DEFAULT_PAGE_SIZE)));
         }
     }
@@ -129,17 +129,17 @@ class ListNamedShadowsForThingIPCHandlerTest {
         request.setPageSize(PAGE_SIZE_MATCHING_SHADOW_LIST);
 
         try (ListNamedShadowsForThingIPCHandler listNamedShadowsForThingIPCHandler = new ListNamedShadowsForThingIPCHandler(mockContext, mockDao, mockAuthorizationHandlerWrapper, mockInboundRateLimiter)) {
-            when(mockDao.listNamedShadowsForThing(any(), anyInt(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
+            when(mockDao.listNamedShadowsForThing(any(), anyString(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
             ListNamedShadowsForThingResponse actualResponse = listNamedShadowsForThingIPCHandler.handleRequest(request);
 
             assertThat(actualResponse.getResults(), is(equalTo(NAMED_SHADOW_LIST)));
             assertThat(actualResponse.getNextToken(), is(notNullValue()));
-            assertThat(actualResponse.getNextToken(), is(equalTo(EXPECTED_TOKEN_WITH_OFFSET)));
+            assertThat(actualResponse.getNextToken(), is(equalTo(EXPECTED_TOKEN_WITH_LAST_SHADOW_NAME)));
             assertThat(actualResponse.getTimestamp(), is(notNullValue()));
 
             verify(mockDao, times(1)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
-            assertThat(offsetCaptor.getValue(), is(equalTo(DEFAULT_OFFSET)));
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
+            assertThat(afterShadowNameCaptor.getValue(), is(equalTo(FIRST_PAGE_SHADOW_NAME)));
             assertThat(pageSizeCaptor.getValue(), is(equalTo(PAGE_SIZE_MATCHING_SHADOW_LIST)));
         }
     }
@@ -148,10 +148,10 @@ class ListNamedShadowsForThingIPCHandlerTest {
     void GIVEN_next_token_WHEN_handle_request_THEN_return_valid_response() {
         ListNamedShadowsForThingRequest request = new ListNamedShadowsForThingRequest();
         request.setThingName(THING_NAME);
-        request.setNextToken(EXPECTED_TOKEN_WITH_OFFSET);
+        request.setNextToken(EXPECTED_TOKEN_WITH_LAST_SHADOW_NAME);
 
         try (ListNamedShadowsForThingIPCHandler listNamedShadowsForThingIPCHandler = new ListNamedShadowsForThingIPCHandler(mockContext, mockDao, mockAuthorizationHandlerWrapper, mockInboundRateLimiter)) {
-            when(mockDao.listNamedShadowsForThing(any(), anyInt(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
+            when(mockDao.listNamedShadowsForThing(any(), anyString(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
             ListNamedShadowsForThingResponse actualResponse = listNamedShadowsForThingIPCHandler.handleRequest(request);
 
             assertThat(actualResponse.getResults(), is(equalTo(NAMED_SHADOW_LIST)));
@@ -159,8 +159,8 @@ class ListNamedShadowsForThingIPCHandlerTest {
             assertThat(actualResponse.getTimestamp(), is(notNullValue()));
 
             verify(mockDao, times(1)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
-            assertThat(offsetCaptor.getValue(), is(equalTo(DECODED_OFFSET_VALUE)));
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
+            assertThat(afterShadowNameCaptor.getValue(), is(equalTo(DECODED_LAST_SHADOW_NAME)));
             assertThat(pageSizeCaptor.getValue(), is(equalTo(DEFAULT_PAGE_SIZE)));
         }
     }
@@ -178,7 +178,7 @@ class ListNamedShadowsForThingIPCHandlerTest {
             assertThat(thrown.getMessage(), startsWith("pageSize argument must"));
 
             verify(mockDao, times(0)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
         }
     }
 
@@ -188,14 +188,14 @@ class ListNamedShadowsForThingIPCHandlerTest {
         ignoreExceptionOfType(context, BadPaddingException.class);
         ListNamedShadowsForThingRequest request = new ListNamedShadowsForThingRequest();
         request.setThingName("DifferentThingName");
-        request.setNextToken(EXPECTED_TOKEN_WITH_OFFSET);
+        request.setNextToken(EXPECTED_TOKEN_WITH_LAST_SHADOW_NAME);
 
         try (ListNamedShadowsForThingIPCHandler listNamedShadowsForThingIPCHandler = new ListNamedShadowsForThingIPCHandler(mockContext, mockDao, mockAuthorizationHandlerWrapper, mockInboundRateLimiter)) {
             InvalidArgumentsError thrown = assertThrows(InvalidArgumentsError.class, () -> listNamedShadowsForThingIPCHandler.handleRequest(request));
             assertThat(thrown.getMessage(), startsWith("Invalid nextToken"));
 
             verify(mockDao, times(0)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
         }
     }
 
@@ -211,7 +211,7 @@ class ListNamedShadowsForThingIPCHandlerTest {
             assertThat(thrown.getMessage(), startsWith("ThingName"));
 
             verify(mockDao, times(0)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
         }
     }
 
@@ -228,7 +228,7 @@ class ListNamedShadowsForThingIPCHandlerTest {
             assertThat(thrown.getMessage(), is(equalTo(SAMPLE_EXCEPTION_MESSAGE)));
 
             verify(mockDao, times(0)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
         }
     }
 
@@ -239,13 +239,13 @@ class ListNamedShadowsForThingIPCHandlerTest {
         request.setThingName(THING_NAME);
 
         try (ListNamedShadowsForThingIPCHandler listNamedShadowsForThingIPCHandler = new ListNamedShadowsForThingIPCHandler(mockContext, mockDao, mockAuthorizationHandlerWrapper, mockInboundRateLimiter)) {
-            doThrow(new ShadowManagerDataException(new Exception(SAMPLE_EXCEPTION_MESSAGE))).when(mockDao).listNamedShadowsForThing(any(), anyInt(), anyInt());
+            doThrow(new ShadowManagerDataException(new Exception(SAMPLE_EXCEPTION_MESSAGE))).when(mockDao).listNamedShadowsForThing(any(), anyString(), anyInt());
             ServiceError thrown = assertThrows(ServiceError.class, () -> listNamedShadowsForThingIPCHandler.handleRequest(request));
             assertThat(thrown.getMessage(), containsString(SAMPLE_EXCEPTION_MESSAGE));
 
             verify(mockDao, times(1)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
-            assertThat(offsetCaptor.getValue(), is(equalTo(DEFAULT_OFFSET)));
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
+            assertThat(afterShadowNameCaptor.getValue(), is(equalTo(FIRST_PAGE_SHADOW_NAME)));
             assertThat(pageSizeCaptor.getValue(), is(equalTo(DEFAULT_PAGE_SIZE)));
         }
     }
@@ -260,13 +260,13 @@ class ListNamedShadowsForThingIPCHandlerTest {
         request.setPageSize(pageSize);
 
         try (ListNamedShadowsForThingIPCHandler listNamedShadowsForThingIPCHandler = new ListNamedShadowsForThingIPCHandler(mockContext, mockDao, mockAuthorizationHandlerWrapper, mockInboundRateLimiter)) {
-            when(mockDao.listNamedShadowsForThing(any(), anyInt(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
+            when(mockDao.listNamedShadowsForThing(any(), anyString(), anyInt())).thenReturn(NAMED_SHADOW_LIST);
             ServiceError thrown = assertThrows(ServiceError.class, () -> listNamedShadowsForThingIPCHandler.handleRequest(request));
             assertThat(thrown.getMessage(), containsString("internal service error"));
 
             verify(mockDao, times(1)).listNamedShadowsForThing(any(),
-                    offsetCaptor.capture(), pageSizeCaptor.capture());
-            assertThat(offsetCaptor.getValue(), is(equalTo(DEFAULT_OFFSET)));
+                    afterShadowNameCaptor.capture(), pageSizeCaptor.capture());
+            assertThat(afterShadowNameCaptor.getValue(), is(equalTo(FIRST_PAGE_SHADOW_NAME)));
             assertThat(pageSizeCaptor.getValue(), is(equalTo(pageSize)));
         }
     }
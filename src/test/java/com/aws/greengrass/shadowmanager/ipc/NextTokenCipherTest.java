@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.ipc;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.GeneralSecurityException;
+import javax.crypto.BadPaddingException;
+
+import static com.aws.greengrass.shadowmanager.TestUtils.TEST_SERVICE;
+import static com.aws.greengrass.shadowmanager.TestUtils.THING_NAME;
+import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class NextTokenCipherTest {
+    private static final String LAST_SHADOW_NAME = "three";
+    private static final String EXPECTED_TOKEN = "aGG67xEIubt7oLnoindJGg==";
+
+    @Test
+    void GIVEN_value_WHEN_encrypt_and_decrypt_THEN_token_is_stable_and_decrypts_to_value() throws GeneralSecurityException {
+        NextTokenCipher nextTokenCipher = new NextTokenCipher(10);
+
+        String token = nextTokenCipher.encrypt(LAST_SHADOW_NAME, TEST_SERVICE, THING_NAME);
+
+        assertThat(token, is(EXPECTED_TOKEN));
+        assertThat(nextTokenCipher.encrypt(LAST_SHADOW_NAME, TEST_SERVICE, THING_NAME), is(EXPECTED_TOKEN));
+        assertThat(nextTokenCipher.decrypt(token, TEST_SERVICE, THING_NAME), is(LAST_SHADOW_NAME));
+        assertThat(new NextTokenCipher(10).decrypt(token, TEST_SERVICE, THING_NAME), is(LAST_SHADOW_NAME));
+        assertThat(nextTokenCipher.getCachedKeyCount(), is(1));
+    }
+
+    @Test
+    void GIVEN_token_for_different_thing_WHEN_decrypt_THEN_throws_illegal_argument_exception(ExtensionContext context) {
+        ignoreExceptionOfType(context, BadPaddingException.class);
+        NextTokenCipher nextTokenCipher = new NextTokenCipher(10);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> nextTokenCipher.decrypt(EXPECTED_TOKEN, TEST_SERVICE, "DifferentThingName"));
+        assertThat(thrown.getMessage(), startsWith("Invalid nextToken"));
+    }
+
+    @Test
+    void GIVEN_more_clients_and_things_than_cache_size_WHEN_encrypt_THEN_least_recently_used_keys_evicted() throws GeneralSecurityException {
+        NextTokenCipher nextTokenCipher = new NextTokenCipher(2);
+
+        String token = nextTokenCipher.encrypt(LAST_SHADOW_NAME, TEST_SERVICE, THING_NAME);
+        nextTokenCipher.encrypt(LAST_SHADOW_NAME, TEST_SERVICE, "thing2");
+        nextTokenCipher.encrypt(LAST_SHADOW_NAME, TEST_SERVICE, "thing3");
+
+        assertThat(nextTokenCipher.getCachedKeyCount(), is(2));
+        // the evicted key is derived again
+        assertThat(nextTokenCipher.decrypt(token, TEST_SERVICE, THING_NAME), is(LAST_SHADOW_NAME));
+        assertThat(nextTokenCipher.getCachedKeyCount(), is(2));
+    }
+}
@@ -215,4 +215,30 @@ class PubSubClientWrapperTest {
         pubSubClientWrapper.unsubscribe(publishEvent -> {});
         verify(mockPubSubIPCEventStreamAgent, atMostOnce()).unsubscribe(eq(PUBSUB_SUBSCRIBE_TOPIC), any(), eq(SHADOW_MANAGER_NAME));
     }
+
+    @Test
+    void GIVEN_batch_get_response_WHEN_batch_get_accepted_and_rejected_THEN_publishes_on_batch_get_topics() {
+        PubSubClientWrapper pubSubClientWrapper = new PubSubClientWrapper(mockPubSubIPCEventStreamAgent);
+        byte[] payload = new byte[]{1};
+
+        pubSubClientWrapper.batchGetAccepted(THING_NAME, payload);
+        pubSubClientWrapper.batchGetRejected(THING_NAME, payload);
+
+        verify(mockPubSubIPCEventStreamAgent, times(2)).publish(topicCaptor.capture(), eq(payload), eq(SERVICE_NAME));
+        assertThat(topicCaptor.getAllValues().get(0), Matchers.is("$aws/things/" + THING_NAME + "/shadow/batch/get/accepted"));
+        assertThat(topicCaptor.getAllValues().get(1), Matchers.is("$aws/things/" + THING_NAME + "/shadow/batch/get/rejected"));
+    }
+
+    @Test
+    void GIVEN_batch_update_response_WHEN_batch_update_accepted_and_rejected_THEN_publishes_on_batch_update_topics() {
+        PubSubClientWrapper pubSubClientWrapper = new PubSubClientWrapper(mockPubSubIPCEventStreamAgent);
+        byte[] payload = new byte[]{1};
+
+        pubSubClientWrapper.batchUpdateAccepted(THING_NAME, payload);
+        pubSubClientWrapper.batchUpdateRejected(THING_NAME, payload);
+
+        verify(mockPubSubIPCEventStreamAgent, times(2)).publish(topicCaptor.capture(), eq(payload), eq(SERVICE_NAME));
+        assertThat(topicCaptor.getAllValues().get(0), Matchers.is("$aws/things/" + THING_NAME + "/shadow/batch/update/accepted"));
+        assertThat(topicCaptor.getAllValues().get(1), Matchers.is("$aws/things/" + THING_NAME + "/shadow/batch/update/rejected"));
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.ipc;
+
+import com.aws.greengrass.shadowmanager.model.ResponseMessageBuilder;
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.aws.greengrass.shadowmanager.TestUtils.SHADOW_NAME;
+import static com.aws.greengrass.shadowmanager.TestUtils.THING_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ShadowResponseCacheTest {
+    private static final Instant TIMESTAMP = Instant.ofEpochSecond(1_600_000_000L);
+
+    private static ObjectNode response(long version) throws IOException {
+        return ResponseMessageBuilder.builder()
+                .withState(JsonUtil.getPayloadJson("{\"desired\": {\"color\": \"red\"}}".getBytes()).get())
+                .withMetadata(JsonUtil.getPayloadJson("{\"desired\": {\"color\": {\"timestamp\": 1}}}".getBytes())
+                        .get())
+                .withVersion(version).build();
+    }
+
+    @Test
+    void GIVEN_cached_response_WHEN_get_THEN_same_bytes_as_serialized_response_with_timestamp() throws IOException {
+        ShadowResponseCache cache = new ShadowResponseCache(2);
+        byte[] expected = JsonUtil.getPayloadBytes(response(3).put("timestamp", TIMESTAMP.getEpochSecond()));
+
+        byte[] put = cache.put(THING_NAME, SHADOW_NAME, 3, response(3), cache.getGeneration(), TIMESTAMP);
+        Optional<byte[]> cached = cache.get(THING_NAME, SHADOW_NAME, 3, TIMESTAMP);
+
+        assertThat(put, is(equalTo(expected)));
+        assertThat(cached.isPresent(), is(true));
+        assertThat(cached.get(), is(equalTo(expected)));
+        assertThat(cache.getVersion(THING_NAME, SHADOW_NAME), is(OptionalLong.of(3)));
+        assertThat(cache.get(THING_NAME, SHADOW_NAME, 4, TIMESTAMP).isPresent(), is(false));
+        assertThat(cache.get(THING_NAME, "other", 3, TIMESTAMP).isPresent(), is(false));
+    }
+
+    @Test
+    void GIVEN_cached_response_WHEN_invalidate_THEN_response_dropped() throws IOException {
+        ShadowResponseCache cache = new ShadowResponseCache(2);
+        cache.put(THING_NAME, SHADOW_NAME, 3, response(3), cache.getGeneration(), TIMESTAMP);
+
+        cache.invalidate(THING_NAME, SHADOW_NAME);
+
+        assertThat(cache.getVersion(THING_NAME, SHADOW_NAME), is(OptionalLong.empty()));
+        assertThat(cache.get(THING_NAME, SHADOW_NAME, 3, TIMESTAMP).isPresent(), is(false));
+    }
+
+    @Test
+    void GIVEN_shadow_deleted_while_response_built_WHEN_put_THEN_response_not_cached() throws IOException {
+        ShadowResponseCache cache = new ShadowResponseCache(2);
+        long generation = cache.getGeneration();
+        cache.invalidate(THING_NAME, SHADOW_NAME);
+
+        byte[] put = cache.put(THING_NAME, SHADOW_NAME, 3, response(3), generation, TIMESTAMP);
+
+        assertThat(JsonUtil.getPayloadJson(put).get().get("version").asLong(), is(3L));
+        assertThat(cache.getVersion(THING_NAME, SHADOW_NAME), is(OptionalLong.empty()));
+    }
+
+    @Test
+    void GIVEN_more_shadows_than_max_WHEN_put_THEN_least_recently_used_response_dropped() throws IOException {
+        ShadowResponseCache cache = new ShadowResponseCache(2);
+        cache.put(THING_NAME, "a", 1, response(1), cache.getGeneration(), TIMESTAMP);
+        cache.put(THING_NAME, "b", 1, response(1), cache.getGeneration(), TIMESTAMP);
+        cache.get(THING_NAME, "a", 1, TIMESTAMP);
+
+        cache.put(THING_NAME, "c", 1, response(1), cache.getGeneration(), TIMESTAMP);
+
+        assertThat(cache.getVersion(THING_NAME, "a"), is(OptionalLong.of(1)));
+        assertThat(cache.getVersion(THING_NAME, "b"), is(OptionalLong.empty()));
+        assertThat(cache.getVersion(THING_NAME, "c"), is(OptionalLong.of(1)));
+    }
+}
@@ -13,6 +13,7 @@ import com.aws.greengrass.shadowmanager.exception.ShadowManagerDataException;
 import com.aws.greengrass.shadowmanager.ipc.model.Operation;
 import com.aws.greengrass.shadowmanager.ipc.model.PubSubRequest;
 import com.aws.greengrass.shadowmanager.model.Constants;
+import com.aws.greengrass.shadowmanager.model.ErrorMessage;
 import com.aws.greengrass.shadowmanager.model.LogEvents;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.ShadowRequest;
@@ -21,7 +22,10 @@ import com.aws.greengrass.shadowmanager.sync.SyncHandler;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.shadowmanager.util.ShadowWriteSynchronizeHelper;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.Pair;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +42,8 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.aws.greengrass.model.ConflictError;
+import software.amazon.awssdk.aws.greengrass.model.DeleteThingShadowRequest;
+import software.amazon.awssdk.aws.greengrass.model.GetThingShadowRequest;
 import software.amazon.awssdk.aws.greengrass.model.InvalidArgumentsError;
 import software.amazon.awssdk.aws.greengrass.model.ServiceError;
 import software.amazon.awssdk.aws.greengrass.model.UnauthorizedError;
@@ -47,14 +53,18 @@ import software.amazon.awssdk.aws.greengrass.model.UpdateThingShadowResponse;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.aws.greengrass.shadowmanager.TestUtils.SAMPLE_EXCEPTION_MESSAGE;
 import static com.aws.greengrass.shadowmanager.TestUtils.SHADOW_NAME;
 import static com.aws.greengrass.shadowmanager.TestUtils.TEST_SERVICE;
 import static com.aws.greengrass.shadowmanager.TestUtils.THING_NAME;
+import static com.aws.greengrass.shadowmanager.model.Constants.CLASSIC_SHADOW_IDENTIFIER;
 import static com.aws.greengrass.shadowmanager.model.Constants.ERROR_CODE_FIELD_NAME;
 import static com.aws.greengrass.shadowmanager.model.Constants.ERROR_MESSAGE_FIELD_NAME;
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_METADATA;
@@ -75,10 +85,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -120,6 +133,12 @@ class UpdateThingShadowRequestHandlerTest {
     @Captor
     ArgumentCaptor<PubSubRequest> pubSubRequestCaptor;
 
+    @Captor
+    ArgumentCaptor<byte[]> pubSubPayloadCaptor;
+
+    @Captor
+    ArgumentCaptor<Runnable> afterCommitCaptor;
+
     private byte[] getJsonFromResource(String fileName) throws IOException, URISyntaxException {
         File f = new File(getClass().getResource(fileName).toURI());
         return Files.readAllBytes(f.toPath());
@@ -139,9 +158,99 @@ class UpdateThingShadowRequestHandlerTest {
     @BeforeEach
     void setup() throws IOException {
         lenient().when(mockSynchronizeHelper.getThingShadowLock(any())).thenReturn(Object.class);
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(mockDao).afterCommit(any());
         JsonUtil.loadSchema();
     }
 
+    @Test
+    void GIVEN_shadow_deleted_and_created_again_at_cached_version_WHEN_get_THEN_created_shadow_returned() throws IOException {
+        ShadowResponseCache responseCache = new ShadowResponseCache(Constants.MAX_CACHED_SHADOW_RESPONSES);
+        GetThingShadowRequestHandler getHandler = new GetThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, responseCache);
+        DeleteThingShadowRequestHandler deleteHandler = new DeleteThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler, responseCache);
+        UpdateThingShadowRequestHandler updateHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler, responseCache);
+        ShadowDocument deletedShadow = new ShadowDocument("{\"state\":{\"reported\":{\"color\":\"red\"}}}".getBytes(StandardCharsets.UTF_8), 1L);
+        ShadowDocument createdShadow = new ShadowDocument("{\"state\":{\"reported\":{\"color\":\"blue\"}}}".getBytes(StandardCharsets.UTF_8), 1L);
+        when(mockDao.getShadowThing(THING_NAME, SHADOW_NAME)).thenReturn(Optional.of(deletedShadow), Optional.empty(), Optional.of(createdShadow));
+        when(mockDao.getShadowDocumentVersion(THING_NAME, SHADOW_NAME)).thenReturn(Optional.of(1L));
+        when(mockDao.deleteShadowThing(THING_NAME, SHADOW_NAME)).thenReturn(Optional.of(deletedShadow));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(new byte[0]));
+        GetThingShadowRequest getRequest = new GetThingShadowRequest();
+        getRequest.setThingName(THING_NAME);
+        getRequest.setShadowName(SHADOW_NAME);
+        getHandler.handleRequest(getRequest, TEST_SERVICE);
+
+        // the delete is part of a transaction, and the shadow is still read at its cached version until it commits
+        doNothing().when(mockDao).afterCommit(afterCommitCaptor.capture());
+        DeleteThingShadowRequest deleteRequest = new DeleteThingShadowRequest();
+        deleteRequest.setThingName(THING_NAME);
+        deleteRequest.setShadowName(SHADOW_NAME);
+        deleteHandler.handleRequest(deleteRequest, TEST_SERVICE);
+        getHandler.handleRequest(getRequest, TEST_SERVICE);
+        afterCommitCaptor.getAllValues().forEach(Runnable::run);
+
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(mockDao).afterCommit(any());
+        UpdateThingShadowRequest updateRequest = new UpdateThingShadowRequest();
+        updateRequest.setThingName(THING_NAME);
+        updateRequest.setShadowName(SHADOW_NAME);
+        updateRequest.setPayload("{\"state\":{\"reported\":{\"color\":\"blue\"}}}".getBytes(StandardCharsets.UTF_8));
+        updateHandler.handleRequest(updateRequest, TEST_SERVICE);
+
+        JsonNode getResponse = JsonUtil.getPayloadJson(getHandler.handleRequest(getRequest, TEST_SERVICE).getPayload()).get();
+        assertThat(getResponse.get(SHADOW_DOCUMENT_STATE).get("reported").get("color").asText(), is("blue"));
+        verify(mockDao, times(3)).getShadowThing(THING_NAME, SHADOW_NAME);
+    }
+
+    @Test
+    void GIVEN_cached_response_WHEN_update_creates_shadow_THEN_cached_response_dropped() throws IOException {
+        ShadowResponseCache responseCache = new ShadowResponseCache(Constants.MAX_CACHED_SHADOW_RESPONSES);
+        responseCache.put(THING_NAME, SHADOW_NAME, 1L, JsonUtil.OBJECT_MAPPER.createObjectNode(),
+                responseCache.getGeneration(), Instant.now());
+        UpdateThingShadowRequestHandler updateHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler, responseCache);
+        when(mockDao.getShadowThing(THING_NAME, SHADOW_NAME)).thenReturn(Optional.empty());
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(new byte[0]));
+        UpdateThingShadowRequest updateRequest = new UpdateThingShadowRequest();
+        updateRequest.setThingName(THING_NAME);
+        updateRequest.setShadowName(SHADOW_NAME);
+        updateRequest.setPayload("{\"state\":{\"reported\":{\"color\":\"blue\"}}}".getBytes(StandardCharsets.UTF_8));
+
+        updateHandler.handleRequest(updateRequest, TEST_SERVICE);
+        assertThat(responseCache.getVersion(THING_NAME, SHADOW_NAME).isPresent(), is(false));
+    }
+
+    @Test
+    void GIVEN_update_in_transaction_WHEN_handle_request_THEN_messages_published_and_synced_after_commit() throws IOException, URISyntaxException {
+        byte[] initialDocument = getJsonFromResource(RESOURCE_DIRECTORY_NAME + GOOD_INITIAL_DOCUMENT_FILE_NAME);
+        byte[] updateRequest = getJsonFromResource(RESOURCE_DIRECTORY_NAME + GOOD_UPDATE_DOCUMENT_WITH_DESIRED_REQUEST_FILE_NAME);
+        byte[] updateDocument = getJsonFromResource(RESOURCE_DIRECTORY_NAME + GOOD_UPDATED_DOCUMENT_FILE_NAME);
+        UpdateThingShadowRequest request = new UpdateThingShadowRequest();
+        request.setThingName(THING_NAME);
+        request.setShadowName(SHADOW_NAME);
+        request.setPayload(updateRequest);
+
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+        when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(updateDocument));
+        doNothing().when(mockDao).afterCommit(afterCommitCaptor.capture());
+
+        updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
+        verify(mockPubSubClientWrapper, never()).accept(any());
+        verify(mockPubSubClientWrapper, never()).delta(any());
+        verify(mockPubSubClientWrapper, never()).documents(any());
+        verify(mockSyncHandler, never()).pushCloudUpdateSyncRequest(any(), any(), any(), any());
+
+        afterCommitCaptor.getValue().run();
+        verify(mockPubSubClientWrapper, times(1)).accept(any());
+        verify(mockPubSubClientWrapper, times(1)).delta(any());
+        verify(mockPubSubClientWrapper, times(1)).documents(any());
+        verify(mockSyncHandler, times(1)).pushCloudUpdateSyncRequest(eq(THING_NAME), eq(SHADOW_NAME), any(), any());
+    }
+
     @ParameterizedTest
     @EmptySource
     @ValueSource(strings = {SHADOW_NAME, ""})
@@ -161,7 +270,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.of(updateDocument));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(updateDocument));
 
         UpdateThingShadowHandlerResponse actualResponse = updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
         Optional<JsonNode> updatedDocumentJson = JsonUtil.getPayloadJson(actualResponse.getUpdateThingShadowResponse().getPayload());
@@ -239,7 +348,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.of(updateDocument));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(updateDocument));
 
         UpdateThingShadowHandlerResponse actualResponse = updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
         Optional<JsonNode> updatedDocumentJson = JsonUtil.getPayloadJson(actualResponse.getUpdateThingShadowResponse().getPayload());
@@ -314,7 +423,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.of(updateDocument));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(updateDocument));
 
         UpdateThingShadowHandlerResponse actualResponse = updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
         Optional<JsonNode> updatedDocumentJson = JsonUtil.getPayloadJson(actualResponse.getUpdateThingShadowResponse().getPayload());
@@ -397,7 +506,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.of(updateDocument));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(updateDocument));
 
         UpdateThingShadowHandlerResponse actualResponse = updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
         Optional<JsonNode> updatedDocumentJson = JsonUtil.getPayloadJson(actualResponse.getUpdateThingShadowResponse().getPayload());
@@ -468,7 +577,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.empty());
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.of(updateDocument));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(updateDocument));
 
         UpdateThingShadowHandlerResponse actualResponse = updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
         Optional<JsonNode> updatedDocumentJson = JsonUtil.getPayloadJson(actualResponse.getUpdateThingShadowResponse().getPayload());
@@ -539,7 +648,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
-        doThrow(new ShadowManagerDataException(new Exception(SAMPLE_EXCEPTION_MESSAGE))).when(mockDao).updateShadowThing(any(), any(), any(), anyLong());
+        doThrow(new ShadowManagerDataException(new Exception(SAMPLE_EXCEPTION_MESSAGE))).when(mockDao).updateShadowThing(any());
         ServiceError thrown = assertThrows(ServiceError.class, () -> updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE));
         assertThat(thrown.getMessage(), containsString(SAMPLE_EXCEPTION_MESSAGE));
 
@@ -673,7 +782,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(new ShadowDocument(initialDocument)));
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.empty());
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.empty());
 
         ServiceError thrown = assertThrows(ServiceError.class, () -> updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE));
         assertThat(thrown.getMessage(), startsWith("Unexpected error"));
@@ -746,7 +855,7 @@ class UpdateThingShadowRequestHandlerTest {
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         ArgumentCaptor<JsonNode> documentCaptor = ArgumentCaptor.forClass(JsonNode.class);
         doNothing().when(mockSyncHandler).pushCloudUpdateSyncRequest(any(), any(), documentCaptor.capture(), any());
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong()))
+        when(mockDao.updateShadowThing(any()))
                 .thenReturn(Optional.of(new byte[]{}));
 
         UpdateThingShadowHandlerResponse actualResponse =
@@ -854,7 +963,7 @@ class UpdateThingShadowRequestHandlerTest {
 
         UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
         when(mockDao.getShadowThing(any(), any())).thenReturn(Optional.of(initial));
-        when(mockDao.updateShadowThing(any(), any(), any(), anyLong())).thenReturn(Optional.of(new byte[]{}));
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(new byte[]{}));
 
         UpdateThingShadowHandlerResponse actualResponse = updateThingShadowIPCHandler.handleRequest(request, TEST_SERVICE);
         Optional<JsonNode> responseJson = JsonUtil.getPayloadJson(actualResponse.getUpdateThingShadowResponse().getPayload());
@@ -872,4 +981,177 @@ class UpdateThingShadowRequestHandlerTest {
         JsonNode updatedDocument = JsonUtil.getPayloadJson(actualResponse.getCurrentDocument()).get();
         assertThat(updatedDocument.get("state"), is(expectedAcceptedJson.get().get("state")));
     }
+
+    private byte[] getBatchUpdatePayload(long version) throws IOException, URISyntaxException {
+        JsonNode update = JsonUtil.getPayloadJson(getJsonFromResource(RESOURCE_DIRECTORY_NAME + GOOD_UPDATE_DOCUMENT_WITH_DESIRED_REQUEST_FILE_NAME)).get();
+        ((ObjectNode) update).put(SHADOW_DOCUMENT_VERSION, version);
+        ObjectNode request = JsonUtil.OBJECT_MAPPER.createObjectNode();
+        request.put(Constants.SHADOW_DOCUMENT_CLIENT_TOKEN, "batchToken");
+        ArrayNode shadows = request.putArray(Constants.SHADOW_DOCUMENT_SHADOWS);
+        shadows.addObject().put(Constants.SHADOW_DOCUMENT_THING_NAME, THING_NAME)
+                .put(Constants.SHADOW_DOCUMENT_SHADOW_NAME, SHADOW_NAME)
+                .set(Constants.SHADOW_DOCUMENT_PAYLOAD, update);
+        shadows.addObject().set(Constants.SHADOW_DOCUMENT_PAYLOAD, update.deepCopy());
+        return JsonUtil.getPayloadBytes(request);
+    }
+
+    private Map<Pair<String, String>, ShadowDocument> getBatchCurrentDocuments() throws IOException, URISyntaxException {
+        byte[] initialDocument = getJsonFromResource(RESOURCE_DIRECTORY_NAME + GOOD_INITIAL_DOCUMENT_FILE_NAME);
+        Map<Pair<String, String>, ShadowDocument> documents = new HashMap<>();
+        documents.put(new Pair<>(THING_NAME, SHADOW_NAME), new ShadowDocument(initialDocument));
+        documents.put(new Pair<>(THING_NAME, CLASSIC_SHADOW_IDENTIFIER), new ShadowDocument(initialDocument));
+        return documents;
+    }
+
+    @Test
+    void GIVEN_batch_update_request_WHEN_handle_batch_request_THEN_all_shadows_updated_in_one_transaction() throws IOException, URISyntaxException {
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
+        when(mockDao.getShadowThings(any())).thenReturn(getBatchCurrentDocuments());
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(new byte[0]));
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        byte[] response = updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, getBatchUpdatePayload(1), TEST_SERVICE);
+
+        verify(mockDao, times(1)).getShadowThings(any());
+        verify(mockDao, times(1)).executeInTransaction(any());
+        verify(mockDao, times(1)).updateShadowThing(argThat(update -> THING_NAME.equals(update.getThingName())
+                && SHADOW_NAME.equals(update.getShadowName()) && update.getVersion() == 2L));
+        verify(mockDao, times(1)).updateShadowThing(argThat(update -> THING_NAME.equals(update.getThingName())
+                && CLASSIC_SHADOW_IDENTIFIER.equals(update.getShadowName()) && update.getVersion() == 2L));
+        verify(mockPubSubClientWrapper, times(2)).accept(any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateAccepted(THING_NAME, response);
+        verify(mockPubSubClientWrapper, never()).batchUpdateRejected(any(), any());
+        verify(mockSyncHandler, times(1)).pushCloudUpdateSyncRequest(eq(THING_NAME), eq(SHADOW_NAME), any(), any());
+        verify(mockSyncHandler, times(1)).pushCloudUpdateSyncRequest(eq(THING_NAME), eq(CLASSIC_SHADOW_IDENTIFIER), any(), any());
+
+        JsonNode responseNode = JsonUtil.getPayloadJson(response).get();
+        assertThat(responseNode.get(Constants.SHADOW_DOCUMENT_CLIENT_TOKEN).asText(), is("batchToken"));
+        JsonNode shadows = responseNode.get(Constants.SHADOW_DOCUMENT_SHADOWS);
+        assertThat(shadows.size(), is(2));
+        assertThat(shadows.get(0).get(Constants.SHADOW_DOCUMENT_SHADOW_NAME).asText(), is(SHADOW_NAME));
+        assertThat(shadows.get(0).get(SHADOW_DOCUMENT_VERSION).asLong(), is(2L));
+        assertThat(shadows.get(1).get(Constants.SHADOW_DOCUMENT_SHADOW_NAME).asText(), is(CLASSIC_SHADOW_IDENTIFIER));
+        assertThat(shadows.get(1).get(SHADOW_DOCUMENT_VERSION).asLong(), is(2L));
+    }
+
+    @Test
+    void GIVEN_batch_update_and_publish_failure_WHEN_handle_batch_request_THEN_batch_accepted_and_all_shadows_synced(ExtensionContext context) throws IOException, URISyntaxException {
+        ignoreExceptionOfType(context, IllegalStateException.class);
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
+        when(mockDao.getShadowThings(any())).thenReturn(getBatchCurrentDocuments());
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(new byte[0]));
+        doThrow(new IllegalStateException(SAMPLE_EXCEPTION_MESSAGE)).when(mockPubSubClientWrapper).accept(any());
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        byte[] response = updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, getBatchUpdatePayload(1), TEST_SERVICE);
+
+        verify(mockPubSubClientWrapper, times(2)).accept(any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateAccepted(THING_NAME, response);
+        verify(mockPubSubClientWrapper, never()).batchUpdateRejected(any(), any());
+        verify(mockSyncHandler, times(1)).pushCloudUpdateSyncRequest(eq(THING_NAME), eq(SHADOW_NAME), any(), any());
+        verify(mockSyncHandler, times(1)).pushCloudUpdateSyncRequest(eq(THING_NAME), eq(CLASSIC_SHADOW_IDENTIFIER), any(), any());
+    }
+
+    @Test
+    void GIVEN_batch_update_with_conflicting_version_WHEN_handle_batch_request_THEN_no_shadow_updated(ExtensionContext context) throws IOException, URISyntaxException {
+        ignoreExceptionOfType(context, ConflictError.class);
+        when(mockDao.getShadowThings(any())).thenReturn(getBatchCurrentDocuments());
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        assertThrows(ConflictError.class, () -> updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, getBatchUpdatePayload(5), TEST_SERVICE));
+
+        verify(mockDao, never()).executeInTransaction(any());
+        verify(mockDao, never()).updateShadowThing(any());
+        verify(mockPubSubClientWrapper, never()).accept(any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateRejected(eq(THING_NAME), any());
+        verify(mockSyncHandler, never()).pushCloudUpdateSyncRequest(any(), any(), any(), any());
+    }
+
+    @Test
+    void GIVEN_batch_update_with_unauthorized_shadow_WHEN_handle_batch_request_THEN_no_shadow_updated(ExtensionContext context) throws IOException, URISyntaxException, AuthorizationException {
+        ignoreExceptionOfType(context, AuthorizationException.class);
+        doThrow(new AuthorizationException(SAMPLE_EXCEPTION_MESSAGE)).when(mockAuthorizationHandlerWrapper).doAuthorization(any(), any(), any(ShadowRequest.class));
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        assertThrows(UnauthorizedError.class, () -> updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, getBatchUpdatePayload(1), TEST_SERVICE));
+
+        verify(mockDao, never()).getShadowThings(any());
+        verify(mockDao, never()).updateShadowThing(any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateRejected(eq(THING_NAME), pubSubPayloadCaptor.capture());
+        JsonNode errorNode = JsonUtil.getPayloadJson(pubSubPayloadCaptor.getValue()).get();
+        assertThat(errorNode.get(ERROR_CODE_FIELD_NAME).asInt(), is(401));
+        assertThat(errorNode.get(Constants.SHADOW_DOCUMENT_SHADOW_NAME).asText(), is(SHADOW_NAME));
+    }
+
+    @Test
+    void GIVEN_batch_update_with_shadow_of_other_thing_WHEN_handle_batch_request_THEN_no_shadow_read_or_updated(ExtensionContext context) throws IOException, URISyntaxException, AuthorizationException {
+        ignoreExceptionOfType(context, AuthorizationException.class);
+        JsonNode request = JsonUtil.getPayloadJson(getBatchUpdatePayload(1)).get();
+        ((ObjectNode) request.get(Constants.SHADOW_DOCUMENT_SHADOWS).get(1)).put(Constants.SHADOW_DOCUMENT_THING_NAME, "otherThing");
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        assertThrows(UnauthorizedError.class, () -> updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, JsonUtil.getPayloadBytes(request), TEST_SERVICE));
+
+        verify(mockAuthorizationHandlerWrapper, never()).doAuthorization(any(), any(),
+                argThat((ShadowRequest r) -> "otherThing".equals(r.getThingName())));
+        verify(mockDao, never()).getShadowThings(any());
+        verify(mockDao, never()).updateShadowThing(any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateRejected(eq(THING_NAME), pubSubPayloadCaptor.capture());
+        JsonNode errorNode = JsonUtil.getPayloadJson(pubSubPayloadCaptor.getValue()).get();
+        assertThat(errorNode.get(ERROR_CODE_FIELD_NAME).asInt(), is(401));
+        assertThat(errorNode.get(Constants.SHADOW_DOCUMENT_THING_NAME).asText(), is("otherThing"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not json", "{}", "{\"shadows\": []}", "{\"shadows\": [{\"thingName\": \"a\"}]}",
+            "{\"shadows\": [{\"thingName\": \"a\", \"payload\": {\"state\": {\"desired\": {\"k\": 1}}}},"
+                    + "{\"thingName\": \"a\", \"payload\": {\"state\": {\"desired\": {\"k\": 2}}}}]}"})
+    void GIVEN_invalid_batch_update_payload_WHEN_handle_batch_request_THEN_throw_invalid_arguments_error(String payload, ExtensionContext context) {
+        ignoreExceptionOfType(context, InvalidRequestParametersException.class);
+        ignoreExceptionOfType(context, JsonParseException.class);
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        assertThrows(InvalidArgumentsError.class, () -> updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload.getBytes(StandardCharsets.UTF_8), TEST_SERVICE));
+
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateRejected(eq(THING_NAME), any());
+        verify(mockDao, never()).getShadowThings(any());
+    }
+
+    @Test
+    void GIVEN_batch_update_with_too_deep_state_WHEN_handle_batch_request_THEN_no_shadow_updated(ExtensionContext context) throws IOException {
+        ignoreExceptionOfType(context, InvalidRequestParametersException.class);
+        when(mockDao.getShadowThings(any())).thenReturn(new HashMap<>());
+        byte[] payload = ("{\"shadows\": [{\"shadowName\": \"" + SHADOW_NAME + "\", \"payload\": {\"state\": {\"desired\": "
+                + "{\"d2\": {\"d3\": {\"d4\": {\"d5\": {\"d6\": {\"d7\": {\"d8\": 1}}}}}}}}}}]}").getBytes(StandardCharsets.UTF_8);
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        assertThrows(InvalidArgumentsError.class, () -> updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, payload, TEST_SERVICE));
+
+        verify(mockDao, never()).executeInTransaction(any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateRejected(eq(THING_NAME), pubSubPayloadCaptor.capture());
+        JsonNode errorNode = JsonUtil.getPayloadJson(pubSubPayloadCaptor.getValue()).get();
+        assertThat(errorNode.get(ERROR_CODE_FIELD_NAME).asInt(), is(400));
+        assertThat(errorNode.get(ERROR_MESSAGE_FIELD_NAME).asText(), is(ErrorMessage.INVALID_STATE_NODE_DEPTH_MESSAGE.getMessage()));
+        assertThat(errorNode.get(Constants.SHADOW_DOCUMENT_SHADOW_NAME).asText(), is(SHADOW_NAME));
+    }
+
+    @Test
+    void GIVEN_batch_update_and_database_failure_WHEN_handle_batch_request_THEN_throw_service_error(ExtensionContext context) throws IOException, URISyntaxException {
+        ignoreExceptionOfType(context, ShadowManagerDataException.class);
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
+        when(mockDao.getShadowThings(any())).thenReturn(getBatchCurrentDocuments());
+        when(mockDao.updateShadowThing(any())).thenReturn(Optional.of(new byte[0]))
+                .thenReturn(Optional.empty());
+        UpdateThingShadowRequestHandler updateThingShadowIPCHandler = new UpdateThingShadowRequestHandler(mockDao, mockAuthorizationHandlerWrapper, mockPubSubClientWrapper, mockSynchronizeHelper, mockSyncHandler);
+
+        assertThrows(ServiceError.class, () -> updateThingShadowIPCHandler.handleBatchRequest(THING_NAME, getBatchUpdatePayload(1), TEST_SERVICE));
+
+        verify(mockPubSubClientWrapper, never()).accept(any());
+        verify(mockPubSubClientWrapper, never()).batchUpdateAccepted(any(), any());
+        verify(mockPubSubClientWrapper, times(1)).batchUpdateRejected(eq(THING_NAME), any());
+        verify(mockSyncHandler, never()).pushCloudUpdateSyncRequest(any(), any(), any(), any());
+    }
 }
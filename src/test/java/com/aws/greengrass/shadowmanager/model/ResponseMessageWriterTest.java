@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.model;
+
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.shadowmanager.util.PayloadOutputBuffer;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ResponseMessageWriterTest {
+    private static final Instant TIMESTAMP = Instant.ofEpochSecond(1_600_000_000L);
+    private static final String CURRENT_DOCUMENT = "{\"state\": {\"desired\": {\"color\": \"r\\u00e9d \\\"x\\\"\"}, "
+            + "\"reported\": {\"color\": \"blue\", \"light\": [1, 2]}}, \"version\": 5}";
+
+    private static JsonNode json(String json) throws IOException {
+        return JsonUtil.getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get();
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void GIVEN_documents_WHEN_write_THEN_same_bytes_as_builder(boolean stored) throws IOException {
+        ShadowDocument previousDocument = new ShadowDocument(CURRENT_DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        if (stored) {
+            previousDocument = new ShadowDocument(previousDocument.toJsonBytes(), previousDocument.getVersion());
+        }
+        ShadowDocument currentDocument = new ShadowDocument(previousDocument);
+        currentDocument.update(json("{\"state\": {\"reported\": {\"color\": \"red\"}}}"));
+
+        byte[] expected = JsonUtil.getPayloadBytes(ResponseMessageBuilder.builder()
+                .withPrevious(previousDocument.toJson(true))
+                .withCurrent(currentDocument.toJson(true))
+                .withClientToken(Optional.of("token"))
+                .withTimestamp(TIMESTAMP)
+                .build());
+        byte[] written;
+        try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+            written = writer
+                    .withPrevious(previousDocument)
+                    .withCurrent(currentDocument)
+                    .withClientToken(Optional.of("token"))
+                    .withTimestamp(TIMESTAMP)
+                    .toBytes();
+        }
+
+        assertThat(string(written), is(equalTo(string(expected))));
+    }
+
+    @Test
+    void GIVEN_new_document_WHEN_write_THEN_previous_is_null() throws IOException {
+        ShadowDocument currentDocument = new ShadowDocument();
+        currentDocument.update(json("{\"state\": {\"desired\": {\"color\": \"red\"}}}"));
+
+        byte[] expected = JsonUtil.getPayloadBytes(ResponseMessageBuilder.builder()
+                .withPrevious(null)
+                .withCurrent(currentDocument.toJson(true))
+                .withClientToken(Optional.empty())
+                .withTimestamp(TIMESTAMP)
+                .build());
+        byte[] written;
+        try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+            written = writer
+                    .withPrevious(null)
+                    .withCurrent(currentDocument)
+                    .withClientToken(Optional.empty())
+                    .withTimestamp(TIMESTAMP)
+                    .toBytes();
+        }
+
+        assertThat(string(written), is(equalTo(string(expected))));
+    }
+
+    @Test
+    void GIVEN_serialized_delta_WHEN_write_THEN_same_bytes_as_builder() throws IOException {
+        ShadowDocument document = new ShadowDocument(CURRENT_DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        JsonNode delta = document.getDelta().get().getLeft();
+        JsonNode deltaMetadata = document.getDelta().get().getRight();
+
+        byte[] expected = JsonUtil.getPayloadBytes(ResponseMessageBuilder.builder()
+                .withVersion(document.getVersion())
+                .withTimestamp(TIMESTAMP)
+                .withState(delta)
+                .withMetadata(deltaMetadata)
+                .withClientToken(Optional.of("token"))
+                .build());
+        byte[] written;
+        try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+            written = writer
+                    .withVersion(document.getVersion())
+                    .withTimestamp(TIMESTAMP)
+                    .withState(JsonUtil.getPayloadBytes(delta))
+                    .withMetadata(deltaMetadata)
+                    .withClientToken(Optional.of("token"))
+                    .toBytes();
+        }
+
+        assertThat(string(written), is(equalTo(string(expected))));
+    }
+
+    @Test
+    void GIVEN_message_not_finished_WHEN_writer_closed_THEN_buffer_released() throws IOException {
+        PayloadOutputBuffer buffer = PayloadOutputBuffer.acquire();
+        buffer.release();
+
+        try (ResponseMessageWriter writer = ResponseMessageWriter.writer()) {
+            writer.withVersion(1);
+        }
+
+        PayloadOutputBuffer reused = PayloadOutputBuffer.acquire();
+        try {
+            assertThat(reused, is(sameInstance(buffer)));
+        } finally {
+            reused.release();
+        }
+    }
+
+    @Test
+    void GIVEN_stored_document_WHEN_updated_THEN_stored_bytes_no_longer_used() throws IOException {
+        byte[] storedBytes = "{\"state\":{\"desired\":{\"color\":\"red\"}},\"metadata\":{}}"
+                .getBytes(StandardCharsets.UTF_8);
+        ShadowDocument document = new ShadowDocument(storedBytes, 1);
+        assertThat(document.toJsonBytes(), is(storedBytes));
+
+        document.update(json("{\"state\": {\"desired\": {\"color\": \"blue\"}}}"));
+
+        assertThat(json(string(document.toJsonBytes())), is(equalTo(document.toJson(false))));
+    }
+}
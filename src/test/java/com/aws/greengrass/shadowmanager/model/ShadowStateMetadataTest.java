@@ -26,6 +26,7 @@ import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_S
 import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_TIMESTAMP;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -329,6 +330,29 @@ class ShadowStateMetadataTest {
         assertThat(deepCopiedMetadata.toJson(), is(shadowStateMetadata.toJson()));
     }
 
+    @Test
+    void GIVEN_copy_of_metadata_WHEN_update_THEN_original_metadata_is_unchanged_and_untouched_nodes_are_shared()
+            throws IOException {
+        ShadowState state = new ShadowState(JsonUtil.getPayloadJson(
+                "{\"id\": 1, \"SomeObject\": {\"SomeChild1\": 2}, \"OtherObject\": {\"OtherChild\": 3}}".getBytes())
+                .get(), null);
+        ShadowStateMetadata metadata = new ShadowStateMetadata(JsonUtil.getPayloadJson(("{\"id\": {\"timestamp\": 1}, "
+                + "\"SomeObject\": {\"SomeChild1\": {\"timestamp\": 1}}, \"OtherObject\": {\"OtherChild\": "
+                + "{\"timestamp\": 1}}}").getBytes()).get(), null, mockClock);
+        JsonNode desiredMetadata = metadata.getDesired().deepCopy();
+
+        ShadowState updatedState = state.copy();
+        ShadowStateMetadata updatedMetadata = updateMetadata(metadata.copy(), updatedState,
+                "{\"desired\": {\"SomeObject\": {\"SomeChild1\": 5}}}");
+
+        assertThat(metadata.getDesired(), is(desiredMetadata));
+        assertThat(updatedMetadata.getDesired().get("SomeObject").get("SomeChild1").get(SHADOW_DOCUMENT_TIMESTAMP)
+                .asLong(), is(timestamp));
+        assertThat(updatedMetadata.getDesired().get("OtherObject"),
+                is(sameInstance(metadata.getDesired().get("OtherObject"))));
+        assertThat(updatedMetadata.getDesired().get("id"), is(sameInstance(metadata.getDesired().get("id"))));
+    }
+
     @Test
     void GIVEN_reported_and_desired_metadata_WHEN_getLatestUpdated_THEN_gets_the_correct_latest_updated_timestamp() throws IOException {
         final String desired = "{\"id\": {\"timestamp\": 1}, \"SomeObject\": {\"SomeChild1\": {\"timestamp\": 2}, \"SomeChild2\": {\"SomeChild3\": {\"timestamp\": 4}}}}";
@@ -338,4 +362,114 @@ class ShadowStateMetadataTest {
         ShadowStateMetadata shadowStateMetadata = new ShadowStateMetadata(desiredJson.get(), reportedJson.get(), mockClock);
         assertThat(shadowStateMetadata.getLatestUpdatedTimestamp(), is(1620163568L));
     }
+
+    private static ShadowStateMetadata updateMetadata(ShadowStateMetadata metadata, ShadowState state, String patch)
+            throws IOException {
+        JsonNode patchJson = JsonUtil.getPayloadJson(patch.getBytes()).get();
+        state.update(patchJson);
+        metadata.update(patchJson, state);
+        return metadata;
+    }
+
+    private ShadowStateMetadata metadataWithTimestamps(long first, long second) throws IOException {
+        String desired = String.format("{\"a\": {\"timestamp\": %d}, \"b\": [{\"timestamp\": %d}]}", first, second);
+        ShadowStateMetadata metadata = new ShadowStateMetadata(JsonUtil.getPayloadJson(desired.getBytes()).get(), null,
+                mockClock);
+        assertThat(metadata.getLatestMetadataTimestamp(), is(Math.max(first, second)));
+        return metadata;
+    }
+
+    private ShadowState stateWithValues() throws IOException {
+        return new ShadowState(JsonUtil.getPayloadJson("{\"a\": 1, \"b\": [2]}".getBytes()).get(), null);
+    }
+
+    private long walkLatestTimestamp(ShadowStateMetadata metadata) {
+        return new ShadowStateMetadata(metadata.getDesired(), metadata.getReported(), mockClock)
+                .getLatestMetadataTimestamp();
+    }
+
+    @Test
+    void GIVEN_known_latest_timestamp_WHEN_update_sets_value_THEN_latest_timestamp_is_update_time() throws IOException {
+        ShadowStateMetadata metadata = updateMetadata(metadataWithTimestamps(100, 200), stateWithValues(),
+                "{\"desired\": {\"a\": 5, \"c\": null}}");
+
+        assertThat(metadata.getLatestMetadataTimestamp(), is(timestamp));
+        assertThat(metadata.getLatestUpdatedTimestamp(), is(timestamp));
+        assertThat(walkLatestTimestamp(metadata), is(timestamp));
+    }
+
+    @Test
+    void GIVEN_later_timestamp_in_metadata_WHEN_update_sets_value_THEN_latest_timestamp_is_kept() throws IOException {
+        ShadowStateMetadata metadata = updateMetadata(metadataWithTimestamps(100, timestamp + 100), stateWithValues(),
+                "{\"desired\": {\"a\": 5}}");
+
+        assertThat(metadata.getLatestMetadataTimestamp(), is(timestamp + 100));
+        assertThat(walkLatestTimestamp(metadata), is(timestamp + 100));
+    }
+
+    @Test
+    void GIVEN_known_latest_timestamp_WHEN_update_removes_latest_value_THEN_latest_timestamp_is_recomputed() throws IOException {
+        ShadowStateMetadata metadata = updateMetadata(metadataWithTimestamps(100, 200), stateWithValues(),
+                "{\"desired\": {\"b\": null}}");
+
+        assertThat(metadata.getLatestMetadataTimestamp(), is(100L));
+        assertThat(walkLatestTimestamp(metadata), is(100L));
+    }
+
+    @Test
+    void GIVEN_known_latest_timestamp_WHEN_update_replaces_array_with_nulls_THEN_latest_timestamp_is_update_time() throws IOException {
+        ShadowStateMetadata metadata = updateMetadata(metadataWithTimestamps(100, 200), stateWithValues(),
+                "{\"desired\": {\"b\": [null]}}");
+
+        assertThat(metadata.getLatestMetadataTimestamp(), is(timestamp));
+        assertThat(walkLatestTimestamp(metadata), is(timestamp));
+    }
+
+    @Test
+    void GIVEN_known_latest_timestamp_WHEN_update_removes_all_values_THEN_there_is_no_latest_timestamp() throws IOException {
+        ShadowStateMetadata metadata = updateMetadata(metadataWithTimestamps(100, 200), stateWithValues(),
+                "{\"desired\": {\"a\": null, \"b\": null}}");
+
+        assertThat(metadata.getLatestMetadataTimestamp(), is(0L));
+        assertThat(metadata.getLatestUpdatedTimestamp(), is(timestamp));
+    }
+
+    @Test
+    void GIVEN_stored_latest_timestamp_WHEN_getLatestUpdated_THEN_metadata_is_not_walked() throws IOException {
+        ShadowStateMetadata metadata = new ShadowStateMetadata(JsonUtil.getPayloadJson(
+                "{\"a\": {\"timestamp\": 100}}".getBytes()).get(), null, mockClock);
+        metadata.setLatestMetadataTimestamp(300L);
+
+        assertThat(metadata.getLatestUpdatedTimestamp(), is(300L));
+        assertThat(metadata.deepCopy().getLatestUpdatedTimestamp(), is(300L));
+    }
+
+    @Test
+    void GIVEN_patch_with_many_values_WHEN_update_THEN_values_share_one_metadata_node() throws IOException {
+        ShadowStateMetadata metadata = updateMetadata(new ShadowStateMetadata(null, null, mockClock), new ShadowState(),
+                "{\"reported\": {\"a\": 1, \"b\": {\"c\": \"2\"}, \"d\": [3, {\"e\": true}]}}");
+
+        JsonNode reported = metadata.getReported();
+        assertTrue(ShadowStateMetadata.isMetadataNode(reported.get("a")));
+        assertThat(reported.get("a").get(SHADOW_DOCUMENT_TIMESTAMP).asLong(), is(timestamp));
+        assertThat(reported.get("b").get("c"), is(sameInstance(reported.get("a"))));
+        assertThat(reported.get("d").get(0), is(sameInstance(reported.get("a"))));
+        assertThat(reported.get("d").get(1).get("e"), is(sameInstance(reported.get("a"))));
+    }
+
+    @Test
+    void GIVEN_values_updated_together_WHEN_one_value_becomes_object_THEN_metadata_of_others_is_unchanged() throws IOException {
+        ShadowState state = new ShadowState();
+        ShadowStateMetadata metadata = updateMetadata(new ShadowStateMetadata(null, null, mockClock), state,
+                "{\"reported\": {\"a\": 1, \"b\": 2, \"c\": 3}}");
+
+        updateMetadata(metadata, state, "{\"reported\": {\"a\": {\"x\": 1, \"y\": null}, \"c\": [4]}}");
+
+        JsonNode reported = metadata.getReported();
+        assertThat(reported.get("a").size(), is(1));
+        assertTrue(ShadowStateMetadata.isMetadataNode(reported.get("a").get("x")));
+        assertTrue(ShadowStateMetadata.isMetadataNode(reported.get("b")));
+        assertThat(reported.get("c").size(), is(1));
+        assertTrue(ShadowStateMetadata.isMetadataNode(reported.get("c").get(0)));
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.model;
+
+import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_DESIRED;
+import static com.aws.greengrass.shadowmanager.model.Constants.SHADOW_DOCUMENT_STATE_REPORTED;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ShadowStateTest {
+
+    private static JsonNode json(String json) throws IOException {
+        return JsonUtil.getPayloadJson(json.getBytes()).get();
+    }
+
+    private static JsonNode calculatedDelta(ShadowState state) {
+        return new ShadowState(state.getDesired() == null ? null : state.getDesired().deepCopy(),
+                state.getReported() == null ? null : state.getReported().deepCopy()).getDelta();
+    }
+
+    /**
+     * Applies the update to a copy of the state, the way the shadow document is updated, and checks that the delta
+     * kept up to date by the update is the same as the delta calculated from the whole state.
+     */
+    private static ShadowState updateAndCheckDelta(ShadowState state, JsonNode patch) {
+        JsonNode previousDelta = state.getDelta() == null ? null : state.getDelta().deepCopy();
+        ShadowState updatedState = state.deepCopy();
+        updatedState.update(patch);
+
+        assertThat(patch.toString(), updatedState.getDelta(), is(equalTo(calculatedDelta(updatedState))));
+        assertThat("previous delta is not modified", state.getDelta(), is(equalTo(previousDelta)));
+        return updatedState;
+    }
+
+    @Test
+    void GIVEN_state_with_delta_WHEN_update_THEN_delta_is_updated() throws IOException {
+        ShadowState state = new ShadowState(json("{\"color\": \"red\", \"light\": {\"on\": true, \"level\": 5}}"),
+                json("{\"color\": \"blue\", \"light\": {\"on\": true, \"level\": 5}}"));
+        assertThat(state.getDelta(), is(equalTo(json("{\"color\": \"red\"}"))));
+
+        state = updateAndCheckDelta(state, json("{\"reported\": {\"light\": {\"level\": 3}}}"));
+        assertThat(state.getDelta(), is(equalTo(json("{\"color\": \"red\", \"light\": {\"level\": 5}}"))));
+
+        state = updateAndCheckDelta(state, json("{\"reported\": {\"color\": \"red\", \"light\": {\"level\": 5.0}}}"));
+        assertThat(state.getDelta(), is(nullValue()));
+
+        state = updateAndCheckDelta(state, json("{\"desired\": {\"color\": \"green\"}}"));
+        assertThat(state.getDelta(), is(equalTo(json("{\"color\": \"green\"}"))));
+
+        state = updateAndCheckDelta(state, json("{\"state\": null}"));
+        assertThat(state.getDelta(), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"reported\": {\"light\": [1, 2]}}",
+            "{\"reported\": {\"light\": {\"on\": false, \"level\": null}}}",
+            "{\"desired\": {\"light\": \"off\"}}",
+            "{\"desired\": {\"light\": {}}, \"reported\": {\"color\": {\"r\": 255}}}",
+            "{\"reported\": {\"light\": null, \"color\": null}}",
+            "{\"desired\": null}",
+            "{\"reported\": null}",
+            "{\"desired\": {\"light\": {\"level\": {\"min\": 1, \"max\": null}}}}"
+    })
+    void GIVEN_update_replacing_values_WHEN_update_THEN_delta_is_same_as_calculated_one(String patch)
+            throws IOException {
+        ShadowState state = new ShadowState(json("{\"color\": \"red\", \"light\": {\"on\": true, \"level\": 5}}"),
+                json("{\"color\": \"blue\", \"light\": \"on\"}"));
+        state.getDelta();
+
+        updateAndCheckDelta(state, json(patch));
+    }
+
+    @Test
+    void GIVEN_reported_added_after_desired_WHEN_update_THEN_delta_no_longer_has_desired_nulls() throws IOException {
+        ShadowState state = new ShadowState();
+        state = updateAndCheckDelta(state, json("{\"desired\": {\"light\": {\"on\": true, \"level\": null}}}"));
+        state = updateAndCheckDelta(state, json("{\"reported\": {\"color\": \"red\"}}"));
+        assertThat(state.getDelta(), is(equalTo(json("{\"light\": {\"on\": true, \"level\": null}}"))));
+
+        state = updateAndCheckDelta(state, json("{\"reported\": {\"light\": {\"on\": true}}}"));
+        assertThat(state.getDelta(), is(nullValue()));
+    }
+
+    @Test
+    void GIVEN_copy_of_state_WHEN_update_THEN_original_state_is_unchanged_and_untouched_nodes_are_shared()
+            throws IOException {
+        ShadowState state = new ShadowState(json("{\"light\": {\"on\": true}, \"fan\": {\"speed\": 2}}"),
+                json("{\"light\": {\"on\": false}, \"fan\": {\"speed\": 2}}"));
+        JsonNode delta = state.getDelta();
+
+        ShadowState updatedState = state.copy();
+        updatedState.update(json("{\"desired\": {\"light\": {\"on\": false}}}"));
+
+        assertThat(state.getDesired(), is(equalTo(json("{\"light\": {\"on\": true}, \"fan\": {\"speed\": 2}}"))));
+        assertThat(state.getDelta(), is(sameInstance(delta)));
+        assertThat(state.getDelta(), is(equalTo(json("{\"light\": {\"on\": true}}"))));
+        assertThat(updatedState.getDelta(), is(nullValue()));
+        assertThat(updatedState.getDesired().get("fan"), is(sameInstance(state.getDesired().get("fan"))));
+        assertThat(updatedState.getReported(), is(sameInstance(state.getReported())));
+    }
+
+    @Test
+    void GIVEN_random_updates_WHEN_update_THEN_delta_is_same_as_calculated_one() {
+        for (int seed = 0; seed < 500; seed++) {
+            Random random = new Random(seed);
+            ShadowState state = new ShadowState();
+            for (int i = 0; i < 10; i++) {
+                ObjectNode patch = OBJECT_MAPPER.createObjectNode();
+                if (random.nextInt(10) == 0) {
+                    patch.putNull(random.nextBoolean() ? SHADOW_DOCUMENT_STATE_DESIRED
+                            : SHADOW_DOCUMENT_STATE_REPORTED);
+                }
+                if (random.nextBoolean()) {
+                    patch.set(SHADOW_DOCUMENT_STATE_DESIRED, randomObject(random, 0));
+                }
+                if (random.nextBoolean()) {
+                    patch.set(SHADOW_DOCUMENT_STATE_REPORTED, randomObject(random, 0));
+                }
+                state = updateAndCheckDelta(state, patch);
+            }
+        }
+    }
+
+    private static ObjectNode randomObject(Random random, int depth) {
+        ObjectNode node = OBJECT_MAPPER.createObjectNode();
+        int fields = random.nextInt(4);
+        for (int i = 0; i < fields; i++) {
+            String field = "field" + random.nextInt(5);
+            switch (random.nextInt(depth > 2 ? 6 : 9)) {
+                case 0:
+                    node.putNull(field);
+                    break;
+                case 1:
+                    node.put(field, random.nextInt(3));
+                    break;
+                case 2:
+                    node.put(field, (double) random.nextInt(3));
+                    break;
+                case 3:
+                    node.put(field, "value" + random.nextInt(2));
+                    break;
+                case 4:
+                    node.putArray(field).add(random.nextInt(2));
+                    break;
+                case 5:
+                    node.put(field, random.nextBoolean());
+                    break;
+                default:
+                    node.set(field, randomObject(random, depth + 1));
+                    break;
+            }
+        }
+        return node;
+    }
+}
@@ -13,6 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -267,6 +270,30 @@ class RequestQueueTest {
         assertThat("queue empty", queue.isEmpty(), is(true));
     }
 
+    @Test
+    void GIVEN_request_of_shadow_not_in_keys_WHEN_putAndPollIfIn_THEN_request_is_put_and_not_returned() {
+        Set<String> shadowKeys = new HashSet<>();
+
+        assertThat(queue.putAndPollIfIn(thingAShadow1, false, shadowKeys), is(nullValue()));
+        assertThat(queue.size(), is(1));
+        assertThat(queue.poll(), is(thingAShadow1));
+    }
+
+    @Test
+    void GIVEN_head_of_shadow_in_keys_WHEN_putAndPollIfIn_THEN_request_is_put_and_head_returned()
+            throws InterruptedException {
+        queue.put(thingBShadow1);
+        queue.put(thingAShadow1);
+        Set<String> shadowKeys = queue.shadowKeys();
+        when(merger.merge(thingAShadow1Again, thingAShadow1)).thenReturn(thingAShadow1Merged);
+
+        assertThat(queue.putAndPollIfIn(thingAShadow1Again, false, shadowKeys), is(thingBShadow1));
+        assertThat(shadowKeys, is(Collections.singleton("A|1")));
+        assertThat(queue.putAndPollIfIn(thingCShadow1, true, shadowKeys), is(thingAShadow1Merged));
+        assertThat(queue.putAndPollIfIn(thingBShadow1, true, shadowKeys), is(nullValue()));
+        assertThat(queue.size(), is(2));
+    }
+
     @Test
     void GIVEN_non_empty_queue_WHEN_putAndTake_same_shadow_THEN_merge_and_return_head() throws InterruptedException {
         queue.put(thingAShadow2);
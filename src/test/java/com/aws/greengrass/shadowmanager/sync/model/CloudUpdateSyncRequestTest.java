@@ -13,6 +13,7 @@ import com.aws.greengrass.shadowmanager.exception.UnknownShadowException;
 import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientWrapper;
+import com.aws.greengrass.shadowmanager.util.ContentHash;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -245,6 +246,28 @@ class CloudUpdateSyncRequestTest {
         verify(mockDao, never()).updateSyncInformation(any());
     }
 
+    @Test
+    void GIVEN_same_content_hash_as_last_sync_WHEN_isUpdateNecessary_THEN_returns_false_without_comparing_documents() throws IOException, SkipSyncRequestException, UnknownShadowException {
+        ShadowDocument shadowDocument = new ShadowDocument(BASE_DOCUMENT);
+
+        long epochSeconds = Instant.now().getEpochSecond();
+        when(mockDao.getShadowSyncInformation(anyString(), anyString())).thenReturn(Optional.of(SyncInformation.builder()
+                .cloudUpdateTime(epochSeconds)
+                .thingName(THING_NAME)
+                .shadowName(SHADOW_NAME)
+                .cloudDeleted(false)
+                .lastSyncedDocument("not json".getBytes(UTF_8))
+                .lastSyncedDocumentHash(ContentHash.of(shadowDocument.getState()))
+                .cloudVersion(0L)
+                .localVersion(1L)
+                .lastSyncTime(epochSeconds)
+                .build()));
+        CloudUpdateSyncRequest request = new CloudUpdateSyncRequest(THING_NAME, SHADOW_NAME, baseDocumentJson, shadowDocument);
+
+        assertFalse(request.isUpdateNecessary(mockContext));
+        verify(mockDao, never()).updateSyncInformation(any());
+    }
+
     @Test
     void GIVEN_new_shadow_WHEN_isUpdateNecessary_THEN_returns_true() throws IOException, UnknownShadowException, SkipSyncRequestException {
         ShadowDocument shadowDocument = new ShadowDocument(BASE_DOCUMENT);
@@ -17,7 +17,9 @@ import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.UpdateThingShadowHandlerResponse;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientWrapper;
+import com.aws.greengrass.shadowmanager.util.ContentHash;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.shadowmanager.util.ShadowWriteSynchronizeHelper;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -71,6 +73,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -125,8 +128,10 @@ class FullShadowSyncRequestTest {
     @BeforeEach
     void setup() throws IOException {
         lenient().when(mockDao.updateSyncInformation(syncInformationCaptor.capture())).thenReturn(true);
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
         syncContext = new SyncContext(mockDao, mockUpdateThingShadowRequestHandler, mockDeleteThingShadowRequestHandler,
-                mockIotDataPlaneClientWrapper);
+                mockIotDataPlaneClientWrapper, new ShadowWriteSynchronizeHelper());
         JsonUtil.loadSchema();
     }
 
@@ -191,6 +196,43 @@ class FullShadowSyncRequestTest {
         assertThat(syncInformationCaptor.getValue().isCloudDeleted(), is(false));
     }
 
+    @Test
+    void GIVEN_full_sync_WHEN_local_shadow_reports_same_state_again_THEN_cloud_update_skipped() throws Exception {
+        long epochSecondsMinus60 = Instant.now().minusSeconds(60).getEpochSecond();
+        when(mockDao.getShadowThing(anyString(), anyString())).thenReturn(Optional.of(new ShadowDocument(LOCAL_DOCUMENT)));
+        when(mockIotDataPlaneClientWrapper.getThingShadow(anyString(), anyString())).thenReturn(GetThingShadowResponse.builder()
+                .payload(SdkBytes.fromByteArray(CLOUD_DOCUMENT))
+                .build());
+        when(mockDao.getShadowSyncInformation(anyString(), anyString())).thenReturn(Optional.of(SyncInformation.builder()
+                .cloudUpdateTime(epochSecondsMinus60)
+                .thingName(THING_NAME)
+                .shadowName(SHADOW_NAME)
+                .cloudDeleted(false)
+                .lastSyncedDocument(BASE_DOCUMENT)
+                .cloudVersion(1L)
+                .localVersion(1L)
+                .lastSyncTime(epochSecondsMinus60)
+                .build()));
+        when(mockUpdateThingShadowHandlerResponse.getUpdateThingShadowResponse().getPayload()).thenReturn("{\"version\": 11, \"state\": {}}".getBytes(UTF_8));
+        when(mockUpdateThingShadowRequestHandler.handleRequest(any(), anyString())).thenReturn(mockUpdateThingShadowHandlerResponse);
+        when(mockIotDataPlaneClientWrapper.updateThingShadow(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(UpdateThingShadowResponse.builder().payload(SdkBytes.fromString("{\"version\": 6, \"state\": {}}", UTF_8)).build());
+        new FullShadowSyncRequest(THING_NAME, SHADOW_NAME).execute(syncContext);
+
+        // the local shadow after the sync, where the field removed by the sync is missing rather than null
+        ShadowDocument syncedLocalDocument = new ShadowDocument(("{\"version\": 11, \"state\": {\"reported\": {\"name\": \"The Beach Boys\", \"NewField\": 100}, "
+                + "\"desired\": {\"name\": \"Backstreet Boys\", \"SomethingNew\": true, \"SomeOtherThingNew\": 100}}}").getBytes(UTF_8));
+        SyncInformation syncInformation = syncInformationCaptor.getValue();
+        assertThat(syncInformation.getLastSyncedDocumentHash(), is(ContentHash.of(syncedLocalDocument.getState())));
+
+        when(mockDao.getShadowSyncInformation(anyString(), anyString())).thenReturn(Optional.of(syncInformation));
+        CloudUpdateSyncRequest reReport = new CloudUpdateSyncRequest(THING_NAME, SHADOW_NAME,
+                JsonUtil.getPayloadJson("{\"state\": {\"reported\": {\"name\": \"The Beach Boys\"}}}".getBytes(UTF_8)).get(),
+                syncedLocalDocument);
+        assertFalse(reReport.isUpdateNecessary(syncContext));
+        verify(mockIotDataPlaneClientWrapper, times(1)).updateThingShadow(anyString(), anyString(), any(byte[].class));
+    }
+
     @Test
     void GIVEN_updated_cloud_document_and_no_local_document_WHEN_execute_THEN_deletes_cloud_document() throws Exception {
         long epochSeconds = Instant.now().getEpochSecond();
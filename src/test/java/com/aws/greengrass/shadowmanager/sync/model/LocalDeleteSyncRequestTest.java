@@ -13,6 +13,7 @@ import com.aws.greengrass.shadowmanager.ipc.DeleteThingShadowRequestHandler;
 import com.aws.greengrass.shadowmanager.ipc.UpdateThingShadowRequestHandler;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientWrapper;
+import com.aws.greengrass.shadowmanager.util.ShadowWriteSynchronizeHelper;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.fasterxml.jackson.core.JsonParseException;
 import org.junit.jupiter.api.BeforeEach;
@@ -91,8 +92,11 @@ class LocalDeleteSyncRequestTest {
         lenient().when(mockDeleteThingShadowRequestHandler.handleRequest(any(DeleteThingShadowRequest.class), anyString()))
                 .thenReturn(new DeleteThingShadowResponse());
 
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
         syncContext = new SyncContext(mockDao, mock(UpdateThingShadowRequestHandler.class),
-                mockDeleteThingShadowRequestHandler, mock(IotDataPlaneClientWrapper.class));
+                mockDeleteThingShadowRequestHandler, mock(IotDataPlaneClientWrapper.class),
+                new ShadowWriteSynchronizeHelper());
     }
 
 
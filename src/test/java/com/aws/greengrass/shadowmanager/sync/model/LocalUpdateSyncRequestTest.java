@@ -17,6 +17,7 @@ import com.aws.greengrass.shadowmanager.model.UpdateThingShadowHandlerResponse;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientWrapper;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.shadowmanager.util.ShadowWriteSynchronizeHelper;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import org.hamcrest.Matchers;
@@ -90,8 +91,11 @@ class LocalUpdateSyncRequestTest {
 
     @BeforeEach
     void setup() throws IOException {
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
         syncContext = new SyncContext(mockDao, mockUpdateThingShadowRequestHandler,
-                mock(DeleteThingShadowRequestHandler.class), mock(IotDataPlaneClientWrapper.class));
+                mock(DeleteThingShadowRequestHandler.class), mock(IotDataPlaneClientWrapper.class),
+                new ShadowWriteSynchronizeHelper());
         JsonUtil.loadSchema();
     }
 
@@ -15,6 +15,7 @@ import com.aws.greengrass.shadowmanager.model.ShadowDocument;
 import com.aws.greengrass.shadowmanager.model.dao.SyncInformation;
 import com.aws.greengrass.shadowmanager.sync.IotDataPlaneClientWrapper;
 import com.aws.greengrass.shadowmanager.util.JsonUtil;
+import com.aws.greengrass.shadowmanager.util.ShadowWriteSynchronizeHelper;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -77,8 +78,10 @@ class OverwriteCloudShadowRequestTest {
     @BeforeEach
     void setup() throws IOException {
         lenient().when(mockDao.updateSyncInformation(any())).thenReturn(true);
+        lenient().when(mockDao.executeInTransaction(any())).thenAnswer(invocation ->
+                ((ShadowManagerDAO.UnitOfWork<?, ?>) invocation.getArgument(0)).execute());
         syncContext = new SyncContext(mockDao, mockUpdateThingShadowRequestHandler, mockDeleteThingShadowRequestHandler,
-                mockIotDataPlaneClientWrapper);
+                mockIotDataPlaneClientWrapper, new ShadowWriteSynchronizeHelper());
         JsonUtil.loadSchema();
     }
 
@@ -32,6 +32,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -77,6 +78,83 @@ class PeriodicSyncStrategyTest extends SyncStrategyTestBase<PeriodicSyncStrategy
     }
 
 
+    @Test
+    void GIVEN_jitter_WHEN_putSyncRequest_and_sync_loop_runs_THEN_request_is_executed_successfully()
+            throws Exception {
+        strategy = new PeriodicSyncStrategy(executorService, mockRetryer, 1, 1, false,
+                new RequestQueue(new RequestMerger(direction)), direction);
+        strategy.start(mockSyncContext, 1);
+        strategy.putSyncRequest(new FullShadowSyncRequest("thing", "shadow"));
+
+        verify(mockRetryer, timeout(Duration.ofSeconds(7).toMillis()).times(1)).run(any(), any(), any());
+        assertThat(strategy.syncThreads.size(), is(1));
+    }
+
+    @Test
+    void GIVEN_merge_per_interval_WHEN_requests_added_during_sync_loop_THEN_requests_are_synced_in_next_interval()
+            throws Exception {
+        RequestQueue queue = new RequestQueue(new RequestMerger(direction));
+        strategy = new PeriodicSyncStrategy(executorService, mockRetryer, 300, 0, true, queue, direction);
+        strategy.syncing.set(true);
+        FullShadowSyncRequest request1 = new FullShadowSyncRequest("thing1", "shadow1");
+        queue.put(request1);
+        queue.put(new FullShadowSyncRequest("thing2", "shadow2"));
+        doAnswer(invocation -> {
+            if (invocation.getArgument(1) == request1) {
+                // the shadow being synced changes again and another shadow changes
+                queue.put(new FullShadowSyncRequest("thing1", "shadow1"));
+                queue.put(new FullShadowSyncRequest("thing3", "shadow3"));
+            }
+            return null;
+        }).when(mockRetryer).run(any(), any(), any());
+
+        strategy.syncLoop();
+
+        verify(mockRetryer, times(2)).run(any(), any(), any());
+        assertThat(queue.size(), is(2));
+
+        strategy.syncLoop();
+
+        ArgumentCaptor<SyncRequest> requestCaptor = ArgumentCaptor.forClass(SyncRequest.class);
+        verify(mockRetryer, times(4)).run(any(), requestCaptor.capture(), any());
+        assertThat(requestCaptor.getAllValues().get(2).getThingName(), is("thing1"));
+        assertThat(requestCaptor.getAllValues().get(3).getThingName(), is("thing3"));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    void GIVEN_merge_per_interval_WHEN_sync_request_run_throws_RetryableException_THEN_request_is_retried_in_next_interval(ExtensionContext extensionContext)
+            throws Exception {
+        ignoreExceptionOfType(extensionContext, RetryableException.class);
+        RequestQueue queue = new RequestQueue(new RequestMerger(direction));
+        strategy = new PeriodicSyncStrategy(executorService, mockRetryer, 300, 0, true, queue, direction);
+        strategy.syncing.set(true);
+        FullShadowSyncRequest request1 = new FullShadowSyncRequest("thing1", "shadow1");
+        queue.put(request1);
+        queue.put(new FullShadowSyncRequest("thing2", "shadow2"));
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (invocation.getArgument(1) == request1 && failed.compareAndSet(false, true)) {
+                throw new RetryableException(new RuntimeException("foo"));
+            }
+            return null;
+        }).when(mockRetryer).run(any(), any(), any());
+
+        strategy.syncLoop();
+
+        ArgumentCaptor<SyncRequest> requestCaptor = ArgumentCaptor.forClass(SyncRequest.class);
+        verify(mockRetryer, times(2)).run(any(), requestCaptor.capture(), any());
+        assertThat(requestCaptor.getAllValues().get(0).getThingName(), is("thing1"));
+        assertThat(requestCaptor.getAllValues().get(1).getThingName(), is("thing2"));
+        assertThat(queue.size(), is(1));
+
+        strategy.syncLoop();
+
+        verify(mockRetryer, times(2)).run(any(), eq(request1), any());
+        verify(mockRetryer, times(3)).run(any(), any(), any());
+        assertThat(queue.isEmpty(), is(true));
+    }
+
     @Test
     void GIVEN_sync_request_WHEN_putSyncRequest_and_syncing_is_stopped_THEN_request_is_not_added_to_queue()
             throws Exception {
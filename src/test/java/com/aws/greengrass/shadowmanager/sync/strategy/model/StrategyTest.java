@@ -53,4 +53,18 @@ class StrategyTest {
         assertThat(strategy.getType(), is(StrategyType.PERIODIC));
         assertThat(strategy.getDelay(), is(100L));
     }
+
+    @Test
+    void GIVEN_periodic_pojo_with_jitter_and_merge_per_interval_WHEN_fromPojo_THEN_gets_the_correct_strategy_object() {
+        Map<String, Object> pojo = new HashMap<>();
+        pojo.put("type", STRATEGY_TYPE_PERIODIC);
+        pojo.put("delay", "100");
+        pojo.put("jitter", 10);
+        pojo.put("mergePerInterval", "true");
+        Strategy strategy = Strategy.fromPojo(pojo);
+        assertThat(strategy.getType(), is(StrategyType.PERIODIC));
+        assertThat(strategy.getDelay(), is(100L));
+        assertThat(strategy.getJitter(), is(10L));
+        assertThat(strategy.isMergePerInterval(), is(true));
+    }
 }
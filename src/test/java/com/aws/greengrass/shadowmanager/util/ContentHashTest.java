@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.util;
+
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.shadowmanager.model.ShadowState;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ContentHashTest {
+    private static final byte[] DOCUMENT = "{\"version\": 1, \"state\": {\"desired\": {\"color\": \"red\", \"size\": 5}, \"reported\": {\"color\": \"blue\", \"list\": [1, \"a\", null]}}}".getBytes();
+    private static final byte[] REORDERED_DOCUMENT = "{\"version\": 7, \"state\": {\"reported\": {\"list\": [1, \"a\", null], \"color\": \"blue\"}, \"desired\": {\"size\": 5, \"color\": \"red\"}}}".getBytes();
+    private static final byte[] CHANGED_VALUE_DOCUMENT = "{\"version\": 1, \"state\": {\"desired\": {\"color\": \"red\", \"size\": 6}, \"reported\": {\"color\": \"blue\", \"list\": [1, \"a\", null]}}}".getBytes();
+    private static final byte[] CHANGED_TYPE_DOCUMENT = "{\"version\": 1, \"state\": {\"desired\": {\"color\": \"red\", \"size\": \"5\"}, \"reported\": {\"color\": \"blue\", \"list\": [1, \"a\", null]}}}".getBytes();
+    private static final byte[] MOVED_STATE_DOCUMENT = "{\"version\": 1, \"state\": {\"reported\": {\"color\": \"red\", \"size\": 5}, \"desired\": {\"color\": \"blue\", \"list\": [1, \"a\", null]}}}".getBytes();
+
+    private static final byte[] NULL_FIELD_DOCUMENT = "{\"version\": 1, \"state\": {\"desired\": {\"color\": \"red\", \"size\": 5, \"shape\": null}, \"reported\": {\"color\": \"blue\", \"list\": [1, \"a\", null]}}}".getBytes();
+    private static final byte[] DECIMAL_DOCUMENT = "{\"version\": 1, \"state\": {\"desired\": {\"color\": \"red\", \"size\": 5.0}, \"reported\": {\"color\": \"blue\", \"list\": [1, \"a\", null]}}}".getBytes();
+
+    @Test
+    void GIVEN_documents_with_different_field_order_WHEN_hashed_THEN_hashes_are_equal() throws IOException {
+        assertThat(hash(DOCUMENT), is(equalTo(hash(REORDERED_DOCUMENT))));
+    }
+
+    @Test
+    void GIVEN_documents_with_different_state_WHEN_hashed_THEN_hashes_are_different() throws IOException {
+        String hash = hash(DOCUMENT);
+
+        assertThat(hash(CHANGED_VALUE_DOCUMENT), is(not(hash)));
+        assertThat(hash(CHANGED_TYPE_DOCUMENT), is(not(hash)));
+        assertThat(hash(MOVED_STATE_DOCUMENT), is(not(hash)));
+        assertThat(hash(DECIMAL_DOCUMENT), is(not(hash)));
+    }
+
+    @Test
+    void GIVEN_document_with_null_field_WHEN_hashed_THEN_hash_matches_hash_without_field() throws IOException {
+        assertThat(hash(NULL_FIELD_DOCUMENT), is(equalTo(hash(DOCUMENT))));
+    }
+
+    @Test
+    void GIVEN_integers_read_as_different_types_WHEN_hashed_THEN_hashes_are_equal() {
+        ObjectNode intState = JsonUtil.OBJECT_MAPPER.createObjectNode().put("size", 5);
+        ObjectNode longState = JsonUtil.OBJECT_MAPPER.createObjectNode().put("size", 5L);
+
+        assertThat(ContentHash.of(new ShadowState(intState, null)),
+                is(equalTo(ContentHash.of(new ShadowState(longState, null)))));
+    }
+
+    private static String hash(byte[] document) throws IOException {
+        return ContentHash.of(new ShadowDocument(document).getState());
+    }
+}
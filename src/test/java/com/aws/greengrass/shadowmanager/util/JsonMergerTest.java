@@ -80,6 +80,36 @@ class JsonMergerTest {
         assertThat(reason, sourceNode, Matchers.is(mergedNode));
     }
 
+    @ParameterizedTest
+    @MethodSource("mergeTestInput")
+    void mergeCopyTest(String reason, String source, String patch, String merged) throws IOException {
+        JsonNode sourceNode = JsonUtil.getPayloadJson(source.getBytes()).get();
+        JsonNode patchNode = JsonUtil.getPayloadJson(patch.getBytes()).get();
+        JsonNode mergedNode = JsonUtil.getPayloadJson(merged.getBytes()).get();
+
+        JsonNode result = JsonMerger.mergeCopy(sourceNode, patchNode);
+
+        assertThat(reason, result, Matchers.is(mergedNode));
+        assertThat(reason, sourceNode, Matchers.is(JsonUtil.getPayloadJson(source.getBytes()).get()));
+    }
+
+    @Test
+    void GIVEN_patch_WHEN_merge_copy_THEN_only_nodes_on_patch_path_are_copied() throws IOException {
+        JsonNode sourceNode = JsonUtil.getPayloadJson(("{\"light\": {\"on\": true, \"color\": {\"r\": 255}}, "
+                + "\"sensors\": {\"temperature\": {\"value\": 20}}, \"list\": [1, 2]}").getBytes()).get();
+        JsonNode patchNode = JsonUtil.getPayloadJson("{\"light\": {\"on\": false}}".getBytes()).get();
+
+        JsonNode result = JsonMerger.mergeCopy(sourceNode, patchNode);
+
+        assertThat(result.get("light").get("on").asBoolean(), Matchers.is(false));
+        assertThat(sourceNode.get("light").get("on").asBoolean(), Matchers.is(true));
+        assertThat(result, Matchers.not(Matchers.sameInstance(sourceNode)));
+        assertThat(result.get("light"), Matchers.not(Matchers.sameInstance(sourceNode.get("light"))));
+        assertThat(result.get("light").get("color"), Matchers.sameInstance(sourceNode.get("light").get("color")));
+        assertThat(result.get("sensors"), Matchers.sameInstance(sourceNode.get("sensors")));
+        assertThat(result.get("list"), Matchers.sameInstance(sourceNode.get("list")));
+    }
+
     @Test
     void GIVEN_patch_with_updated_array_node_WHEN_merge_THEN_updates_array_field_in_source_node(ExtensionContext context) throws IOException {
         JsonNode patchNode = JsonUtil.getPayloadJson(PATCH_NODE_WITH_ARRAY_VALUE_NODE_STRING.getBytes()).get();
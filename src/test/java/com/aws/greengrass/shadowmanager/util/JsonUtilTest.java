@@ -52,7 +52,8 @@ class JsonUtilTest {
             "{\"version\": 1, \"state\": {\"foo\": {\"name\": \"The Beatles\"}}}",
             "{\"version\": \"foo\", \"state\": {\"foo\": {\"name\": \"The Beatles\"}}}"
             })
-    void GIVEN_bad_payload_WHEN_validate_THEN_throws_invalid_request_exception(String json) {
+    void GIVEN_bad_payload_WHEN_validate_THEN_throws_invalid_request_exception(String json) throws IOException {
+        assertThat(JsonUtil.matchesUpdatePayloadSchema(getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get()), is(false));
         InvalidRequestParametersException thrown = assertThrows(InvalidRequestParametersException.class,
                 () -> {
                     validatePayloadSchema(getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get());
@@ -79,12 +80,42 @@ class JsonUtilTest {
             "{\"version\": 1, \"state\": {\"reported\":" + NAME_A + "}}",
             "{\"version\": 1, \"state\": {\"reported\":" + NAME_A + ", \"desired\": null}}",
     })
-    void GIVEN_valid_request_WHEN_validatePayloadSchema_THEN_does_not_throw(String json) {
+    void GIVEN_valid_request_WHEN_validatePayloadSchema_THEN_does_not_throw(String json) throws IOException {
+        assertThat(JsonUtil.matchesUpdatePayloadSchema(getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get()), is(true));
         assertDoesNotThrow(() -> {
             validatePayloadSchema(getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get());
         });
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"version\": 1.5, \"state\": {\"desired\":" + NAME_A + "}}",
+            "{\"version\": 12345678901234567890, \"state\": {\"desired\":" + NAME_A + "}}",
+    })
+    void GIVEN_valid_request_not_matching_fast_path_WHEN_validatePayloadSchema_THEN_schema_library_accepts_it(String json) throws IOException {
+        JsonNode payload = getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get();
+        assertThat(JsonUtil.matchesUpdatePayloadSchema(payload), is(false));
+        assertDoesNotThrow(() -> validatePayloadSchema(payload));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"version\": -1, \"state\": {\"desired\":" + NAME_A + "}}",
+            "{\"clientToken\": 1, \"state\": {\"desired\":" + NAME_A + "}}",
+            "{\"clientToken\": \"01234567890123456789012345678901234567890123456789012345678901234\", \"state\": {\"desired\":" + NAME_A + "}}",
+            "{\"state\": {\"desired\": 1, \"reported\":" + NAME_A + "}}",
+            "{\"state\": {\"desired\":" + NAME_A + ", \"delta\": []}}",
+            "{\"state\": []}",
+            "[]",
+    })
+    void GIVEN_bad_field_WHEN_validatePayloadSchema_THEN_fast_path_defers_to_schema_library_which_rejects_it(String json) throws IOException {
+        JsonNode payload = getPayloadJson(json.getBytes(StandardCharsets.UTF_8)).get();
+        assertThat(JsonUtil.matchesUpdatePayloadSchema(payload), is(false));
+        InvalidRequestParametersException thrown = assertThrows(InvalidRequestParametersException.class,
+                () -> validatePayloadSchema(payload));
+        assertThat(thrown.getErrorMessage().getErrorCode(), is(400));
+    }
+
     @Test
     void GIVEN_no_source_node_and_good_update_node_WHEN_validatePayload_THEN_successfully_validates() throws IOException {
         ShadowDocument source = new ShadowDocument();
@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.util;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_POOLED_PAYLOAD_BUFFER_SIZE;
+import static com.aws.greengrass.shadowmanager.util.JsonUtil.OBJECT_MAPPER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class PayloadOutputBufferTest {
+
+    @Test
+    void GIVEN_released_buffer_WHEN_acquire_THEN_same_empty_buffer_reused() throws IOException {
+        PayloadOutputBuffer buffer = PayloadOutputBuffer.acquire();
+        buffer.write("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        assertThat(buffer.size(), is(7));
+        buffer.release();
+
+        PayloadOutputBuffer reused = PayloadOutputBuffer.acquire();
+        try {
+            assertThat(reused, is(sameInstance(buffer)));
+            assertThat(reused.size(), is(0));
+            assertThat(reused.toByteArray().length, is(0));
+        } finally {
+            reused.release();
+        }
+    }
+
+    @Test
+    void GIVEN_buffer_in_use_WHEN_acquire_THEN_other_buffer_returned() {
+        PayloadOutputBuffer buffer = PayloadOutputBuffer.acquire();
+        try {
+            buffer.write('{');
+            PayloadOutputBuffer nested = PayloadOutputBuffer.acquire();
+            nested.write('[');
+            nested.release();
+
+            assertThat(nested, is(not(sameInstance(buffer))));
+            assertThat(buffer.toByteArray(), is(equalTo(new byte[]{'{'})));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    void GIVEN_payload_larger_than_buffer_WHEN_serialized_THEN_same_bytes_as_object_mapper() throws IOException {
+        ObjectNode node = OBJECT_MAPPER.createObjectNode();
+        for (int i = 0; i < MAX_POOLED_PAYLOAD_BUFFER_SIZE / 16; i++) {
+            node.put("value" + i, "réd " + i);
+        }
+
+        byte[] payload = JsonUtil.getPayloadBytes(node);
+
+        assertThat(payload, is(equalTo(OBJECT_MAPPER.writeValueAsBytes(node))));
+        assertThat(JsonUtil.getPayloadSize(node), is(payload.length));
+        // the grown buffer was dropped, and the next payload is still serialized correctly
+        JsonNode small = OBJECT_MAPPER.createObjectNode().put("a", 1);
+        assertThat(JsonUtil.getPayloadBytes(small), is(equalTo(OBJECT_MAPPER.writeValueAsBytes(small))));
+    }
+}
@@ -18,7 +18,9 @@ import java.io.IOException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
 class SyncNodeMergerTest {
@@ -94,4 +96,20 @@ class SyncNodeMergerTest {
         JsonNode actual = SyncNodeMerger.getMergedNode(localDocumentWithArray, cloudDocumentWithArray, baseDocumentWithArray, DataOwner.LOCAL);
         assertThat(actual, is(localDocumentWithArray));
     }
+
+    @Test
+    void GIVEN_unchanged_nested_nodes_WHEN_getMergedNode_THEN_reuses_owner_nodes() throws IOException {
+        JsonNode local = JsonUtil.getPayloadJson("{\"a\": {\"b\": {\"c\": 1}}, \"d\": {\"e\": 2}}".getBytes()).get();
+        JsonNode cloud = JsonUtil.getPayloadJson("{\"a\": {\"b\": {\"c\": 1}}, \"d\": {\"e\": 3}}".getBytes()).get();
+        JsonNode base = JsonUtil.getPayloadJson("{\"a\": {\"b\": {\"c\": 1}}, \"d\": {\"e\": 2}}".getBytes()).get();
+
+        JsonNode unchanged = SyncNodeMerger.getMergedNode(local, local, base, DataOwner.LOCAL);
+        assertThat(unchanged, is(sameInstance(local)));
+
+        JsonNode actual = SyncNodeMerger.getMergedNode(local, cloud, base, DataOwner.LOCAL);
+        assertThat(actual, is(cloud));
+        assertThat(actual, is(not(sameInstance(local))));
+        assertThat(actual.get("a"), is(sameInstance(local.get("a"))));
+        assertThat(actual.get("d").get("e"), is(sameInstance(cloud.get("d").get("e"))));
+    }
 }
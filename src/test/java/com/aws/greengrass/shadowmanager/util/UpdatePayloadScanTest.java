@@ -0,0 +1,172 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.shadowmanager.util;
+
+import com.aws.greengrass.shadowmanager.exception.InvalidRequestParametersException;
+import com.aws.greengrass.shadowmanager.model.ErrorMessage;
+import com.aws.greengrass.shadowmanager.model.ShadowDocument;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.aws.greengrass.shadowmanager.model.Constants.MAX_UPDATE_PAYLOAD_SIZE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class UpdatePayloadScanTest {
+    // the desired node itself is at depth 1, so "d6" is the deepest node with children which is allowed
+    private static final String MAX_DEPTH_DESIRED = "{\"d2\": {\"d3\": {\"d4\": {\"d5\": {\"d6\": {\"d7\": 1}}}}}}";
+    private static final String TOO_DEEP_DESIRED =
+            "{\"d2\": {\"d3\": {\"d4\": {\"d5\": {\"d6\": {\"d7\": {\"d8\": 1}}}}}}}";
+
+    @BeforeAll
+    static void setup() throws IOException {
+        JsonUtil.loadSchema();
+    }
+
+    private static byte[] bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void GIVEN_valid_payload_WHEN_scanned_THEN_client_token_and_version_are_read() throws IOException {
+        UpdatePayloadScan scan = UpdatePayloadScan.of(bytes("{\"clientToken\": \"token\", \"state\": {\"desired\": "
+                + "{\"color\": \"red\"}, \"reported\": {\"list\": [1, {\"a\": null}]}, \"delta\": 5}, \"version\": 7}"));
+
+        assertThat(scan.isMatchingSchema(), is(true));
+        assertThat(scan.isTooDeep(), is(false));
+        assertThat(scan.getClientToken(), is(Optional.of("token")));
+        assertThat(scan.getVersion(), is(OptionalLong.of(7)));
+        assertDoesNotThrow(scan::validateStateDepth);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\": null}",
+            "{\"state\": {}}",
+            "{\"state\": {\"delta\": {\"color\": \"red\"}}}",
+            "{\"state\": {\"desired\": null, \"other\": 1}}",
+            "{\"state\": {\"reported\": {\"color\": \"red\"}}, \"version\": 9223372036854775807, \"other\": [1]}"
+    })
+    void GIVEN_payload_matching_schema_WHEN_scanned_THEN_schema_library_agrees(String payload) throws IOException {
+        assertThat(UpdatePayloadScan.of(bytes(payload)).isMatchingSchema(), is(true));
+        assertDoesNotThrow(() -> JsonUtil.validatePayloadSchema(JsonUtil.getPayloadJson(bytes(payload)).get()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[]",
+            "\"state\"",
+            "{}",
+            "{\"version\": 1}",
+            "{\"state\": 1}",
+            "{\"state\": []}",
+            "{\"state\": {\"other\": 1}}",
+            "{\"state\": {\"desired\": \"red\"}}",
+            "{\"state\": {\"reported\": [1]}}",
+            "{\"state\": {}, \"version\": -1}",
+            "{\"state\": {}, \"version\": 1.5}",
+            "{\"state\": {}, \"version\": 92233720368547758070}",
+            "{\"state\": {}, \"version\": null}",
+            "{\"state\": {}, \"clientToken\": 1}",
+            "{\"state\": {}, \"clientToken\": \"12345678901234567890123456789012345678901234567890123456789012345\"}",
+            "{\"state\": {}, \"state\": null}",
+            "{\"state\": {\"desired\": {\"a\": " + TOO_DEEP_DESIRED + ", \"a\": 1}}}",
+            "{\"state\": {}"
+    })
+    void GIVEN_payload_not_known_to_match_schema_WHEN_scanned_THEN_left_to_schema_library(String payload)
+            throws IOException {
+        UpdatePayloadScan scan = UpdatePayloadScan.of(bytes(payload));
+
+        assertThat(scan.isMatchingSchema(), is(false));
+        assertThat(scan.isTooDeep(), is(false));
+        assertThat(scan.getClientToken(), is(Optional.empty()));
+        assertThat(scan.getVersion(), is(OptionalLong.empty()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"clientToken\": \"token\", \"state\": {\"desired\": {\"color\": \"red\"}}, \"version\": 7}",
+            "{\"state\": {\"desired\": " + TOO_DEEP_DESIRED + "}}",
+            "{\"state\": {}, \"version\": -1}",
+            "{\"state\": 1}",
+            "[]"
+    })
+    void GIVEN_parsed_payload_WHEN_scanned_THEN_same_as_serialized_payload(String payload) throws IOException {
+        UpdatePayloadScan expected = UpdatePayloadScan.of(bytes(payload));
+
+        UpdatePayloadScan scan = UpdatePayloadScan.of(JsonUtil.getPayloadJson(bytes(payload)).get());
+
+        assertThat(scan.isMatchingSchema(), is(expected.isMatchingSchema()));
+        assertThat(scan.isTooDeep(), is(expected.isTooDeep()));
+        assertThat(scan.getClientToken(), is(expected.getClientToken()));
+        assertThat(scan.getVersion(), is(expected.getVersion()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\": {\"desired\": " + MAX_DEPTH_DESIRED + "}}",
+            "{\"state\": {\"desired\": {\"d2\": {\"d3\": {\"d4\": {\"d5\": {\"d6\": {\"d7\": {}}}}}}}}}",
+            "{\"state\": {\"reported\": {\"d2\": [[[[[1]]]]]}}}",
+            "{\"state\": {\"desired\": {}, \"delta\": " + TOO_DEEP_DESIRED + "}}"
+    })
+    void GIVEN_state_at_max_depth_WHEN_scanned_THEN_not_too_deep(String payload) throws IOException {
+        UpdatePayloadScan scan = UpdatePayloadScan.of(bytes(payload));
+
+        assertThat(scan.isMatchingSchema(), is(true));
+        assertThat(scan.isTooDeep(), is(false));
+        assertDoesNotThrow(() -> JsonUtil.validatePayload(new ShadowDocument(),
+                JsonUtil.getPayloadJson(bytes(payload)).get()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"state\": {\"desired\": " + TOO_DEEP_DESIRED + "}}",
+            "{\"state\": {\"desired\": {}, \"reported\": " + TOO_DEEP_DESIRED + "}}",
+            "{\"state\": {\"reported\": {\"d2\": [[[[[[1]]]]]]}}}"
+    })
+    void GIVEN_state_deeper_than_max_depth_WHEN_scanned_THEN_rejected_as_too_deep(String payload)
+            throws IOException {
+        UpdatePayloadScan scan = UpdatePayloadScan.of(bytes(payload));
+
+        assertThat(scan.isMatchingSchema(), is(true));
+        assertThat(scan.isTooDeep(), is(true));
+        InvalidRequestParametersException thrown = assertThrows(InvalidRequestParametersException.class,
+                scan::validateStateDepth);
+        assertThat(thrown.getErrorMessage(), is(equalTo(ErrorMessage.INVALID_STATE_NODE_DEPTH_MESSAGE)));
+        assertThrows(InvalidRequestParametersException.class, () -> JsonUtil.validatePayload(new ShadowDocument(),
+                JsonUtil.getPayloadJson(bytes(payload)).get()));
+    }
+
+    @Test
+    void GIVEN_payload_larger_than_max_WHEN_scanned_THEN_rejected_as_too_large() throws IOException {
+        byte[] payload = new byte[MAX_UPDATE_PAYLOAD_SIZE + 1];
+        Arrays.fill(payload, (byte) ' ');
+
+        InvalidRequestParametersException thrown = assertThrows(InvalidRequestParametersException.class,
+                () -> UpdatePayloadScan.of(payload));
+        assertThat(thrown.getErrorMessage(), is(equalTo(ErrorMessage.PAYLOAD_TOO_LARGE_MESSAGE)));
+
+        payload[0] = '{';
+        System.arraycopy(bytes("\"state\":{}}"), 0, payload, MAX_UPDATE_PAYLOAD_SIZE - 11, 11);
+        assertThat(UpdatePayloadScan.of(Arrays.copyOf(payload, MAX_UPDATE_PAYLOAD_SIZE)).isMatchingSchema(),
+                is(true));
+    }
+}